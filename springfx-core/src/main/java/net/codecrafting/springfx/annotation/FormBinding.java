@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import net.codecrafting.springfx.context.ViewContext;
+import net.codecrafting.springfx.processing.FormBinderProcessor;
+import net.codecrafting.springfx.validation.ControlAdapter;
+import net.codecrafting.springfx.validation.FormBinder;
+import net.codecrafting.springfx.validation.FormModel;
+
+/**
+ * Annotation meant to be used on a {@link FormModel} subclass to generate, at compile time, the {@link FormBinder}
+ * that copies the values between the model and the form elements of a {@link ViewContext}. The generated binder
+ * is a plain Java class named after the model, like {@code LoginForm_FormBinder}, that reads and writes the
+ * controls and the model attributes with direct calls, so {@link FormModel} does not use reflection to fill the
+ * model or the form.
+ * <p>
+ * The {@link FormBinderProcessor} has to be configured as an annotation processor of the project. The form elements
+ * bound by {@link ValidationBind} must be accessible from the package of the model, either directly or by their
+ * getters. The model attributes are written directly, like the reflective bindings do, so only the attributes
+ * accessible from the package of the model are copied by the binder, the others are left to the {@link FormModel}.
+ * If the binder is not found at runtime the {@link FormModel} falls back to its reflective bindings.
+ * <p>
+ * The binder only copies the form elements declared exactly as one of the built in controls, like {@code TextField}
+ * or {@code DatePicker}, with the accessors of the built in adapters. Subclasses of those controls are copied by the
+ * {@link FormModel} through the adapter resolved for them. A {@link ControlAdapter} registered to replace the adapter
+ * of a built in control class is not used by the binder, so models relying on it should not be {@link FormBinding}.
+ *
+ * @author Lucas Marotta
+ * @see FormBinderProcessor
+ * @see FormBinder
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface FormBinding
+{
+	/**
+	 * The {@link ViewContext} class holding the form elements of the model
+	 * @return the {@link ViewContext} class
+	 */
+	Class<? extends ViewContext> value();
+}
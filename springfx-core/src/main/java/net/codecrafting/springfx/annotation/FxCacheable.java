@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import net.codecrafting.springfx.cache.FxCacheInterceptor;
+import net.codecrafting.springfx.context.ViewContext;
+
+/**
+ * Annotation meant to be used on the methods of a Spring bean whose results should be cached with a
+ * stale while revalidate policy. A fresh cached result is returned right away. A stale result is returned
+ * right away too, while a background refresh loads the fresh one. Results older than the {@link #ttl()} are
+ * not served, the method is called instead.
+ * <p>
+ * If the method is declared to return an {@code ObservableValue}, the {@link ViewContext} gets the same
+ * read only property for every call with the same arguments, and the refreshed value is pushed to it on
+ * the JavaFX Application Thread when it arrives.
+ *
+ * @author Lucas Marotta
+ * @see FxCacheInterceptor
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface FxCacheable
+{
+	/**
+	 * The name of the Spring cache of the results. If not informed the simple name of the class and the
+	 * name of the method, like {@code CustomerService.findAll}, are used.
+	 * @return the cache name
+	 */
+	String value() default "";
+
+	/**
+	 * The age, in milliseconds, after which a cached result is refreshed in background.
+	 * @return the stale age. {@literal 0} to never refresh
+	 */
+	long staleAfter() default 30_000;
+
+	/**
+	 * The age, in milliseconds, after which a cached result is no longer served.
+	 * @return the time to live. {@literal 0} to serve it until it's evicted
+	 */
+	long ttl() default 300_000;
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import net.codecrafting.springfx.validation.FormValidator;
+import net.codecrafting.springfx.validation.ValidationModel;
+import net.codecrafting.springfx.validation.ValidationResultCache;
+
+/**
+ * Annotation meant to declare constraints whose outcome depends only on the validated value, so the
+ * {@link FormValidator} can reuse the violations of a value already validated from its {@link ValidationResultCache}.
+ * Use it on a {@link ValidationModel} attribute to declare all its constraints pure, or on a custom constraint
+ * annotation type, like an expensive lookup, to declare that constraint pure wherever it's used. In the second case
+ * an attribute is memoized when all its other constraints are pure too or are Bean Validation or Hibernate Validator
+ * built in constraints.
+ * <p>
+ * Constraints reading other attributes, the clock or data that changes are not pure and must not be annotated.
+ * The values are compared with {@link Object#equals(Object)}, so memoized attributes should hold immutable values.
+ *
+ * @author Lucas Marotta
+ * @see FormValidator#setValidationCache(ValidationResultCache)
+ */
+@Target({ElementType.FIELD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PureConstraint
+{
+}
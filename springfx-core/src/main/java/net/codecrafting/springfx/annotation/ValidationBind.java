@@ -43,4 +43,13 @@ public @interface ValidationBind
 	 * @return the attribute name to be binded
 	 */
 	String value() default "";
+
+	/**
+	 * The Bean Validation groups validated when this field is validated on its own, like by
+	 * {@link FormValidator#validateField(String)} and the field validation of a form. Use it to validate a
+	 * field edited on a tab or wizard step only against the constraints of that step. When empty, the groups
+	 * of the {@link FormValidator} are used.
+	 * @return the validation groups of the field
+	 */
+	Class<?>[] groups() default {};
 }
@@ -25,6 +25,7 @@ import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
 import net.codecrafting.springfx.context.ViewContext;
+import net.codecrafting.springfx.util.Bulkhead;
 
 /**
  * Annotation meant to be used by a {@link ViewContext} indicating that the class is a Spring {@link Component}.
@@ -51,4 +52,18 @@ public @interface ViewController
 	 * @return the view title name {@link String} vlaue
 	 */
 	String title() default "";
+
+	/**
+	 * The maximum number of background tasks of the {@link ViewContext} task scope running at the same time.
+	 * A positive value isolates the view tasks in a {@link Bulkhead} of the shared executor.
+	 * @return the view bulkhead concurrency. {@literal 0} to not use a bulkhead
+	 */
+	int maxConcurrentTasks() default 0;
+
+	/**
+	 * The maximum number of background tasks of the {@link ViewContext} task scope waiting for a free
+	 * slot of the view {@link Bulkhead}. Ignored if {@link #maxConcurrentTasks()} is {@literal 0}.
+	 * @return the view bulkhead queue capacity
+	 */
+	int maxQueuedTasks() default 64;
 }
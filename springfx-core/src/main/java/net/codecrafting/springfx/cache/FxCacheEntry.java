@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.cache;
+
+import java.io.Serializable;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+
+/**
+ * A result cached by the {@link FxCacheInterceptor}, with the time it was loaded. The read only property
+ * handed to the views is carried over from entry to entry of the same key, so a refresh reaches the views
+ * already bound to it.
+ *
+ * @author Lucas Marotta
+ */
+final class FxCacheEntry implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	private final Object value;
+	private final long storedAt;
+	private transient ReadOnlyObjectWrapper<Object> property;
+
+	FxCacheEntry(Object value, long storedAt, FxCacheEntry previous)
+	{
+		this.value = value;
+		this.storedAt = storedAt;
+		if(previous != null) property = previous.takeProperty();
+	}
+
+	Object getValue()
+	{
+		return value;
+	}
+
+	long getAge(long now)
+	{
+		return now - storedAt;
+	}
+
+	synchronized ReadOnlyObjectProperty<Object> getProperty()
+	{
+		if(property == null) property = new ReadOnlyObjectWrapper<Object>(value);
+		return property.getReadOnlyProperty();
+	}
+
+	//Push the value of this entry to the views bound to the property, on the JavaFX Application Thread
+	void publish()
+	{
+		ReadOnlyObjectWrapper<Object> current;
+		synchronized (this) {
+			current = property;
+		}
+		if(current == null) return;
+		if(Platform.isFxApplicationThread()) {
+			current.set(value);
+		} else {
+			Platform.runLater(() -> current.set(value));
+		}
+	}
+
+	private synchronized ReadOnlyObjectWrapper<Object> takeProperty()
+	{
+		return property;
+	}
+}
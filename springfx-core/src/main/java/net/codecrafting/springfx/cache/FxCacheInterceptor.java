@@ -0,0 +1,242 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.cache;
+
+import java.lang.reflect.Method;
+import java.time.Clock;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ClassUtils;
+
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.value.ObservableValue;
+import net.codecrafting.springfx.annotation.FxCacheable;
+import net.codecrafting.springfx.util.SingleFlight;
+import net.codecrafting.springfx.util.TaskPriority;
+
+/**
+ * The {@link MethodInterceptor} of the {@link FxCacheable} methods. The results are stored in the caches of
+ * a Spring {@link CacheManager}, keyed by the method arguments like {@literal @Cacheable} does, and served with
+ * a stale while revalidate policy:
+ * <ul>
+ * <li>A result younger than {@link FxCacheable#staleAfter()} is returned right away.</li>
+ * <li>A result younger than {@link FxCacheable#ttl()} is returned right away, and the method is called again
+ * in background on the {@link TaskPriority#BACKGROUND} lane. Concurrent refreshes of the same key are coalesced
+ * by a {@link SingleFlight}.</li>
+ * <li>Otherwise the method is called on the caller thread and its result is stored.</li>
+ * </ul>
+ * <p>
+ * Methods declared to return an {@link ObservableValue} must return one holding the loaded value, and the
+ * callers get a {@link ReadOnlyObjectProperty} that is the same for every call with the same arguments
+ * while the result is cached. Every refresh sets the new value on it on the JavaFX Application Thread, so a
+ * view bound to it is updated without calling the service again.
+ *
+ * @author Lucas Marotta
+ * @see FxCacheable
+ * @see #getMetrics(String)
+ */
+public class FxCacheInterceptor implements MethodInterceptor
+{
+	private static final Log LOGGER = LogFactory.getLog(FxCacheInterceptor.class);
+
+	private final CacheManager cacheManager;
+	private final Clock clock;
+	private final SingleFlight refreshes = new SingleFlight();
+	private final ConcurrentHashMap<Method, Settings> settings = new ConcurrentHashMap<Method, Settings>();
+	private final ConcurrentHashMap<String, FxCacheMetrics> metrics = new ConcurrentHashMap<String, FxCacheMetrics>();
+
+	/**
+	 * Create a new instance of {@link FxCacheInterceptor}.
+	 * @param cacheManager the {@link CacheManager} of the caches
+	 * @throws IllegalArgumentException if cacheManager is null
+	 */
+	public FxCacheInterceptor(CacheManager cacheManager)
+	{
+		this(cacheManager, Clock.systemUTC());
+	}
+
+	/**
+	 * Create a new instance of {@link FxCacheInterceptor}.
+	 * @param cacheManager the {@link CacheManager} of the caches
+	 * @param clock the {@link Clock} that dates the results
+	 * @throws IllegalArgumentException if cacheManager or clock are null
+	 */
+	public FxCacheInterceptor(CacheManager cacheManager, Clock clock)
+	{
+		if(cacheManager == null)
+			throw new IllegalArgumentException("cacheManager must not be null");
+		if(clock == null)
+			throw new IllegalArgumentException("clock must not be null");
+		this.cacheManager = cacheManager;
+		this.clock = clock;
+	}
+
+	public CacheManager getCacheManager()
+	{
+		return cacheManager;
+	}
+
+	public Clock getClock()
+	{
+		return clock;
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable
+	{
+		Settings current = getSettings(invocation);
+		if(current == null) return invocation.proceed();
+		Cache cache = cacheManager.getCache(current.name);
+		if(cache == null)
+			throw new IllegalStateException("Cache \"" + current.name + "\" not found");
+		FxCacheMetrics cacheMetrics = getMetrics(current.name);
+		Object key = SimpleKeyGenerator.generateKey(invocation.getArguments());
+		Cache.ValueWrapper wrapper = cache.get(key);
+		FxCacheEntry entry = (wrapper != null) ? (FxCacheEntry) wrapper.get() : null;
+		long now = clock.millis();
+		if(entry != null && (current.ttl == 0 || entry.getAge(now) < current.ttl)) {
+			if(current.staleAfter > 0 && entry.getAge(now) >= current.staleAfter && invocation instanceof ProxyMethodInvocation) {
+				cacheMetrics.staleHits.increment();
+				refresh((ProxyMethodInvocation) invocation, current, cache, key, cacheMetrics);
+			} else {
+				cacheMetrics.hits.increment();
+			}
+			return current.observable ? entry.getProperty() : entry.getValue();
+		}
+		cacheMetrics.misses.increment();
+		FxCacheEntry loaded = load(invocation, current, cache, key);
+		return current.observable ? loaded.getProperty() : loaded.getValue();
+	}
+
+	/**
+	 * Get the counters of a cache
+	 * @param cacheName the name of the cache
+	 * @return the {@link FxCacheMetrics} of the cache
+	 */
+	public FxCacheMetrics getMetrics(String cacheName)
+	{
+		return metrics.computeIfAbsent(cacheName, name -> new FxCacheMetrics());
+	}
+
+	/**
+	 * Get the counters of all the caches used so far
+	 * @return the unmodifiable map of {@link FxCacheMetrics} by cache name
+	 */
+	public Map<String, FxCacheMetrics> getMetrics()
+	{
+		return Collections.unmodifiableMap(metrics);
+	}
+
+	private FxCacheEntry load(MethodInvocation invocation, Settings current, Cache cache, Object key) throws Throwable
+	{
+		Object result = invocation.proceed();
+		Object value = (current.observable && result != null) ? ((ObservableValue<?>) result).getValue() : result;
+		Cache.ValueWrapper wrapper = cache.get(key);
+		FxCacheEntry previous = (wrapper != null) ? (FxCacheEntry) wrapper.get() : null;
+		FxCacheEntry entry = new FxCacheEntry(value, clock.millis(), previous);
+		cache.put(key, entry);
+		entry.publish();
+		return entry;
+	}
+
+	//Call the method again in background, the refreshes of a key in flight are shared
+	private void refresh(ProxyMethodInvocation invocation, Settings current, Cache cache, Object key, FxCacheMetrics cacheMetrics)
+	{
+		MethodInvocation clone = invocation.invocableClone();
+		refreshes.execute(new RefreshKey(current.name, key), () -> {
+			try {
+				load(clone, current, cache, key);
+				cacheMetrics.refreshes.increment();
+				return null;
+			} catch (Throwable e) {
+				cacheMetrics.refreshFailures.increment();
+				LOGGER.warn("Refresh of cache \"" + current.name + "\" failed, the stale value is kept", e);
+				return null;
+			}
+		}, TaskPriority.BACKGROUND);
+	}
+
+	private Settings getSettings(MethodInvocation invocation)
+	{
+		Method method = invocation.getMethod();
+		Class<?> targetClass = (invocation.getThis() != null) ? ClassUtils.getUserClass(invocation.getThis()) : method.getDeclaringClass();
+		return settings.computeIfAbsent(AopUtils.getMostSpecificMethod(method, targetClass), specific -> {
+			FxCacheable annotation = AnnotationUtils.findAnnotation(specific, FxCacheable.class);
+			if(annotation == null) annotation = AnnotationUtils.findAnnotation(method, FxCacheable.class);
+			return (annotation != null) ? new Settings(annotation, targetClass, specific) : null;
+		});
+	}
+
+	private static class Settings
+	{
+		private final String name;
+		private final long staleAfter;
+		private final long ttl;
+		private final boolean observable;
+
+		public Settings(FxCacheable annotation, Class<?> targetClass, Method method)
+		{
+			if(annotation.staleAfter() < 0 || annotation.ttl() < 0)
+				throw new IllegalStateException("staleAfter and ttl of " + method + " must not be negative");
+			name = annotation.value().isEmpty() ? targetClass.getSimpleName() + "." + method.getName() : annotation.value();
+			staleAfter = annotation.staleAfter();
+			ttl = annotation.ttl();
+			Class<?> returnType = method.getReturnType();
+			observable = returnType != Object.class && returnType.isAssignableFrom(ReadOnlyObjectProperty.class);
+		}
+	}
+
+	private static class RefreshKey
+	{
+		private final String cacheName;
+		private final Object key;
+
+		public RefreshKey(String cacheName, Object key)
+		{
+			this.cacheName = cacheName;
+			this.key = key;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return Objects.hash(cacheName, key);
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if(this == obj) return true;
+			if(!(obj instanceof RefreshKey)) return false;
+			RefreshKey other = (RefreshKey) obj;
+			return cacheName.equals(other.cacheName) && Objects.equals(key, other.key);
+		}
+	}
+}
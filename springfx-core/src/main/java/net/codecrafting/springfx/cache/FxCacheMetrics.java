@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters of a cache used by the {@link FxCacheInterceptor}.
+ *
+ * @author Lucas Marotta
+ */
+public final class FxCacheMetrics
+{
+	final LongAdder hits = new LongAdder();
+	final LongAdder staleHits = new LongAdder();
+	final LongAdder misses = new LongAdder();
+	final LongAdder refreshes = new LongAdder();
+	final LongAdder refreshFailures = new LongAdder();
+
+	/**
+	 * Get the number of calls served by a fresh result
+	 * @return the number of fresh hits
+	 */
+	public long getHitCount()
+	{
+		return hits.sum();
+	}
+
+	/**
+	 * Get the number of calls served by a stale result, which started a background refresh
+	 * @return the number of stale hits
+	 */
+	public long getStaleHitCount()
+	{
+		return staleHits.sum();
+	}
+
+	/**
+	 * Get the number of calls without a servable result, which called the method
+	 * @return the number of misses
+	 */
+	public long getMissCount()
+	{
+		return misses.sum();
+	}
+
+	/**
+	 * Get the number of background refreshes completed
+	 * @return the number of refreshes
+	 */
+	public long getRefreshCount()
+	{
+		return refreshes.sum();
+	}
+
+	public long getRefreshFailureCount()
+	{
+		return refreshFailures.sum();
+	}
+
+	/**
+	 * Get the ratio of calls served from the cache, fresh or stale
+	 * @return the hit ratio between {@literal 0} and {@literal 1}
+	 */
+	public double getHitRatio()
+	{
+		long served = getHitCount() + getStaleHitCount();
+		long total = served + getMissCount();
+		return (total == 0) ? 0 : (double) served / total;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "FxCacheMetrics [hits=" + getHitCount() + ", staleHits=" + getStaleHitCount() + ", misses=" + getMissCount()
+				+ ", refreshes=" + getRefreshCount() + ", refreshFailures=" + getRefreshFailureCount() + "]";
+	}
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.cache;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+
+import net.codecrafting.springfx.annotation.FxCacheable;
+
+/**
+ * The bean post processor applying the {@link FxCacheInterceptor} to the beans with {@link FxCacheable} methods.
+ * Those beans are proxied by class, so services without interfaces can be cached too, while the proxy settings
+ * of the application auto proxy creator, used by {@literal @Transactional} or {@literal @Async} beans, are left
+ * untouched. A bean that is already proxied gets the cache advice added in front of its other advisors.
+ * <p>
+ * The {@link FxCacheInterceptor} is looked up on the first cached call, so the post processor does not initialize
+ * the {@code CacheManager} before the other post processors are registered.
+ *
+ * @author Lucas Marotta
+ * @see FxCacheInterceptor
+ */
+public class FxCacheablePostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor
+{
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Create a new instance of {@link FxCacheablePostProcessor}.
+	 * @param interceptor the provider of the {@link FxCacheInterceptor}
+	 * @throws IllegalArgumentException if interceptor is null
+	 */
+	public FxCacheablePostProcessor(ObjectProvider<FxCacheInterceptor> interceptor)
+	{
+		if(interceptor == null)
+			throw new IllegalArgumentException("interceptor must not be null");
+		MethodInterceptor advice = invocation -> interceptor.getObject().invoke(invocation);
+		this.advisor = new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forMethodAnnotation(FxCacheable.class), advice);
+		setBeforeExistingAdvisors(true);
+		setProxyTargetClass(true);
+	}
+}
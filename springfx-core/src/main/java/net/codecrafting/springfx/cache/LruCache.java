@@ -0,0 +1,143 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+/**
+ * A size bounded, in memory Spring {@link Cache} that evicts the least recently used entry once it's full.
+ *
+ * @author Lucas Marotta
+ * @see LruCacheManager
+ */
+public class LruCache extends AbstractValueAdaptingCache
+{
+	private final String name;
+	private final int maxSize;
+	private final LinkedHashMap<Object, Object> store;
+	private final LongAdder evictionCount = new LongAdder();
+
+	/**
+	 * Create a new instance of {@link LruCache}.
+	 * @param name the name of the cache
+	 * @param maxSize the maximum number of entries
+	 * @throws IllegalArgumentException if name is null or maxSize is lower than {@literal 1}
+	 */
+	public LruCache(String name, int maxSize)
+	{
+		super(true);
+		if(name == null || maxSize < 1)
+			throw new IllegalArgumentException("name must not be null and maxSize must be greater than 0");
+		this.name = name;
+		this.maxSize = maxSize;
+		store = new LinkedHashMap<Object, Object>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest)
+			{
+				if(size() <= LruCache.this.maxSize) return false;
+				evictionCount.increment();
+				return true;
+			}
+		};
+	}
+
+	@Override
+	public String getName()
+	{
+		return name;
+	}
+
+	@Override
+	public Object getNativeCache()
+	{
+		return store;
+	}
+
+	public int getMaxSize()
+	{
+		return maxSize;
+	}
+
+	public synchronized int size()
+	{
+		return store.size();
+	}
+
+	/**
+	 * Get the number of entries evicted to keep the cache within its size
+	 * @return the number of evictions
+	 */
+	public long getEvictionCount()
+	{
+		return evictionCount.sum();
+	}
+
+	@Override
+	protected synchronized Object lookup(Object key)
+	{
+		return store.get(key);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T get(Object key, Callable<T> valueLoader)
+	{
+		ValueWrapper cached = get(key);
+		if(cached != null) return (T) cached.get();
+		T value;
+		try {
+			value = valueLoader.call();
+		} catch (Throwable e) {
+			throw new ValueRetrievalException(key, valueLoader, e);
+		}
+		put(key, value);
+		return value;
+	}
+
+	@Override
+	public synchronized void put(Object key, Object value)
+	{
+		store.put(key, toStoreValue(value));
+	}
+
+	@Override
+	public synchronized ValueWrapper putIfAbsent(Object key, Object value)
+	{
+		Object existing = store.putIfAbsent(key, toStoreValue(value));
+		return toValueWrapper(existing);
+	}
+
+	@Override
+	public synchronized void evict(Object key)
+	{
+		store.remove(key);
+	}
+
+	@Override
+	public synchronized void clear()
+	{
+		store.clear();
+	}
+}
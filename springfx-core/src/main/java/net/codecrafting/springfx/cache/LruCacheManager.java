@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * A Spring {@link CacheManager} of {@link LruCache}s, created on demand with the same maximum size.
+ * It's the {@link FxCacheInterceptor} cache manager when the application does not define one.
+ *
+ * @author Lucas Marotta
+ */
+public class LruCacheManager implements CacheManager
+{
+	/**
+	 * The default maximum number of entries of each cache
+	 */
+	public static final int DEFAULT_MAX_SIZE = 256;
+
+	private final int maxSize;
+	private final ConcurrentHashMap<String, LruCache> caches = new ConcurrentHashMap<String, LruCache>();
+
+	/**
+	 * Create a new instance of {@link LruCacheManager} with the {@link #DEFAULT_MAX_SIZE}.
+	 */
+	public LruCacheManager()
+	{
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Create a new instance of {@link LruCacheManager}.
+	 * @param maxSize the maximum number of entries of each cache
+	 * @throws IllegalArgumentException if maxSize is lower than {@literal 1}
+	 */
+	public LruCacheManager(int maxSize)
+	{
+		if(maxSize < 1)
+			throw new IllegalArgumentException("maxSize must be greater than 0");
+		this.maxSize = maxSize;
+	}
+
+	@Override
+	public Cache getCache(String name)
+	{
+		return caches.computeIfAbsent(name, cacheName -> new LruCache(cacheName, maxSize));
+	}
+
+	@Override
+	public Collection<String> getCacheNames()
+	{
+		return Collections.unmodifiableSet(caches.keySet());
+	}
+}
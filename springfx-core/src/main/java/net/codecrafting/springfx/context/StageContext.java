@@ -33,6 +33,11 @@ import net.codecrafting.springfx.annotation.ViewController;
  */
 public abstract class StageContext extends ViewContext
 {	
+	/**
+	 * The last view context swapped in by {@link #swapContent(ViewContext)}
+	 */
+	private ViewContext currentContext;
+	
 	/**
 	 * Create a new instance of a abstraction of {@link StageContext}.
 	 * Use this constructor to set {@link #viewName} and {@link #viewTitle} by
@@ -74,7 +79,8 @@ public abstract class StageContext extends ViewContext
 	
 	/**
 	 * Swap the stage context main node first child (if present) to the new {@link ViewContext} loaded main node.
-	 * This method will call for {@link ViewContext#swapAnimation(Node)} to perform the node animation.
+	 * This method will call for {@link ViewContext#swapAnimation(Node)} to perform the node animation. The {@link ViewTaskScope}
+	 * of the previous view context is deactivated, cancelling its background tasks, and the new one is activated.
 	 * @param viewController the {@link ViewContext} containing the main node to be swapped.
 	 * @throws IllegalArgumentException if the viewController is null
 	 * @throws NullPointerException if the {@link StageContext} and {@link ViewContext} mainNode is null
@@ -97,6 +103,7 @@ public abstract class StageContext extends ViewContext
 					AnchorPane.setTopAnchor(viewNode, 0.0);
 					AnchorPane.setBottomAnchor(viewNode, 0.0);	
 				}
+				swapTaskScope(viewController);
 				viewController.swapAnimation(viewNode);
 			} else {
 				throw new NullPointerException("StageContext mainNode and content must not be null");
@@ -105,4 +112,16 @@ public abstract class StageContext extends ViewContext
 			throw new IllegalArgumentException("viewController must not be null");
 		}
 	}
+	
+	//Deactivate the task scope of the view being swapped out and activate the one being swapped in
+	private void swapTaskScope(ViewContext viewController)
+	{
+		if(currentContext != null && currentContext != viewController) {
+			ViewTaskScope previousScope = currentContext.getTaskScope();
+			if(previousScope != null) previousScope.deactivate();
+		}
+		ViewTaskScope scope = viewController.getTaskScope();
+		if(scope != null) scope.activate();
+		currentContext = viewController;
+	}
 }
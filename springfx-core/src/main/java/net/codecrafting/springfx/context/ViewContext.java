@@ -26,6 +26,7 @@ import javafx.scene.Node;
 import net.codecrafting.springfx.animation.AnimationBuilder;
 import net.codecrafting.springfx.animation.EaseInterpolator;
 import net.codecrafting.springfx.annotation.ViewController;
+import net.codecrafting.springfx.util.Bulkhead;
 
 /**
  * This class is used to abstract a JavaFX controller. The typical JavaFX controller {@link Initializable}
@@ -47,6 +48,7 @@ import net.codecrafting.springfx.annotation.ViewController;
  * @see #setViewStage(ViewStage)
  * @see #getViewStage()
  * @see #getIntent()
+ * @see #getTaskScope()
  * @see #swapAnimation(Node)
  * @see #onStart()
  * @see #onCreate()
@@ -82,6 +84,11 @@ public abstract class ViewContext implements Initializable
 	 */
 	private boolean fitHeight = true;
 	
+	/**
+	 * The task scope that tracks the background work started for this view context
+	 */
+	private final ViewTaskScope taskScope = new ViewTaskScope(this);
+	
 	//The internal AnimationBuilder to create a animation between views
 	private final AnimationBuilder animationBuilder;
 	private static final String UPPER_CAMEL_REGEX = "([a-z])([A-Z]+)";
@@ -233,6 +240,16 @@ public abstract class ViewContext implements Initializable
 		return null;
 	}
 	
+	/**
+	 * Get the {@link ViewTaskScope} of this view context. Use it to start background work that must not
+	 * outlive the view, it will be cancelled when the view is swapped out or evicted from the {@link ViewStage} cache.
+	 * @return the {@link ViewTaskScope} of this view context
+	 */
+	public ViewTaskScope getTaskScope()
+	{
+		return taskScope;
+	}
+	
 	/**
 	 * The performing animation that will be executed from {@link StageContext#swapContent(ViewContext)}
 	 * to swap to a new view context. Override this method to use a particular animation for the content
@@ -267,7 +284,7 @@ public abstract class ViewContext implements Initializable
 	 */
 	public abstract Node getMainNode();
 	
-	//Load any ViewController annotation and set the viewName and viewTitle.
+	//Load any ViewController annotation and set the viewName, viewTitle and the task scope bulkhead.
 	private void loadAnnotations()
 	{
 		Annotation annotation = this.getClass().getAnnotation(ViewController.class);
@@ -275,6 +292,10 @@ public abstract class ViewContext implements Initializable
 			ViewController viewAnnotation = (ViewController) annotation;
 			viewName = viewAnnotation.name();
 			viewTitle = viewAnnotation.title();
+			if(viewAnnotation.maxConcurrentTasks() > 0) {
+				String bulkheadName = (viewName.length() > 0) ? viewName : this.getClass().getSimpleName();
+				taskScope.setBulkhead(new Bulkhead(bulkheadName, viewAnnotation.maxConcurrentTasks(), viewAnnotation.maxQueuedTasks()));
+			}
 		}
 		String contextName = this.getClass().getSimpleName();
 		if(viewName == null || viewName.length() == 0) {
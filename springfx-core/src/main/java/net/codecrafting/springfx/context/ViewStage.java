@@ -18,10 +18,10 @@ package net.codecrafting.springfx.context;
 
 import java.lang.reflect.Field;
 import java.net.URL;
-import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
-import java.util.Set;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -136,7 +136,7 @@ public class ViewStage extends Stage
 	/**
 	 * The view cache of loaded Intents
 	 */
-	private Set<String> viewCache;
+	private Map<String, ViewContext> viewCache;
 	private Intent intent;
 	private static final Log LOGGER = LogFactory.getLog(ViewStage.class);
 	
@@ -163,7 +163,7 @@ public class ViewStage extends Stage
 		super();
 		if(viewPath != null && springContext != null) {
 			this.springContext = springContext;
-			viewCache = new HashSet<String>();
+			viewCache = new HashMap<String, ViewContext>();
 			this.viewPath = viewPath;
 			
 			iconifiedProperty().addListener((onMinimize) -> {
@@ -517,7 +517,7 @@ public class ViewStage extends Stage
 					loadedNode.setCacheHint(nodeCacheHint);
 					if(nodeCacheHint.equals(CacheHint.SPEED)) loadedNode.setCache(true);
 					setViewLinks(viewContext);
-					viewCache.add(intent.getViewClass().getName());
+					viewCache.put(intent.getViewClass().getName(), viewContext);
 					loadedNode.setVisible(true);
 					Platform.runLater(() -> {
 						viewContext.onCreate();
@@ -545,36 +545,47 @@ public class ViewStage extends Stage
 	public boolean isViewCached(Class<? extends ViewContext> viewClass)
 	{
 		if(viewClass != null) {
-			return viewCache.contains(viewClass.getName());
+			return viewCache.containsKey(viewClass.getName());
 		} else {
 			throw new IllegalArgumentException("ViewContext class must not be null");
 		}	
 	}
 	
 	/**
-	 * Remove a {@link ViewContext} controller class from cache
+	 * Remove a {@link ViewContext} controller class from cache. The {@link ViewTaskScope} of the
+	 * evicted view context is deactivated, cancelling its background tasks, and its eviction listeners are run.
 	 * @param viewClass the {@link ViewContext} controller class to be removed
 	 * @throws IllegalArgumentException if ViewContext class is null
 	 */
 	public void removeViewCache(Class<? extends ViewContext> viewClass)
 	{
 		if(viewClass != null) {
-			if(viewCache.contains(viewClass.getName())) {
-				viewCache.remove(viewClass.getName());
-			}	
+			ViewContext evicted = viewCache.remove(viewClass.getName());
+			if(evicted != null) evictTaskScope(evicted);
 		} else {
 			throw new IllegalArgumentException("ViewContext class must not be null");
 		}
 	}
 	
 	/**
-	 * Remove all {@link ViewContext} controller classes from cache
+	 * Remove all {@link ViewContext} controller classes from cache. The {@link ViewTaskScope} of
+	 * every evicted view context is deactivated, cancelling its background tasks, and its eviction listeners are run.
 	 */
 	public void clearViewCache()
 	{
+		for (ViewContext evicted : viewCache.values()) {
+			evictTaskScope(evicted);
+		}
 		viewCache.clear();
 	}
 	
+	//Deactivate the task scope of a evicted view context and run its eviction listeners
+	private void evictTaskScope(ViewContext context)
+	{
+		ViewTaskScope scope = context.getTaskScope();
+		if(scope != null) scope.evict();
+	}
+	
 	//Configured any ViewLinks annotation mapped on ViewContext controller class. Touch events are supported.
 	private void setViewLinks(ViewContext context)
 	{
@@ -0,0 +1,436 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.context;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.reactivestreams.Publisher;
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.value.ObservableBooleanValue;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import net.codecrafting.springfx.annotation.ViewController;
+import net.codecrafting.springfx.util.AsyncUtils;
+import net.codecrafting.springfx.util.Bulkhead;
+import net.codecrafting.springfx.util.ObservableListSubscriber;
+import net.codecrafting.springfx.util.PollingTask;
+import net.codecrafting.springfx.util.SpscChannel;
+import net.codecrafting.springfx.util.SpscChannel.OverflowPolicy;
+
+/**
+ * A task scope bound to the lifecycle of a {@link ViewContext}. Every task started through the scope is
+ * tracked until it finishes. When the {@link StageContext} swaps the view out with {@link StageContext#swapContent(ViewContext)}
+ * or the view is evicted from the {@link ViewStage} cache, the scope is deactivated and all the tracked tasks are
+ * cancelled (interrupting the running ones). Callbacks aimed at the JavaFX Application Thread are dropped while
+ * the scope is inactive, so no detached node is updated by work nobody will see. The polls started with
+ * {@link #poll(Callable, Consumer, long, TimeUnit)} are only paused on swap out and resumed when the view is
+ * swapped in again, they are cancelled when the view is evicted.
+ *
+ * <br><b>NOTE:</b> A scope is active by default and it's reactivated every time its view is swapped in.
+ * <p>
+ * The background tasks can be isolated in a {@link Bulkhead} of the shared executor, configured with the
+ * {@link ViewController} annotation or with {@link #setBulkhead(Bulkhead)}. A view that floods its bulkhead
+ * gets its own tasks queued or rejected while the other views keep the shared executor threads.
+ * <p>
+ * Resources that live as long as the view itself, like live form bindings, can be released with
+ * {@link #onEvict(Runnable)}. Eviction listeners run only when the view leaves the {@link ViewStage} cache,
+ * never when it's just swapped out.
+ *
+ * @author Lucas Marotta
+ * @see #async(Runnable)
+ * @see #async(Callable)
+ * @see #async(Callable, Consumer)
+ * @see #asyncFx(Runnable)
+ * @see #asyncFx(Callable)
+ * @see #subscribe(Publisher, ObservableList)
+ * @see #poll(Callable, Consumer, long, TimeUnit)
+ * @see #channel(int, OverflowPolicy, Consumer)
+ * @see #track(Future)
+ * @see #cancelAll()
+ * @see #onEvict(Runnable)
+ * @see #isActive()
+ * @see #getBulkhead()
+ */
+public class ViewTaskScope
+{
+	/**
+	 * The view context that owns this scope
+	 */
+	private final ViewContext context;
+
+	/**
+	 * The tracked tasks that were not finished on the last inspection
+	 */
+	private final Set<Future<?>> tasks = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The polls that were not cancelled, paused while this scope is inactive
+	 */
+	private final Set<PollingTask<?>> polls = ConcurrentHashMap.newKeySet();
+	private final List<Runnable> evictionListeners = new CopyOnWriteArrayList<Runnable>();
+	private volatile boolean active = true;
+	private volatile Bulkhead bulkhead;
+	private static final Log LOGGER = LogFactory.getLog(ViewTaskScope.class);
+
+	/**
+	 * Create a new instance of {@link ViewTaskScope}.
+	 * @param context the {@link ViewContext} that owns this scope
+	 * @throws IllegalArgumentException if context is null
+	 */
+	public ViewTaskScope(ViewContext context)
+	{
+		if(context != null) {
+			this.context = context;
+		} else {
+			throw new IllegalArgumentException("context must not be null");
+		}
+	}
+
+	public ViewContext getContext()
+	{
+		return context;
+	}
+
+	/**
+	 * Check if the owning view is the current view of the {@link StageContext}
+	 * @return {@literal true} if tasks and JavaFX callbacks are accepted by this scope
+	 */
+	public boolean isActive()
+	{
+		return active;
+	}
+
+	/**
+	 * Get the {@link Bulkhead} that isolates the background tasks of this scope. Use it to inspect the
+	 * view saturation metrics.
+	 * @return the {@link Bulkhead} of this scope or {@literal null} if the tasks go straight to the shared executor
+	 */
+	public Bulkhead getBulkhead()
+	{
+		return bulkhead;
+	}
+
+	/**
+	 * Set the {@link Bulkhead} that isolates the background tasks of this scope. Tasks already started
+	 * keep running on the previous one.
+	 * @param bulkhead the {@link Bulkhead} of this scope or {@literal null} to use the shared executor directly
+	 */
+	public void setBulkhead(Bulkhead bulkhead)
+	{
+		this.bulkhead = bulkhead;
+	}
+
+	/**
+	 * Get the number of tracked tasks that are not finished yet, including the polls that were not cancelled
+	 * @return the number of pending tasks
+	 */
+	public int getPendingTaskCount()
+	{
+		purge();
+		return tasks.size() + polls.size();
+	}
+
+	/**
+	 * Runs the given {@link Runnable} with {@link AsyncUtils#async(Runnable)} tracking the returned {@link Future}.
+	 * If this scope has a {@link Bulkhead} the {@code Runnable} runs within it.
+	 * @param runnable the {@code Runnable} to run
+	 * @return the {@code Future} result of the {@code Runnable}. Already cancelled if this scope is inactive
+	 * @throws RejectedExecutionException if the {@link Bulkhead} of this scope is saturated
+	 */
+	public Future<Void> async(Runnable runnable)
+	{
+		if(!active) return cancelled();
+		Bulkhead current = bulkhead;
+		return track((current != null) ? AsyncUtils.async(runnable, current) : AsyncUtils.async(runnable));
+	}
+
+	/**
+	 * Calls the given {@link Callable} with {@link AsyncUtils#async(Callable)} tracking the returned {@link Future}.
+	 * If this scope has a {@link Bulkhead} the {@code Callable} runs within it.
+	 * @param callable the {@code Callable} to call
+	 * @param <T> the return type of the {@code Callable}
+	 * @return the {@code Future} result of the {@code Callable}. Already cancelled if this scope is inactive
+	 * @throws RejectedExecutionException if the {@link Bulkhead} of this scope is saturated
+	 */
+	public <T> Future<T> async(Callable<T> callable)
+	{
+		if(!active) return cancelled();
+		Bulkhead current = bulkhead;
+		return track((current != null) ? AsyncUtils.async(callable, current) : AsyncUtils.async(callable));
+	}
+
+	/**
+	 * Calls the given {@link Callable} on a background thread and delivers the result to the fxCallback
+	 * on the JavaFX Application Thread. The delivery is dropped if this scope was deactivated in the meantime.
+	 * @param callable the {@code Callable} to call
+	 * @param fxCallback the {@link Consumer} of the result, called on the JavaFX Application Thread
+	 * @param <T> the return type of the {@code Callable}
+	 * @return the {@code Future} result of the {@code Callable}. Already cancelled if this scope is inactive
+	 * @throws IllegalArgumentException if fxCallback is null
+	 */
+	public <T> Future<T> async(Callable<T> callable, Consumer<T> fxCallback)
+	{
+		if(fxCallback == null)
+			throw new IllegalArgumentException("fxCallback must not be null");
+		return async(() -> {
+			T result = callable.call();
+			asyncFx(() -> fxCallback.accept(result));
+			return result;
+		});
+	}
+
+	/**
+	 * Runs the given {@link Runnable} with {@link AsyncUtils#asyncFx(Runnable)}. The {@code Runnable} will
+	 * not run if this scope is deactivated before the JavaFX Application Thread reaches it.
+	 * @param runnable the {@code Runnable} to run
+	 * @return the {@code Future} result of the {@code Runnable}. Already cancelled if this scope is inactive
+	 */
+	public Future<Void> asyncFx(Runnable runnable)
+	{
+		if(!active) return cancelled();
+		return track(AsyncUtils.asyncFx(() -> {
+			if(active) runnable.run();
+		}));
+	}
+
+	/**
+	 * Calls the given {@link Callable} with {@link AsyncUtils#asyncFx(Callable)}. The {@code Callable} will
+	 * not be called if this scope is deactivated before the JavaFX Application Thread reaches it.
+	 * @param callable the {@code Callable} to call
+	 * @param <T> the return type of the {@code Callable}
+	 * @return the {@code Future} result of the {@code Callable}. Already cancelled if this scope is inactive
+	 */
+	public <T> Future<T> asyncFx(Callable<T> callable)
+	{
+		if(!active) return cancelled();
+		return track(AsyncUtils.asyncFx(() -> (active) ? callable.call() : null));
+	}
+
+	/**
+	 * Subscribe the given {@link Publisher} into the given {@link ObservableList} with a {@link ObservableListSubscriber},
+	 * tracking the stream completion. The subscription is cancelled when this scope is deactivated.
+	 * @param publisher the source of the items
+	 * @param target the {@link ObservableList} to receive the items
+	 * @param <T> the type of the items
+	 * @return the {@code Future} completion of the stream. Already cancelled if this scope is inactive
+	 */
+	public <T> Future<Void> subscribe(Publisher<? extends T> publisher, ObservableList<T> target)
+	{
+		if(!active) return cancelled();
+		return track(ObservableListSubscriber.subscribe(publisher, target).getCompletion());
+	}
+
+	/**
+	 * Polls the given {@link Callable} with a {@link PollingTask} delivering the results to the fxCallback while
+	 * this scope is active. The poll backs off while the {@link ViewStage} is iconified or hidden or the view main
+	 * node is not showing. It's paused while the view is swapped out, polling right away when the view is swapped
+	 * in again, and it stops when the view is evicted or {@link #cancelAll()} is called.
+	 * @param callable the {@code Callable} to call at every poll
+	 * @param fxCallback the {@link Consumer} of the results, called on the JavaFX Application Thread
+	 * @param interval the time between the delivery of a result and the next poll
+	 * @param unit the {@link TimeUnit} of the interval
+	 * @param <T> the return type of the {@code Callable}
+	 * @return the started {@link PollingTask}. Already cancelled if this scope is inactive
+	 * @throws IllegalArgumentException if callable, fxCallback or unit are null or interval is not positive
+	 */
+	public <T> PollingTask<T> poll(Callable<T> callable, Consumer<T> fxCallback, long interval, TimeUnit unit)
+	{
+		if(fxCallback == null)
+			throw new IllegalArgumentException("fxCallback must not be null");
+		PollingTask<T> task = new PollingTask<T>(callable, result -> {
+			if(active) fxCallback.accept(result);
+		}, interval, unit);
+		if(!active) {
+			task.cancel();
+			return task;
+		}
+		task.setVisibility(createVisibility());
+		polls.add(task);
+		task.getCompletion().whenComplete((value, e) -> polls.remove(task));
+		return task.start();
+	}
+
+	/**
+	 * Create a {@link SpscChannel} delivering the items of a producer thread to the fxConsumer while this scope
+	 * is active. The channel is closed, dropping the buffered items, when this scope is deactivated.
+	 * @param capacity the maximum number of buffered items, rounded up to a power of two
+	 * @param policy the {@link OverflowPolicy} when the buffer is full
+	 * @param fxConsumer the {@link Consumer} of the batches, called on the JavaFX Application Thread
+	 * @param <T> the type of the items
+	 * @return the connected {@link SpscChannel}. Already closed if this scope is inactive
+	 * @throws IllegalArgumentException if fxConsumer or policy are null or capacity is lower than {@literal 1}
+	 */
+	public <T> SpscChannel<T> channel(int capacity, OverflowPolicy policy, Consumer<? super List<T>> fxConsumer)
+	{
+		if(fxConsumer == null)
+			throw new IllegalArgumentException("fxConsumer must not be null");
+		SpscChannel<T> channel = new SpscChannel<T>(capacity, policy);
+		if(!active) {
+			channel.getCompletion().cancel(false);
+			return channel;
+		}
+		track(channel.getCompletion());
+		return channel.connectFx(batch -> {
+			if(active) fxConsumer.accept(batch);
+		});
+	}
+
+	/**
+	 * Track a {@link Future} started elsewhere so it's cancelled together with the tasks of this scope.
+	 * If this scope is inactive the {@code Future} is cancelled immediately.
+	 * @param future the {@code Future} to be tracked
+	 * @param <T> the type of the {@code Future}
+	 * @return the same {@code Future} instance
+	 * @throws IllegalArgumentException if future is null
+	 */
+	public <T> Future<T> track(Future<T> future)
+	{
+		if(future != null) {
+			purge();
+			tasks.add(future);
+			if(!active) {
+				tasks.remove(future);
+				future.cancel(true);
+			}
+			return future;
+		} else {
+			throw new IllegalArgumentException("future must not be null");
+		}
+	}
+
+	/**
+	 * Cancel all the tracked tasks and polls, interrupting the running ones. The scope state is not changed.
+	 */
+	public void cancelAll()
+	{
+		cancelTasks();
+		for (PollingTask<?> poll : polls) {
+			poll.cancel();
+		}
+	}
+
+	/**
+	 * Add a listener to be run once when the owning view is evicted from the {@link ViewStage} cache,
+	 * after the tracked tasks are cancelled. Swapping the view out does not run it.
+	 * @param listener the {@link Runnable} to run on eviction
+	 * @throws IllegalArgumentException if listener is null
+	 */
+	public void onEvict(Runnable listener)
+	{
+		if(listener != null) {
+			evictionListeners.add(listener);
+		} else {
+			throw new IllegalArgumentException("listener must not be null");
+		}
+	}
+
+	/**
+	 * Remove a listener added with {@link #onEvict(Runnable)}
+	 * @param listener the {@link Runnable} to remove
+	 * @return {@literal true} if the listener was registered
+	 */
+	public boolean removeEvictionListener(Runnable listener)
+	{
+		return evictionListeners.remove(listener);
+	}
+
+	//Called by StageContext when the owning view is swapped in
+	void activate()
+	{
+		active = true;
+		for (PollingTask<?> poll : polls) {
+			poll.resume();
+		}
+	}
+
+	//Called by StageContext when the owning view is swapped out and by evict()
+	void deactivate()
+	{
+		active = false;
+		cancelTasks();
+		for (PollingTask<?> poll : polls) {
+			poll.pause();
+		}
+	}
+
+	//Called by ViewStage when the owning view is evicted from its cache
+	void evict()
+	{
+		deactivate();
+		cancelAll();
+		for (Runnable listener : evictionListeners) {
+			try {
+				listener.run();
+			} catch (RuntimeException e) {
+				LOGGER.error(e.getMessage(), e);
+			}
+		}
+		evictionListeners.clear();
+	}
+
+	//The view is visible while its stage is showing, not iconified, and its main node is in a scene
+	private ObservableBooleanValue createVisibility()
+	{
+		ViewStage stage = context.getViewStage();
+		Node node = context.getMainNode();
+		if(stage == null) return null;
+		if(node == null) {
+			return Bindings.createBooleanBinding(() -> stage.isShowing() && !stage.isIconified(),
+					stage.showingProperty(), stage.iconifiedProperty());
+		}
+		return Bindings.createBooleanBinding(() -> stage.isShowing() && !stage.isIconified()
+				&& node.getScene() != null && node.isVisible(),
+				stage.showingProperty(), stage.iconifiedProperty(), node.sceneProperty(), node.visibleProperty());
+	}
+
+	//Removed one by one, a task tracked meanwhile is either cancelled here or kept tracked
+	private void cancelTasks()
+	{
+		Iterator<Future<?>> iterator = tasks.iterator();
+		while(iterator.hasNext()) {
+			Future<?> task = iterator.next();
+			iterator.remove();
+			task.cancel(true);
+		}
+	}
+
+	//Drop the finished tasks so the tracking set does not grow with the view lifetime
+	private void purge()
+	{
+		tasks.removeIf(Future::isDone);
+	}
+
+	private static <T> Future<T> cancelled()
+	{
+		CompletableFuture<T> future = new CompletableFuture<T>();
+		future.cancel(false);
+		return future;
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.validation.Validator;
+
+import org.hibernate.validator.HibernateValidatorFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import net.codecrafting.springfx.annotation.FxCacheable;
+import net.codecrafting.springfx.cache.FxCacheInterceptor;
+import net.codecrafting.springfx.cache.FxCacheablePostProcessor;
+import net.codecrafting.springfx.cache.LruCacheManager;
+import net.codecrafting.springfx.util.AsyncUtils;
+import net.codecrafting.springfx.util.SpringFXExecutor;
+import net.codecrafting.springfx.util.SpringFXExecutor.RejectionPolicy;
+import net.codecrafting.springfx.validation.CachingMessageInterpolator;
+import net.codecrafting.springfx.validation.ControlAdapter;
+import net.codecrafting.springfx.validation.ControlAdapterRegistry;
+import net.codecrafting.springfx.validation.FormValidator;
+
+/**
+ * The Spring configuration of the SpringFX infrastructure beans. This configuration is registered by
+ * {@link SpringFXContextImpl} together with the user application class. Custom {@link SpringFXContext}
+ * implementations should add it to their sources too.
+ * <p>
+ * The following properties are supported:
+ * <ul>
+ * <li>{@code springfx.executor.max-threads}: the maximum number of threads of the {@link SpringFXExecutor}</li>
+ * <li>{@code springfx.executor.queue-capacity}: the capacity of each priority lane queue</li>
+ * <li>{@code springfx.executor.rejection-policy}: one of {@code abort}, {@code caller-runs}, {@code discard} or {@code discard-oldest}.
+ * Defaults to {@code abort}. With {@code caller-runs} the tasks submitted from the JavaFX Application Thread are still
+ * rejected, never run on it</li>
+ * <li>{@code springfx.executor.keep-alive}: the milliseconds an idle thread waits before being released</li>
+ * <li>{@code springfx.cache.max-size}: the maximum number of entries of each {@link FxCacheable} cache, when the
+ * application does not define its own {@link CacheManager}</li>
+ * <li>{@code springfx.validation.expression-language}: whether the constraint messages are interpolated with expression
+ * language, which needs a {@code javax.el} implementation on the classpath. Disabled by default</li>
+ * </ul>
+ *
+ * @author Lucas Marotta
+ */
+@Configuration
+public class SpringFXConfiguration
+{
+	/**
+	 * The {@link SpringFXExecutor} shared by {@link AsyncUtils} and Spring. It's registered as the
+	 * {@literal taskExecutor} {@link TaskExecutor} so {@literal @Async} methods use it too.
+	 * @param env the Spring {@link Environment} to read the executor properties
+	 * @return the configured {@link SpringFXExecutor}
+	 */
+	@Bean(name = {"taskExecutor", "springFXExecutor"}, destroyMethod = "shutdown")
+	public SpringFXExecutor springFXExecutor(Environment env)
+	{
+		int maxThreads = env.getProperty("springfx.executor.max-threads", Integer.class, SpringFXExecutor.DEFAULT_MAX_THREADS);
+		int queueCapacity = env.getProperty("springfx.executor.queue-capacity", Integer.class, SpringFXExecutor.DEFAULT_QUEUE_CAPACITY);
+		RejectionPolicy policy = RejectionPolicy.valueOf(env.getProperty("springfx.executor.rejection-policy", "abort")
+				.toUpperCase().replace('-', '_'));
+		SpringFXExecutor executor = new SpringFXExecutor(maxThreads, queueCapacity, policy);
+		executor.setKeepAlive(env.getProperty("springfx.executor.keep-alive", Long.class, SpringFXExecutor.DEFAULT_KEEP_ALIVE_MILLIS),
+				TimeUnit.MILLISECONDS);
+		AsyncUtils.setExecutor(executor);
+		return executor;
+	}
+
+	/**
+	 * The {@link FxCacheInterceptor} of the {@link FxCacheable} methods. It uses the application {@link CacheManager}
+	 * if there is a single one, otherwise a {@link LruCacheManager}.
+	 * @param cacheManagers the provider of the application {@link CacheManager}
+	 * @param env the Spring {@link Environment} to read the cache properties
+	 * @return the {@link FxCacheInterceptor}
+	 */
+	@Bean
+	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+	public FxCacheInterceptor fxCacheInterceptor(ObjectProvider<CacheManager> cacheManagers, Environment env)
+	{
+		int maxSize = env.getProperty("springfx.cache.max-size", Integer.class, LruCacheManager.DEFAULT_MAX_SIZE);
+		return new FxCacheInterceptor(cacheManagers.getIfUnique(() -> new LruCacheManager(maxSize)));
+	}
+
+	/**
+	 * The {@link FxCacheablePostProcessor} applying the {@link FxCacheInterceptor} to the {@link FxCacheable} methods.
+	 * It's static, like every bean post processor of a configuration class.
+	 * @param fxCacheInterceptor the provider of the {@link FxCacheInterceptor}
+	 * @return the {@link FxCacheablePostProcessor}
+	 */
+	@Bean
+	@Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+	public static FxCacheablePostProcessor fxCacheablePostProcessor(ObjectProvider<FxCacheInterceptor> fxCacheInterceptor)
+	{
+		return new FxCacheablePostProcessor(fxCacheInterceptor);
+	}
+
+	/**
+	 * The {@link LocalValidatorFactoryBean} shared by all the {@link FormValidator}s, so Hibernate Validator
+	 * is bootstrapped once per application instead of once per form. Being a {@code javax.validation.Validator}
+	 * bean, it also replaces the Spring Boot default validator. The fail fast validator of the form validators
+	 * is taken from the same factory. The messages are interpolated by a {@link CachingMessageInterpolator}.
+	 * @param env the Spring {@link Environment} to read the validation properties
+	 * @return the shared {@link LocalValidatorFactoryBean}
+	 */
+	@Bean
+	public LocalValidatorFactoryBean springFXValidator(Environment env)
+	{
+		boolean expressionLanguage = env.getProperty(CachingMessageInterpolator.EXPRESSION_LANGUAGE_PROPERTY, Boolean.class, false);
+		LocalValidatorFactoryBean factory = new LocalValidatorFactoryBean() {
+			private Validator failFastValidator;
+
+			@Override
+			public void afterPropertiesSet()
+			{
+				super.afterPropertiesSet();
+				failFastValidator = unwrap(HibernateValidatorFactory.class).usingContext().failFast(true).getValidator();
+				FormValidator.setDefaultValidator(this);
+				FormValidator.setDefaultFailFastValidator(failFastValidator);
+			}
+
+			@Override
+			public void destroy()
+			{
+				FormValidator.resetDefaultValidator(this);
+				FormValidator.resetDefaultFailFastValidator(failFastValidator);
+				super.destroy();
+			}
+		};
+		factory.setMessageInterpolator(CachingMessageInterpolator.create(expressionLanguage));
+		return factory;
+	}
+
+	/**
+	 * Register the {@link ControlAdapter} beans of the application on the {@link ControlAdapterRegistry} once all
+	 * the singletons are created, and unregister them when the application context is closed.
+	 * @param adapters the provider of the {@link ControlAdapter} beans
+	 * @return the registrar of the {@link ControlAdapter} beans
+	 */
+	@Bean
+	public SmartInitializingSingleton springFXControlAdapters(ObjectProvider<ControlAdapter<?, ?>> adapters)
+	{
+		return new ControlAdapterRegistrar(adapters);
+	}
+
+	private static class ControlAdapterRegistrar implements SmartInitializingSingleton, DisposableBean
+	{
+		private final ObjectProvider<ControlAdapter<?, ?>> adapters;
+		private final List<ControlAdapter<?, ?>> registered = new ArrayList<ControlAdapter<?, ?>>();
+
+		public ControlAdapterRegistrar(ObjectProvider<ControlAdapter<?, ?>> adapters)
+		{
+			this.adapters = adapters;
+		}
+
+		@Override
+		public void afterSingletonsInstantiated()
+		{
+			//Ordered so the adapter with the highest precedence is registered last and wins
+			List<ControlAdapter<?, ?>> ordered = adapters.orderedStream().collect(Collectors.toList());
+			Collections.reverse(ordered);
+			for (ControlAdapter<?, ?> adapter : ordered) {
+				ControlAdapterRegistry.register(adapter);
+				registered.add(adapter);
+			}
+		}
+
+		@Override
+		public void destroy()
+		{
+			for (ControlAdapter<?, ?> adapter : registered) {
+				ControlAdapterRegistry.unregister(adapter);
+			}
+			registered.clear();
+		}
+	}
+}
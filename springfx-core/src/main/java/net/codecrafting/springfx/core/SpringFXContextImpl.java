@@ -57,7 +57,7 @@ public class SpringFXContextImpl implements SpringFXContext
 	/**
 	 * Create a new {@link SpringFXContextImpl} instance.
 	 * Here will be created a internal {@link SpringApplicationBuilder} to initialize 
-	 * and configure a {@link ConfigurableApplicationContext}
+	 * and configure a {@link ConfigurableApplicationContext} with the {@link SpringFXConfiguration}
 	 * @param appClass the user application class
 	 */
 	public SpringFXContextImpl(Class<? extends SpringFXApplication> appClass)
@@ -65,7 +65,7 @@ public class SpringFXContextImpl implements SpringFXContext
 		if(appClass != null) {
 			this.appClass = appClass;
 			springBuilder = new SpringApplicationBuilder()
-					.sources(appClass)
+					.sources(appClass, SpringFXConfiguration.class)
 					.web(WebApplicationType.NONE)
 					.headless(isHeadless());
 		} else {
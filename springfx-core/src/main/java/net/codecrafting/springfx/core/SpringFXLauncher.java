@@ -166,7 +166,8 @@ public class SpringFXLauncher
 	{
 		if(context != null) {
 			DialogBuilder.init();
-			executorService = Executors.newCachedThreadPool();
+			//Only the JavaFX launch runs here, a single thread is enough
+			executorService = Executors.newSingleThreadExecutor();
 			this.context = context;	
 		} else {
 			throw new IllegalArgumentException("SpringFXContext must not be null");
@@ -0,0 +1,432 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.processing;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.MirroredTypeException;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+import net.codecrafting.springfx.annotation.FormBinding;
+import net.codecrafting.springfx.annotation.ValidationBind;
+import net.codecrafting.springfx.validation.ControlAdapter;
+import net.codecrafting.springfx.validation.FormBinder;
+import net.codecrafting.springfx.validation.FormModel;
+
+/**
+ * The annotation processor generating the {@link FormBinder} of the {@link FormModel} classes annotated with
+ * {@link FormBinding}. For every form element of the {@link FormBinding} context bound by {@link ValidationBind}
+ * to a model attribute, the binder reads and writes the value of the control like {@link FormModel} does, with
+ * direct calls. The form elements are read by their fields or else by their getters. The model attributes are read
+ * and written directly by their fields, never through getters and setters, like the reflective bindings of the
+ * {@link FormModel}. Model attributes that are JavaFX properties are read and written through the property value,
+ * taken from the field or else from the {@code nameProperty()} method.
+ * <p>
+ * The generation fails with a compilation error if a bound form element is not accessible from the package of the
+ * model or if the types are not compatible. Model attributes not accessible from the package of the model, like
+ * private ones, final attributes that aren't properties, form elements not bound to a model attribute and form
+ * elements whose declared type isn't exactly one of the built in JavaFX controls, like subclasses that may have an
+ * adapter of their own, are left to the {@link FormModel}, which copies them through their {@link ControlAdapter}.
+ * <p>
+ * With Gradle the processor is configured by adding SpringFX to the {@code annotationProcessor} dependencies.
+ *
+ * @author Lucas Marotta
+ * @see FormBinding
+ * @see FormBinder
+ */
+@SupportedAnnotationTypes("net.codecrafting.springfx.annotation.FormBinding")
+public class FormBinderProcessor extends AbstractProcessor
+{
+	/**
+	 * The controls of the built in {@link ControlAdapter}s, with the accessors of their values
+	 */
+	private static final String[][] CONTROLS = {
+		{"javafx.scene.control.TextField", "getText", "setText"},
+		{"javafx.scene.control.CheckBox", "isSelected", "setSelected"},
+		{"javafx.scene.control.ChoiceBox", "getValue", "setValue"},
+		{"javafx.scene.control.ColorPicker", "getValue", "setValue"},
+		{"javafx.scene.control.ComboBox", "getValue", "setValue"},
+		{"javafx.scene.control.DatePicker", "getValue", "setValue"},
+		{"javafx.scene.control.ToggleButton", "isSelected", "setSelected"},
+		{"javafx.scene.control.TextArea", "getText", "setText"},
+		{"javafx.scene.control.Slider", "getValue", "setValue"}
+	};
+
+	private static final String PROPERTY = "javafx.beans.property.Property";
+
+	private Types types;
+	private Elements elements;
+	private Messager messager;
+	private Filer filer;
+
+	@Override
+	public synchronized void init(ProcessingEnvironment processingEnv)
+	{
+		super.init(processingEnv);
+		types = processingEnv.getTypeUtils();
+		elements = processingEnv.getElementUtils();
+		messager = processingEnv.getMessager();
+		filer = processingEnv.getFiler();
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv)
+	{
+		for (Element element : roundEnv.getElementsAnnotatedWith(FormBinding.class)) {
+			if(element.getKind() != ElementKind.CLASS) {
+				error(element, "@FormBinding must be used on a FormModel class");
+				continue;
+			}
+			TypeElement model = (TypeElement) element;
+			TypeElement context = getContextType(model);
+			if(checkTypes(model, context)) {
+				try {
+					generate(model, context);
+				} catch (IOException e) {
+					error(model, "Could not write the FormBinder of " + model.getQualifiedName() + ": " + e.getMessage());
+				}
+			}
+		}
+		return true;
+	}
+
+	private boolean checkTypes(TypeElement model, TypeElement context)
+	{
+		TypeElement formModel = elements.getTypeElement(FormModel.class.getName());
+		if(!types.isSubtype(types.erasure(model.asType()), types.erasure(formModel.asType()))) {
+			error(model, "@FormBinding must be used on a FormModel class");
+			return false;
+		}
+		if(!model.getTypeParameters().isEmpty() || !context.getTypeParameters().isEmpty()) {
+			error(model, "@FormBinding model and context classes must not be generic");
+			return false;
+		}
+		String pkg = getPackage(model);
+		if(!isAccessible(model, pkg) || !isAccessible(context, pkg)) {
+			error(model, "@FormBinding model and context classes must be accessible from the package " + pkg);
+			return false;
+		}
+		return true;
+	}
+
+	private void generate(TypeElement model, TypeElement context) throws IOException
+	{
+		String pkg = getPackage(model);
+		String binaryName = elements.getBinaryName(model).toString();
+		String binderName = binaryName.substring(pkg.isEmpty() ? 0 : pkg.length() + 1) + FormBinder.CLASS_SUFFIX;
+		String modelName = model.getQualifiedName().toString();
+		String contextName = context.getQualifiedName().toString();
+		StringBuilder boundFields = new StringBuilder();
+		StringBuilder fromForm = new StringBuilder();
+		StringBuilder toForm = new StringBuilder();
+		boolean valid = true;
+		for (VariableElement contextField : ElementFilter.fieldsIn(context.getEnclosedElements())) {
+			ValidationBind bind = contextField.getAnnotation(ValidationBind.class);
+			if(bind == null || contextField.getModifiers().contains(Modifier.STATIC)) continue;
+			String name = bind.value().isEmpty() ? contextField.getSimpleName().toString() : bind.value();
+			VariableElement modelField = findField(model, name);
+			if(modelField == null || modelField.getModifiers().contains(Modifier.STATIC)) continue;
+			String[] control = getControl(contextField.asType());
+			if(control == null) continue;
+			if(!isWritable(model, modelField)) {
+				messager.printMessage(Diagnostic.Kind.NOTE, "@ValidationBind model attribute " + name + " is not writable from "
+						+ "the package " + pkg + ", it's copied by the FormModel", modelField);
+				continue;
+			}
+			valid &= appendBinding(model, context, contextField, modelField, control, fromForm, toForm);
+			boundFields.append(boundFields.length() == 0 ? "" : ", ").append('"').append(contextField.getSimpleName()).append('"');
+		}
+		if(!valid) return;
+
+		try (Writer writer = filer.createSourceFile(pkg.isEmpty() ? binderName : pkg + "." + binderName, model).openWriter()) {
+			if(!pkg.isEmpty()) writer.write("package " + pkg + ";\n\n");
+			writer.write("/*\n * Generated by the SpringFX FormBinderProcessor from the @FormBinding of " + modelName
+					+ ", do not edit.\n */\n");
+			writer.write("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+			writer.write("public final class " + binderName + " implements " + FormBinder.class.getName()
+					+ "<" + modelName + ", " + contextName + ">\n{\n");
+			writer.write("\tprivate static final java.util.Set<String> BOUND_FIELDS = java.util.Collections.unmodifiableSet(\n"
+					+ "\t\t\tnew java.util.HashSet<String>(java.util.Arrays.asList(" + boundFields + ")));\n\n");
+			writer.write("\t@Override\n\tpublic Class<" + contextName + "> getContextType()\n\t{\n");
+			writer.write("\t\treturn " + contextName + ".class;\n\t}\n\n");
+			writer.write("\t@Override\n\tpublic java.util.Set<String> getBoundFields()\n\t{\n");
+			writer.write("\t\treturn BOUND_FIELDS;\n\t}\n\n");
+			writer.write("\t@Override\n\tpublic void setValuesFromForm(" + modelName + " model, " + contextName + " context)\n\t{\n");
+			writer.write(fromForm.toString());
+			writer.write("\t}\n\n");
+			writer.write("\t@Override\n\tpublic void setValuesToForm(" + modelName + " model, " + contextName + " context)\n\t{\n");
+			writer.write(toForm.toString());
+			writer.write("\t}\n}\n");
+		}
+	}
+
+	private boolean appendBinding(TypeElement model, TypeElement context, VariableElement contextField,
+			VariableElement modelField, String[] control, StringBuilder fromForm, StringBuilder toForm)
+	{
+		String pkg = getPackage(model);
+		String fieldName = contextField.getSimpleName().toString();
+		String attributeName = modelField.getSimpleName().toString();
+		DeclaredType nodeType = (DeclaredType) contextField.asType();
+
+		//The form element, by its field or else by its getter
+		String node = null;
+		if(isAccessible(contextField, pkg)) {
+			node = "context." + fieldName;
+		} else {
+			ExecutableElement getter = findGetter(context, fieldName, pkg);
+			if(getter != null && types.isAssignable(getter.getReturnType(), nodeType)) node = "context." + getter.getSimpleName() + "()";
+		}
+		if(node == null) {
+			error(contextField, "@ValidationBind form element " + fieldName + " must be accessible from the package "
+					+ pkg + " or have a getter");
+			return false;
+		}
+
+		//The model attribute, by its field or else by its property method for a JavaFX property
+		String read;
+		String write;
+		TypeMirror readType;
+		TypeMirror writeType;
+		String property = null;
+		TypeMirror propertyType = null;
+		if(isProperty(modelField.asType())) {
+			if(isAccessible(modelField, pkg)) {
+				property = "model." + attributeName;
+				propertyType = modelField.asType();
+			} else {
+				ExecutableElement getter = findMethod(model, attributeName + "Property", 0, pkg);
+				property = "model." + getter.getSimpleName() + "()";
+				propertyType = getter.getReturnType();
+			}
+			read = "property.getValue()";
+			readType = ((ExecutableType) types.asMemberOf((DeclaredType) propertyType, findMethod(PROPERTY, "getValue", 0)))
+					.getReturnType();
+			if(!isConcrete(readType)) readType = types.erasure(readType);
+			write = "property.setValue(%s)";
+			writeType = ((ExecutableType) types.asMemberOf((DeclaredType) propertyType, findMethod(PROPERTY, "setValue", 1)))
+					.getParameterTypes().get(0);
+			if(!isConcrete(writeType)) writeType = types.erasure(writeType);
+		} else {
+			read = "model." + attributeName;
+			readType = modelField.asType();
+			write = "model." + attributeName + " = %s";
+			writeType = modelField.asType();
+		}
+
+		//Control to model
+		ExecutableElement controlGetter = findMethod(control[0], control[1], 0);
+		ExecutableElement controlSetter = findMethod(control[0], control[2], 1);
+		TypeMirror valueType = ((ExecutableType) types.asMemberOf(nodeType, controlGetter)).getReturnType();
+		String value = convert("node." + control[1] + "()", valueType, writeType);
+		if(value == null) {
+			error(modelField, "@ValidationBind model attribute " + attributeName + " of type " + writeType
+					+ " is not compatible with the value of the form element " + fieldName + " of type " + valueType);
+			return false;
+		}
+		fromForm.append("\t\t{\n");
+		fromForm.append("\t\t\t" + nodeType + " node = " + node + ";\n");
+		if(property != null) fromForm.append("\t\t\t" + propertyType + " property = " + property + ";\n");
+		fromForm.append("\t\t\tif(node != null" + (property != null ? " && property != null" : "") + ") "
+				+ String.format(write, value) + ";\n");
+		fromForm.append("\t\t}\n");
+
+		//Model to control, through the raw control when its value type is not known
+		TypeMirror parameterType = ((ExecutableType) types.asMemberOf(nodeType, controlSetter)).getParameterTypes().get(0);
+		String target = "node";
+		if(!isConcrete(parameterType)) {
+			target = "((" + types.erasure(controlSetter.getEnclosingElement().asType()) + ") node)";
+			parameterType = types.erasure(parameterType);
+		}
+		String converted = convert("value", readType, parameterType);
+		if(converted == null) {
+			error(modelField, "@ValidationBind model attribute " + attributeName + " of type " + readType
+					+ " is not compatible with the value of the form element " + fieldName + " of type " + parameterType);
+			return false;
+		}
+		boolean primitive = readType.getKind().isPrimitive();
+		toForm.append("\t\t{\n");
+		toForm.append("\t\t\t" + nodeType + " node = " + node + ";\n");
+		if(property != null) {
+			toForm.append("\t\t\t" + propertyType + " property = " + property + ";\n");
+			read = "(property != null) ? " + read + " : null";
+		}
+		toForm.append("\t\t\t" + readType + " value = " + read + ";\n");
+		toForm.append("\t\t\tif(node != null" + (primitive ? "" : " && value != null") + ") " + target + "."
+				+ control[2] + "(" + converted + ");\n");
+		toForm.append("\t\t}\n");
+		return true;
+	}
+
+	//Written by its field, or through the value of a JavaFX property taken from its field or property method
+	private boolean isWritable(TypeElement model, VariableElement modelField)
+	{
+		String pkg = getPackage(model);
+		if(isProperty(modelField.asType())) {
+			if(isAccessible(modelField, pkg)) return true;
+			ExecutableElement getter = findMethod(model, modelField.getSimpleName() + "Property", 0, pkg);
+			return getter != null && isProperty(getter.getReturnType());
+		}
+		return isAccessible(modelField, pkg) && !modelField.getModifiers().contains(Modifier.FINAL);
+	}
+
+	//Assign directly or cast a reference down to the target type, null if the types are not compatible
+	private String convert(String expression, TypeMirror from, TypeMirror to)
+	{
+		if(!isConcrete(from)) from = types.erasure(from);
+		if(types.isAssignable(from, to)) return expression;
+		if(from.getKind().isPrimitive()) return null;
+		TypeMirror boxed = to.getKind().isPrimitive() ? types.boxedClass((PrimitiveType) to).asType() : to;
+		if(types.isAssignable(boxed, from)) return "(" + types.erasure(boxed) + ") " + expression;
+		return null;
+	}
+
+	private boolean isProperty(TypeMirror type)
+	{
+		TypeElement property = elements.getTypeElement(PROPERTY);
+		return property != null && type.getKind() == TypeKind.DECLARED
+				&& types.isAssignable(types.erasure(type), types.erasure(property.asType()));
+	}
+
+	private boolean isConcrete(TypeMirror type)
+	{
+		return type.getKind().isPrimitive() || type.getKind() == TypeKind.DECLARED || type.getKind() == TypeKind.ARRAY;
+	}
+
+	//The built in control the form element is declared as. Subclasses are left to the FormModel, the ControlAdapterRegistry
+	//may resolve them to an adapter registered for the subclass instead of the built in one
+	private String[] getControl(TypeMirror fieldType)
+	{
+		if(fieldType.getKind() != TypeKind.DECLARED) return null;
+		for (String[] control : CONTROLS) {
+			TypeElement controlElement = elements.getTypeElement(control[0]);
+			if(controlElement != null && types.isSameType(types.erasure(fieldType), types.erasure(controlElement.asType()))) return control;
+		}
+		return null;
+	}
+
+	private ExecutableElement findMethod(TypeElement type, String methodName, int parameters, String pkg)
+	{
+		for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+			if(method.getSimpleName().contentEquals(methodName) && method.getParameters().size() == parameters
+					&& isInstanceMember(method, pkg)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	private ExecutableElement findMethod(String typeName, String methodName, int parameters)
+	{
+		TypeElement type = elements.getTypeElement(typeName);
+		for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+			if(method.getSimpleName().contentEquals(methodName) && method.getParameters().size() == parameters) return method;
+		}
+		throw new IllegalStateException(typeName + "." + methodName + " not found");
+	}
+
+	//The field of the class or of a superclass, like the reflective bindings find it
+	private VariableElement findField(TypeElement type, String name)
+	{
+		while (type != null) {
+			for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+				if(field.getSimpleName().contentEquals(name)) return field;
+			}
+			TypeMirror superclass = type.getSuperclass();
+			type = (superclass.getKind() == TypeKind.DECLARED) ? (TypeElement) types.asElement(superclass) : null;
+		}
+		return null;
+	}
+
+	private ExecutableElement findGetter(TypeElement type, String property, String pkg)
+	{
+		String suffix = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+		for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+			String name = method.getSimpleName().toString();
+			if((name.equals("get" + suffix) || name.equals("is" + suffix)) && method.getParameters().isEmpty()
+					&& method.getReturnType().getKind() != TypeKind.VOID && isInstanceMember(method, pkg)) {
+				return method;
+			}
+		}
+		return null;
+	}
+
+	private boolean isInstanceMember(Element member, String pkg)
+	{
+		return !member.getModifiers().contains(Modifier.STATIC) && isAccessible(member, pkg);
+	}
+
+	//Accessible from a class of the package, which is not a subclass
+	private boolean isAccessible(Element element, String pkg)
+	{
+		for (Element current = element; current != null && current.getKind() != ElementKind.PACKAGE;
+				current = current.getEnclosingElement()) {
+			Set<Modifier> modifiers = current.getModifiers();
+			if(modifiers.contains(Modifier.PRIVATE)) return false;
+			if(!modifiers.contains(Modifier.PUBLIC) && !getPackage(current).equals(pkg)) return false;
+		}
+		return true;
+	}
+
+	private TypeElement getContextType(TypeElement model)
+	{
+		try {
+			model.getAnnotation(FormBinding.class).value();
+		} catch (MirroredTypeException e) {
+			return (TypeElement) types.asElement(e.getTypeMirror());
+		}
+		throw new IllegalStateException("@FormBinding context of " + model + " is not a source type");
+	}
+
+	private String getPackage(Element element)
+	{
+		return elements.getPackageOf(element).getQualifiedName().toString();
+	}
+
+	private void error(Element element, String message)
+	{
+		messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+}
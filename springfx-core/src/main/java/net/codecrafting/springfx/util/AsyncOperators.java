@@ -0,0 +1,292 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+
+/**
+ * The keyed state of the {@link AsyncUtils} rate limiting operators. Every key has at most one pending call,
+ * waiting for its delay, and one running call. A new call for the key supersedes the previous ones, cancelling
+ * their {@link Future}s and interrupting the running computation. Throttled calls only supersede the pending call:
+ * the running one still delivers, and the newest call waits as the trailing call until it finishes. The state of a
+ * key is dropped as soon as it's idle, so keys can be any short lived object.
+ * <p>
+ * The key state is only updated inside the {@link ConcurrentHashMap} compute functions, while the calls are submitted
+ * to the executor after them. A {@code caller-runs} executor may then run a call, and release its key, on the
+ * submitting thread.
+ *
+ * @author Lucas Marotta
+ * @see AsyncUtils#debounce(Object, long, java.util.concurrent.TimeUnit, Callable, Consumer)
+ * @see AsyncUtils#throttle(Object, long, java.util.concurrent.TimeUnit, Callable, Consumer)
+ * @see AsyncUtils#latest(Object, Callable, Consumer)
+ */
+final class AsyncOperators
+{
+	private static final ConcurrentHashMap<Object, Slot> SLOTS = new ConcurrentHashMap<Object, Slot>();
+
+	private AsyncOperators() {}
+
+	static <T> Future<T> debounce(Object key, long delayNanos, Callable<T> callable, Consumer<T> fxCallback)
+	{
+		Call<T> call = new Call<T>(callable, fxCallback);
+		SLOTS.compute(key, (k, slot) -> {
+			if(slot == null) slot = new Slot();
+			slot.cancelPending();
+			slot.cancelRunning();
+			schedule(key, slot, call, delayNanos);
+			return slot;
+		});
+		return call.result;
+	}
+
+	static <T> Future<T> throttle(Object key, long intervalNanos, Callable<T> callable, Consumer<T> fxCallback)
+	{
+		Call<T> call = new Call<T>(callable, fxCallback);
+		call.trailing = true;
+		boolean[] started = new boolean[1];
+		SLOTS.compute(key, (k, slot) -> {
+			if(slot == null) slot = new Slot();
+			slot.cancelPending();
+			slot.interval = intervalNanos;
+			long elapsed = System.nanoTime() - slot.lastStart;
+			if(slot.lastStart != 0 && elapsed < intervalNanos) {
+				schedule(key, slot, call, intervalNanos - elapsed);
+			} else if(slot.running != null) {
+				//Started by the release of the running call
+				slot.pending = call;
+			} else {
+				slot.start(call);
+				started[0] = true;
+			}
+			return slot;
+		});
+		if(started[0]) submit(key, call);
+		return call.result;
+	}
+
+	static <T> Future<T> latest(Object key, Callable<T> callable, Consumer<T> fxCallback)
+	{
+		Call<T> call = new Call<T>(callable, fxCallback);
+		SLOTS.compute(key, (k, slot) -> {
+			if(slot == null) slot = new Slot();
+			slot.cancelPending();
+			slot.cancelRunning();
+			slot.start(call);
+			return slot;
+		});
+		submit(key, call);
+		return call.result;
+	}
+
+	static void cancel(Object key)
+	{
+		Slot slot = SLOTS.remove(key);
+		if(slot != null) {
+			slot.cancelPending();
+			slot.cancelRunning();
+		}
+	}
+
+	static boolean isActive(Object key)
+	{
+		return SLOTS.containsKey(key);
+	}
+
+	private static void schedule(Object key, Slot slot, Call<?> call, long delayNanos)
+	{
+		slot.pending = call;
+		slot.timer = AsyncUtils.getScheduler().schedule(() -> promote(key, call), delayNanos, NANOSECONDS);
+	}
+
+	//Start the pending call once its delay is over, unless it was superseded meanwhile
+	private static void promote(Object key, Call<?> call)
+	{
+		boolean[] started = new boolean[1];
+		SLOTS.computeIfPresent(key, (k, slot) -> {
+			if(slot.pending == call) {
+				slot.pending = null;
+				slot.timer = null;
+				//Cancelled by the caller while waiting
+				if(call.result.isDone()) return (slot.running != null) ? slot : null;
+				//A trailing call waits for the running call to deliver, it's started by its release
+				if(call.trailing && slot.running != null) {
+					slot.pending = call;
+					return slot;
+				}
+				slot.cancelRunning();
+				slot.start(call);
+				started[0] = true;
+			}
+			return slot;
+		});
+		if(started[0]) submit(key, call);
+	}
+
+	//Called after the key compute function returned, the executor may run the call on this thread
+	private static <T> void submit(Object key, Call<T> call)
+	{
+		try {
+			AsyncUtils.getExecutor().execute(() -> execute(key, call), TaskPriority.INTERACTIVE);
+		} catch (RejectedExecutionException e) {
+			call.result.completeExceptionally(e);
+			release(key, call);
+		}
+	}
+
+	private static <T> void execute(Object key, Call<T> call)
+	{
+		if(!call.enter()) {
+			release(key, call);
+			return;
+		}
+		T value;
+		try {
+			value = call.callable.call();
+		} catch (Throwable e) {
+			call.result.completeExceptionally(e);
+			release(key, call);
+			return;
+		} finally {
+			call.exit();
+		}
+		if(call.result.isDone()) {
+			release(key, call);
+			return;
+		}
+		Platform.runLater(() -> {
+			//A superseded call has its result already cancelled
+			if(!call.result.isDone()) {
+				try {
+					call.fxCallback.accept(value);
+					call.result.complete(value);
+				} catch (Throwable e) {
+					call.result.completeExceptionally(e);
+				}
+			}
+			release(key, call);
+		});
+	}
+
+	//Start the trailing call waiting for the finished one, or drop the key state if the finished call was the last
+	//one and no throttle window is open
+	private static void release(Object key, Call<?> call)
+	{
+		Call<?>[] next = new Call<?>[1];
+		SLOTS.computeIfPresent(key, (k, slot) -> {
+			if(slot.running == call) slot.running = null;
+			if(slot.running == null && slot.pending != null && slot.timer == null) {
+				next[0] = slot.pending;
+				slot.pending = null;
+				slot.start(next[0]);
+			}
+			if(slot.running != null || slot.pending != null) return slot;
+			long remaining = slot.interval - (System.nanoTime() - slot.lastStart);
+			if(remaining <= 0) return null;
+			slot.timer = AsyncUtils.getScheduler().schedule(() -> expire(key, slot), remaining, NANOSECONDS);
+			return slot;
+		});
+		if(next[0] != null) submit(key, next[0]);
+	}
+
+	private static void expire(Object key, Slot expired)
+	{
+		SLOTS.computeIfPresent(key, (k, slot) -> (slot == expired && slot.running == null && slot.pending == null) ? null : slot);
+	}
+
+	private static class Slot
+	{
+		private Call<?> pending;
+		private Future<?> timer;
+		private Call<?> running;
+		private long lastStart;
+		private long interval;
+
+		private void start(Call<?> call)
+		{
+			running = call;
+			lastStart = System.nanoTime();
+		}
+
+		private void cancelPending()
+		{
+			if(timer != null) {
+				timer.cancel(false);
+				timer = null;
+			}
+			if(pending != null) {
+				pending.result.cancel(false);
+				pending = null;
+			}
+		}
+
+		private void cancelRunning()
+		{
+			if(running != null) {
+				running.result.cancel(false);
+				running = null;
+			}
+		}
+	}
+
+	private static class Call<T>
+	{
+		private final Callable<T> callable;
+		private final Consumer<T> fxCallback;
+		private final CompletableFuture<T> result = new CompletableFuture<T>();
+		private boolean trailing;
+		private Thread runner;
+
+		public Call(Callable<T> callable, Consumer<T> fxCallback)
+		{
+			this.callable = callable;
+			this.fxCallback = fxCallback;
+			//Cancelling the result, by the caller or by a newer call, interrupts the computation
+			result.whenComplete((value, e) -> {
+				if(result.isCancelled()) interrupt();
+			});
+		}
+
+		//The runner is published under the same lock as the cancellation check, so no cancel is missed
+		private synchronized boolean enter()
+		{
+			if(result.isDone()) return false;
+			runner = Thread.currentThread();
+			return true;
+		}
+
+		private synchronized void exit()
+		{
+			runner = null;
+			//Do not leak the cancellation interrupt, the call may have run on the caller thread
+			if(result.isCancelled()) Thread.interrupted();
+		}
+
+		private synchronized void interrupt()
+		{
+			if(runner != null) runner.interrupt();
+		}
+	}
+}
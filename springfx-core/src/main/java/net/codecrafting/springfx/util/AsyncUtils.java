@@ -21,23 +21,32 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
-import java.util.Queue;
+import java.util.RandomAccess;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import javafx.application.Platform;
+import javafx.beans.property.DoubleProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableBooleanValue;
 
@@ -76,16 +85,32 @@ import javafx.beans.value.ObservableBooleanValue;
  * these exceptions. The exceptions will be in the stack, until they are handled
  * somewhere in the application. If the field {@code autoCheckException} is set to
  * {@literal true}, any subsequent calls to one of the {@code async} methods will
- * throw one of those exceptions.
+ * throw one of those exceptions. The stack is a bounded {@link ExceptionJournal}, which
+ * drops the oldest exceptions once it's full and deduplicates repeated failures.
+ * <p>
+ * <strong>Rate Limiting</strong>
+ * <p>
+ * The {@code debounce}, {@code throttle} and {@code latest} methods run UI driven work
+ * keyed by its source, like a search field or a slider. A new call for a key supersedes
+ * the previous ones of the same key, cancelling them and interrupting the running
+ * computation, so only the most recent result reaches the JavaFX Application Thread.
+ * Exceptions of these methods are only reported by the returned {@code Future}.
  */
 public final class AsyncUtils {
 
     private static final long CONDITION_SLEEP_IN_MILLIS = 10;
     private static final long SEMAPHORE_SLEEP_IN_MILLIS = 10;
     private static final int SEMAPHORE_LOOPS_COUNT = 5;
-    private static final ExecutorService EXECUTOR_SERVICE = Executors.newCachedThreadPool(new DefaultThreadFactory());
+    private static volatile SpringFXExecutor executor = createDefaultExecutor();
+    private static final ScheduledExecutorService SCHEDULER = createScheduler();
+
+    /**
+     * The default time of each pulse spent by {@link #asyncFxSliced(Iterator)}, half of a 60 fps frame.
+     */
+    public static final long DEFAULT_FX_SLICE_BUDGET_MILLIS = 8;
 
-    private static Queue<Throwable> exceptions = new ConcurrentLinkedQueue<>();
+    private static final ExceptionJournal exceptions = new ExceptionJournal();
+    private static final SingleFlight SINGLE_FLIGHT = new SingleFlight();
 
     /**
      * If {@literal true} any exceptions encountered during execution of the
@@ -147,12 +172,29 @@ public final class AsyncUtils {
      * @return the {@code Future} result of the {@code Runnable}
      */
     public static Future<Void> async(Runnable runnable)
+    {
+        return async(runnable, TaskPriority.NORMAL);
+    }
+
+    /**
+     * Runs the given {@link Runnable} on the {@link SpringFXExecutor} lane of the given
+     * {@link TaskPriority} and returns a {@link Future} that is set on finish or error.
+     * <p>
+     * You need to evaluate the returned {@code Future} via ({@link Future#get()})
+     * for exceptions or call the {@link #checkException()} method to handle exceptions
+     * after the task has finished.
+     *
+     * @param runnable the {@code Runnable} to run
+     * @param priority the {@code TaskPriority} of the {@code Runnable}
+     * @return the {@code Future} result of the {@code Runnable}
+     */
+    public static Future<Void> async(Runnable runnable, TaskPriority priority)
     {
         if (autoCheckException) {
             checkExceptionWrapped();
         }
         Callable<Void> call = new ASyncFXCallable<>(runnable, true);
-        return EXECUTOR_SERVICE.submit(call);
+        return getExecutor().submit(call, priority);
     }
 
     /**
@@ -174,7 +216,7 @@ public final class AsyncUtils {
             checkExceptionWrapped();
         }
         Callable<Void> call = new ASyncFXCallable<>(runnable, throwExceptions);
-        return EXECUTOR_SERVICE.submit(call);
+        return getExecutor().submit(call);
     }
 
     /**
@@ -190,12 +232,77 @@ public final class AsyncUtils {
      * @return the {@code Future} result of the {@code Callable}
      */
     public static <T> Future<T> async(Callable<T> callable)
+    {
+        return async(callable, TaskPriority.NORMAL);
+    }
+
+    /**
+     * Calls the given {@link Callable} on the {@link SpringFXExecutor} lane of the given
+     * {@link TaskPriority} and returns a {@link Future} that is set on finish or error.
+     * <p>
+     * You need to evaluate the returned {@code Future} via ({@link Future#get()})
+     * for exceptions or call the {@link #checkException()} method to handle exceptions
+     * after the task has finished.
+     *
+     * @param callable the {@code Callable} to run
+     * @param priority the {@code TaskPriority} of the {@code Callable}
+     * @param <T> the return type of the {@code Callable}
+     * @return the {@code Future} result of the {@code Callable}
+     */
+    public static <T> Future<T> async(Callable<T> callable, TaskPriority priority)
+    {
+        if (autoCheckException) {
+            checkExceptionWrapped();
+        }
+        ASyncFXCallable<T> call = new ASyncFXCallable<>(callable, true);
+        getExecutor().execute(call, priority); // exception handling not guaranteed
+        return call;
+    }
+
+    /**
+     * Runs the given {@link Runnable} within the given {@link Bulkhead} and returns a
+     * {@link Future} that is set on finish or error.
+     * <p>
+     * You need to evaluate the returned {@code Future} via ({@link Future#get()})
+     * for exceptions or call the {@link #checkException()} method to handle exceptions
+     * after the task has finished.
+     *
+     * @param runnable the {@code Runnable} to run
+     * @param bulkhead the {@code Bulkhead} that limits the {@code Runnable} concurrency
+     * @return the {@code Future} result of the {@code Runnable}
+     */
+    public static Future<Void> async(Runnable runnable, Bulkhead bulkhead)
+    {
+        if (autoCheckException) {
+            checkExceptionWrapped();
+        }
+        ASyncFXCallable<Void> call = new ASyncFXCallable<>(runnable, true);
+        call.bulkhead = bulkhead;
+        bulkhead.execute(call);
+        return call;
+    }
+
+    /**
+     * Calls the given {@link Callable} within the given {@link Bulkhead} and returns a
+     * {@link Future} that is set on finish or error.
+     * <p>
+     * You need to evaluate the returned {@code Future} via ({@link Future#get()})
+     * for exceptions or call the {@link #checkException()} method to handle exceptions
+     * after the task has finished.
+     *
+     * @param callable the {@code Callable} to run
+     * @param bulkhead the {@code Bulkhead} that limits the {@code Callable} concurrency
+     * @param <T> the return type of the {@code Callable}
+     * @return the {@code Future} result of the {@code Callable}
+     */
+    public static <T> Future<T> async(Callable<T> callable, Bulkhead bulkhead)
     {
         if (autoCheckException) {
             checkExceptionWrapped();
         }
         ASyncFXCallable<T> call = new ASyncFXCallable<>(callable, true);
-        EXECUTOR_SERVICE.submit((Runnable) call); // exception handling not guaranteed
+        call.bulkhead = bulkhead;
+        bulkhead.execute(call);
         return call;
     }
 
@@ -219,7 +326,305 @@ public final class AsyncUtils {
             checkExceptionWrapped();
         }
         Callable<T> call = new ASyncFXCallable<>(callable, throwExceptions);
-        return EXECUTOR_SERVICE.submit(call); // exception handling not guaranteed
+        return getExecutor().submit(call); // exception handling not guaranteed
+    }
+
+    /**
+     * Calls the given {@link Callable} in background once no other call for the same key
+     * was made during the given delay, and delivers the result to the fxCallback on the
+     * JavaFX Application Thread. Every call cancels the pending and the running calls of the key.
+     * <p>
+     * Use it for search as you type fields, where only the value typed last matters.
+     *
+     * @param key the source of the calls, compared by {@link Object#equals(Object)}
+     * @param delay the quiet period before the {@code Callable} is called
+     * @param unit the {@link TimeUnit} of the delay
+     * @param callable the {@code Callable} to call
+     * @param fxCallback the {@link Consumer} of the result, called on the JavaFX Application Thread
+     * @param <T> the return type of the {@code Callable}
+     * @return the {@code Future} result of the call. Cancelled if the call is superseded
+     */
+    public static <T> Future<T> debounce(Object key, long delay, TimeUnit unit, Callable<T> callable, Consumer<T> fxCallback)
+    {
+        checkOperatorArguments(key, unit, callable, fxCallback);
+        return AsyncOperators.debounce(key, unit.toNanos(delay), callable, fxCallback);
+    }
+
+    /**
+     * Calls the given {@link Callable} in background at most once per interval for the
+     * same key, and delivers the result to the fxCallback on the JavaFX Application Thread.
+     * A call made inside the interval, or while a call of the key is still running, waits
+     * for both to end, replacing any other waiting call of the key. The running call is not
+     * cancelled, so slow calls still deliver their results.
+     * <p>
+     * Use it for slider driven recomputation, where intermediate values should be shown
+     * at a steady rate.
+     *
+     * @param key the source of the calls, compared by {@link Object#equals(Object)}
+     * @param interval the minimum time between the start of two calls
+     * @param unit the {@link TimeUnit} of the interval
+     * @param callable the {@code Callable} to call
+     * @param fxCallback the {@link Consumer} of the result, called on the JavaFX Application Thread
+     * @param <T> the return type of the {@code Callable}
+     * @return the {@code Future} result of the call. Cancelled if the call is superseded
+     */
+    public static <T> Future<T> throttle(Object key, long interval, TimeUnit unit, Callable<T> callable, Consumer<T> fxCallback)
+    {
+        checkOperatorArguments(key, unit, callable, fxCallback);
+        return AsyncOperators.throttle(key, unit.toNanos(interval), callable, fxCallback);
+    }
+
+    /**
+     * Calls the given {@link Callable} in background right away, cancelling the running
+     * call of the same key, and delivers the result to the fxCallback on the JavaFX
+     * Application Thread only if no newer call was made for the key.
+     *
+     * @param key the source of the calls, compared by {@link Object#equals(Object)}
+     * @param callable the {@code Callable} to call
+     * @param fxCallback the {@link Consumer} of the result, called on the JavaFX Application Thread
+     * @param <T> the return type of the {@code Callable}
+     * @return the {@code Future} result of the call. Cancelled if the call is superseded
+     */
+    public static <T> Future<T> latest(Object key, Callable<T> callable, Consumer<T> fxCallback)
+    {
+        checkOperatorArguments(key, TimeUnit.NANOSECONDS, callable, fxCallback);
+        return AsyncOperators.latest(key, callable, fxCallback);
+    }
+
+    /**
+     * Cancels the pending and running calls made for the given key by the
+     * {@code debounce}, {@code throttle} and {@code latest} methods.
+     *
+     * @param key the source of the calls
+     */
+    public static void cancel(Object key)
+    {
+        Objects.requireNonNull(key, "key");
+        AsyncOperators.cancel(key);
+    }
+
+    /**
+     * Maps the given items in parallel on the common {@link ForkJoinPool}, splitting them
+     * in chunks of at most chunkSize items, and returns a {@link Future} of the results in
+     * the items order.
+     *
+     * @param items the items to be mapped
+     * @param chunkSize the maximum number of items mapped sequentially by a task
+     * @param mapper the {@link Function} applied to every item
+     * @param progress the property set with the processed fraction, from {@literal 0} to {@literal 1},
+     *      at most once per pulse on the JavaFX Application Thread. Can be {@literal null}
+     * @param <T> the type of the items
+     * @param <R> the type of the results
+     * @return the {@code Future} of the results. Cancel it to stop the processing
+     * @see #parallel(ForkJoinPool, Collection, int, Function, DoubleProperty)
+     */
+    public static <T, R> Future<List<R>> parallel(Collection<? extends T> items, int chunkSize,
+            Function<? super T, ? extends R> mapper, DoubleProperty progress)
+    {
+        return parallel(ForkJoinPool.commonPool(), items, chunkSize, mapper, progress);
+    }
+
+    /**
+     * Maps the given items in parallel on the given {@link ForkJoinPool}, splitting them
+     * in chunks of at most chunkSize items, and returns a {@link Future} of the results in
+     * the items order. The processing stops at the first exception of the mapper or when
+     * the returned {@code Future} is cancelled.
+     *
+     * @param pool the {@code ForkJoinPool} that runs the chunks
+     * @param items the items to be mapped
+     * @param chunkSize the maximum number of items mapped sequentially by a task
+     * @param mapper the {@link Function} applied to every item
+     * @param progress the property set with the processed fraction, from {@literal 0} to {@literal 1},
+     *      at most once per pulse on the JavaFX Application Thread. Can be {@literal null}
+     * @param <T> the type of the items
+     * @param <R> the type of the results
+     * @return the {@code Future} of the results. Cancel it to stop the processing
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, R> Future<List<R>> parallel(ForkJoinPool pool, Collection<? extends T> items, int chunkSize,
+            Function<? super T, ? extends R> mapper, DoubleProperty progress)
+    {
+        Objects.requireNonNull(mapper, "mapper");
+        List<? extends T> list = indexable(items);
+        Object[] results = new Object[list.size()];
+        return new ParallelProcessor<Object, List<R>>(list.size(), chunkSize, i -> results[i] = mapper.apply(list.get(i)),
+                null, (left, right) -> null, reduced -> (List<R>) Arrays.asList(results)).start(pool, progress);
+    }
+
+    /**
+     * Maps and reduces the given items in parallel on the common {@link ForkJoinPool},
+     * splitting them in chunks of at most chunkSize items.
+     *
+     * @param items the items to be reduced
+     * @param chunkSize the maximum number of items reduced sequentially by a task
+     * @param mapper the {@link Function} applied to every item
+     * @param identity the identity value of the combiner
+     * @param combiner the associative {@link BinaryOperator} that aggregates the mapped values
+     * @param progress the property set with the processed fraction, from {@literal 0} to {@literal 1},
+     *      at most once per pulse on the JavaFX Application Thread. Can be {@literal null}
+     * @param <T> the type of the items
+     * @param <R> the type of the aggregated result
+     * @return the {@code Future} of the aggregated result. Cancel it to stop the processing
+     * @see #parallelReduce(ForkJoinPool, Collection, int, Function, Object, BinaryOperator, DoubleProperty)
+     */
+    public static <T, R> Future<R> parallelReduce(Collection<? extends T> items, int chunkSize,
+            Function<? super T, ? extends R> mapper, R identity, BinaryOperator<R> combiner, DoubleProperty progress)
+    {
+        return parallelReduce(ForkJoinPool.commonPool(), items, chunkSize, mapper, identity, combiner, progress);
+    }
+
+    /**
+     * Maps and reduces the given items in parallel on the given {@link ForkJoinPool},
+     * splitting them in chunks of at most chunkSize items. The processing stops at the first
+     * exception of the mapper or when the returned {@code Future} is cancelled.
+     *
+     * @param pool the {@code ForkJoinPool} that runs the chunks
+     * @param items the items to be reduced
+     * @param chunkSize the maximum number of items reduced sequentially by a task
+     * @param mapper the {@link Function} applied to every item
+     * @param identity the identity value of the combiner
+     * @param combiner the associative {@link BinaryOperator} that aggregates the mapped values
+     * @param progress the property set with the processed fraction, from {@literal 0} to {@literal 1},
+     *      at most once per pulse on the JavaFX Application Thread. Can be {@literal null}
+     * @param <T> the type of the items
+     * @param <R> the type of the aggregated result
+     * @return the {@code Future} of the aggregated result. Cancel it to stop the processing
+     */
+    public static <T, R> Future<R> parallelReduce(ForkJoinPool pool, Collection<? extends T> items, int chunkSize,
+            Function<? super T, ? extends R> mapper, R identity, BinaryOperator<R> combiner, DoubleProperty progress)
+    {
+        Objects.requireNonNull(mapper, "mapper");
+        Objects.requireNonNull(combiner, "combiner");
+        List<? extends T> list = indexable(items);
+        return new ParallelProcessor<R, R>(list.size(), chunkSize, i -> mapper.apply(list.get(i)), identity, combiner,
+                Function.identity()).start(pool, progress);
+    }
+
+    /**
+     * Calls the given {@link Callable} in background, sharing the computation with the
+     * concurrent calls made with the same key. Use it when several views request the same
+     * expensive data at the same time.
+     *
+     * @param key the key of the computation, compared by {@link Object#equals(Object)}
+     * @param callable the {@code Callable} to call
+     * @param <T> the return type of the {@code Callable}
+     * @return the {@code Future} result of the shared computation
+     * @see SingleFlight#execute(Object, Callable)
+     */
+    public static <T> Future<T> singleFlight(Object key, Callable<T> callable)
+    {
+        return SINGLE_FLIGHT.execute(key, callable);
+    }
+
+    /**
+     * Calls the given {@link Callable} in background, sharing the computation with the
+     * concurrent calls made with the same key, and delivers the result to the fxCallback
+     * on the JavaFX Application Thread.
+     *
+     * @param key the key of the computation, compared by {@link Object#equals(Object)}
+     * @param callable the {@code Callable} to call
+     * @param fxCallback the {@link Consumer} of the result, called on the JavaFX Application Thread
+     * @param <T> the return type of the {@code Callable}
+     * @return the {@code Future} completed after the fxCallback
+     * @see SingleFlight#executeFx(Object, Callable, Consumer)
+     */
+    public static <T> Future<T> singleFlightFx(Object key, Callable<T> callable, Consumer<T> fxCallback)
+    {
+        return SINGLE_FLIGHT.executeFx(key, callable, fxCallback);
+    }
+
+    /**
+     * Calls the given {@link Callable} in background every interval and delivers each
+     * result to the fxCallback on the JavaFX Application Thread. The interval counts from
+     * the delivery of the previous result.
+     *
+     * @param callable the {@code Callable} to call at every poll
+     * @param fxCallback the {@link Consumer} of the results, called on the JavaFX Application Thread
+     * @param interval the time between the delivery of a result and the next poll
+     * @param unit the {@link TimeUnit} of the interval
+     * @param <T> the return type of the {@code Callable}
+     * @return the started {@link PollingTask}, cancel it to stop polling
+     * @see PollingTask
+     */
+    public static <T> PollingTask<T> poll(Callable<T> callable, Consumer<T> fxCallback, long interval, TimeUnit unit)
+    {
+        return new PollingTask<T>(callable, fxCallback, interval, unit).start();
+    }
+
+    /**
+     * Create a {@link SpscChannel} delivering the items of a producer thread to the fxConsumer
+     * on the JavaFX Application Thread, once per pulse. It's the recommended way to stream
+     * high rate data, like a sensor feed, into a view.
+     *
+     * @param capacity the maximum number of buffered items, rounded up to a power of two
+     * @param policy the {@link SpscChannel.OverflowPolicy} when the buffer is full
+     * @param fxConsumer the {@link Consumer} of the batches, called on the JavaFX Application Thread
+     * @param <T> the type of the items
+     * @return the connected {@code SpscChannel}, to be written by a single producer thread
+     * @see SpscChannel
+     */
+    public static <T> SpscChannel<T> channel(int capacity, SpscChannel.OverflowPolicy policy, Consumer<? super List<T>> fxConsumer)
+    {
+        return new SpscChannel<T>(capacity, policy).connectFx(fxConsumer);
+    }
+
+    /**
+     * Get the {@link SingleFlight} shared by the {@code singleFlight} methods, which does
+     * not retain results. Create a new {@code SingleFlight} to retain results.
+     *
+     * @return the shared {@code SingleFlight}
+     */
+    public static SingleFlight getSingleFlight()
+    {
+        return SINGLE_FLIGHT;
+    }
+
+    /**
+     * Get the single thread {@link ScheduledExecutorService} that times the delayed work of
+     * SpringFX. Scheduled tasks must be short, any real work should be handed over to
+     * the {@link #getExecutor()} or to the JavaFX Application Thread.
+     *
+     * @return the shared scheduler
+     */
+    public static ScheduledExecutorService getScheduler()
+    {
+        return SCHEDULER;
+    }
+
+    /**
+     * Get the {@link SpringFXExecutor} used by the {@code async} methods. If the current
+     * executor was shutdown a new default one is created. The default executor runs the
+     * tasks on the calling thread once a lane is full, so the {@code async} methods never
+     * reject a task because of saturation.
+     *
+     * @return the executor of the {@code async} methods
+     */
+    public static SpringFXExecutor getExecutor()
+    {
+        SpringFXExecutor current = executor;
+        if (current.isShutdown()) {
+            synchronized (AsyncUtils.class) {
+                if (executor.isShutdown()) {
+                    executor = createDefaultExecutor();
+                }
+                current = executor;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Set the {@link SpringFXExecutor} used by the {@code async} methods. The previous
+     * executor is not shutdown, tasks already submitted to it will still complete.
+     *
+     * @param executor the executor of the {@code async} methods
+     */
+    public static void setExecutor(SpringFXExecutor executor)
+    {
+        Objects.requireNonNull(executor, "executor");
+        synchronized (AsyncUtils.class) {
+            AsyncUtils.executor = executor;
+        }
     }
 
     /**
@@ -267,6 +672,106 @@ public final class AsyncUtils {
         return call;
     }
 
+    /**
+     * Runs the given work units on the JavaFX Application Thread, time sliced with the
+     * {@link #DEFAULT_FX_SLICE_BUDGET_MILLIS} budget per pulse.
+     *
+     * @param units the {@link Iterator} of the work units, advanced on the JavaFX Application Thread
+     * @return the {@code Future} completed after the last unit
+     * @see #asyncFxSliced(Iterator, long, TimeUnit)
+     */
+    public static Future<Void> asyncFxSliced(Iterator<? extends Runnable> units)
+    {
+        return asyncFxSliced(units, DEFAULT_FX_SLICE_BUDGET_MILLIS, MILLISECONDS);
+    }
+
+    /**
+     * Runs the given work units on the JavaFX Application Thread, as many per pulse as fit
+     * in the given budget, yielding between pulses so the scene keeps rendering. Use it for
+     * work that must happen on the JavaFX Application Thread but would freeze the window
+     * if done in a single {@link Platform#runLater(Runnable)}, like adding thousands of nodes.
+     * <p>
+     * The work stops at the first exception of a unit, which completes the returned
+     * {@code Future} exceptionally, or when the {@code Future} is cancelled.
+     *
+     * @param units the {@link Iterator} of the work units, advanced on the JavaFX Application Thread
+     * @param budget the time of each pulse spent running units
+     * @param unit the {@link TimeUnit} of the budget
+     * @return the {@code Future} completed after the last unit
+     */
+    public static Future<Void> asyncFxSliced(Iterator<? extends Runnable> units, long budget, TimeUnit unit)
+    {
+        Objects.requireNonNull(unit, "unit");
+        return new FxSlicedTask(units, unit.toNanos(budget)).start();
+    }
+
+    /**
+     * Applies the given action to every item on the JavaFX Application Thread, as many items
+     * per pulse as fit in the given budget.
+     *
+     * @param items the items of the action
+     * @param action the {@link Consumer} applied to every item on the JavaFX Application Thread
+     * @param budget the time of each pulse spent applying the action
+     * @param unit the {@link TimeUnit} of the budget
+     * @param <T> the type of the items
+     * @return the {@code Future} completed after the last item
+     * @see #asyncFxSliced(Iterator, long, TimeUnit)
+     */
+    public static <T> Future<Void> asyncFxSliced(Iterable<T> items, Consumer<? super T> action, long budget, TimeUnit unit)
+    {
+        Objects.requireNonNull(items, "items");
+        Objects.requireNonNull(action, "action");
+        Iterator<T> iterator = items.iterator();
+        return asyncFxSliced(new Iterator<Runnable>() {
+            @Override
+            public boolean hasNext()
+            {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Runnable next()
+            {
+                T item = iterator.next();
+                return () -> action.accept(item);
+            }
+        }, budget, unit);
+    }
+
+    /**
+     * Runs the given {@link IdleCallback} on the JavaFX Application Thread once it has
+     * been idle for a while, without a timeout.
+     *
+     * @param callback the {@code IdleCallback} to run
+     * @return the {@code Future} completed after the callback ran. Cancel it to drop the callback
+     * @see #requestIdleCallback(IdleCallback, long, TimeUnit)
+     */
+    public static Future<Void> requestIdleCallback(IdleCallback callback)
+    {
+        return FxIdleQueue.request(callback, 0);
+    }
+
+    /**
+     * Runs the given {@link IdleCallback} on the JavaFX Application Thread once the pulses
+     * have been on time for a while, which means no animation, layout or event handling is
+     * competing for the thread. The callback receives an {@link IdleDeadline} with the time
+     * left in the current frame. Use it for low priority work like cache warming or
+     * prefetching, handing the heavy parts over to a {@link TaskPriority#BACKGROUND} task.
+     * <p>
+     * If the thread does not get idle before the timeout, the callback runs anyway with
+     * {@link IdleDeadline#didTimeout()} set.
+     *
+     * @param callback the {@code IdleCallback} to run
+     * @param timeout the maximum time to wait for an idle period. {@literal 0} waits forever
+     * @param unit the {@link TimeUnit} of the timeout
+     * @return the {@code Future} completed after the callback ran. Cancel it to drop the callback
+     */
+    public static Future<Void> requestIdleCallback(IdleCallback callback, long timeout, TimeUnit unit)
+    {
+        Objects.requireNonNull(unit, "unit");
+        return FxIdleQueue.request(callback, unit.toNanos(timeout));
+    }
+
     /**
      * Waits for the given {@link Future} to be set and then returns the
      * future result of type {@code T}.
@@ -475,6 +980,17 @@ public final class AsyncUtils {
         }
     }
 
+    /**
+     * Get the {@link ExceptionJournal} that holds the unhandled exceptions. Use it to
+     * inspect the pending exceptions and the number of dropped ones.
+     *
+     * @return the journal of unhandled exceptions
+     */
+    public static ExceptionJournal getExceptionJournal()
+    {
+        return exceptions;
+    }
+
     /**
      * Clears all unhandled exceptions.
      */
@@ -498,7 +1014,7 @@ public final class AsyncUtils {
                 printException(throwable, null);
             }
             // Add exception to stack of occurred exceptions
-            exceptions.add(new RuntimeException(throwable));
+            exceptions.record(new RuntimeException(throwable));
         }
     }
 
@@ -527,8 +1043,9 @@ public final class AsyncUtils {
      */
     private static Throwable getCheckException()
     {
-        if (exceptions.peek() != null) {
-            Throwable throwable = exceptions.poll();
+        ExceptionJournal.Entry entry = exceptions.poll();
+        if (entry != null) {
+            Throwable throwable = entry.getThrowable();
             StackTraceElement stackTraceElement = new StackTraceElement(AsyncUtils.class.getName(),
                     "---- Delayed Exception: (See Trace Below) ----",
                     AsyncUtils.class.getSimpleName() + ".java", 0);
@@ -617,6 +1134,40 @@ public final class AsyncUtils {
         return stackTrace.toString();
     }
 
+    private static <T> List<? extends T> indexable(Collection<? extends T> items)
+    {
+        Objects.requireNonNull(items, "items");
+        if (items instanceof List && items instanceof RandomAccess) {
+            return (List<? extends T>) items;
+        }
+        return new ArrayList<>(items);
+    }
+
+    private static void checkOperatorArguments(Object key, TimeUnit unit, Callable<?> callable, Consumer<?> fxCallback)
+    {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(unit, "unit");
+        Objects.requireNonNull(callable, "callable");
+        Objects.requireNonNull(fxCallback, "fxCallback");
+    }
+
+    private static ScheduledExecutorService createScheduler()
+    {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "springfx-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    private static SpringFXExecutor createDefaultExecutor()
+    {
+        return new SpringFXExecutor(SpringFXExecutor.DEFAULT_MAX_THREADS, SpringFXExecutor.DEFAULT_QUEUE_CAPACITY,
+                SpringFXExecutor.RejectionPolicy.ABORT, new DefaultThreadFactory());
+    }
+
     private static ChronoUnit chronoUnit(TimeUnit unit)
     {
         Objects.requireNonNull(unit, "unit");
@@ -662,9 +1213,14 @@ public final class AsyncUtils {
         private final StackTraceElement[] trace;
 
         /**
-         * The unhandled exception.
+         * The journal handle of the unhandled exception.
          */
-        private Throwable exception;
+        private ExceptionJournal.Entry exception;
+
+        /**
+         * The bulkhead queueing this task, which gets the slot back on cancel.
+         */
+        private volatile Bulkhead bulkhead;
 
         public ASyncFXCallable(Runnable runnable, boolean throwException)
         {
@@ -680,6 +1236,15 @@ public final class AsyncUtils {
             trace = Thread.currentThread().getStackTrace();
         }
 
+        @Override
+        protected void done()
+        {
+            Bulkhead current = bulkhead;
+            if (current != null && isCancelled()) {
+                current.remove(this);
+            }
+        }
+
         /**
          * Called to handle exceptions during run().
          */
@@ -690,9 +1255,8 @@ public final class AsyncUtils {
                 if (printException) {
                     printException(throwable, trace);
                 }
-                exception = transformException(throwable);
                 // Add exception to stack of occurred exceptions
-                exceptions.add(exception);
+                exception = exceptions.record(transformException(throwable));
             }
             super.setException(throwable);
         }
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bulkhead isolates a group of tasks inside the shared {@link SpringFXExecutor}. At most {@link #getMaxConcurrent()}
+ * tasks of the bulkhead run at the same time on the shared executor, the next ones wait on the bulkhead own queue
+ * of {@link #getMaxQueued()} tasks and are rejected beyond that. A misbehaving group of tasks saturates only its
+ * bulkhead, while the shared executor threads are still available for everybody else.
+ * <p>
+ * Bulkheads are usually created per view with the {@code ViewController} annotation, but they can be shared by
+ * any set of tasks. The tasks are dispatched to the current {@link AsyncUtils#getExecutor()}.
+ * <p>
+ * Queued {@link Future}s that are cancelled give their queue slot back: the {@code async} methods of {@link AsyncUtils}
+ * remove them on cancel, and the other ones are purged when the queue is full or with {@link #purge()}.
+ * <p>
+ * A finished task hands its slot to the next queued task. When the executor runs that task inline, like a
+ * {@code CALLER_RUNS} executor with a full lane, the next hand offs are done by a loop of the first release
+ * instead of nesting one release per queued task on the same thread.
+ *
+ * @author Lucas Marotta
+ * @see #execute(Runnable)
+ * @see #execute(Runnable, TaskPriority)
+ * @see #remove(Runnable)
+ * @see #purge()
+ * @see #getActiveCount()
+ * @see #getQueueSize()
+ * @see #getSaturation()
+ * @see #getRejectedCount()
+ */
+public class Bulkhead implements Executor
+{
+	private final String name;
+	private final int maxConcurrent;
+	private final int maxQueued;
+	private final ArrayDeque<QueuedTask> queue = new ArrayDeque<QueuedTask>();
+	private int running;
+	private final LongAdder completedCount = new LongAdder();
+	private final LongAdder rejectedCount = new LongAdder();
+	private final LatencyHistogram waitTime = new LatencyHistogram();
+	private final ThreadLocal<ArrayDeque<QueuedTask>> handoffs = new ThreadLocal<ArrayDeque<QueuedTask>>();
+
+	/**
+	 * Create a new instance of {@link Bulkhead}.
+	 * @param name the name of the bulkhead, used to identify it on metrics and errors
+	 * @param maxConcurrent the maximum number of tasks running at the same time
+	 * @param maxQueued the maximum number of tasks waiting for a free slot
+	 * @throws IllegalArgumentException if name is null, maxConcurrent is lower than {@literal 1} or maxQueued is negative
+	 */
+	public Bulkhead(String name, int maxConcurrent, int maxQueued)
+	{
+		if(name == null)
+			throw new IllegalArgumentException("name must not be null");
+		if(maxConcurrent < 1 || maxQueued < 0)
+			throw new IllegalArgumentException("maxConcurrent must be greater than 0 and maxQueued must not be negative");
+		this.name = name;
+		this.maxConcurrent = maxConcurrent;
+		this.maxQueued = maxQueued;
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	public int getMaxConcurrent()
+	{
+		return maxConcurrent;
+	}
+
+	public int getMaxQueued()
+	{
+		return maxQueued;
+	}
+
+	/**
+	 * Executes the given task on the {@link TaskPriority#NORMAL} lane of the shared executor
+	 * @param command the task to execute
+	 * @throws RejectedExecutionException if the bulkhead queue is full
+	 */
+	@Override
+	public void execute(Runnable command)
+	{
+		execute(command, TaskPriority.NORMAL);
+	}
+
+	/**
+	 * Executes the given task on the lane of the given priority of the shared executor, as soon as
+	 * this bulkhead has a free slot
+	 * @param command the task to execute
+	 * @param priority the lane of the task on the shared executor
+	 * @throws IllegalArgumentException if command or priority are null
+	 * @throws RejectedExecutionException if the bulkhead queue is full
+	 */
+	public void execute(Runnable command, TaskPriority priority)
+	{
+		if(command == null || priority == null)
+			throw new IllegalArgumentException("command and priority must not be null");
+		QueuedTask task = new QueuedTask(command, priority);
+		synchronized (this) {
+			if(running >= maxConcurrent) {
+				if(queue.size() >= maxQueued) purge();
+				if(queue.size() < maxQueued) {
+					queue.addLast(task);
+					return;
+				}
+				rejectedCount.increment();
+				throw new RejectedExecutionException("Bulkhead \"" + name + "\" is saturated");
+			}
+			running++;
+		}
+		try {
+			dispatch(task);
+		} catch (RuntimeException e) {
+			release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Remove a task waiting for a free slot of this bulkhead, like a cancelled {@link Future}
+	 * @param task the task given to {@link #execute(Runnable, TaskPriority)}
+	 * @return {@literal true} if the task was queued
+	 */
+	public synchronized boolean remove(Runnable task)
+	{
+		return queue.removeIf(queued -> queued.command == task);
+	}
+
+	/**
+	 * Remove the cancelled {@link Future}s waiting for a free slot of this bulkhead
+	 * @return the number of removed tasks
+	 */
+	public synchronized int purge()
+	{
+		int size = queue.size();
+		queue.removeIf(queued -> queued.command instanceof Future && ((Future<?>) queued.command).isCancelled());
+		return size - queue.size();
+	}
+
+	/**
+	 * Get the number of tasks of this bulkhead dispatched to the shared executor
+	 * @return the number of running tasks
+	 */
+	public synchronized int getActiveCount()
+	{
+		return running;
+	}
+
+	/**
+	 * Get the number of tasks waiting for a free slot of this bulkhead
+	 * @return the queue depth of this bulkhead
+	 */
+	public synchronized int getQueueSize()
+	{
+		return queue.size();
+	}
+
+	/**
+	 * Get the saturation of this bulkhead. {@literal 1} means that new tasks are being rejected.
+	 * @return the ratio of the running and queued tasks to the bulkhead capacity
+	 */
+	public synchronized double getSaturation()
+	{
+		return (double) (running + queue.size()) / (maxConcurrent + maxQueued);
+	}
+
+	public long getCompletedCount()
+	{
+		return completedCount.sum();
+	}
+
+	public long getRejectedCount()
+	{
+		return rejectedCount.sum();
+	}
+
+	/**
+	 * Get the histogram of the time the tasks waited on this bulkhead queue
+	 * @return the wait time {@link LatencyHistogram}
+	 */
+	public LatencyHistogram getWaitTimeHistogram()
+	{
+		return waitTime;
+	}
+
+	@Override
+	public String toString()
+	{
+		return "Bulkhead [name=" + name + ", active=" + getActiveCount() + "/" + maxConcurrent + ", queued=" + getQueueSize()
+				+ "/" + maxQueued + ", completed=" + getCompletedCount() + ", rejected=" + getRejectedCount() + "]";
+	}
+
+	private void dispatch(QueuedTask task)
+	{
+		waitTime.record(System.nanoTime() - task.queuedAt);
+		AsyncUtils.getExecutor().execute(() -> {
+			try {
+				task.command.run();
+			} finally {
+				completedCount.increment();
+				release();
+			}
+		}, task.priority);
+	}
+
+	//Hand the slot to the next queued task or give it back. A release nested in the dispatch of an outer one on the same
+	//thread, when the executor runs the task inline, hands the task to the outer release loop instead of dispatching it.
+	//Rejected tasks are skipped in the loop too, so neither a caller runs nor a rejecting executor recurse per queued task
+	private void release()
+	{
+		QueuedTask next = pollNext();
+		if(next == null) return;
+		ArrayDeque<QueuedTask> nested = handoffs.get();
+		if(nested != null) {
+			nested.addLast(next);
+			return;
+		}
+		ArrayDeque<QueuedTask> pending = new ArrayDeque<QueuedTask>();
+		pending.addLast(next);
+		handoffs.set(pending);
+		RuntimeException failure = null;
+		try {
+			while((next = pending.pollFirst()) != null) {
+				try {
+					dispatch(next);
+				} catch (RejectedExecutionException e) {
+					if(next.command instanceof Future) ((Future<?>) next.command).cancel(false);
+					next = pollNext();
+					if(next != null) pending.addLast(next);
+				} catch (RuntimeException e) {
+					//A task run inline failed, its own release already handed the slot over
+					if(failure == null) failure = e;
+				}
+			}
+		} finally {
+			handoffs.remove();
+		}
+		if(failure != null) throw failure;
+	}
+
+	//Take the next queued task keeping the slot, or give the slot back if there is none
+	private synchronized QueuedTask pollNext()
+	{
+		QueuedTask next = queue.pollFirst();
+		if(next == null) running--;
+		return next;
+	}
+
+	private static class QueuedTask
+	{
+		private final Runnable command;
+		private final TaskPriority priority;
+		private final long queuedAt;
+
+		public QueuedTask(Runnable command, TaskPriority priority)
+		{
+			this.command = command;
+			this.priority = priority;
+			queuedAt = System.nanoTime();
+		}
+	}
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed capacity, lock free journal of unhandled exceptions. The journal is a ring buffer, once it's full
+ * the oldest entry is overwritten and counted as dropped, so a noisy failing task can not grow it without limit.
+ * Exceptions with the same stack signature, the exception classes and stack frames of the whole cause chain,
+ * share a single entry with an occurrence count while the entry is in the journal.
+ * <p>
+ * {@link #record(Throwable)} returns the {@link Entry} as a handle to remove the exception in constant time
+ * once it was handled elsewhere, like when a {@code Future} reports it to its caller.
+ *
+ * @author Lucas Marotta
+ * @see #record(Throwable)
+ * @see #remove(Entry)
+ * @see #poll()
+ * @see #snapshot()
+ * @see #getDroppedCount()
+ */
+public class ExceptionJournal
+{
+	/**
+	 * The default number of entries of a journal
+	 */
+	public static final int DEFAULT_CAPACITY = 256;
+
+	private final int mask;
+	private final AtomicReferenceArray<Entry> slots;
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+	private final ConcurrentHashMap<Signature, Entry> signatures = new ConcurrentHashMap<Signature, Entry>();
+	private final LongAdder recordedCount = new LongAdder();
+	private final LongAdder droppedCount = new LongAdder();
+
+	/**
+	 * Create a new instance of {@link ExceptionJournal} with the {@link #DEFAULT_CAPACITY}.
+	 */
+	public ExceptionJournal()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a new instance of {@link ExceptionJournal}.
+	 * @param capacity the maximum number of entries, rounded up to a power of two
+	 * @throws IllegalArgumentException if capacity is lower than {@literal 1}
+	 */
+	public ExceptionJournal(int capacity)
+	{
+		if(capacity < 1 || capacity > (1 << 30))
+			throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+		int size = Integer.highestOneBit(capacity);
+		if(size < capacity) size <<= 1;
+		mask = size - 1;
+		slots = new AtomicReferenceArray<Entry>(size);
+	}
+
+	public int getCapacity()
+	{
+		return mask + 1;
+	}
+
+	/**
+	 * Record an exception occurrence. If an exception with the same stack signature is still in the
+	 * journal its occurrence count is incremented instead.
+	 * @param throwable the exception to be recorded
+	 * @return the {@link Entry} handle of the occurrence
+	 * @throws IllegalArgumentException if throwable is null
+	 */
+	public Entry record(Throwable throwable)
+	{
+		if(throwable == null)
+			throw new IllegalArgumentException("throwable must not be null");
+		recordedCount.increment();
+		Signature signature = new Signature(throwable);
+		Entry existing = signatures.get(signature);
+		if(existing != null && existing.increment()) return existing;
+		long sequence = tail.getAndIncrement();
+		Entry entry = new Entry(throwable, signature, sequence);
+		signatures.put(signature, entry);
+		Entry overwritten = slots.getAndSet(index(sequence), entry);
+		if(overwritten != null) discard(overwritten, true);
+		return entry;
+	}
+
+	/**
+	 * Remove one occurrence of an entry, the entry leaves the journal with its last occurrence.
+	 * Does nothing if the entry already left the journal.
+	 * @param entry the handle returned by {@link #record(Throwable)}
+	 */
+	public void remove(Entry entry)
+	{
+		if(entry != null && entry.decrement() == 0) signatures.remove(entry.signature, entry);
+	}
+
+	/**
+	 * Remove the oldest entry from the journal with all its occurrences
+	 * @return the oldest {@link Entry} or {@literal null} if the journal is empty
+	 */
+	public Entry poll()
+	{
+		while (true) {
+			long current = head.get();
+			long end = tail.get();
+			if(current >= end) return null;
+			//Entries before the last lap were overwritten
+			if(current < end - slots.length()) {
+				head.compareAndSet(current, end - slots.length());
+				continue;
+			}
+			Entry entry = slots.get(index(current));
+			//The producer of this sequence did not publish it yet
+			if(entry == null || entry.sequence < current) return null;
+			if(entry.sequence == current && discard(entry, false)) {
+				head.compareAndSet(current, current + 1);
+				return entry;
+			}
+			head.compareAndSet(current, current + 1);
+		}
+	}
+
+	/**
+	 * Get the entries in the journal from the oldest to the newest. The list is a copy, but the
+	 * occurrence counts of the entries keep being updated.
+	 * @return the unmodifiable list of the live entries
+	 */
+	public List<Entry> snapshot()
+	{
+		long end = tail.get();
+		long start = Math.max(head.get(), end - slots.length());
+		List<Entry> entries = new ArrayList<Entry>();
+		for (long sequence = start; sequence < end; sequence++) {
+			Entry entry = slots.get(index(sequence));
+			if(entry != null && entry.sequence == sequence && entry.getOccurrences() > 0) entries.add(entry);
+		}
+		return Collections.unmodifiableList(entries);
+	}
+
+	/**
+	 * Remove all the entries. They are not counted as dropped.
+	 */
+	public void clear()
+	{
+		for (int i = 0; i < slots.length(); i++) {
+			Entry entry = slots.getAndSet(i, null);
+			if(entry != null) discard(entry, false);
+		}
+		head.accumulateAndGet(tail.get(), Math::max);
+	}
+
+	/**
+	 * Get the total of recorded occurrences, including the deduplicated and dropped ones
+	 * @return the number of recorded occurrences
+	 */
+	public long getRecordedCount()
+	{
+		return recordedCount.sum();
+	}
+
+	/**
+	 * Get the number of occurrences lost because their entry was overwritten before being handled
+	 * @return the number of dropped occurrences
+	 */
+	public long getDroppedCount()
+	{
+		return droppedCount.sum();
+	}
+
+	@Override
+	public String toString()
+	{
+		return "ExceptionJournal [capacity=" + getCapacity() + ", entries=" + snapshot().size() + ", recorded="
+				+ getRecordedCount() + ", dropped=" + getDroppedCount() + "]";
+	}
+
+	private int index(long sequence)
+	{
+		return (int) (sequence & mask);
+	}
+
+	//Take the entry out of the journal, return false if it was already out
+	private boolean discard(Entry entry, boolean dropped)
+	{
+		int occurrences = entry.occurrences.getAndSet(0);
+		if(occurrences <= 0) return false;
+		signatures.remove(entry.signature, entry);
+		if(dropped) droppedCount.add(occurrences);
+		return true;
+	}
+
+	/**
+	 * An entry of the journal, which is also the handle to remove the recorded occurrence.
+	 */
+	public static final class Entry
+	{
+		private final Throwable throwable;
+		private final Signature signature;
+		private final long sequence;
+		private final long firstSeen;
+		private volatile long lastSeen;
+		private final AtomicInteger occurrences = new AtomicInteger(1);
+
+		private Entry(Throwable throwable, Signature signature, long sequence)
+		{
+			this.throwable = throwable;
+			this.signature = signature;
+			this.sequence = sequence;
+			firstSeen = lastSeen = System.currentTimeMillis();
+		}
+
+		/**
+		 * Get the first recorded exception of this entry
+		 * @return the recorded {@link Throwable}
+		 */
+		public Throwable getThrowable()
+		{
+			return throwable;
+		}
+
+		/**
+		 * Get the number of occurrences of this entry not handled yet
+		 * @return the occurrence count or {@literal 0} if the entry left the journal
+		 */
+		public int getOccurrences()
+		{
+			return Math.max(0, occurrences.get());
+		}
+
+		public long getFirstSeen()
+		{
+			return firstSeen;
+		}
+
+		public long getLastSeen()
+		{
+			return lastSeen;
+		}
+
+		@Override
+		public String toString()
+		{
+			return "Entry [throwable=" + throwable + ", occurrences=" + getOccurrences() + "]";
+		}
+
+		private boolean increment()
+		{
+			while (true) {
+				int current = occurrences.get();
+				if(current <= 0) return false;
+				if(occurrences.compareAndSet(current, current + 1)) {
+					lastSeen = System.currentTimeMillis();
+					return true;
+				}
+			}
+		}
+
+		private int decrement()
+		{
+			while (true) {
+				int current = occurrences.get();
+				if(current <= 0) return -1;
+				if(occurrences.compareAndSet(current, current - 1)) return current - 1;
+			}
+		}
+	}
+
+	//The exception classes and stack frames of a cause chain
+	private static final class Signature
+	{
+		private final Object[] frames;
+		private final int hash;
+
+		public Signature(Throwable throwable)
+		{
+			List<Object> chain = new ArrayList<Object>();
+			for (Throwable cause = throwable; cause != null && chain.size() < 64; cause = cause.getCause()) {
+				chain.add(cause.getClass());
+				chain.add(cause.getStackTrace());
+				if(cause.getCause() == cause) break;
+			}
+			frames = chain.toArray();
+			hash = Arrays.deepHashCode(frames);
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj)
+		{
+			if(this == obj) return true;
+			if(!(obj instanceof Signature)) return false;
+			Signature other = (Signature) obj;
+			return hash == other.hash && Arrays.deepEquals(frames, other.frames);
+		}
+	}
+}
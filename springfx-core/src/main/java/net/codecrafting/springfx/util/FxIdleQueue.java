@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The queue of the {@link IdleCallback}s. It observes the JavaFX pulses with a {@link FxPulse} listener while
+ * there are pending callbacks. A pulse that comes late, or that started late because the JavaFX Application
+ * Thread was busy with other work, resets the idle period. Once the pulses were on time for the idle threshold,
+ * the callbacks run in the order they were requested while the frame has time left.
+ * <p>
+ * The listener keeps the shared timer, and so the scene, pulsing. To let a busy scene go idle it's removed at
+ * the first late pulse and added back after the idle threshold, on a new request or when a timeout is due, so
+ * a pending callback without a timeout does not pulse the scene at every frame.
+ *
+ * @author Lucas Marotta
+ * @see AsyncUtils#requestIdleCallback(IdleCallback, long, TimeUnit)
+ */
+final class FxIdleQueue implements FxPulse.PulseListener
+{
+	/**
+	 * The time the pulses must be on time before idle callbacks run
+	 */
+	static final long IDLE_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+	/**
+	 * The part of a frame given to the idle callbacks
+	 */
+	static final long FRAME_BUDGET_NANOS = FxPulse.NOMINAL_FRAME_NANOS * 3 / 4;
+
+	/**
+	 * The interval between two pulses above which the second one is late
+	 */
+	static final long LATE_PULSE_NANOS = FxPulse.NOMINAL_FRAME_NANOS * 3 / 2;
+
+	private static final long LATE_START_NANOS = FxPulse.NOMINAL_FRAME_NANOS / 4;
+	private static final FxIdleQueue INSTANCE = new FxIdleQueue();
+
+	private final Queue<Request> requests = new ConcurrentLinkedQueue<Request>();
+	private final AtomicBoolean registered = new AtomicBoolean();
+	private volatile long idleThresholdNanos = IDLE_THRESHOLD_NANOS;
+	private volatile long latePulseNanos = LATE_PULSE_NANOS;
+
+	//Only touched on the JavaFX Application Thread
+	private long lastPulse;
+	private long idleSince;
+
+	private FxIdleQueue() {}
+
+	static CompletableFuture<Void> request(IdleCallback callback, long timeoutNanos)
+	{
+		if(callback == null)
+			throw new IllegalArgumentException("callback must not be null");
+		long timeoutAt = (timeoutNanos > 0) ? System.nanoTime() + timeoutNanos : Long.MAX_VALUE;
+		Request request = new Request(callback, timeoutAt);
+		INSTANCE.requests.add(request);
+		if(timeoutNanos > 0) {
+			ScheduledFuture<?> wakeUp = AsyncUtils.getScheduler().schedule(INSTANCE::wakeUp, timeoutNanos, TimeUnit.NANOSECONDS);
+			request.result.whenComplete((value, e) -> wakeUp.cancel(false));
+		}
+		INSTANCE.wakeUp();
+		return request.result;
+	}
+
+	//Change the time the pulses must be on time before the idle callbacks run, the scene is never idle with a long one
+	static void setIdleThreshold(long nanos)
+	{
+		INSTANCE.idleThresholdNanos = nanos;
+	}
+
+	//Change the interval after which a pulse is late, the scene is always busy with a zero one
+	static void setLatePulse(long nanos)
+	{
+		INSTANCE.latePulseNanos = nanos;
+	}
+
+	//Whether the queue is observing the pulses, or backing off or idle otherwise
+	static boolean isListening()
+	{
+		return INSTANCE.registered.get();
+	}
+
+	@Override
+	public boolean onPulse(long now)
+	{
+		long started = System.nanoTime();
+		//The first pulse after a registration is always late, which starts a new idle period
+		boolean first = (lastPulse == 0);
+		boolean late = (!first && now - lastPulse > latePulseNanos) || started - now > LATE_START_NANOS;
+		if(first || late) idleSince = now;
+		lastPulse = now;
+		if(started - idleSince >= idleThresholdNanos) {
+			runIdle(now + FRAME_BUDGET_NANOS);
+		} else {
+			runTimedOut(started);
+		}
+		if(requests.isEmpty()) return unregister(false);
+		//Busy, stop pulsing and observe again later. The timeouts wake the queue up by themselves
+		if(late && !first) return unregister(true);
+		return true;
+	}
+
+	//Add the pulse listener unless it's already registered
+	private void wakeUp()
+	{
+		if(registered.compareAndSet(false, true)) FxPulse.addListener(this);
+	}
+
+	private boolean unregister(boolean backOff)
+	{
+		lastPulse = 0;
+		registered.set(false);
+		if(backOff) {
+			AsyncUtils.getScheduler().schedule(this::wakeUp, idleThresholdNanos, TimeUnit.NANOSECONDS);
+			return false;
+		}
+		//A request added while unregistering would be left behind
+		return !requests.isEmpty() && registered.compareAndSet(false, true);
+	}
+	private void runIdle(long deadline)
+	{
+		Request request;
+		while (System.nanoTime() < deadline && (request = requests.poll()) != null) {
+			request.run(new IdleDeadline(deadline, false));
+		}
+	}
+
+	private void runTimedOut(long now)
+	{
+		for (Iterator<Request> iterator = requests.iterator(); iterator.hasNext();) {
+			Request request = iterator.next();
+			if(request.result.isDone()) {
+				iterator.remove();
+			} else if(request.timeoutAt <= now) {
+				iterator.remove();
+				request.run(new IdleDeadline(now + FRAME_BUDGET_NANOS, true));
+			}
+		}
+	}
+
+	private static class Request
+	{
+		private final IdleCallback callback;
+		private final long timeoutAt;
+		private final CompletableFuture<Void> result = new CompletableFuture<Void>();
+
+		public Request(IdleCallback callback, long timeoutAt)
+		{
+			this.callback = callback;
+			this.timeoutAt = timeoutAt;
+		}
+
+		private void run(IdleDeadline deadline)
+		{
+			if(result.isDone()) return;
+			try {
+				callback.run(deadline);
+				result.complete(null);
+			} catch (Throwable e) {
+				result.completeExceptionally(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+
+/**
+ * A single {@link AnimationTimer} shared by the SpringFX components that need to run once per JavaFX pulse,
+ * like batching updates to the scene graph. The timer only runs while there are listeners, so an idle
+ * application does not pay for it. It also measures the interval between pulses, which tells how much
+ * headroom the JavaFX Application Thread has left.
+ *
+ * @author Lucas Marotta
+ * @see #addListener(PulseListener)
+ * @see #removeListener(PulseListener)
+ * @see #getFrameNanos()
+ * @see #isLagging()
+ */
+public final class FxPulse
+{
+	/**
+	 * The interval between two pulses of a 60 frames per second scene
+	 */
+	public static final long NOMINAL_FRAME_NANOS = 1_000_000_000L / 60;
+
+	private static final Log LOGGER = LogFactory.getLog(FxPulse.class);
+	private static final List<PulseListener> LISTENERS = new CopyOnWriteArrayList<PulseListener>();
+	private static final AtomicBoolean RUNNING = new AtomicBoolean();
+	private static final PulseTimer TIMER = new PulseTimer();
+	private static volatile long frameNanos = NOMINAL_FRAME_NANOS;
+
+	private FxPulse() {}
+
+	/**
+	 * Add a listener to be called on the JavaFX Application Thread at every pulse, starting the shared timer
+	 * if needed. The listener stays registered until it returns {@literal false} or it's removed.
+	 * @param listener the {@link PulseListener} to be added
+	 * @throws IllegalArgumentException if listener is null
+	 */
+	public static void addListener(PulseListener listener)
+	{
+		if(listener != null) {
+			LISTENERS.add(listener);
+			if(RUNNING.compareAndSet(false, true)) {
+				if(Platform.isFxApplicationThread()) {
+					TIMER.start();
+				} else {
+					Platform.runLater(TIMER::start);
+				}
+			}
+		} else {
+			throw new IllegalArgumentException("listener must not be null");
+		}
+	}
+
+	/**
+	 * Remove a listener. The shared timer is stopped on the next pulse if no listener is left.
+	 * @param listener the {@link PulseListener} to be removed
+	 */
+	public static void removeListener(PulseListener listener)
+	{
+		LISTENERS.remove(listener);
+	}
+
+	/**
+	 * Get the smoothed interval between the last pulses. It grows above {@link #NOMINAL_FRAME_NANOS}
+	 * when the JavaFX Application Thread is too busy to keep the frame rate.
+	 * @return the interval between pulses in nanoseconds
+	 */
+	public static long getFrameNanos()
+	{
+		return frameNanos;
+	}
+
+	/**
+	 * Check if the JavaFX Application Thread is dropping frames
+	 * @return {@literal true} if the interval between pulses is above one and a half nominal frames
+	 */
+	public static boolean isLagging()
+	{
+		return frameNanos > NOMINAL_FRAME_NANOS * 3 / 2;
+	}
+
+	/**
+	 * A listener of the JavaFX pulses. It's always called on the JavaFX Application Thread and must
+	 * only do a small, bounded amount of work.
+	 */
+	@FunctionalInterface
+	public interface PulseListener
+	{
+		/**
+		 * Called once per pulse
+		 * @param now the timestamp of the current frame in nanoseconds
+		 * @return {@literal true} to keep receiving pulses, {@literal false} to be removed
+		 */
+		boolean onPulse(long now);
+	}
+
+	private static class PulseTimer extends AnimationTimer
+	{
+		private long lastPulse;
+
+		@Override
+		public void handle(long now)
+		{
+			if(lastPulse != 0) {
+				//Exponential moving average over the last eight frames
+				frameNanos += (now - lastPulse - frameNanos) / 8;
+			}
+			lastPulse = now;
+			for (PulseListener listener : LISTENERS) {
+				boolean keep;
+				try {
+					keep = listener.onPulse(now);
+				} catch (RuntimeException e) {
+					LOGGER.error("Pulse listener failed and was removed", e);
+					keep = false;
+				}
+				if(!keep) LISTENERS.remove(listener);
+			}
+			if(LISTENERS.isEmpty()) {
+				stop();
+				lastPulse = 0;
+				frameNanos = NOMINAL_FRAME_NANOS;
+				RUNNING.set(false);
+				//A listener added while stopping would not restart the timer
+				if(!LISTENERS.isEmpty() && RUNNING.compareAndSet(false, true)) start();
+			}
+		}
+	}
+}
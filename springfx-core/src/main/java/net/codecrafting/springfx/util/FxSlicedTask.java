@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A cooperative task of the JavaFX Application Thread. At every pulse it runs as many work units as fit in
+ * its time budget and then yields, so the scene keeps being rendered between the slices. At least one unit
+ * runs per pulse, so a unit longer than the budget still advances the task.
+ *
+ * @author Lucas Marotta
+ * @see AsyncUtils#asyncFxSliced(Iterator, long, java.util.concurrent.TimeUnit)
+ */
+final class FxSlicedTask implements FxPulse.PulseListener
+{
+	private final Iterator<? extends Runnable> units;
+	private final long budgetNanos;
+	private final CompletableFuture<Void> result = new CompletableFuture<Void>();
+	private long executed;
+	private long slices;
+
+	FxSlicedTask(Iterator<? extends Runnable> units, long budgetNanos)
+	{
+		if(units == null)
+			throw new IllegalArgumentException("units must not be null");
+		if(budgetNanos <= 0)
+			throw new IllegalArgumentException("budget must be greater than 0");
+		this.units = units;
+		this.budgetNanos = budgetNanos;
+	}
+
+	CompletableFuture<Void> start()
+	{
+		FxPulse.addListener(this);
+		return result;
+	}
+
+	@Override
+	public boolean onPulse(long now)
+	{
+		if(result.isDone()) return false;
+		long deadline = System.nanoTime() + budgetNanos;
+		try {
+			do {
+				if(!units.hasNext()) {
+					result.complete(null);
+					return false;
+				}
+				units.next().run();
+				executed++;
+			} while (System.nanoTime() < deadline && !result.isDone());
+		} catch (Throwable e) {
+			result.completeExceptionally(e);
+			return false;
+		}
+		slices++;
+		return !result.isDone();
+	}
+
+	@Override
+	public String toString()
+	{
+		return "FxSlicedTask [executed=" + executed + ", slices=" + slices + ", done=" + result.isDone() + "]";
+	}
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+/**
+ * A low priority callback run on the JavaFX Application Thread once it has been idle for a while.
+ * The callback should check {@link IdleDeadline#timeRemaining()} and stop, requesting a new callback
+ * with the rest of its work, once the time is over.
+ *
+ * @author Lucas Marotta
+ * @see AsyncUtils#requestIdleCallback(IdleCallback)
+ */
+@FunctionalInterface
+public interface IdleCallback
+{
+	/**
+	 * Run the idle work
+	 * @param deadline the {@link IdleDeadline} of this run
+	 */
+	void run(IdleDeadline deadline);
+}
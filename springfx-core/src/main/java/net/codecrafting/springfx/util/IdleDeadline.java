@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time an {@link IdleCallback} may use before the JavaFX Application Thread must get back to rendering.
+ *
+ * @author Lucas Marotta
+ * @see #timeRemaining()
+ * @see #didTimeout()
+ */
+public final class IdleDeadline
+{
+	private final long deadline;
+	private final boolean timeout;
+
+	IdleDeadline(long deadline, boolean timeout)
+	{
+		this.deadline = deadline;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Get the remaining time of the current idle period
+	 * @return the remaining nanoseconds, {@literal 0} if the time is over
+	 */
+	public long timeRemaining()
+	{
+		return Math.max(0, deadline - System.nanoTime());
+	}
+
+	/**
+	 * Get the remaining time of the current idle period
+	 * @param unit the {@link TimeUnit} of the remaining time
+	 * @return the remaining time in the given unit, {@literal 0} if the time is over
+	 */
+	public long timeRemaining(TimeUnit unit)
+	{
+		return unit.convert(timeRemaining(), TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Check if the callback runs because its timeout expired before the JavaFX Application Thread got idle
+	 * @return {@literal true} if the callback was forced by its timeout
+	 */
+	public boolean didTimeout()
+	{
+		return timeout;
+	}
+}
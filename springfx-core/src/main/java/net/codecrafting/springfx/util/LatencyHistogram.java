@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock free histogram of durations with power of two microsecond buckets. The bucket {@literal 0} holds
+ * durations below {@literal 1µs} and the bucket {@literal i} holds durations from {@literal 2^(i-1)µs} up to
+ * {@literal 2^i µs}, the last bucket holds everything above. Percentiles are reported as the upper bound of the
+ * bucket they fall into, which is precise enough to spot queueing and slow tasks with a constant memory footprint.
+ *
+ * @author Lucas Marotta
+ * @see #record(long)
+ * @see #getCount()
+ * @see #getMeanMicros()
+ * @see #getMaxMicros()
+ * @see #getPercentileMicros(double)
+ * @see #getBucketCounts()
+ */
+public class LatencyHistogram
+{
+	/**
+	 * The number of buckets, the last one covers durations above {@literal 2^(BUCKETS-2)µs} (about 73 hours)
+	 */
+	public static final int BUCKETS = 40;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	/**
+	 * Record a duration on this histogram
+	 * @param nanos the duration in nanoseconds. Negative values are recorded as zero
+	 */
+	public void record(long nanos)
+	{
+		if(nanos < 0) nanos = 0;
+		buckets.incrementAndGet(bucketOf(nanos / 1000));
+		count.increment();
+		totalNanos.add(nanos);
+		maxNanos.accumulateAndGet(nanos, Math::max);
+	}
+
+	public long getCount()
+	{
+		return count.sum();
+	}
+
+	public double getMeanMicros()
+	{
+		long total = count.sum();
+		return (total == 0) ? 0 : (totalNanos.sum() / 1000.0) / total;
+	}
+
+	public long getMaxMicros()
+	{
+		return maxNanos.get() / 1000;
+	}
+
+	/**
+	 * Get the upper bound of the bucket where the given percentile falls into
+	 * @param percentile the percentile between {@literal 0} and {@literal 100}
+	 * @return the upper bound in microseconds of the percentile bucket. {@literal 0} if nothing was recorded
+	 * @throws IllegalArgumentException if percentile is out of range
+	 */
+	public long getPercentileMicros(double percentile)
+	{
+		if(percentile < 0 || percentile > 100)
+			throw new IllegalArgumentException("percentile must be between 0 and 100");
+		long[] counts = getBucketCounts();
+		long total = 0;
+		for (long bucketCount : counts) {
+			total += bucketCount;
+		}
+		if(total == 0) return 0;
+		long target = (long) Math.ceil(total * percentile / 100.0);
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if(seen >= target && counts[i] > 0) return Math.min(getBucketUpperBoundMicros(i), getMaxMicros());
+		}
+		return getMaxMicros();
+	}
+
+	/**
+	 * Get a copy of the bucket counts
+	 * @return the counts indexed by bucket
+	 */
+	public long[] getBucketCounts()
+	{
+		long[] counts = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] = buckets.get(i);
+		}
+		return counts;
+	}
+
+	/**
+	 * Get the exclusive upper bound of a bucket
+	 * @param bucket the bucket index
+	 * @return the upper bound in microseconds or {@link Long#MAX_VALUE} for the last bucket
+	 */
+	public static long getBucketUpperBoundMicros(int bucket)
+	{
+		return (bucket >= BUCKETS - 1) ? Long.MAX_VALUE : (1L << bucket);
+	}
+
+	/**
+	 * Clear all the recorded durations
+	 */
+	public void reset()
+	{
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets.set(i, 0);
+		}
+		count.reset();
+		totalNanos.reset();
+		maxNanos.set(0);
+	}
+
+	@Override
+	public String toString()
+	{
+		return "LatencyHistogram [count=" + getCount() + ", mean=" + String.format("%.1f", getMeanMicros()) + "µs, p50="
+				+ getPercentileMicros(50) + "µs, p99=" + getPercentileMicros(99) + "µs, max=" + getMaxMicros() + "µs]";
+	}
+
+	private static int bucketOf(long micros)
+	{
+		int bucket = 64 - Long.numberOfLeadingZeros(micros);
+		return Math.min(bucket, BUCKETS - 1);
+	}
+}
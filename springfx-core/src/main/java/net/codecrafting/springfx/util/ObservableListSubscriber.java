@@ -0,0 +1,306 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import javafx.collections.ObservableList;
+
+/**
+ * A Reactive Streams {@link Subscriber} that appends the received items to an {@link ObservableList}. Items
+ * are buffered as they arrive and applied on the JavaFX Application Thread once per pulse with a single
+ * {@link ObservableList#addAll(java.util.Collection)}, so a {@code TableView} is refreshed once per frame
+ * instead of once per item.
+ * <p>
+ * The demand is driven by the JavaFX Application Thread headroom. The batch size is adapted to apply a batch
+ * within the frame budget, measured by the cost of the previous batches, and it's halved while {@link FxPulse}
+ * reports dropped frames. Only about two batches are requested ahead, so a fast publisher can not flood the memory.
+ * The pulse listener is only registered while there are buffered items or signals to apply, so a quiet stream does
+ * not keep the JavaFX pulses running.
+ * <p>
+ * The subscription is cancelled by cancelling the {@link #getCompletion()} future, which can be tracked by
+ * a view task scope to stop the stream when the view goes away. If the target list throws while a batch is added
+ * the completion fails with that exception and the subscription is cancelled too.
+ *
+ * @param <T> the type of the items
+ * @author Lucas Marotta
+ * @see #subscribe(Publisher, ObservableList)
+ * @see #getCompletion()
+ * @see #cancel()
+ * @see #getDeliveredCount()
+ * @see #getBatchCount()
+ */
+public class ObservableListSubscriber<T> implements Subscriber<T>
+{
+	/**
+	 * The default time of the JavaFX Application Thread spent applying a batch
+	 */
+	public static final long DEFAULT_FRAME_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(4);
+
+	/**
+	 * The smallest batch size, so the stream always advances
+	 */
+	public static final int MIN_BATCH_SIZE = 16;
+
+	/**
+	 * The largest batch size
+	 */
+	public static final int MAX_BATCH_SIZE = 8192;
+
+	private static final Subscription CANCELLED = new Subscription() {
+		@Override
+		public void request(long n) {}
+
+		@Override
+		public void cancel() {}
+	};
+
+	private final ObservableList<T> target;
+	private final long frameBudgetNanos;
+	private final Queue<T> buffer = new ConcurrentLinkedQueue<T>();
+	private final AtomicReference<Subscription> subscription = new AtomicReference<Subscription>();
+	private final CompletableFuture<Void> completion = new CompletableFuture<Void>();
+	private final AtomicBoolean registered = new AtomicBoolean();
+	private volatile boolean done;
+	private volatile Throwable error;
+
+	//Only touched on the JavaFX Application Thread
+	private long requested;
+	private long delivered;
+	private long batches;
+	private int batchSize = MIN_BATCH_SIZE;
+	private double itemNanos;
+
+	/**
+	 * Create a new instance of {@link ObservableListSubscriber} with the {@link #DEFAULT_FRAME_BUDGET_NANOS}.
+	 * @param target the {@link ObservableList} to receive the items
+	 * @throws IllegalArgumentException if target is null
+	 */
+	public ObservableListSubscriber(ObservableList<T> target)
+	{
+		this(target, DEFAULT_FRAME_BUDGET_NANOS);
+	}
+
+	/**
+	 * Create a new instance of {@link ObservableListSubscriber}.
+	 * @param target the {@link ObservableList} to receive the items
+	 * @param frameBudgetNanos the time of the JavaFX Application Thread to be spent applying a batch
+	 * @throws IllegalArgumentException if target is null or frameBudgetNanos is not positive
+	 */
+	public ObservableListSubscriber(ObservableList<T> target, long frameBudgetNanos)
+	{
+		if(target == null)
+			throw new IllegalArgumentException("target must not be null");
+		if(frameBudgetNanos <= 0)
+			throw new IllegalArgumentException("frameBudgetNanos must be greater than 0");
+		this.target = target;
+		this.frameBudgetNanos = frameBudgetNanos;
+		completion.whenComplete((value, e) -> {
+			if(e != null) {
+				Subscription current = subscription.getAndSet(CANCELLED);
+				if(current != null && current != CANCELLED) current.cancel();
+				buffer.clear();
+			}
+		});
+	}
+
+	/**
+	 * Subscribe the given {@link Publisher} into the given {@link ObservableList}.
+	 * @param publisher the source of the items
+	 * @param target the {@link ObservableList} to receive the items
+	 * @param <T> the type of the items
+	 * @return the subscriber, already subscribed
+	 * @throws IllegalArgumentException if publisher or target are null
+	 */
+	public static <T> ObservableListSubscriber<T> subscribe(Publisher<? extends T> publisher, ObservableList<T> target)
+	{
+		if(publisher == null)
+			throw new IllegalArgumentException("publisher must not be null");
+		ObservableListSubscriber<T> subscriber = new ObservableListSubscriber<T>(target);
+		publisher.subscribe(subscriber);
+		return subscriber;
+	}
+
+	@Override
+	public void onSubscribe(Subscription s)
+	{
+		if(s == null) throw new NullPointerException("subscription must not be null");
+		if(subscription.compareAndSet(null, s)) {
+			wakeUp();
+		} else {
+			s.cancel();
+		}
+	}
+
+	@Override
+	public void onNext(T item)
+	{
+		if(item == null) throw new NullPointerException("item must not be null");
+		if(completion.isDone()) return;
+		buffer.offer(item);
+		wakeUp();
+	}
+
+	@Override
+	public void onError(Throwable t)
+	{
+		if(t == null) throw new NullPointerException("throwable must not be null");
+		error = t;
+		done = true;
+		wakeUp();
+	}
+
+	@Override
+	public void onComplete()
+	{
+		done = true;
+		wakeUp();
+	}
+
+	/**
+	 * Get the {@link CompletableFuture} that completes once all the items were added to the target list,
+	 * or exceptionally with the publisher error or the target list error. Cancelling it cancels the subscription.
+	 * @return the completion of the stream
+	 */
+	public CompletableFuture<Void> getCompletion()
+	{
+		return completion;
+	}
+
+	/**
+	 * Cancel the subscription. Items not applied yet are dropped.
+	 */
+	public void cancel()
+	{
+		completion.cancel(false);
+	}
+
+	/**
+	 * Get the number of items added to the target list. Should be read on the JavaFX Application Thread.
+	 * @return the number of items delivered
+	 */
+	public long getDeliveredCount()
+	{
+		return delivered;
+	}
+
+	/**
+	 * Get the number of {@code addAll} calls made to the target list. Should be read on the JavaFX Application Thread.
+	 * @return the number of batches
+	 */
+	public long getBatchCount()
+	{
+		return batches;
+	}
+
+	private boolean onPulse(long now)
+	{
+		if(completion.isDone()) {
+			buffer.clear();
+			return false;
+		}
+		boolean finished = done;
+		try {
+			applyBatch();
+		} catch (RuntimeException e) {
+			completion.completeExceptionally(e);
+			buffer.clear();
+			throw e;
+		}
+		if(finished && buffer.isEmpty()) {
+			if(error != null) {
+				completion.completeExceptionally(error);
+			} else {
+				completion.complete(null);
+			}
+			return false;
+		}
+		if(!finished) requestDemand();
+		if(buffer.isEmpty() && !done) return unregister();
+		return true;
+	}
+
+	//Whether the pulse listener is registered, or waiting for the next item otherwise
+	boolean isListening()
+	{
+		return registered.get();
+	}
+
+	//Add the pulse listener unless it's already registered
+	private void wakeUp()
+	{
+		if(registered.compareAndSet(false, true)) FxPulse.addListener(this::onPulse);
+	}
+
+	private boolean unregister()
+	{
+		registered.set(false);
+		//An item or signal received while unregistering would be left behind
+		return (!buffer.isEmpty() || done) && registered.compareAndSet(false, true);
+	}
+
+	private void applyBatch()
+	{
+		List<T> batch = new ArrayList<T>(Math.min(batchSize, 1024));
+		T item;
+		while (batch.size() < batchSize && (item = buffer.poll()) != null) {
+			batch.add(item);
+		}
+		if(!batch.isEmpty()) {
+			long start = System.nanoTime();
+			target.addAll(batch);
+			long elapsed = System.nanoTime() - start;
+			delivered += batch.size();
+			batches++;
+			double cost = (double) elapsed / batch.size();
+			itemNanos = (itemNanos == 0) ? cost : itemNanos + (cost - itemNanos) / 4;
+		}
+		adaptBatchSize(batch.size());
+	}
+
+	private void adaptBatchSize(int applied)
+	{
+		long size = (itemNanos > 0) ? (long) (frameBudgetNanos / itemNanos) : batchSize * 2L;
+		//Grow at most twice per pulse, only when the last batch was full
+		if(applied < batchSize) size = Math.min(size, batchSize);
+		size = Math.min(size, batchSize * 2L);
+		if(FxPulse.isLagging()) size = batchSize / 2;
+		batchSize = (int) Math.max(MIN_BATCH_SIZE, Math.min(MAX_BATCH_SIZE, size));
+	}
+
+	//Keep about two batches, buffered or still requested, ahead of the JavaFX Application Thread
+	private void requestDemand()
+	{
+		Subscription current = subscription.get();
+		long wanted = batchSize * 2L - (requested - delivered);
+		if(wanted > 0 && current != null && current != CANCELLED) {
+			requested += wanted;
+			current.request(wanted);
+		}
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import javafx.beans.property.DoubleProperty;
+
+/**
+ * The fork join reduction behind the {@link AsyncUtils} {@code parallel} methods. The index range is split in
+ * halves down to chunks of at most the chunk size, every chunk reduces its elements sequentially and the
+ * partial results are combined on the way up. The processed element count is published to the progress
+ * property by a {@link FxPulse} listener, so the property changes at most once per pulse whatever the
+ * number of elements is.
+ *
+ * @param <R> the type of the reduction
+ * @param <V> the type of the final result
+ * @author Lucas Marotta
+ * @see AsyncUtils#parallel(java.util.Collection, int, Function, DoubleProperty)
+ * @see AsyncUtils#parallelReduce(java.util.Collection, int, Function, Object, BinaryOperator, DoubleProperty)
+ */
+final class ParallelProcessor<R, V>
+{
+	private final int size;
+	private final int chunkSize;
+	private final IntFunction<R> element;
+	private final R identity;
+	private final BinaryOperator<R> combiner;
+	private final Function<R, V> finisher;
+	private final CompletableFuture<V> result = new CompletableFuture<V>();
+	private final LongAdder processed = new LongAdder();
+
+	ParallelProcessor(int size, int chunkSize, IntFunction<R> element, R identity, BinaryOperator<R> combiner,
+			Function<R, V> finisher)
+	{
+		if(chunkSize < 1)
+			throw new IllegalArgumentException("chunkSize must be greater than 0");
+		this.size = size;
+		this.chunkSize = chunkSize;
+		this.element = element;
+		this.identity = identity;
+		this.combiner = combiner;
+		this.finisher = finisher;
+	}
+
+	CompletableFuture<V> start(ForkJoinPool pool, DoubleProperty progress)
+	{
+		if(progress != null) FxPulse.addListener(now -> publish(progress));
+		pool.execute(() -> {
+			try {
+				result.complete(finisher.apply(new Chunk(0, size).invoke()));
+			} catch (CancellationException e) {
+				result.cancel(false);
+			} catch (Throwable e) {
+				result.completeExceptionally(e);
+			}
+		});
+		return result;
+	}
+
+	//Runs on the JavaFX Application Thread once per pulse until the processing is over
+	private boolean publish(DoubleProperty progress)
+	{
+		boolean finished = result.isDone();
+		if(!result.isCancelled()) {
+			double value = (size == 0) ? 1 : (double) processed.sum() / size;
+			if(progress.get() != value) progress.set(value);
+		}
+		return !finished;
+	}
+
+	private class Chunk extends RecursiveTask<R>
+	{
+		private static final long serialVersionUID = 1L;
+		private final int from;
+		private final int to;
+
+		public Chunk(int from, int to)
+		{
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected R compute()
+		{
+			if(to - from <= chunkSize) {
+				R accumulated = identity;
+				for (int i = from; i < to; i++) {
+					//Stop as soon as the result was cancelled or another chunk failed
+					if(result.isDone()) throw new CancellationException();
+					try {
+						accumulated = combiner.apply(accumulated, element.apply(i));
+					} catch (RuntimeException e) {
+						result.completeExceptionally(e);
+						throw e;
+					}
+				}
+				processed.add(to - from);
+				return accumulated;
+			}
+			int middle = (from + to) >>> 1;
+			Chunk left = new Chunk(from, middle);
+			left.fork();
+			R right = new Chunk(middle, to).compute();
+			return combiner.apply(left.join(), right);
+		}
+	}
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableBooleanValue;
+
+/**
+ * A periodic poll that calls a {@link Callable} on the {@link TaskPriority#BACKGROUND} lane of the
+ * {@link AsyncUtils#getExecutor()} and delivers every result to a {@link Consumer} on the JavaFX Application
+ * Thread. The next poll is timed after the previous result was delivered, so a slow service or a busy
+ * JavaFX Application Thread never gets polls piled up.
+ * <p>
+ * The poll adapts to a visibility condition, like the window being iconified. While the condition is
+ * {@literal false} the interval is doubled at every poll up to the hidden interval, or the poll is paused
+ * if the hidden interval is {@literal 0}. When the condition turns back to {@literal true} the poll runs
+ * right away and the normal interval is restored.
+ * <p>
+ * The poll can be paused with {@link #pause()}, keeping the completion pending, and resumed with
+ * {@link #resume()}, which polls right away.
+ * <p>
+ * Failures of the {@code Callable} are logged and counted, the poll keeps going. The poll is stopped by
+ * cancelling the {@link #getCompletion()} future.
+ *
+ * @param <T> the type of the polled result
+ * @author Lucas Marotta
+ * @see AsyncUtils#poll(Callable, Consumer, long, TimeUnit)
+ * @see #setVisibility(ObservableBooleanValue)
+ * @see #setHiddenInterval(long, TimeUnit)
+ * @see #pause()
+ * @see #resume()
+ * @see #cancel()
+ */
+public class PollingTask<T>
+{
+	/**
+	 * The default longest interval between polls while not visible
+	 */
+	public static final long DEFAULT_HIDDEN_INTERVAL_MILLIS = 60_000;
+
+	private static final Log LOGGER = LogFactory.getLog(PollingTask.class);
+
+	private final Callable<T> callable;
+	private final Consumer<T> fxCallback;
+	private final long intervalNanos;
+	private final CompletableFuture<Void> completion = new CompletableFuture<Void>();
+	private final LongAdder pollCount = new LongAdder();
+	private final LongAdder failureCount = new LongAdder();
+	private final ChangeListener<Boolean> visibilityListener = (observable, oldValue, newValue) -> onVisibilityChanged(newValue);
+	private volatile long hiddenIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_HIDDEN_INTERVAL_MILLIS);
+	private volatile boolean visible = true;
+	private ObservableBooleanValue visibility;
+
+	//Guarded by this
+	private boolean started;
+	private boolean paused;
+	private boolean polling;
+	private long currentIntervalNanos;
+	private Future<?> timer;
+	private Future<?> task;
+
+	/**
+	 * Create a new instance of {@link PollingTask}, not started.
+	 * @param callable the {@link Callable} to call at every poll
+	 * @param fxCallback the {@link Consumer} of the results, called on the JavaFX Application Thread
+	 * @param interval the time between the delivery of a result and the next poll
+	 * @param unit the {@link TimeUnit} of the interval
+	 * @throws IllegalArgumentException if callable, fxCallback or unit are null or interval is not positive
+	 */
+	public PollingTask(Callable<T> callable, Consumer<T> fxCallback, long interval, TimeUnit unit)
+	{
+		if(callable == null || fxCallback == null || unit == null)
+			throw new IllegalArgumentException("callable, fxCallback and unit must not be null");
+		if(interval <= 0)
+			throw new IllegalArgumentException("interval must be greater than 0");
+		this.callable = callable;
+		this.fxCallback = fxCallback;
+		intervalNanos = unit.toNanos(interval);
+		currentIntervalNanos = intervalNanos;
+		completion.whenComplete((value, e) -> stop());
+	}
+
+	/**
+	 * Set the condition the poll adapts to. The condition is read on the JavaFX Application Thread.
+	 * @param visibility the visibility condition or {@literal null} to be always visible
+	 */
+	public synchronized void setVisibility(ObservableBooleanValue visibility)
+	{
+		if(this.visibility != null) this.visibility.removeListener(visibilityListener);
+		this.visibility = visibility;
+		if(visibility != null) {
+			visibility.addListener(visibilityListener);
+			visible = visibility.get();
+		} else {
+			visible = true;
+		}
+	}
+
+	/**
+	 * Set the longest interval between polls while not visible
+	 * @param hiddenInterval the longest interval. {@literal 0} to pause while not visible
+	 * @param unit the {@link TimeUnit} of the hiddenInterval
+	 * @throws IllegalArgumentException if hiddenInterval is negative or unit is null
+	 */
+	public void setHiddenInterval(long hiddenInterval, TimeUnit unit)
+	{
+		if(hiddenInterval < 0 || unit == null)
+			throw new IllegalArgumentException("hiddenInterval must not be negative and unit must not be null");
+		hiddenIntervalNanos = unit.toNanos(hiddenInterval);
+	}
+
+	/**
+	 * Start polling right away
+	 * @return this {@link PollingTask}
+	 * @throws IllegalStateException if the poll was already started
+	 */
+	public synchronized PollingTask<T> start()
+	{
+		if(started)
+			throw new IllegalStateException("PollingTask already started");
+		started = true;
+		if(!paused && !completion.isDone()) schedule(0);
+		return this;
+	}
+
+	/**
+	 * Pause polling until {@link #resume()} is called. A running poll is left to finish but no other
+	 * poll is scheduled. Does nothing if the poll was cancelled.
+	 */
+	public synchronized void pause()
+	{
+		if(completion.isDone()) return;
+		paused = true;
+		if(timer != null) timer.cancel(false);
+		timer = null;
+	}
+
+	/**
+	 * Resume a poll paused with {@link #pause()}, polling right away with the normal interval
+	 */
+	public synchronized void resume()
+	{
+		if(!paused) return;
+		paused = false;
+		currentIntervalNanos = intervalNanos;
+		if(started && !polling && !completion.isDone()) {
+			if(timer != null) timer.cancel(false);
+			schedule(0);
+		}
+	}
+
+	/**
+	 * Stop polling. A result not delivered yet is dropped and a running poll is interrupted.
+	 */
+	public void cancel()
+	{
+		completion.cancel(false);
+	}
+
+	/**
+	 * Get the {@link CompletableFuture} that is only completed by cancelling it, which stops the poll.
+	 * It can be tracked by a view task scope to stop polling when the view goes away.
+	 * @return the completion of the poll
+	 */
+	public CompletableFuture<Void> getCompletion()
+	{
+		return completion;
+	}
+
+	public boolean isCancelled()
+	{
+		return completion.isDone();
+	}
+
+	public synchronized boolean isPaused()
+	{
+		return paused;
+	}
+
+	public boolean isVisible()
+	{
+		return visible;
+	}
+
+	/**
+	 * Get the interval before the next poll, which grows while not visible
+	 * @param unit the {@link TimeUnit} of the result
+	 * @return the current interval
+	 */
+	public synchronized long getCurrentInterval(TimeUnit unit)
+	{
+		return unit.convert(currentIntervalNanos, NANOSECONDS);
+	}
+
+	/**
+	 * Get the number of polls made
+	 * @return the number of calls to the {@code Callable}
+	 */
+	public long getPollCount()
+	{
+		return pollCount.sum();
+	}
+
+	/**
+	 * Get the number of polls that failed
+	 * @return the number of exceptions thrown by the {@code Callable}
+	 */
+	public long getFailureCount()
+	{
+		return failureCount.sum();
+	}
+
+	private void schedule(long delayNanos)
+	{
+		timer = AsyncUtils.getScheduler().schedule(this::submit, delayNanos, NANOSECONDS);
+	}
+
+	//Runs on the scheduler thread, the work itself goes to the executor
+	private synchronized void submit()
+	{
+		timer = null;
+		if(completion.isDone() || paused || polling) return;
+		polling = true;
+		try {
+			task = AsyncUtils.getExecutor().submit(this::poll, TaskPriority.BACKGROUND);
+		} catch (RejectedExecutionException e) {
+			LOGGER.warn("Poll rejected by the executor, retrying on the next interval", e);
+			polling = false;
+			scheduleNext();
+		}
+	}
+
+	private void poll()
+	{
+		pollCount.increment();
+		T result;
+		try {
+			result = callable.call();
+		} catch (Throwable e) {
+			if(!completion.isDone()) {
+				failureCount.increment();
+				LOGGER.warn("Poll failed, retrying on the next interval", e);
+			}
+			finish();
+			return;
+		}
+		Platform.runLater(() -> {
+			try {
+				if(!completion.isDone()) fxCallback.accept(result);
+			} catch (RuntimeException e) {
+				failureCount.increment();
+				LOGGER.warn("Poll callback failed, retrying on the next interval", e);
+			}
+			finish();
+		});
+	}
+
+	private synchronized void finish()
+	{
+		polling = false;
+		task = null;
+		if(!completion.isDone()) scheduleNext();
+	}
+
+	private void scheduleNext()
+	{
+		long hidden = hiddenIntervalNanos;
+		if(paused) {
+			//Scheduled again by resume()
+			return;
+		} else if(visible) {
+			currentIntervalNanos = intervalNanos;
+		} else if(hidden == 0) {
+			//Paused until visible again
+			return;
+		} else {
+			currentIntervalNanos = Math.max(intervalNanos, Math.min(hidden, currentIntervalNanos * 2));
+		}
+		schedule(currentIntervalNanos);
+	}
+
+	private synchronized void onVisibilityChanged(boolean value)
+	{
+		visible = value;
+		if(!value || !started || paused || completion.isDone()) return;
+		//Catch up right away instead of waiting the backed off interval
+		currentIntervalNanos = intervalNanos;
+		if(!polling) {
+			if(timer != null) timer.cancel(false);
+			schedule(0);
+		}
+	}
+
+	private synchronized void stop()
+	{
+		if(timer != null) timer.cancel(false);
+		if(task != null) task.cancel(true);
+		timer = null;
+		task = null;
+		if(visibility != null) visibility.removeListener(visibilityListener);
+	}
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javafx.application.Platform;
+
+/**
+ * Coalesces concurrent computations with the same key. The first call for a key starts the computation on the
+ * {@link AsyncUtils#getExecutor()}, the calls made while it runs join it and all get its result. Optionally
+ * a successful result is retained for a short time, so calls right after the computation get it too.
+ * Failures are never retained.
+ * <p>
+ * Every caller gets its own {@link CompletableFuture}, cancelling it does not affect the other callers nor the
+ * shared computation.
+ * <p>
+ * The metrics are kept per key for the {@value #MAX_METRICS_KEYS} most recently called keys only, so short lived
+ * keys do not pile up, and in aggregate for all the keys with {@link #getTotalMetrics()}.
+ *
+ * @author Lucas Marotta
+ * @see #execute(Object, Callable)
+ * @see #executeFx(Object, Callable, Consumer)
+ * @see #forget(Object)
+ * @see #getMetrics(Object)
+ * @see #getTotalMetrics()
+ */
+public class SingleFlight
+{
+	/**
+	 * The maximum number of keys with their own metrics
+	 */
+	public static final int MAX_METRICS_KEYS = 256;
+
+	private final long retentionNanos;
+	private final ConcurrentHashMap<Object, Flight<?>> flights = new ConcurrentHashMap<Object, Flight<?>>();
+	private final Metrics totals = new Metrics(null);
+	private final Map<Object, Metrics> metrics = new LinkedHashMap<Object, Metrics>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Object, Metrics> eldest)
+		{
+			return size() > MAX_METRICS_KEYS;
+		}
+	};
+
+	/**
+	 * Create a new instance of {@link SingleFlight} without result retention.
+	 */
+	public SingleFlight()
+	{
+		this(0, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Create a new instance of {@link SingleFlight}.
+	 * @param retention the time a successful result is shared after the computation. {@literal 0} to not retain
+	 * @param unit the {@link TimeUnit} of the retention
+	 * @throws IllegalArgumentException if retention is negative or unit is null
+	 */
+	public SingleFlight(long retention, TimeUnit unit)
+	{
+		if(retention < 0 || unit == null)
+			throw new IllegalArgumentException("retention must not be negative and unit must not be null");
+		retentionNanos = unit.toNanos(retention);
+	}
+
+	/**
+	 * Calls the given {@link Callable} on the {@link TaskPriority#NORMAL} lane, unless a computation for
+	 * the same key is running or retained
+	 * @param key the key of the computation, compared by {@link Object#equals(Object)}
+	 * @param callable the {@code Callable} to call
+	 * @param <T> the return type of the {@code Callable}
+	 * @return the {@code CompletableFuture} result of the shared computation
+	 * @see #execute(Object, Callable, TaskPriority)
+	 */
+	public <T> CompletableFuture<T> execute(Object key, Callable<T> callable)
+	{
+		return execute(key, callable, TaskPriority.NORMAL);
+	}
+
+	/**
+	 * Calls the given {@link Callable} on the lane of the given priority, unless a computation for
+	 * the same key is running or retained
+	 * @param key the key of the computation, compared by {@link Object#equals(Object)}
+	 * @param callable the {@code Callable} to call
+	 * @param priority the {@link TaskPriority} of the computation
+	 * @param <T> the return type of the {@code Callable}
+	 * @return the {@code CompletableFuture} result of the shared computation
+	 * @throws IllegalArgumentException if key, callable or priority are null
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> execute(Object key, Callable<T> callable, TaskPriority priority)
+	{
+		if(key == null || callable == null || priority == null)
+			throw new IllegalArgumentException("key, callable and priority must not be null");
+		Metrics keyMetrics;
+		synchronized (metrics) {
+			keyMetrics = metrics.computeIfAbsent(key, k -> new Metrics(totals));
+		}
+		while (true) {
+			Flight<T> existing = (Flight<T>) flights.get(key);
+			if(existing != null) {
+				if(!existing.future.isDone()) {
+					keyMetrics.recordCoalesced();
+					return existing.future.thenApply(Function.identity());
+				}
+				if(!existing.future.isCompletedExceptionally() && System.nanoTime() < existing.expiresAt) {
+					keyMetrics.recordRetainedHit();
+					return existing.future.thenApply(Function.identity());
+				}
+				flights.remove(key, existing);
+				continue;
+			}
+			Flight<T> flight = new Flight<T>();
+			if(flights.putIfAbsent(key, flight) == null) {
+				keyMetrics.recordExecution();
+				start(key, flight, callable, priority, keyMetrics);
+				return flight.future.thenApply(Function.identity());
+			}
+		}
+	}
+
+	/**
+	 * Calls the given {@link Callable} like {@link #execute(Object, Callable)} and delivers the shared
+	 * result to the fxCallback on the JavaFX Application Thread
+	 * @param key the key of the computation, compared by {@link Object#equals(Object)}
+	 * @param callable the {@code Callable} to call
+	 * @param fxCallback the {@link Consumer} of the result, called on the JavaFX Application Thread
+	 * @param <T> the return type of the {@code Callable}
+	 * @return the {@code CompletableFuture} completed after the fxCallback. Cancel it to skip the fxCallback
+	 * @throws IllegalArgumentException if fxCallback is null
+	 */
+	public <T> CompletableFuture<T> executeFx(Object key, Callable<T> callable, Consumer<T> fxCallback)
+	{
+		if(fxCallback == null)
+			throw new IllegalArgumentException("fxCallback must not be null");
+		CompletableFuture<T> result = new CompletableFuture<T>();
+		execute(key, callable).whenComplete((value, e) -> {
+			if(e != null) {
+				result.completeExceptionally(e);
+				return;
+			}
+			Platform.runLater(() -> {
+				if(result.isDone()) return;
+				try {
+					fxCallback.accept(value);
+					result.complete(value);
+				} catch (Throwable t) {
+					result.completeExceptionally(t);
+				}
+			});
+		});
+		return result;
+	}
+
+	/**
+	 * Forget the running or retained computation of the given key, the next call starts a new one.
+	 * Callers already waiting still get the result of the forgotten computation.
+	 * @param key the key of the computation
+	 */
+	public void forget(Object key)
+	{
+		flights.remove(key);
+	}
+
+	/**
+	 * Get the metrics of the given key
+	 * @param key the key of the computations
+	 * @return the {@link Metrics} of the key or {@literal null} if it was not called or it's no longer
+	 * among the {@value #MAX_METRICS_KEYS} most recently called keys
+	 */
+	public Metrics getMetrics(Object key)
+	{
+		synchronized (metrics) {
+			return metrics.get(key);
+		}
+	}
+
+	/**
+	 * Get the metrics of the {@value #MAX_METRICS_KEYS} most recently called keys
+	 * @return the unmodifiable copy of the {@link Metrics} by key, from the least to the most recently called
+	 */
+	public Map<Object, Metrics> getMetrics()
+	{
+		synchronized (metrics) {
+			return Collections.unmodifiableMap(new LinkedHashMap<Object, Metrics>(metrics));
+		}
+	}
+
+	/**
+	 * Get the metrics of all the keys together, including the keys no longer tracked on their own
+	 * @return the aggregated {@link Metrics}
+	 */
+	public Metrics getTotalMetrics()
+	{
+		return totals;
+	}
+
+	/**
+	 * Clear the metrics of all the keys and the aggregated metrics
+	 */
+	public void resetMetrics()
+	{
+		synchronized (metrics) {
+			metrics.clear();
+		}
+		totals.reset();
+	}
+
+	private <T> void start(Object key, Flight<T> flight, Callable<T> callable, TaskPriority priority, Metrics keyMetrics)
+	{
+		try {
+			AsyncUtils.getExecutor().execute(() -> {
+				T value;
+				try {
+					value = callable.call();
+				} catch (Throwable e) {
+					keyMetrics.recordFailure();
+					flights.remove(key, flight);
+					flight.future.completeExceptionally(e);
+					return;
+				}
+				if(retentionNanos > 0) {
+					flight.expiresAt = System.nanoTime() + retentionNanos;
+					AsyncUtils.getScheduler().schedule(() -> flights.remove(key, flight), retentionNanos, TimeUnit.NANOSECONDS);
+				} else {
+					flights.remove(key, flight);
+				}
+				flight.future.complete(value);
+			}, priority);
+		} catch (RejectedExecutionException e) {
+			keyMetrics.recordFailure();
+			flights.remove(key, flight);
+			flight.future.completeExceptionally(e);
+		}
+	}
+
+	/**
+	 * The counters of the computations of a key
+	 */
+	public static final class Metrics
+	{
+		private final LongAdder executions = new LongAdder();
+		private final LongAdder coalesced = new LongAdder();
+		private final LongAdder retainedHits = new LongAdder();
+		private final LongAdder failures = new LongAdder();
+		private final Metrics parent;
+
+		private Metrics(Metrics parent)
+		{
+			this.parent = parent;
+		}
+
+		/**
+		 * Get the number of computations started
+		 * @return the number of executions
+		 */
+		public long getExecutionCount()
+		{
+			return executions.sum();
+		}
+
+		/**
+		 * Get the number of calls that joined a running computation
+		 * @return the number of coalesced calls
+		 */
+		public long getCoalescedCount()
+		{
+			return coalesced.sum();
+		}
+
+		/**
+		 * Get the number of calls served by a retained result
+		 * @return the number of retained hits
+		 */
+		public long getRetainedHitCount()
+		{
+			return retainedHits.sum();
+		}
+
+		public long getFailureCount()
+		{
+			return failures.sum();
+		}
+
+		//Each count goes to the key metrics and to the aggregated metrics
+		private void recordExecution()
+		{
+			executions.increment();
+			if(parent != null) parent.recordExecution();
+		}
+
+		private void recordCoalesced()
+		{
+			coalesced.increment();
+			if(parent != null) parent.recordCoalesced();
+		}
+
+		private void recordRetainedHit()
+		{
+			retainedHits.increment();
+			if(parent != null) parent.recordRetainedHit();
+		}
+
+		private void recordFailure()
+		{
+			failures.increment();
+			if(parent != null) parent.recordFailure();
+		}
+
+		private void reset()
+		{
+			executions.reset();
+			coalesced.reset();
+			retainedHits.reset();
+			failures.reset();
+		}
+
+		@Override
+		public String toString()
+		{
+			return "Metrics [executions=" + getExecutionCount() + ", coalesced=" + getCoalescedCount() + ", retainedHits="
+					+ getRetainedHitCount() + ", failures=" + getFailureCount() + "]";
+		}
+	}
+
+	private static class Flight<T>
+	{
+		private final CompletableFuture<T> future = new CompletableFuture<T>();
+		private volatile long expiresAt = Long.MAX_VALUE;
+	}
+}
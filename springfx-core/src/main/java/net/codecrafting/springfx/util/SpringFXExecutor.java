@@ -0,0 +1,652 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import javafx.application.Platform;
+
+/**
+ * A bounded executor with priority lanes for the SpringFX background work. The executor starts threads on demand
+ * up to {@link #getMaxThreads()} and keeps one bounded queue per {@link TaskPriority}. Idle threads are released after
+ * the keep alive time. Queued {@link TaskPriority#INTERACTIVE} tasks are started before {@link TaskPriority#NORMAL} ones
+ * and these before {@link TaskPriority#BACKGROUND} ones, but after {@value #STARVATION_INTERVAL} consecutive picks in favor
+ * of a higher lane a lower waiting lane is served once, rotating over all the waiting lower lanes, so normal and
+ * background work are delayed instead of starved.
+ * When a lane is full the {@link RejectionPolicy} decides what happens to the new task.
+ * <p>
+ * The executor is also a Spring {@link AsyncTaskExecutor}, so the instance registered by SpringFX is picked by
+ * {@literal @Async} methods. Tasks without an explicit priority run on the {@link TaskPriority#NORMAL} lane.
+ * <p>
+ * The following metrics are available: active threads, pool size, queue depth per lane, completed and rejected
+ * tasks, and the wait time (per lane) and run time {@link LatencyHistogram}s.
+ *
+ * @author Lucas Marotta
+ * @see #execute(Runnable, TaskPriority)
+ * @see #submit(Callable, TaskPriority)
+ * @see #submit(Runnable, TaskPriority)
+ * @see #setRejectionPolicy(RejectionPolicy)
+ * @see #setKeepAlive(long, TimeUnit)
+ * @see #getActiveCount()
+ * @see #getQueueSize(TaskPriority)
+ * @see #getWaitTimeHistogram(TaskPriority)
+ * @see #getRunTimeHistogram()
+ */
+public class SpringFXExecutor extends AbstractExecutorService implements AsyncTaskExecutor
+{
+	/**
+	 * The policy used when a task is submitted to a full lane
+	 */
+	public enum RejectionPolicy
+	{
+		/**
+		 * Throws a {@link RejectedExecutionException}
+		 */
+		ABORT,
+
+		/**
+		 * Runs the task on the submitting thread. Tasks submitted from the JavaFX Application Thread are never run
+		 * on it, they are rejected like with {@link #ABORT} so a full lane doesn't freeze the UI
+		 */
+		CALLER_RUNS,
+
+		/**
+		 * Silently drops the new task. Dropped {@link Future}s are cancelled
+		 */
+		DISCARD,
+
+		/**
+		 * Drops the oldest queued task of the same lane to make room for the new task.
+		 * Dropped {@link Future}s are cancelled
+		 */
+		DISCARD_OLDEST
+	}
+
+	/**
+	 * The default maximum number of threads
+	 */
+	public static final int DEFAULT_MAX_THREADS = Math.max(16, Runtime.getRuntime().availableProcessors() * 4);
+
+	/**
+	 * The default capacity of each lane queue
+	 */
+	public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+	/**
+	 * The default time an idle thread waits for new tasks before being released
+	 */
+	public static final long DEFAULT_KEEP_ALIVE_MILLIS = 60000;
+
+	/**
+	 * The number of consecutive picks in favor of a higher lane before a lower lane is served
+	 */
+	public static final int STARVATION_INTERVAL = 16;
+
+	private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+
+	private final int maxThreads;
+	private final ThreadFactory threadFactory;
+	private final List<ArrayDeque<QueuedTask>> lanes;
+	private final int[] capacities;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition taskAvailable = lock.newCondition();
+	private final Condition terminated = lock.newCondition();
+	private final Set<Worker> workers = new HashSet<Worker>();
+	private int idleWorkers;
+	private int queuedTasks;
+	private int higherLanePicks;
+	private int lastStarvedLane;
+	private boolean shutdown;
+	private volatile long keepAliveNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_KEEP_ALIVE_MILLIS);
+	private volatile RejectionPolicy rejectionPolicy;
+
+	private final AtomicInteger activeCount = new AtomicInteger();
+	private final LongAdder completedCount = new LongAdder();
+	private final LongAdder rejectedCount = new LongAdder();
+	private final LatencyHistogram[] waitTimes;
+	private final LatencyHistogram runTime = new LatencyHistogram();
+
+	/**
+	 * Create a new instance of {@link SpringFXExecutor} with {@link #DEFAULT_MAX_THREADS}, {@link #DEFAULT_QUEUE_CAPACITY}
+	 * and the {@link RejectionPolicy#ABORT} policy.
+	 */
+	public SpringFXExecutor()
+	{
+		this(DEFAULT_MAX_THREADS, DEFAULT_QUEUE_CAPACITY, RejectionPolicy.ABORT);
+	}
+
+	/**
+	 * Create a new instance of {@link SpringFXExecutor} using daemon threads of the default {@link ThreadFactory}.
+	 * @param maxThreads the maximum number of threads
+	 * @param queueCapacity the capacity of each lane queue
+	 * @param rejectionPolicy the policy used when a lane is full
+	 * @throws IllegalArgumentException if maxThreads or queueCapacity are lower than {@literal 1} or rejectionPolicy is null
+	 */
+	public SpringFXExecutor(int maxThreads, int queueCapacity, RejectionPolicy rejectionPolicy)
+	{
+		this(maxThreads, queueCapacity, rejectionPolicy, daemonThreadFactory());
+	}
+
+	/**
+	 * Create a new instance of {@link SpringFXExecutor}.
+	 * @param maxThreads the maximum number of threads
+	 * @param queueCapacity the capacity of each lane queue
+	 * @param rejectionPolicy the policy used when a lane is full
+	 * @param threadFactory the factory of the executor threads
+	 * @throws IllegalArgumentException if maxThreads or queueCapacity are lower than {@literal 1},
+	 * or rejectionPolicy or threadFactory are null
+	 */
+	public SpringFXExecutor(int maxThreads, int queueCapacity, RejectionPolicy rejectionPolicy, ThreadFactory threadFactory)
+	{
+		if(maxThreads < 1 || queueCapacity < 1)
+			throw new IllegalArgumentException("maxThreads and queueCapacity must be greater than 0");
+		if(rejectionPolicy == null || threadFactory == null)
+			throw new IllegalArgumentException("rejectionPolicy and threadFactory must not be null");
+		this.maxThreads = maxThreads;
+		this.rejectionPolicy = rejectionPolicy;
+		this.threadFactory = threadFactory;
+		lanes = new ArrayList<ArrayDeque<QueuedTask>>(PRIORITIES.length);
+		capacities = new int[PRIORITIES.length];
+		waitTimes = new LatencyHistogram[PRIORITIES.length];
+		for (int i = 0; i < PRIORITIES.length; i++) {
+			lanes.add(new ArrayDeque<QueuedTask>());
+			capacities[i] = queueCapacity;
+			waitTimes[i] = new LatencyHistogram();
+		}
+	}
+
+	public int getMaxThreads()
+	{
+		return maxThreads;
+	}
+
+	public RejectionPolicy getRejectionPolicy()
+	{
+		return rejectionPolicy;
+	}
+
+	/**
+	 * Set the policy used when a task is submitted to a full lane
+	 * @param rejectionPolicy the {@link RejectionPolicy}
+	 * @throws IllegalArgumentException if rejectionPolicy is null
+	 */
+	public void setRejectionPolicy(RejectionPolicy rejectionPolicy)
+	{
+		if(rejectionPolicy != null) {
+			this.rejectionPolicy = rejectionPolicy;
+		} else {
+			throw new IllegalArgumentException("rejectionPolicy must not be null");
+		}
+	}
+
+	/**
+	 * Set the time an idle thread waits for new tasks before being released
+	 * @param time the keep alive time
+	 * @param unit the time unit of the time argument
+	 * @throws IllegalArgumentException if time is negative or unit is null
+	 */
+	public void setKeepAlive(long time, TimeUnit unit)
+	{
+		if(time >= 0 && unit != null) {
+			keepAliveNanos = unit.toNanos(time);
+		} else {
+			throw new IllegalArgumentException("time must not be negative and unit must not be null");
+		}
+	}
+
+	/**
+	 * Set the queue capacity of a single lane
+	 * @param priority the lane
+	 * @param capacity the new capacity. Already queued tasks are kept even if above the capacity
+	 * @throws IllegalArgumentException if priority is null or capacity is lower than {@literal 1}
+	 */
+	public void setQueueCapacity(TaskPriority priority, int capacity)
+	{
+		if(priority != null && capacity > 0) {
+			lock.lock();
+			try {
+				capacities[priority.ordinal()] = capacity;
+			} finally {
+				lock.unlock();
+			}
+		} else {
+			throw new IllegalArgumentException("priority must not be null and capacity must be greater than 0");
+		}
+	}
+
+	/**
+	 * Executes the given task on the {@link TaskPriority#NORMAL} lane
+	 * @param command the task to execute
+	 */
+	@Override
+	public void execute(Runnable command)
+	{
+		execute(command, TaskPriority.NORMAL);
+	}
+
+	/**
+	 * Executes the given task on the {@link TaskPriority#INTERACTIVE} lane if startTimeout is
+	 * {@link AsyncTaskExecutor#TIMEOUT_IMMEDIATE}, otherwise on the {@link TaskPriority#NORMAL} lane
+	 * @param task the task to execute
+	 * @param startTimeout the time duration (milliseconds) within which the task is supposed to start
+	 */
+	@Override
+	public void execute(Runnable task, long startTimeout)
+	{
+		execute(task, (startTimeout == TIMEOUT_IMMEDIATE) ? TaskPriority.INTERACTIVE : TaskPriority.NORMAL);
+	}
+
+	/**
+	 * Executes the given task on the lane of the given priority
+	 * @param command the task to execute
+	 * @param priority the lane of the task
+	 * @throws IllegalArgumentException if command or priority are null
+	 * @throws RejectedExecutionException if the executor is shutdown, or if the lane is full
+	 * and the policy is {@link RejectionPolicy#ABORT}, or {@link RejectionPolicy#CALLER_RUNS} on the JavaFX Application Thread
+	 */
+	public void execute(Runnable command, TaskPriority priority)
+	{
+		if(command == null || priority == null)
+			throw new IllegalArgumentException("command and priority must not be null");
+		Runnable dropped = null;
+		boolean runOnCaller = false;
+		lock.lock();
+		try {
+			if(shutdown) {
+				rejectedCount.increment();
+				throw new RejectedExecutionException("SpringFXExecutor has been shutdown");
+			}
+			ArrayDeque<QueuedTask> lane = lanes.get(priority.ordinal());
+			if(lane.size() >= capacities[priority.ordinal()]) {
+				rejectedCount.increment();
+				switch (rejectionPolicy) {
+					case CALLER_RUNS:
+						if(Platform.isFxApplicationThread())
+							throw new RejectedExecutionException("SpringFXExecutor " + priority + " lane is full, the task is not run on the JavaFX Application Thread");
+						runOnCaller = true;
+						break;
+					case DISCARD:
+						dropped = command;
+						break;
+					case DISCARD_OLDEST:
+						queuedTasks--;
+						dropped = lane.pollFirst().command;
+						break;
+					default:
+						throw new RejectedExecutionException("SpringFXExecutor " + priority + " lane is full");
+				}
+			}
+			if(!runOnCaller && dropped != command) {
+				lane.addLast(new QueuedTask(command, priority));
+				queuedTasks++;
+				if(queuedTasks > idleWorkers && workers.size() < maxThreads) {
+					addWorker();
+				}
+				taskAvailable.signal();
+			}
+		} finally {
+			lock.unlock();
+		}
+		if(dropped instanceof Future) {
+			((Future<?>) dropped).cancel(false);
+		}
+		if(runOnCaller) {
+			command.run();
+		}
+	}
+
+	/**
+	 * Submits a {@link Callable} on the lane of the given priority
+	 * @param task the task to submit
+	 * @param priority the lane of the task
+	 * @param <T> the type of the task's result
+	 * @return a {@link Future} representing pending completion of the task
+	 */
+	public <T> Future<T> submit(Callable<T> task, TaskPriority priority)
+	{
+		if(task == null)
+			throw new IllegalArgumentException("task must not be null");
+		RunnableFuture<T> future = newTaskFor(task);
+		execute(future, priority);
+		return future;
+	}
+
+	/**
+	 * Submits a {@link Runnable} on the lane of the given priority
+	 * @param task the task to submit
+	 * @param priority the lane of the task
+	 * @return a {@link Future} representing pending completion of the task
+	 */
+	public Future<?> submit(Runnable task, TaskPriority priority)
+	{
+		if(task == null)
+			throw new IllegalArgumentException("task must not be null");
+		RunnableFuture<Void> future = newTaskFor(task, null);
+		execute(future, priority);
+		return future;
+	}
+
+	/**
+	 * Get the number of threads that are running tasks
+	 * @return the number of active threads
+	 */
+	public int getActiveCount()
+	{
+		return activeCount.get();
+	}
+
+	/**
+	 * Get the number of threads, active or idle, currently in the pool
+	 * @return the number of threads in the pool
+	 */
+	public int getPoolSize()
+	{
+		lock.lock();
+		try {
+			return workers.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Get the number of tasks waiting on a lane
+	 * @param priority the lane
+	 * @return the queue depth of the lane
+	 */
+	public int getQueueSize(TaskPriority priority)
+	{
+		lock.lock();
+		try {
+			return lanes.get(priority.ordinal()).size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public long getCompletedTaskCount()
+	{
+		return completedCount.sum();
+	}
+
+	/**
+	 * Get the number of tasks that hit a full lane or were submitted after shutdown
+	 * @return the number of rejected tasks, independently of the {@link RejectionPolicy}
+	 */
+	public long getRejectedTaskCount()
+	{
+		return rejectedCount.sum();
+	}
+
+	/**
+	 * Get the histogram of the time the tasks of a lane waited on the queue
+	 * @param priority the lane
+	 * @return the wait time {@link LatencyHistogram} of the lane
+	 */
+	public LatencyHistogram getWaitTimeHistogram(TaskPriority priority)
+	{
+		return waitTimes[priority.ordinal()];
+	}
+
+	/**
+	 * Get the histogram of the time the tasks took to run
+	 * @return the run time {@link LatencyHistogram}
+	 */
+	public LatencyHistogram getRunTimeHistogram()
+	{
+		return runTime;
+	}
+
+	@Override
+	public void shutdown()
+	{
+		lock.lock();
+		try {
+			shutdown = true;
+			taskAvailable.signalAll();
+			if(workers.isEmpty()) terminated.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public List<Runnable> shutdownNow()
+	{
+		List<Runnable> pending = new ArrayList<Runnable>();
+		lock.lock();
+		try {
+			shutdown = true;
+			for (ArrayDeque<QueuedTask> lane : lanes) {
+				for (QueuedTask task : lane) {
+					pending.add(task.command);
+				}
+				lane.clear();
+			}
+			queuedTasks = 0;
+			for (Worker worker : workers) {
+				worker.thread.interrupt();
+			}
+			taskAvailable.signalAll();
+			if(workers.isEmpty()) terminated.signalAll();
+		} finally {
+			lock.unlock();
+		}
+		return pending;
+	}
+
+	@Override
+	public boolean isShutdown()
+	{
+		lock.lock();
+		try {
+			return shutdown;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean isTerminated()
+	{
+		lock.lock();
+		try {
+			return shutdown && workers.isEmpty();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+	{
+		long nanos = unit.toNanos(timeout);
+		lock.lock();
+		try {
+			while(!(shutdown && workers.isEmpty())) {
+				if(nanos <= 0) return false;
+				nanos = terminated.awaitNanos(nanos);
+			}
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public String toString()
+	{
+		return "SpringFXExecutor [maxThreads=" + maxThreads + ", poolSize=" + getPoolSize() + ", active=" + getActiveCount()
+				+ ", queued=" + getQueueSize(TaskPriority.INTERACTIVE) + "/" + getQueueSize(TaskPriority.NORMAL) + "/"
+				+ getQueueSize(TaskPriority.BACKGROUND) + ", completed=" + getCompletedTaskCount()
+				+ ", rejected=" + getRejectedTaskCount() + "]";
+	}
+
+	//Must be called holding the lock
+	private void addWorker()
+	{
+		Worker worker = new Worker();
+		Thread thread = threadFactory.newThread(worker);
+		if(thread != null) {
+			worker.thread = thread;
+			workers.add(worker);
+			thread.start();
+		}
+	}
+
+	//Must be called holding the lock. Picks the next task honoring the lanes priority and the starvation interval
+	private QueuedTask pollNext()
+	{
+		int first = -1;
+		int waiting = 0;
+		for (int i = 0; i < lanes.size(); i++) {
+			if(!lanes.get(i).isEmpty()) {
+				if(first == -1) first = i;
+				waiting++;
+			}
+		}
+		if(first == -1) return null;
+		int lane = first;
+		if(waiting > 1) {
+			if(++higherLanePicks > STARVATION_INTERVAL) {
+				higherLanePicks = 0;
+				lane = nextStarvedLane(first);
+			}
+		} else {
+			higherLanePicks = 0;
+		}
+		queuedTasks--;
+		return lanes.get(lane).pollFirst();
+	}
+
+	//Must be called holding the lock. The waiting lane below first that follows the last served one
+	private int nextStarvedLane(int first)
+	{
+		for (int i = 1; i <= lanes.size(); i++) {
+			int lane = (lastStarvedLane + i) % lanes.size();
+			if(lane > first && !lanes.get(lane).isEmpty()) {
+				lastStarvedLane = lane;
+				return lane;
+			}
+		}
+		return first;
+	}
+
+	private QueuedTask take(Worker worker)
+	{
+		lock.lock();
+		try {
+			long nanos = keepAliveNanos;
+			while(true) {
+				QueuedTask task = pollNext();
+				if(task != null) return task;
+				if(shutdown || nanos <= 0) {
+					workers.remove(worker);
+					if(shutdown && workers.isEmpty()) terminated.signalAll();
+					return null;
+				}
+				idleWorkers++;
+				try {
+					nanos = taskAvailable.awaitNanos(nanos);
+				} catch (InterruptedException e) {
+					//Interrupted by a cancelled task or by shutdownNow, the loop checks the state again
+				} finally {
+					idleWorkers--;
+				}
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void runTask(QueuedTask task)
+	{
+		long start = System.nanoTime();
+		waitTimes[task.priority.ordinal()].record(start - task.queuedAt);
+		activeCount.incrementAndGet();
+		try {
+			task.command.run();
+		} catch (Throwable e) {
+			Thread thread = Thread.currentThread();
+			thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+		} finally {
+			activeCount.decrementAndGet();
+			runTime.record(System.nanoTime() - start);
+			completedCount.increment();
+		}
+	}
+
+	private static ThreadFactory daemonThreadFactory()
+	{
+		ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+		AtomicInteger threadCount = new AtomicInteger(1);
+		return (runnable) -> {
+			Thread thread = defaultFactory.newThread(runnable);
+			thread.setDaemon(true);
+			thread.setName(String.format("springfx-executor-thread-%d", threadCount.getAndIncrement()));
+			return thread;
+		};
+	}
+
+	private static class QueuedTask
+	{
+		private final Runnable command;
+		private final TaskPriority priority;
+		private final long queuedAt;
+
+		public QueuedTask(Runnable command, TaskPriority priority)
+		{
+			this.command = command;
+			this.priority = priority;
+			queuedAt = System.nanoTime();
+		}
+	}
+
+	private class Worker implements Runnable
+	{
+		private Thread thread;
+
+		@Override
+		public void run()
+		{
+			QueuedTask task;
+			while((task = take(this)) != null) {
+				//Clear any interruption left by the cancellation of the previous task
+				if(!isShutdown()) Thread.interrupted();
+				runTask(task);
+			}
+		}
+	}
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * A bounded, lock free channel from a single producer thread, like a sensor feed reader, to the JavaFX
+ * Application Thread. The producer writes into a preallocated ring buffer without locks or allocation, and
+ * the channel is drained once per pulse by a {@link FxPulse} listener, delivering everything buffered since
+ * the previous frame to the consumer in a single batch. The listener is only registered while there are buffered
+ * items, so a quiet producer does not keep the JavaFX pulses running.
+ * <p>
+ * Every slot keeps the sequence of the next item that may be written into it. Only the consumer releases a slot,
+ * after clearing it, so the producer never overwrites an item that is still being taken. The producer only reuses
+ * a slot before it's released when it drops the oldest item, which the consumer then fails to take.
+ * <p>
+ * When the buffer is full the {@link OverflowPolicy} decides what happens to the offered item. The
+ * {@link #getDroppedCount()} and {@link #getDeliveredCount()} counters tell if the consumer keeps up.
+ * <p>
+ * <b>NOTE:</b> {@link #offer(Object)} must only be called by one thread at a time.
+ *
+ * @param <T> the type of the items
+ * @author Lucas Marotta
+ * @see AsyncUtils#channel(int, OverflowPolicy, Consumer)
+ * @see #offer(Object)
+ * @see #close()
+ * @see #getCompletion()
+ */
+public class SpscChannel<T>
+{
+	/**
+	 * The time a blocked producer waits before checking the buffer again
+	 */
+	private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+	private final int mask;
+	private final AtomicReferenceArray<T> slots;
+	private final AtomicLongArray sequences;
+	private final OverflowPolicy policy;
+	private final AtomicLong head = new AtomicLong();
+	private final AtomicLong tail = new AtomicLong();
+	private final AtomicLong deliveredCount = new AtomicLong();
+	private final AtomicLong droppedCount = new AtomicLong();
+	private final CompletableFuture<Void> completion = new CompletableFuture<Void>();
+	private final AtomicBoolean registered = new AtomicBoolean();
+	private volatile Consumer<? super List<T>> fxConsumer;
+	private volatile boolean closed;
+
+	/**
+	 * Create a new instance of {@link SpscChannel}.
+	 * @param capacity the maximum number of buffered items, rounded up to a power of two
+	 * @param policy the {@link OverflowPolicy} when the buffer is full
+	 * @throws IllegalArgumentException if capacity is lower than {@literal 1} or policy is null
+	 */
+	public SpscChannel(int capacity, OverflowPolicy policy)
+	{
+		if(capacity < 1 || capacity > (1 << 30))
+			throw new IllegalArgumentException("capacity must be between 1 and 2^30");
+		if(policy == null)
+			throw new IllegalArgumentException("policy must not be null");
+		int size = Integer.highestOneBit(capacity);
+		if(size < capacity) size <<= 1;
+		mask = size - 1;
+		slots = new AtomicReferenceArray<T>(size);
+		sequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			sequences.set(i, i);
+		}
+		this.policy = policy;
+		completion.whenComplete((value, e) -> closed = true);
+	}
+
+	/**
+	 * Start delivering the items to the given consumer on the JavaFX Application Thread, once per pulse.
+	 * The delivery goes on until the channel is closed and drained or the {@link #getCompletion()} is cancelled.
+	 * @param fxConsumer the {@link Consumer} of the batches, called on the JavaFX Application Thread
+	 * @return this {@link SpscChannel}
+	 * @throws IllegalArgumentException if fxConsumer is null
+	 */
+	public SpscChannel<T> connectFx(Consumer<? super List<T>> fxConsumer)
+	{
+		if(fxConsumer == null)
+			throw new IllegalArgumentException("fxConsumer must not be null");
+		this.fxConsumer = fxConsumer;
+		wakeUp();
+		return this;
+	}
+
+	/**
+	 * Offer an item to the channel. Must only be called by the producer thread.
+	 * @param item the item to be sent
+	 * @return {@literal false} if the item was dropped, because the channel is full with {@link OverflowPolicy#DROP_NEWEST},
+	 * the channel is closed or the producer was interrupted while blocked
+	 * @throws IllegalArgumentException if item is null
+	 */
+	public boolean offer(T item)
+	{
+		if(item == null)
+			throw new IllegalArgumentException("item must not be null");
+		if(closed) return false;
+		long currentTail = tail.get();
+		int index = index(currentTail);
+		while (sequences.get(index) != currentTail) {
+			if(currentTail - head.get() <= mask) {
+				//The consumer took the oldest item and is releasing its slot
+				Thread.yield();
+			} else if(policy == OverflowPolicy.DROP_NEWEST) {
+				droppedCount.incrementAndGet();
+				return false;
+			} else if(policy == OverflowPolicy.DROP_OLDEST) {
+				//The consumer may take the oldest item meanwhile, then its slot is released instead
+				long currentHead = head.get();
+				if(currentTail - currentHead > mask && head.compareAndSet(currentHead, currentHead + 1)) {
+					droppedCount.incrementAndGet();
+					break;
+				}
+			} else {
+				LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+				if(Thread.currentThread().isInterrupted() || closed) {
+					droppedCount.incrementAndGet();
+					return false;
+				}
+			}
+		}
+		slots.set(index, item);
+		tail.lazySet(currentTail + 1);
+		if(!registered.get()) wakeUp();
+		return true;
+	}
+
+	/**
+	 * Take the buffered items. Must only be called by the consumer thread, which is the JavaFX Application
+	 * Thread once the channel is connected.
+	 * @param max the maximum number of items to take
+	 * @return the taken items, from the oldest to the newest
+	 */
+	public List<T> drain(int max)
+	{
+		long available = tail.get() - head.get();
+		List<T> batch = new ArrayList<T>((int) Math.max(0, Math.min(available, max)));
+		while (batch.size() < max) {
+			long currentHead = head.get();
+			if(currentHead >= tail.get()) break;
+			int index = index(currentHead);
+			T item = slots.get(index);
+			//A failed CAS means the producer dropped this item to make room
+			if(head.compareAndSet(currentHead, currentHead + 1)) {
+				slots.set(index, null);
+				sequences.set(index, currentHead + slots.length());
+				batch.add(item);
+			}
+		}
+		deliveredCount.addAndGet(batch.size());
+		return batch;
+	}
+
+	/**
+	 * Close the channel. Items already buffered are still delivered, new ones are rejected.
+	 */
+	public void close()
+	{
+		closed = true;
+		wakeUp();
+	}
+
+	public boolean isClosed()
+	{
+		return closed;
+	}
+
+	/**
+	 * Get the {@link CompletableFuture} that completes once the channel is closed and all the items were
+	 * delivered. Cancelling it closes the channel dropping the buffered items.
+	 * @return the completion of the channel
+	 */
+	public CompletableFuture<Void> getCompletion()
+	{
+		return completion;
+	}
+
+	public int getCapacity()
+	{
+		return mask + 1;
+	}
+
+	public OverflowPolicy getPolicy()
+	{
+		return policy;
+	}
+
+	/**
+	 * Get the number of buffered items, waiting for the next pulse
+	 * @return the number of buffered items
+	 */
+	public int size()
+	{
+		return (int) Math.max(0, tail.get() - head.get());
+	}
+
+	/**
+	 * Get the number of items taken from the channel
+	 * @return the number of delivered items
+	 */
+	public long getDeliveredCount()
+	{
+		return deliveredCount.get();
+	}
+
+	/**
+	 * Get the number of items lost because the channel was full
+	 * @return the number of dropped items
+	 */
+	public long getDroppedCount()
+	{
+		return droppedCount.get();
+	}
+
+	@Override
+	public String toString()
+	{
+		return "SpscChannel [capacity=" + getCapacity() + ", policy=" + policy + ", size=" + size() + ", delivered="
+				+ getDeliveredCount() + ", dropped=" + getDroppedCount() + "]";
+	}
+
+	private int index(long sequence)
+	{
+		return (int) (sequence & mask);
+	}
+
+	//Whether the pulse listener is registered, or waiting for the next item otherwise
+	boolean isListening()
+	{
+		return registered.get();
+	}
+
+	//Add the pulse listener once the channel is connected, unless it's already registered
+	private void wakeUp()
+	{
+		Consumer<? super List<T>> consumer = fxConsumer;
+		if(consumer != null && registered.compareAndSet(false, true)) FxPulse.addListener(now -> onPulse(consumer));
+	}
+
+	private boolean unregister()
+	{
+		registered.set(false);
+		//An item offered or a close while unregistering would be left behind
+		return (size() > 0 || closed) && registered.compareAndSet(false, true);
+	}
+
+	//Runs on the JavaFX Application Thread once per pulse while there are buffered items, until the channel is done
+	private boolean onPulse(Consumer<? super List<T>> fxConsumer)
+	{
+		if(completion.isDone()) return false;
+		boolean finished = closed;
+		List<T> batch = drain(getCapacity());
+		if(!batch.isEmpty()) {
+			try {
+				fxConsumer.accept(batch);
+			} catch (RuntimeException e) {
+				completion.completeExceptionally(e);
+				throw e;
+			}
+		}
+		if(finished && size() == 0) {
+			completion.complete(null);
+			return false;
+		}
+		if(size() == 0 && !closed) return unregister();
+		return true;
+	}
+
+	/**
+	 * What {@link SpscChannel#offer(Object)} does when the channel is full
+	 */
+	public enum OverflowPolicy
+	{
+		/**
+		 * Drop the oldest buffered item to make room, the latest data always gets through
+		 */
+		DROP_OLDEST,
+
+		/**
+		 * Drop the offered item
+		 */
+		DROP_NEWEST,
+
+		/**
+		 * Wait until the consumer makes room, slowing the producer down
+		 */
+		BLOCK
+	}
+}
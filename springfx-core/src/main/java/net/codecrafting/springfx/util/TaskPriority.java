@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+/**
+ * The priority lanes of the {@link SpringFXExecutor}. Queued tasks of a higher priority lane are always
+ * started before the ones of a lower lane, with a small share reserved to lower lanes so they don't starve.
+ *
+ * @author Lucas Marotta
+ */
+public enum TaskPriority
+{
+	/**
+	 * Work triggered by the user that is being waited on the interface
+	 */
+	INTERACTIVE,
+
+	/**
+	 * The default priority for any work that has no particular urgency
+	 */
+	NORMAL,
+
+	/**
+	 * Work that nobody is waiting for, like prefetching and cache warming
+	 */
+	BACKGROUND
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The aggregated result of a {@link BulkValidator} validation, indexed like the validated models. Every model
+ * is either valid, failed with its {@link ValidationError}s, or not validated when the validation stopped early.
+ *
+ * @author Lucas Marotta
+ * @see #getErrors(int)
+ * @see #isValid(int)
+ * @see #isValidated(int)
+ * @see #getFailedIndexes()
+ * @see #isStopped()
+ */
+public class BulkValidationResult
+{
+	/**
+	 * The errors of every model, {@literal null} for the models not validated
+	 */
+	private final List<List<ValidationError>> errors;
+	private final List<Integer> failedIndexes;
+	private final int validatedCount;
+	private final boolean stopped;
+
+	/**
+	 * Create a new instance of {@link BulkValidationResult}.
+	 * @param errors the {@link ValidationError}s of every model, {@literal null} for the models not validated
+	 * @param stopped if the validation stopped before validating all the models
+	 * @throws IllegalArgumentException if errors is null
+	 */
+	public BulkValidationResult(List<List<ValidationError>> errors, boolean stopped)
+	{
+		if(errors == null)
+			throw new IllegalArgumentException("errors must not be null");
+		List<Integer> failed = new ArrayList<Integer>();
+		int validated = 0;
+		for (int i = 0; i < errors.size(); i++) {
+			List<ValidationError> modelErrors = errors.get(i);
+			if(modelErrors != null) {
+				validated++;
+				if(!modelErrors.isEmpty()) failed.add(i);
+			}
+		}
+		this.errors = errors;
+		this.failedIndexes = Collections.unmodifiableList(failed);
+		this.validatedCount = validated;
+		this.stopped = stopped;
+	}
+
+	/**
+	 * Get the number of models, validated or not
+	 * @return the number of models
+	 */
+	public int size()
+	{
+		return errors.size();
+	}
+
+	/**
+	 * Get the errors of a model
+	 * @param index the index of the model
+	 * @return a non {@literal null} {@link ValidationError} list, empty if the model is valid or was not validated
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public List<ValidationError> getErrors(int index)
+	{
+		List<ValidationError> modelErrors = errors.get(index);
+		return (modelErrors != null) ? Collections.unmodifiableList(modelErrors) : Collections.<ValidationError>emptyList();
+	}
+
+	/**
+	 * Check if a model was validated without errors
+	 * @param index the index of the model
+	 * @return {@literal true} if the model was validated and has no errors
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public boolean isValid(int index)
+	{
+		List<ValidationError> modelErrors = errors.get(index);
+		return modelErrors != null && modelErrors.isEmpty();
+	}
+
+	/**
+	 * Check if a model was validated, which is always the case unless the validation stopped early
+	 * @param index the index of the model
+	 * @return {@literal true} if the model was validated
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public boolean isValidated(int index)
+	{
+		return errors.get(index) != null;
+	}
+
+	/**
+	 * Check if all the models were validated without errors
+	 * @return {@literal true} if there is no failed or skipped model
+	 */
+	public boolean isValid()
+	{
+		return failedIndexes.isEmpty() && !stopped;
+	}
+
+	/**
+	 * Check if the validation stopped after reaching the maximum number of failures
+	 * @return {@literal true} if some models were not validated
+	 * @see BulkValidator#setMaxFailures(int)
+	 */
+	public boolean isStopped()
+	{
+		return stopped;
+	}
+
+	/**
+	 * Get the indexes of the failed models in ascending order
+	 * @return the unmodifiable list of indexes
+	 */
+	public List<Integer> getFailedIndexes()
+	{
+		return failedIndexes;
+	}
+
+	public int getFailureCount()
+	{
+		return failedIndexes.size();
+	}
+
+	public int getValidatedCount()
+	{
+		return validatedCount;
+	}
+}
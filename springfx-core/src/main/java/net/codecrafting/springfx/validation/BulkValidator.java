@@ -0,0 +1,213 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.validation;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.validation.Validator;
+
+import javafx.beans.property.DoubleProperty;
+import net.codecrafting.springfx.util.AsyncUtils;
+
+/**
+ * This class validates many {@link ValidationModel}s at once, like the rows of an editable grid or the records
+ * of an import. The models are validated in parallel on a {@link ForkJoinPool} with one shared {@link Validator},
+ * and the errors are aggregated in a {@link BulkValidationResult} indexed like the models. Unlike {@link FormValidator},
+ * {@link ValidationModel#setValidation(List)} and the listeners are not called, so no model touches the UI.
+ * <p>
+ * The validation can stop early once a maximum number of models failed, see {@link #setMaxFailures(int)}. The
+ * models left behind are reported as not validated.
+ *
+ * <br><b>NOTE:</b> The models are read from the pool threads, so they must not be changed until the validation is over.
+ *
+ * @author Lucas Marotta
+ * @see #validate(Collection)
+ * @see #validate(Collection, DoubleProperty)
+ * @see #setMaxFailures(int)
+ * @see #setChunkSize(int)
+ * @see BulkValidationResult
+ */
+public class BulkValidator
+{
+	/**
+	 * The default number of models validated sequentially by a fork join task
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 32;
+
+	private final Validator validator;
+	private final ForkJoinPool pool;
+	private volatile int chunkSize = DEFAULT_CHUNK_SIZE;
+	private volatile int maxFailures;
+
+	/**
+	 * Create a new instance of {@link BulkValidator} with the {@link FormValidator#getDefaultValidator()} on the common
+	 * {@link ForkJoinPool}.
+	 */
+	public BulkValidator()
+	{
+		this(FormValidator.getDefaultValidator(), ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Create a new instance of {@link BulkValidator}.
+	 * @param validator the {@link Validator} shared by all the validations
+	 * @param pool the {@link ForkJoinPool} that runs the validations
+	 * @throws IllegalArgumentException if validator or pool are null
+	 */
+	public BulkValidator(Validator validator, ForkJoinPool pool)
+	{
+		if(validator == null)
+			throw new IllegalArgumentException("validator must not be null");
+		if(pool == null)
+			throw new IllegalArgumentException("pool must not be null");
+		this.validator = validator;
+		this.pool = pool;
+	}
+
+	public int getChunkSize()
+	{
+		return chunkSize;
+	}
+
+	/**
+	 * Set the number of models validated sequentially by a fork join task. Larger chunks lower the scheduling
+	 * overhead, smaller ones balance better models that are slow to validate.
+	 * @param chunkSize the maximum number of models of a task
+	 * @throws IllegalArgumentException if chunkSize is lower than {@literal 1}
+	 */
+	public void setChunkSize(int chunkSize)
+	{
+		if(chunkSize < 1)
+			throw new IllegalArgumentException("chunkSize must be greater than 0");
+		this.chunkSize = chunkSize;
+	}
+
+	public int getMaxFailures()
+	{
+		return maxFailures;
+	}
+
+	/**
+	 * Set the number of failed models after which the validation stops. The models not validated yet are
+	 * skipped and the result reports exactly this number of failures.
+	 * @param maxFailures the maximum number of failed models or {@literal 0} to validate all of them
+	 * @throws IllegalArgumentException if maxFailures is negative
+	 */
+	public void setMaxFailures(int maxFailures)
+	{
+		if(maxFailures < 0)
+			throw new IllegalArgumentException("maxFailures must not be negative");
+		this.maxFailures = maxFailures;
+	}
+
+	/**
+	 * Validate the given models in parallel.
+	 * @param models the {@link ValidationModel}s to validate
+	 * @return the {@link Future} of the {@link BulkValidationResult}. Cancel it to stop the validation
+	 * @throws IllegalArgumentException if models is null
+	 * @see #validate(Collection, DoubleProperty)
+	 */
+	public Future<BulkValidationResult> validate(Collection<? extends ValidationModel> models)
+	{
+		return validate(models, null);
+	}
+
+	/**
+	 * Validate the given models in parallel, publishing the progress. The errors of every model are the ones
+	 * {@link FormValidator#validate()} would return for it, including the {@link ValidationError#getField()} names
+	 * taken from the {@link net.codecrafting.springfx.annotation.ValidationBind} annotations.
+	 * @param models the {@link ValidationModel}s to validate
+	 * @param progress the property set with the validated fraction, from {@literal 0} to {@literal 1}, at most
+	 * once per pulse on the JavaFX Application Thread. Can be {@literal null}
+	 * @return the {@link Future} of the {@link BulkValidationResult}. Cancel it to stop the validation
+	 * @throws IllegalArgumentException if models is null
+	 * @see AsyncUtils#parallel(ForkJoinPool, Collection, int, java.util.function.Function, DoubleProperty)
+	 */
+	public Future<BulkValidationResult> validate(Collection<? extends ValidationModel> models, DoubleProperty progress)
+	{
+		if(models == null)
+			throw new IllegalArgumentException("models must not be null");
+		int limit = maxFailures;
+		AtomicInteger failures = new AtomicInteger();
+		AtomicBoolean stopped = new AtomicBoolean();
+		Future<List<List<ValidationError>>> errors = AsyncUtils.parallel(pool, models, chunkSize, model -> {
+			if(limit > 0 && failures.get() >= limit) {
+				stopped.set(true);
+				return null;
+			}
+			List<ValidationError> modelErrors = FormValidator.toErrors(validator.validate(model));
+			//Failures past the limit found concurrently are dropped, so exactly the limit is reported
+			if(!modelErrors.isEmpty() && limit > 0 && failures.incrementAndGet() > limit) {
+				stopped.set(true);
+				return null;
+			}
+			return modelErrors;
+		}, progress);
+		return new ResultFuture(errors, stopped);
+	}
+
+	//Builds the result from the errors of every model, cancelling the validation when cancelled itself
+	private static class ResultFuture implements Future<BulkValidationResult>
+	{
+		private final Future<List<List<ValidationError>>> errors;
+		private final AtomicBoolean stopped;
+
+		public ResultFuture(Future<List<List<ValidationError>>> errors, AtomicBoolean stopped)
+		{
+			this.errors = errors;
+			this.stopped = stopped;
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning)
+		{
+			return errors.cancel(mayInterruptIfRunning);
+		}
+
+		@Override
+		public boolean isCancelled()
+		{
+			return errors.isCancelled();
+		}
+
+		@Override
+		public boolean isDone()
+		{
+			return errors.isDone();
+		}
+
+		@Override
+		public BulkValidationResult get() throws InterruptedException, ExecutionException
+		{
+			return new BulkValidationResult(errors.get(), stopped.get());
+		}
+
+		@Override
+		public BulkValidationResult get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException
+		{
+			return new BulkValidationResult(errors.get(timeout, unit), stopped.get());
+		}
+	}
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.validation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.validation.MessageInterpolator;
+
+import org.hibernate.validator.messageinterpolation.HibernateMessageInterpolatorContext;
+import org.hibernate.validator.messageinterpolation.ParameterMessageInterpolator;
+import org.hibernate.validator.messageinterpolation.ResourceBundleMessageInterpolator;
+import org.springframework.cache.Cache.ValueWrapper;
+import org.springframework.util.ObjectUtils;
+
+import net.codecrafting.springfx.cache.LruCache;
+
+/**
+ * A {@link MessageInterpolator} caching the interpolated messages by template, locale and constraint parameters,
+ * so the message of a constraint is interpolated once instead of once per violation. The messages are
+ * interpolated by a {@link ParameterMessageInterpolator} by default, which does not need an expression language
+ * implementation on the classpath and is cheaper to bootstrap and to evaluate than the Hibernate Validator default.
+ * <p>
+ * Expression language is opt-in: set the {@code springfx.validation.expression-language} property to
+ * {@literal true}, or wrap a {@link ResourceBundleMessageInterpolator}, and add a {@code javax.el} implementation
+ * to the application dependencies. Templates holding {@code ${...}} expressions may depend on the validated value,
+ * so they are never cached. Neither is any message of a {@link ResourceBundleMessageInterpolator}, since a
+ * {@code {key}} of the template may resolve to an expression only known after the interpolation.
+ *
+ * @author Lucas Marotta
+ * @see FormValidator#setDefaultValidator(javax.validation.Validator)
+ * @see net.codecrafting.springfx.core.SpringFXConfiguration
+ */
+public class CachingMessageInterpolator implements MessageInterpolator
+{
+	/**
+	 * The default maximum number of cached messages
+	 */
+	public static final int DEFAULT_MAX_SIZE = 256;
+
+	/**
+	 * The property enabling expression language in the constraint messages
+	 */
+	public static final String EXPRESSION_LANGUAGE_PROPERTY = "springfx.validation.expression-language";
+
+	private final MessageInterpolator delegate;
+	private final boolean expressionLanguage;
+	private final LruCache store;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Create a new instance of {@link CachingMessageInterpolator} backed by a {@link ParameterMessageInterpolator}.
+	 */
+	public CachingMessageInterpolator()
+	{
+		this(new ParameterMessageInterpolator());
+	}
+
+	/**
+	 * Create a new instance of {@link CachingMessageInterpolator} with the {@link #DEFAULT_MAX_SIZE}.
+	 * @param delegate the {@link MessageInterpolator} of the messages not found in the cache
+	 */
+	public CachingMessageInterpolator(MessageInterpolator delegate)
+	{
+		this(delegate, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Create a new instance of {@link CachingMessageInterpolator}. The delegate result must depend only on the
+	 * template, the locale and the constraint parameters, unless the template holds expressions. The messages of a
+	 * {@link ResourceBundleMessageInterpolator} delegate are not cached.
+	 * @param delegate the {@link MessageInterpolator} of the messages not found in the cache
+	 * @param maxSize the maximum number of cached messages
+	 * @throws IllegalArgumentException if delegate is null or maxSize is lower than {@literal 1}
+	 */
+	public CachingMessageInterpolator(MessageInterpolator delegate, int maxSize)
+	{
+		if(delegate == null)
+			throw new IllegalArgumentException("delegate must not be null");
+		if(maxSize < 1)
+			throw new IllegalArgumentException("maxSize must be greater than 0");
+		this.delegate = delegate;
+		expressionLanguage = delegate instanceof ResourceBundleMessageInterpolator;
+		store = new LruCache(CachingMessageInterpolator.class.getSimpleName(), maxSize);
+	}
+
+	/**
+	 * Create the {@link CachingMessageInterpolator} of the SpringFX validators.
+	 * @param expressionLanguage whether the messages are interpolated with expression language, which needs
+	 * a {@code javax.el} implementation on the classpath
+	 * @return the {@link CachingMessageInterpolator} backed by a {@link ResourceBundleMessageInterpolator}, which
+	 * does not cache, or a {@link ParameterMessageInterpolator}
+	 */
+	public static CachingMessageInterpolator create(boolean expressionLanguage)
+	{
+		return new CachingMessageInterpolator(expressionLanguage ? new ResourceBundleMessageInterpolator()
+				: new ParameterMessageInterpolator());
+	}
+
+	@Override
+	public String interpolate(String messageTemplate, Context context)
+	{
+		return interpolate(messageTemplate, context, Locale.getDefault());
+	}
+
+	@Override
+	public String interpolate(String messageTemplate, Context context, Locale locale)
+	{
+		//A bundle key of the template may resolve to an expression, which only the delegate knows
+		if(expressionLanguage || messageTemplate.contains("${"))
+			return delegate.interpolate(messageTemplate, context, locale);
+
+		Object key = Arrays.asList(messageTemplate, locale, getParameters(context));
+		ValueWrapper cached = store.get(key);
+		if(cached != null) {
+			hits.increment();
+			return (String) cached.get();
+		}
+		misses.increment();
+		String message = delegate.interpolate(messageTemplate, context, locale);
+		store.put(key, message);
+		return message;
+	}
+
+	public MessageInterpolator getDelegate()
+	{
+		return delegate;
+	}
+
+	/**
+	 * Check if the delegate evaluates expressions, in which case no message is cached
+	 * @return {@literal true} if the delegate is a {@link ResourceBundleMessageInterpolator}
+	 */
+	public boolean isExpressionLanguage()
+	{
+		return expressionLanguage;
+	}
+
+	public int getMaxSize()
+	{
+		return store.getMaxSize();
+	}
+
+	public int size()
+	{
+		return store.size();
+	}
+
+	/**
+	 * Get the number of messages served from the cache
+	 * @return the number of hits
+	 */
+	public long getHitCount()
+	{
+		return hits.sum();
+	}
+
+	/**
+	 * Get the number of messages interpolated by the delegate
+	 * @return the number of misses
+	 */
+	public long getMissCount()
+	{
+		return misses.sum();
+	}
+
+	/**
+	 * Remove all the cached messages. The counters are kept.
+	 */
+	public void clear()
+	{
+		store.clear();
+	}
+
+	@Override
+	public String toString()
+	{
+		return "CachingMessageInterpolator [delegate=" + delegate.getClass().getSimpleName() + ", size=" + size()
+				+ ", hits=" + getHitCount() + ", misses=" + getMissCount() + "]";
+	}
+
+	//The constraint attributes and the Hibernate message parameters, with the arrays compared by content
+	private static Map<String, Object> getParameters(Context context)
+	{
+		Map<String, Object> parameters = new LinkedHashMap<String, Object>();
+		context.getConstraintDescriptor().getAttributes().forEach((name, value) -> parameters.put(name, toKey(value)));
+		if(context instanceof HibernateMessageInterpolatorContext) {
+			((HibernateMessageInterpolatorContext) context).getMessageParameters()
+					.forEach((name, value) -> parameters.put("#" + name, toKey(value)));
+		}
+		return Collections.unmodifiableMap(parameters);
+	}
+
+	private static Object toKey(Object value)
+	{
+		return ObjectUtils.isArray(value) ? Arrays.asList(ObjectUtils.toObjectArray(value)) : value;
+	}
+}
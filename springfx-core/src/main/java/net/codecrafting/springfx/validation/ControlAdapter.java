@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.validation;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+import net.codecrafting.springfx.context.ViewContext;
+
+/**
+ * The access to the value of a kind of JavaFX control, used by {@link FormModel} to copy the values between the
+ * {@link ViewContext} form elements and the model attributes. An adapter handles its control class and subclasses,
+ * unless a more specific adapter is registered on the {@link ControlAdapterRegistry}.
+ * <p>
+ * Third party controls are supported by registering an adapter, either directly or by declaring it as a Spring bean.
+ *
+ * @param <C> the type of the control
+ * @param <V> the type of the value
+ * @author Lucas Marotta
+ * @see ControlAdapterRegistry
+ * @see #of(Class, Function, BiConsumer, Function)
+ */
+public interface ControlAdapter<C extends Node, V>
+{
+	/**
+	 * Get the control class handled by this adapter
+	 * @return the control class
+	 */
+	Class<C> getControlType();
+
+	/**
+	 * Get the current value of a control
+	 * @param control the control
+	 * @return the value of the control
+	 */
+	V getValue(C control);
+
+	/**
+	 * Set the value of a control
+	 * @param control the control
+	 * @param value the value to be set, never {@literal null}
+	 */
+	void setValue(C control, V value);
+
+	/**
+	 * Get the property holding the value of a control, observed to validate the control when it changes
+	 * @param control the control
+	 * @return the value {@link ObservableValue}
+	 */
+	ObservableValue<?> getValueProperty(C control);
+
+	/**
+	 * Create a {@link ControlAdapter} from the accessors of a control.
+	 * @param controlType the control class
+	 * @param getter the value getter
+	 * @param setter the value setter
+	 * @param property the value property getter
+	 * @param <C> the type of the control
+	 * @param <V> the type of the value
+	 * @return the {@link ControlAdapter}
+	 * @throws IllegalArgumentException if any of the arguments is null
+	 */
+	static <C extends Node, V> ControlAdapter<C, V> of(Class<C> controlType, Function<? super C, ? extends V> getter,
+			BiConsumer<? super C, ? super V> setter, Function<? super C, ? extends ObservableValue<?>> property)
+	{
+		if(controlType == null || getter == null || setter == null || property == null)
+			throw new IllegalArgumentException("controlType and accessors must not be null");
+		return new ControlAdapter<C, V>() {
+			@Override
+			public Class<C> getControlType()
+			{
+				return controlType;
+			}
+
+			@Override
+			public V getValue(C control)
+			{
+				return getter.apply(control);
+			}
+
+			@Override
+			public void setValue(C control, V value)
+			{
+				setter.accept(control, value);
+			}
+
+			@Override
+			public ObservableValue<?> getValueProperty(C control)
+			{
+				return property.apply(control);
+			}
+
+			@Override
+			public String toString()
+			{
+				return "ControlAdapter [controlType=" + controlType.getName() + "]";
+			}
+		};
+	}
+}
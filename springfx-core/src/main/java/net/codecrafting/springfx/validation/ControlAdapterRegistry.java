@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.validation;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javafx.scene.Node;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.ColorPicker;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.Slider;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
+import javafx.scene.control.ToggleButton;
+import javafx.scene.paint.Color;
+
+/**
+ * The {@link ControlAdapter}s used by {@link FormModel}. The adapter of a control class is the most specific
+ * registered adapter, the one of the nearest superclass, and it's resolved once per control class. Between adapters
+ * of the same control class the last registered one wins, so the built in adapters can be replaced.
+ * <p>
+ * The built in adapters support the {@link TextField}, {@link CheckBox}, {@link ChoiceBox}, {@link ColorPicker},
+ * {@link ComboBox}, {@link DatePicker}, {@link ToggleButton}, {@link TextArea} and {@link Slider} controls and their
+ * subclasses. The {@link ControlAdapter} beans of a SpringFX application are registered on startup.
+ *
+ * @author Lucas Marotta
+ * @see #register(ControlAdapter)
+ * @see #unregister(ControlAdapter)
+ * @see #getAdapter(Class)
+ */
+public final class ControlAdapterRegistry
+{
+	private static final List<ControlAdapter<?, ?>> ADAPTERS = new CopyOnWriteArrayList<ControlAdapter<?, ?>>();
+	private static final ConcurrentHashMap<Class<?>, Optional<ControlAdapter<?, ?>>> RESOLVED =
+			new ConcurrentHashMap<Class<?>, Optional<ControlAdapter<?, ?>>>();
+	private static final Object LOCK = new Object();
+
+	static {
+		register(ControlAdapter.of(TextField.class, TextField::getText, TextField::setText, TextField::textProperty));
+		register(ControlAdapter.of(CheckBox.class, CheckBox::isSelected, CheckBox::setSelected, CheckBox::selectedProperty));
+		register(ControlAdapter.<ChoiceBox<Object>, Object>of(choiceBoxType(), ChoiceBox::getValue, ChoiceBox::setValue,
+				ChoiceBox::valueProperty));
+		register(ControlAdapter.<ColorPicker, Color>of(ColorPicker.class, ColorPicker::getValue, ColorPicker::setValue,
+				ColorPicker::valueProperty));
+		register(ControlAdapter.<ComboBox<Object>, Object>of(comboBoxType(), ComboBox::getValue, ComboBox::setValue,
+				ComboBox::valueProperty));
+		register(ControlAdapter.<DatePicker, LocalDate>of(DatePicker.class, DatePicker::getValue, DatePicker::setValue,
+				DatePicker::valueProperty));
+		register(ControlAdapter.of(ToggleButton.class, ToggleButton::isSelected, ToggleButton::setSelected,
+				ToggleButton::selectedProperty));
+		register(ControlAdapter.of(TextArea.class, TextArea::getText, TextArea::setText, TextArea::textProperty));
+		register(ControlAdapter.<Slider, Double>of(Slider.class, Slider::getValue, Slider::setValue, Slider::valueProperty));
+	}
+
+	private ControlAdapterRegistry() {}
+
+	/**
+	 * Register an adapter. It replaces the previous adapter of the same control class while registered.
+	 * @param adapter the {@link ControlAdapter} to be registered
+	 * @throws IllegalArgumentException if adapter is null
+	 */
+	public static void register(ControlAdapter<?, ?> adapter)
+	{
+		if(adapter == null)
+			throw new IllegalArgumentException("adapter must not be null");
+		synchronized (LOCK) {
+			ADAPTERS.add(adapter);
+			RESOLVED.clear();
+		}
+	}
+
+	/**
+	 * Unregister an adapter, the previous adapter of the same control class is used again
+	 * @param adapter the {@link ControlAdapter} to be unregistered
+	 * @return {@literal true} if the adapter was registered
+	 */
+	public static boolean unregister(ControlAdapter<?, ?> adapter)
+	{
+		synchronized (LOCK) {
+			boolean removed = ADAPTERS.remove(adapter);
+			if(removed) RESOLVED.clear();
+			return removed;
+		}
+	}
+
+	/**
+	 * Get the adapter of a control class
+	 * @param controlType the control class
+	 * @return the most specific {@link ControlAdapter} or {@literal null} if the control isn't supported
+	 */
+	public static ControlAdapter<?, ?> getAdapter(Class<?> controlType)
+	{
+		Optional<ControlAdapter<?, ?>> adapter = RESOLVED.get(controlType);
+		if(adapter == null) {
+			//Resolved under the lock so a concurrent registration does not leave a stale resolution
+			synchronized (LOCK) {
+				adapter = RESOLVED.computeIfAbsent(controlType, ControlAdapterRegistry::resolve);
+			}
+		}
+		return adapter.orElse(null);
+	}
+
+	/**
+	 * Get the adapter of a control, typed for the control
+	 * @param control the control
+	 * @return the most specific {@link ControlAdapter} or {@literal null} if the control isn't supported
+	 */
+	@SuppressWarnings("unchecked")
+	static ControlAdapter<Node, Object> getAdapter(Node control)
+	{
+		return (ControlAdapter<Node, Object>) getAdapter(control.getClass());
+	}
+
+	private static Optional<ControlAdapter<?, ?>> resolve(Class<?> controlType)
+	{
+		ControlAdapter<?, ?> found = null;
+		for (ControlAdapter<?, ?> adapter : ADAPTERS) {
+			if(adapter.getControlType().isAssignableFrom(controlType)
+					&& (found == null || found.getControlType().isAssignableFrom(adapter.getControlType()))) {
+				found = adapter;
+			}
+		}
+		return Optional.ofNullable(found);
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Class<ChoiceBox<Object>> choiceBoxType()
+	{
+		return (Class) ChoiceBox.class;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static Class<ComboBox<Object>> comboBoxType()
+	{
+		return (Class) ComboBox.class;
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.validation;
+
+import java.util.Set;
+
+import net.codecrafting.springfx.annotation.FormBinding;
+import net.codecrafting.springfx.context.ViewContext;
+
+/**
+ * The copy of the values between the attributes of a {@link FormModel} and the form elements of a {@link ViewContext},
+ * used by the {@link FormModel} instead of its reflective bindings when present. The implementations are generated
+ * from the models annotated with {@link FormBinding} and are not meant to be written by hand. The bound form elements
+ * that the binder does not copy, like third party controls, are copied by the {@link FormModel} through their
+ * {@link ControlAdapter}.
+ *
+ * @param <M> the type of the {@link FormModel}
+ * @param <C> the type of the {@link ViewContext}
+ * @author Lucas Marotta
+ * @see FormBinding
+ * @see FormModel#setValuesFromForm()
+ * @see FormModel#setValuesToForm()
+ */
+public interface FormBinder<M extends FormModel, C extends ViewContext>
+{
+	/**
+	 * The suffix of the binder class name, appended to the binary name of the model class
+	 */
+	String CLASS_SUFFIX = "_FormBinder";
+
+	/**
+	 * Get the {@link ViewContext} class the binder was generated for. The binder is only used with
+	 * contexts of exactly this class.
+	 * @return the {@link ViewContext} class
+	 */
+	Class<C> getContextType();
+
+	/**
+	 * Get the names of the {@link ViewContext} fields of the form elements copied by this binder
+	 * @return the unmodifiable set of field names
+	 */
+	Set<String> getBoundFields();
+
+	/**
+	 * Set the values of the model attributes from the form elements, skipping the form elements not initialized
+	 * @param model the {@link FormModel} to be filled
+	 * @param context the {@link ViewContext} holding the form elements
+	 */
+	void setValuesFromForm(M model, C context);
+
+	/**
+	 * Set the values of the form elements from the model attributes, skipping the {@literal null} values
+	 * @param model the {@link FormModel} holding the values
+	 * @param context the {@link ViewContext} to be filled
+	 */
+	void setValuesToForm(M model, C context);
+}
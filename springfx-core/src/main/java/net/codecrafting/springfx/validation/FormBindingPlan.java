@@ -0,0 +1,495 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.validation;
+
+import java.beans.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.validation.Constraint;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ReflectionUtils;
+
+import javafx.beans.property.Property;
+import javafx.scene.Node;
+import net.codecrafting.springfx.annotation.FormBinding;
+import net.codecrafting.springfx.annotation.PureConstraint;
+import net.codecrafting.springfx.annotation.ValidationBind;
+import net.codecrafting.springfx.context.ViewContext;
+
+/**
+ * The resolved bindings between the form elements of a {@link ViewContext} class and the attributes of a
+ * {@link FormModel} class. The {@link ValidationBind} annotations are looked up and the accessors of both sides
+ * are made accessible and unreflected into {@link MethodHandle}s only once per pair of classes, so synchronizing
+ * a form does not use reflection after the first time. When the {@link FormBinding} processor generated a
+ * {@link FormBinder} for the pair of classes the form is synchronized by the binder instead.
+ *
+ * @author Lucas Marotta
+ * @see #of(Class, Class)
+ * @see #getErrorField(Class, String)
+ * @see #getFieldGroups(Class, String)
+ * @see #isPureField(Class, String)
+ * @see #readProperty(Object, String)
+ * @see #getBinder()
+ */
+final class FormBindingPlan
+{
+	private static final Log LOGGER = LogFactory.getLog(FormBindingPlan.class);
+
+	/**
+	 * The plans by context class and then by model class. Held by the classes, so they can be unloaded.
+	 */
+	private static final ClassValue<Map<Class<?>, FormBindingPlan>> PLANS = new ClassValue<Map<Class<?>, FormBindingPlan>>() {
+		@Override
+		protected Map<Class<?>, FormBindingPlan> computeValue(Class<?> contextClass)
+		{
+			return new ConcurrentHashMap<Class<?>, FormBindingPlan>();
+		}
+	};
+
+	/**
+	 * The {@link ValidationBind} names of the model attributes by attribute name
+	 */
+	private static final ClassValue<Map<String, String>> ERROR_FIELDS = new ClassValue<Map<String, String>>() {
+		@Override
+		protected Map<String, String> computeValue(Class<?> modelClass)
+		{
+			Map<String, String> names = new HashMap<String, String>();
+			for (Field field : modelClass.getDeclaredFields()) {
+				ValidationBind bind = field.getAnnotation(ValidationBind.class);
+				//An empty value keeps the attribute name, like for an annotation with groups only
+				if(bind != null && !bind.value().isEmpty()) names.put(field.getName(), bind.value());
+			}
+			return Collections.unmodifiableMap(names);
+		}
+	};
+
+	/**
+	 * The {@link ValidationBind} groups of the model attributes by attribute name
+	 */
+	private static final ClassValue<Map<String, Class<?>[]>> FIELD_GROUPS = new ClassValue<Map<String, Class<?>[]>>() {
+		@Override
+		protected Map<String, Class<?>[]> computeValue(Class<?> modelClass)
+		{
+			Map<String, Class<?>[]> groups = new HashMap<String, Class<?>[]>();
+			for (Field field : modelClass.getDeclaredFields()) {
+				ValidationBind bind = field.getAnnotation(ValidationBind.class);
+				if(bind != null && bind.groups().length > 0) groups.put(field.getName(), bind.groups());
+			}
+			return Collections.unmodifiableMap(groups);
+		}
+	};
+
+	/**
+	 * The names of the model attributes whose constraints are all {@link PureConstraint}
+	 */
+	private static final ClassValue<Set<String>> PURE_FIELDS = new ClassValue<Set<String>>() {
+		@Override
+		protected Set<String> computeValue(Class<?> modelClass)
+		{
+			Set<String> names = new HashSet<String>();
+			ReflectionUtils.doWithFields(modelClass, field -> {
+				if(isPure(field)) names.add(field.getName());
+			}, field -> !Modifier.isStatic(field.getModifiers()));
+			return Collections.unmodifiableSet(names);
+		}
+	};
+
+	/**
+	 * The readers of the model properties by property name, unreflected on the first read of each property
+	 */
+	private static final ClassValue<Map<String, MethodHandle>> PROPERTY_READERS = new ClassValue<Map<String, MethodHandle>>() {
+		@Override
+		protected Map<String, MethodHandle> computeValue(Class<?> modelClass)
+		{
+			return new ConcurrentHashMap<String, MethodHandle>();
+		}
+	};
+
+	/**
+	 * The generated binders by model class
+	 */
+	private static final ClassValue<FormBinder<?, ?>> BINDERS = new ClassValue<FormBinder<?, ?>>() {
+		@Override
+		protected FormBinder<?, ?> computeValue(Class<?> modelClass)
+		{
+			return loadBinder(modelClass);
+		}
+	};
+
+	private final List<Binding> bindings;
+	private final Map<Field, Binding> bindingsByField;
+	private final FormBinder<FormModel, ViewContext> binder;
+	private final List<Binding> adapterBindings;
+	private final List<Binding> binderBindings;
+	private final Map<String, Class<?>[]> groupsByProperty;
+	private final Class<?> modelClass;
+
+	private FormBindingPlan(Class<?> contextClass, Class<?> modelClass)
+	{
+		this.modelClass = modelClass;
+		List<Binding> resolved = new ArrayList<Binding>();
+		Map<Field, Binding> byField = new HashMap<Field, Binding>();
+		Map<String, Class<?>[]> groups = new HashMap<String, Class<?>[]>();
+		for (Field contextField : contextClass.getDeclaredFields()) {
+			ValidationBind bind = contextField.getAnnotation(ValidationBind.class);
+			if(bind == null || Modifier.isStatic(contextField.getModifiers())) continue;
+			String name = bind.value().isEmpty() ? contextField.getName() : bind.value();
+			Field modelField = ReflectionUtils.findField(modelClass, name);
+			if(modelField == null || Modifier.isStatic(modelField.getModifiers())) continue;
+			Binding binding = new Binding(contextField, modelField);
+			resolved.add(binding);
+			byField.put(contextField, binding);
+			if(bind.groups().length > 0) groups.put(modelField.getName(), bind.groups());
+		}
+		bindings = Collections.unmodifiableList(resolved);
+		bindingsByField = byField;
+		groupsByProperty = groups;
+		binder = getBinder(contextClass, modelClass);
+		if(binder != null) {
+			List<Binding> remaining = new ArrayList<Binding>();
+			List<Binding> generated = new ArrayList<Binding>();
+			Set<String> boundFields = binder.getBoundFields();
+			for (Binding binding : resolved) {
+				if(boundFields.contains(binding.getContextField().getName())) {
+					generated.add(binding);
+				} else {
+					remaining.add(binding);
+				}
+			}
+			adapterBindings = Collections.unmodifiableList(remaining);
+			binderBindings = Collections.unmodifiableList(generated);
+		} else {
+			adapterBindings = bindings;
+			binderBindings = Collections.emptyList();
+		}
+	}
+
+	/**
+	 * Get the plan of a pair of classes, resolving it on the first call
+	 * @param contextClass the {@link ViewContext} class
+	 * @param modelClass the {@link FormModel} class
+	 * @return the {@link FormBindingPlan}
+	 */
+	static FormBindingPlan of(Class<?> contextClass, Class<?> modelClass)
+	{
+		return PLANS.get(contextClass).computeIfAbsent(modelClass, type -> new FormBindingPlan(contextClass, type));
+	}
+
+	/**
+	 * Get the field name of the {@link ValidationError}s of a model property, which is the {@link ValidationBind}
+	 * value of the model attribute if present, otherwise the property itself
+	 * @param modelClass the {@link ValidationModel} class
+	 * @param property the property path of a constraint violation
+	 * @return the error field name
+	 */
+	static String getErrorField(Class<?> modelClass, String property)
+	{
+		String name = ERROR_FIELDS.get(modelClass).get(property);
+		return (name != null) ? name : property;
+	}
+
+	/**
+	 * Get the {@link ValidationBind} groups of a model attribute
+	 * @param modelClass the {@link ValidationModel} class
+	 * @param property the name of the model attribute
+	 * @return the validation groups, empty if the attribute has none
+	 */
+	static Class<?>[] getFieldGroups(Class<?> modelClass, String property)
+	{
+		Class<?>[] groups = FIELD_GROUPS.get(modelClass).get(property);
+		return (groups != null) ? groups : new Class<?>[0];
+	}
+
+	/**
+	 * Get the {@link ValidationBind} groups of a model attribute, declared either by the attribute or by its form element
+	 * @param property the name of the model attribute
+	 * @return the validation groups, empty if neither has groups
+	 */
+	Class<?>[] getGroups(String property)
+	{
+		Class<?>[] groups = groupsByProperty.get(property);
+		return (groups != null) ? groups : getFieldGroups(modelClass, property);
+	}
+
+	/**
+	 * Check if the constraints of a model attribute are pure, so its violations can be memoized
+	 * @param modelClass the {@link ValidationModel} class
+	 * @param property the name of the model attribute
+	 * @return {@literal true} if the attribute or its constraints are annotated with {@link PureConstraint}
+	 */
+	static boolean isPureField(Class<?> modelClass, String property)
+	{
+		return PURE_FIELDS.get(modelClass).contains(property);
+	}
+
+	/**
+	 * Read a property of a model by its attribute or else by its getter, with a {@link MethodHandle} resolved
+	 * on the first read of the property
+	 * @param model the {@link ValidationModel}
+	 * @param property the name of the property
+	 * @return the property value, the {@link Property} itself for a property backed attribute
+	 * @throws IllegalArgumentException if property is not a readable property of the model
+	 */
+	static Object readProperty(Object model, String property)
+	{
+		MethodHandle reader = PROPERTY_READERS.get(model.getClass()).computeIfAbsent(property,
+				name -> findReader(model.getClass(), name));
+		try {
+			return reader.invoke(model);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Get the generated binder of the pair of classes
+	 * @return the {@link FormBinder} or {@literal null} if there is no binder for the model and context classes
+	 */
+	FormBinder<FormModel, ViewContext> getBinder()
+	{
+		return binder;
+	}
+
+	List<Binding> getBindings()
+	{
+		return bindings;
+	}
+
+	/**
+	 * Get the bindings not copied by the generated binder, which are copied through their {@link ControlAdapter}
+	 * @return all the bindings if there is no binder, otherwise the ones of the controls unknown to the binder
+	 */
+	List<Binding> getAdapterBindings()
+	{
+		return adapterBindings;
+	}
+
+	/**
+	 * Get the bindings copied by the generated binder
+	 * @return the bindings of the controls known to the binder, empty if there is no binder
+	 */
+	List<Binding> getBinderBindings()
+	{
+		return binderBindings;
+	}
+
+	/**
+	 * Get the binding of a form element
+	 * @param contextField the {@link Field} of the form element
+	 * @return the {@link Binding} or {@literal null} if the form element is not bound to a model attribute
+	 */
+	Binding getBinding(Field contextField)
+	{
+		return bindingsByField.get(contextField);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static FormBinder<FormModel, ViewContext> getBinder(Class<?> contextClass, Class<?> modelClass)
+	{
+		FormBinder<?, ?> found = BINDERS.get(modelClass);
+		if(found != null && found.getContextType() == contextClass) return (FormBinder<FormModel, ViewContext>) found;
+		return null;
+	}
+
+	//The attribute is preferred, like the validation provider does for field constraints
+	private static MethodHandle findReader(Class<?> modelClass, String property)
+	{
+		try {
+			Field field = ReflectionUtils.findField(modelClass, property);
+			if(field != null && !Modifier.isStatic(field.getModifiers())) {
+				ReflectionUtils.makeAccessible(field);
+				return MethodHandles.lookup().unreflectGetter(field);
+			}
+			PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(modelClass, property);
+			Method getter = (descriptor != null) ? descriptor.getReadMethod() : null;
+			if(getter != null) {
+				ReflectionUtils.makeAccessible(getter);
+				return MethodHandles.lookup().unreflect(getter);
+			}
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Could not access the property " + property + " of " + modelClass.getName(), e);
+		}
+		throw new IllegalArgumentException(property + " is not a readable property of " + modelClass.getName());
+	}
+
+	//Pure if annotated, or if it has a pure constraint and all the others are pure or built in
+	private static boolean isPure(Field field)
+	{
+		if(field.isAnnotationPresent(PureConstraint.class)) return true;
+		boolean pure = false;
+		for (Annotation annotation : field.getAnnotations()) {
+			Class<? extends Annotation> type = annotation.annotationType();
+			if(!type.isAnnotationPresent(Constraint.class)) continue;
+			if(type.isAnnotationPresent(PureConstraint.class)) {
+				pure = true;
+			} else if(!type.getName().startsWith("javax.validation.constraints.")
+					&& !type.getName().startsWith("org.hibernate.validator.constraints.")) {
+				return false;
+			}
+		}
+		return pure;
+	}
+
+	//The binder is generated next to the model by the FormBinderProcessor
+	private static FormBinder<?, ?> loadBinder(Class<?> modelClass)
+	{
+		try {
+			Class<?> binderClass = Class.forName(modelClass.getName() + FormBinder.CLASS_SUFFIX, true, modelClass.getClassLoader());
+			if(FormBinder.class.isAssignableFrom(binderClass)) {
+				return (FormBinder<?, ?>) binderClass.getDeclaredConstructor().newInstance();
+			}
+		} catch (ClassNotFoundException e) {
+			if(modelClass.isAnnotationPresent(FormBinding.class)) {
+				LOGGER.warn("The FormBinder of " + modelClass.getName() + " was not generated, check if the "
+						+ "FormBinderProcessor is configured as an annotation processor");
+			}
+		} catch (ReflectiveOperationException | LinkageError e) {
+			LOGGER.error(e.getMessage(), e);
+		}
+		return null;
+	}
+
+	/**
+	 * A form element bound to a model attribute
+	 */
+	static final class Binding
+	{
+		private final Field contextField;
+		private final Field modelField;
+		private final MethodHandle nodeGetter;
+		private final MethodHandle modelGetter;
+		private final MethodHandle modelSetter;
+		private final boolean propertyBacked;
+
+		private Binding(Field contextField, Field modelField)
+		{
+			this.contextField = contextField;
+			this.modelField = modelField;
+			propertyBacked = Property.class.isAssignableFrom(modelField.getType());
+			try {
+				MethodHandles.Lookup lookup = MethodHandles.lookup();
+				ReflectionUtils.makeAccessible(contextField);
+				ReflectionUtils.makeAccessible(modelField);
+				nodeGetter = lookup.unreflectGetter(contextField);
+				modelGetter = lookup.unreflectGetter(modelField);
+				modelSetter = Modifier.isFinal(modelField.getModifiers()) ? null : lookup.unreflectSetter(modelField);
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException("Could not access " + contextField + " or " + modelField, e);
+			}
+		}
+
+		Field getContextField()
+		{
+			return contextField;
+		}
+
+		Field getModelField()
+		{
+			return modelField;
+		}
+
+		/**
+		 * Get the form element of a context
+		 * @param context the {@link ViewContext}
+		 * @return the {@link Node} or {@literal null} if the element is not initialized or isn't a {@link Node}
+		 */
+		Node getNode(Object context)
+		{
+			try {
+				Object node = nodeGetter.invoke(context);
+				return (node instanceof Node) ? (Node) node : null;
+			} catch (Throwable e) {
+				LOGGER.error(e.getMessage(), e);
+			}
+			return null;
+		}
+
+		/**
+		 * Check if the model attribute is a JavaFX {@link Property}, whose value is read and written instead
+		 * @return {@literal true} if the model attribute is a {@link Property}
+		 */
+		boolean isPropertyBacked()
+		{
+			return propertyBacked;
+		}
+
+		/**
+		 * Get the model attribute {@link Property}
+		 * @param model the {@link FormModel}
+		 * @return the {@link Property} or {@literal null} if the attribute isn't a property or is not initialized
+		 */
+		@SuppressWarnings("unchecked")
+		Property<Object> getModelProperty(Object model)
+		{
+			if(propertyBacked) {
+				try {
+					return (Property<Object>) modelGetter.invoke(model);
+				} catch (Throwable e) {
+					LOGGER.error(e.getMessage(), e);
+				}
+			}
+			return null;
+		}
+
+		Object getModelValue(Object model)
+		{
+			try {
+				Object value = modelGetter.invoke(model);
+				if(propertyBacked) return (value != null) ? ((Property<?>) value).getValue() : null;
+				return value;
+			} catch (Throwable e) {
+				LOGGER.error(e.getMessage(), e);
+			}
+			return null;
+		}
+
+		//Fails without throwing an exception, like an incompatible value type
+		void setModelValue(Object model, Object value)
+		{
+			try {
+				if(propertyBacked) {
+					Property<Object> property = getModelProperty(model);
+					if(property != null) property.setValue(value);
+					return;
+				}
+				if(modelSetter == null)
+					throw new IllegalStateException("Can not set final field " + modelField);
+				modelSetter.invoke(model, value);
+			} catch (Throwable e) {
+				LOGGER.error(e.getMessage(), e);
+			}
+		}
+	}
+}
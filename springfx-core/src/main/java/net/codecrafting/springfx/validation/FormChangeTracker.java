@@ -0,0 +1,195 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.validation;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+import net.codecrafting.springfx.context.ViewContext;
+import net.codecrafting.springfx.validation.FormBindingPlan.Binding;
+
+/**
+ * The change tracking of a {@link FormModel} instance behind its dirty fields. Both sides of every binding
+ * are tracked: a listener on the value property of each form element flags the edits, and the model value
+ * synchronized last is kept to detect the model changes by comparison. {@link FormModel#setValuesFromForm()}
+ * then copies only the edited form elements and {@link FormModel#setValuesToForm()} writes only the changed
+ * model attributes, so untouched controls do not fire listeners or relayout.
+ * <p>
+ * Form elements whose value can not be observed are always considered edited. Model values are compared with
+ * {@link Object#equals(Object)}, so mutable values changed in place are not detected. The listeners are removed
+ * by {@link #release()} when the view is evicted, after which every form element is considered edited.
+ *
+ * @author Lucas Marotta
+ * @see FormModel#isDirty()
+ * @see FormModel#getDirtyFields()
+ * @see FormModel#markClean()
+ */
+final class FormChangeTracker
+{
+	/**
+	 * The form elements edited since their last synchronization
+	 */
+	private final Set<Binding> edited = new HashSet<Binding>();
+
+	/**
+	 * The bindings never synchronized
+	 */
+	private final Set<Binding> unsynced = new HashSet<Binding>();
+	private final Set<Binding> unobserved = new HashSet<Binding>();
+	private final Map<Binding, Object> synced = new HashMap<Binding, Object>();
+	private final Map<Binding, Object> clean = new LinkedHashMap<Binding, Object>();
+
+	/**
+	 * The removal of the form element listeners
+	 */
+	private final List<Runnable> listenerRemovals = new ArrayList<Runnable>();
+	private boolean writing;
+
+	FormChangeTracker(FormModel model, ViewContext context, FormBindingPlan plan)
+	{
+		for (Binding binding : plan.getBindings()) {
+			unsynced.add(binding);
+			clean.put(binding, binding.getModelValue(model));
+			Node fieldNode = binding.getNode(context);
+			ControlAdapter<Node, Object> adapter = (fieldNode != null) ? ControlAdapterRegistry.getAdapter(fieldNode) : null;
+			ObservableValue<?> value = (adapter != null) ? adapter.getValueProperty(fieldNode) : null;
+			if(value != null) {
+				ChangeListener<Object> listener = (observable, oldValue, newValue) -> {
+					if(!writing) edited.add(binding);
+				};
+				@SuppressWarnings("unchecked")
+				ObservableValue<Object> observed = (ObservableValue<Object>) value;
+				observed.addListener(listener);
+				listenerRemovals.add(() -> observed.removeListener(listener));
+			} else {
+				unobserved.add(binding);
+			}
+		}
+	}
+
+	/**
+	 * Check if the form element of a binding has to be copied to the model
+	 * @param binding the {@link Binding}
+	 * @return {@literal true} if the form element was edited or its state is unknown
+	 */
+	boolean isFormChanged(Binding binding)
+	{
+		return edited.contains(binding) || unsynced.contains(binding) || unobserved.contains(binding);
+	}
+
+	/**
+	 * Check if the model value of a binding has to be written to its form element
+	 * @param binding the {@link Binding}
+	 * @param value the current model value
+	 * @return {@literal true} if the value changed since the last synchronization or the form element was edited
+	 */
+	boolean isModelChanged(Binding binding, Object value)
+	{
+		return isFormChanged(binding) || !Objects.equals(synced.get(binding), value);
+	}
+
+	/**
+	 * Record that both sides of a binding hold the given model value
+	 * @param binding the {@link Binding}
+	 * @param value the model value
+	 */
+	void setSynced(Binding binding, Object value)
+	{
+		edited.remove(binding);
+		unsynced.remove(binding);
+		synced.put(binding, value);
+	}
+
+	/**
+	 * Write to the form elements without flagging them as edited
+	 * @param write the {@link Runnable} writing the form elements
+	 */
+	void write(Runnable write)
+	{
+		writing = true;
+		try {
+			write.run();
+		} finally {
+			writing = false;
+		}
+	}
+
+	/**
+	 * Forget the edits of a form element, like when it's live bound to the model
+	 * @param binding the {@link Binding}
+	 */
+	void clearEdits(Binding binding)
+	{
+		edited.remove(binding);
+	}
+
+	/**
+	 * Get the model attributes changed since the last {@link #markClean(FormModel)}, including the edited form
+	 * elements not copied to the model yet
+	 * @param model the {@link FormModel}
+	 * @param excluded the bindings whose edits are ignored
+	 * @return the dirty model {@link Field}s
+	 */
+	Set<Field> getDirtyFields(FormModel model, Predicate<Binding> excluded)
+	{
+		Set<Field> dirty = new LinkedHashSet<Field>();
+		for (Map.Entry<Binding, Object> entry : clean.entrySet()) {
+			Binding binding = entry.getKey();
+			if((edited.contains(binding) && !excluded.test(binding))
+					|| !Objects.equals(entry.getValue(), binding.getModelValue(model))) {
+				dirty.add(binding.getModelField());
+			}
+		}
+		return dirty;
+	}
+
+	/**
+	 * Remove the listeners of the form elements, so the form elements no longer hold this tracker. The form
+	 * elements are then always considered edited.
+	 */
+	void release()
+	{
+		for (Runnable removal : listenerRemovals) {
+			removal.run();
+		}
+		listenerRemovals.clear();
+		unobserved.addAll(clean.keySet());
+	}
+
+	/**
+	 * Take the current model values as the clean state
+	 * @param model the {@link FormModel}
+	 */
+	void markClean(FormModel model)
+	{
+		for (Map.Entry<Binding, Object> entry : clean.entrySet()) {
+			entry.setValue(entry.getKey().getModelValue(model));
+		}
+	}
+}
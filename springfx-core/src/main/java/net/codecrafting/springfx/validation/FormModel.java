@@ -17,13 +17,23 @@
 package net.codecrafting.springfx.validation;
 
 import java.lang.reflect.Field;
-import java.time.LocalDate;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.util.ReflectionUtils;
 
+import javafx.beans.property.Property;
+import javafx.beans.value.ObservableValue;
 import javafx.scene.Node;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.ChoiceBox;
@@ -35,15 +45,17 @@ import javafx.scene.control.RadioButton;
 import javafx.scene.control.Slider;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
-import javafx.scene.control.ToggleButton;
-import javafx.scene.paint.Color;
+import net.codecrafting.springfx.annotation.FormBinding;
 import net.codecrafting.springfx.annotation.ValidationBind;
 import net.codecrafting.springfx.context.ViewContext;
+import net.codecrafting.springfx.context.ViewTaskScope;
+import net.codecrafting.springfx.validation.FormBindingPlan.Binding;
 
 /**
  * This class is used to abstract a JavaFX form validation with {@link ValidationModel}. The goal is to provide 
  * a standard way to retrieve and set values from both the model and the form elements contained on the 
- * associated {@link ViewContext}. This class has support for the following JavaFX classes or superclasses controls:
+ * associated {@link ViewContext}. This class has support for the following JavaFX classes or superclasses controls,
+ * and for any control with a {@link ControlAdapter} registered on the {@link ControlAdapterRegistry}:
  * 
  * <ul>
  * <li>{@link TextField}</li>
@@ -65,13 +77,37 @@ import net.codecrafting.springfx.context.ViewContext;
  * <li>Non initialized form elements or model attributes will be ignored</li>
  * <li>Form elements that has empty {@link ValidationBind} value will match models with the same attribute name</li>
  * <li>The model attributes has to be compatible with the JavaFX controls present on the {@link ViewContext}</li>
- * <li>Form elements that aren't included on the supported JavaFX controls list will be ignored</li>
+ * <li>Form elements without a {@link ControlAdapter} will be ignored</li>
  * </ul>
  * 
+ * The bindings between the form elements and the model attributes are resolved once per pair of {@link ViewContext}
+ * and model classes, so filling the model or the form does not look up the annotations again. Models annotated
+ * with {@link FormBinding} are filled by their generated {@link FormBinder}, without reflection.
+ * <p>
+ * Model attributes declared as JavaFX {@link Property} can be bound both ways to their form elements with
+ * {@link #enableLiveBinding()}, usually called at the end of the model constructor. The model is then always
+ * current and {@link #setValuesFromForm()} does not copy the live bound attributes again. Values of different
+ * types are converted with {@link #getConversionService()} and the bindings are released when the view is
+ * evicted from the cache of its stage, see {@link ViewTaskScope#onEvict(Runnable)}.
+ * <p>
+ * The changes of both the model attributes and the form elements are tracked, so {@link #setValuesFromForm()}
+ * and {@link #setValuesToForm()} copy only the fields that differ and {@link #isDirty()} tells if there
+ * are unsaved changes since the last {@link #markClean()}. The generated {@link FormBinder} is used only when
+ * all its fields differ, like on the first synchronization. The listeners of the tracking are removed when
+ * the view is evicted from the cache of its stage.
+ * <p>
+ * Subclasses overriding {@link #getModelField(Field)}, {@link #getContextFieldNode(Field)}, {@link #setValueToModelField(Field, Object)}
+ * or {@link #getValueFromModelField(Field)} are synchronized through these methods instead, for every field of the
+ * {@link ViewContext}, without the generated {@link FormBinder} and copying all the fields every time.
+ * 
  * @author Lucas Marotta
  * @see #getContext()
  * @see #setValuesFromForm()
+ * @see #setValueFromForm(Field)
  * @see #setValuesToForm()
+ * @see #enableLiveBinding()
+ * @see #isDirty()
+ * @see #getDirtyFields()
  * @see #getModelField(Field)
  * @see #getContextFieldNode(Field)
  * @see #getValueFromModelField(Field)
@@ -82,8 +118,26 @@ public abstract class FormModel implements ValidationModel
 	 * The associated JavaFX controller context to retrieve form elements
 	 */
 	protected ViewContext context;
+	private FormBindingPlan bindingPlan;
+	private final Map<Binding, Runnable> liveBindings = new LinkedHashMap<Binding, Runnable>();
+	private Runnable liveBindingRelease;
+	private FormChangeTracker changeTracker;
 	private static final Log LOGGER = LogFactory.getLog(FormModel.class);
 
+	/**
+	 * The model classes overriding any of the protected accessors of the synchronization
+	 */
+	private static final ClassValue<Boolean> CUSTOM_ACCESSORS = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> modelClass)
+		{
+			return isOverridden(modelClass, "getModelField", Field.class)
+					|| isOverridden(modelClass, "getContextFieldNode", Field.class)
+					|| isOverridden(modelClass, "setValueToModelField", Field.class, Object.class)
+					|| isOverridden(modelClass, "getValueFromModelField", Field.class);
+		}
+	};
+
 	/**
 	 * Create a new instance of {@link ViewContext}. The {@link ViewContext} is required for 
 	 * retrieve the form elements from the JavaFX controller.
@@ -135,102 +189,350 @@ public abstract class FormModel implements ValidationModel
 	 * This method set the values of the model attributes from the {@link ViewContext} form elements containing
 	 * {@link ValidationBind} annotation. The value present on the {@link ValidationBind} is used to find a 
 	 * corresponding attribute with that name. If the annotation has a empty value the name of the form element 
-	 * attribute will be used instead.
+	 * attribute will be used instead. Only the form elements edited since the last synchronization or holding a value
+	 * different from their model attribute are copied.
 	 */
-	@SuppressWarnings("unchecked")
 	public void setValuesFromForm()
 	{
-		Field[] fields = context.getClass().getDeclaredFields();
-		for (Field field : fields) {
-			Field modelField = getModelField(field);
-			if(modelField != null) {
-				Node fieldNode = getContextFieldNode(field);
-				if(fieldNode != null) {
-					Class<?> fieldType = field.getType();
-					if(TextField.class.isAssignableFrom(fieldType)) {
-						setValueToModelField(modelField, ((TextField) fieldNode).getText());
-						
-					} else if(CheckBox.class.isAssignableFrom(fieldType)) {
-						setValueToModelField(modelField, ((CheckBox) fieldNode).isSelected());
-
-					} else if(ChoiceBox.class.isAssignableFrom(fieldType)) {
-						setValueToModelField(modelField, ((ChoiceBox<Object>) fieldNode).getValue());
-
-					} else if(ColorPicker.class.isAssignableFrom(fieldType)) {
-						setValueToModelField(modelField, ((ColorPicker) fieldNode).getValue());
-
-					} else if(ComboBox.class.isAssignableFrom(fieldType)) {
-						setValueToModelField(modelField, ((ComboBox<?>) fieldNode).getValue());
-
-					} else if(DatePicker.class.isAssignableFrom(fieldType)) {
-						setValueToModelField(modelField, ((DatePicker) fieldNode).getValue());
-						
-					} else if(ToggleButton.class.isAssignableFrom(fieldType)) {
-						setValueToModelField(modelField, ((ToggleButton) fieldNode).isSelected());
-
-					} else if(TextArea.class.isAssignableFrom(fieldType)) {
-						setValueToModelField(modelField, ((TextArea) fieldNode).getText());
-
-					} else if(Slider.class.isAssignableFrom(fieldType)) {
-						setValueToModelField(modelField, ((Slider) fieldNode).getValue());
-					}
-				}
+		if(CUSTOM_ACCESSORS.get(getClass())) {
+			for (Field contextField : context.getClass().getDeclaredFields()) {
+				setValueFromFormByAccessors(contextField);
+			}
+			postUpdateValues();
+			return;
+		}
+		FormBindingPlan plan = getBindingPlan();
+		FormChangeTracker tracker = getChangeTracker();
+		List<Binding> changed = getFormChanged(plan.getBinderBindings());
+		if(!changed.isEmpty() && changed.size() == plan.getBinderBindings().size()) {
+			plan.getBinder().setValuesFromForm(this, context);
+			for (Binding binding : changed) {
+				tracker.setSynced(binding, binding.getModelValue(this));
+			}
+		} else {
+			//The binder copies all its fields, the ones in sync are skipped by copying the changed ones alone
+			for (Binding binding : changed) {
+				setValueFromForm(binding);
 			}
 		}
+		for (Binding binding : getFormChanged(plan.getAdapterBindings())) {
+			setValueFromForm(binding);
+		}
 		postUpdateValues();
 	}
 	
+	/**
+	 * This method set the value of a single model attribute from a {@link ViewContext} form element containing
+	 * {@link ValidationBind} annotation, like {@link #setValuesFromForm()} does for all of them. The
+	 * {@link #postUpdateValues()} is not called.
+	 * @param contextField the {@link Field} of the form element from {@link ViewContext}
+	 * @return the model {@link Field} that was set or {@literal null} if the form element is not bound
+	 * to a model attribute or it isn't a supported control
+	 */
+	public Field setValueFromForm(Field contextField)
+	{
+		Binding binding = getBindingPlan().getBinding(contextField);
+		if(binding != null && liveBindings.containsKey(binding)) return binding.getModelField();
+		if(CUSTOM_ACCESSORS.get(getClass())) return setValueFromFormByAccessors(contextField);
+		return (binding != null) ? setValueFromForm(binding) : null;
+	}
+	
+	/**
+	 * Bind both ways the {@link ViewContext} form elements to the model attributes declared as JavaFX {@link Property},
+	 * so every edit reaches the model and every model change reaches the form. The model value is copied to the
+	 * form element, unless it's {@literal null}, in which case the form element value is copied to the model.
+	 * Properties of different value types are converted with {@link #getConversionService()}; a value that can not
+	 * be converted leaves the other side unchanged. The bindings are released by {@link #disableLiveBinding()}
+	 * or when the view is evicted from its stage cache, but not when it's just swapped out.
+	 * <p>
+	 * Attributes that aren't properties, not initialized, or bound to form elements without a {@link ControlAdapter}
+	 * are left to {@link #setValuesFromForm()} and {@link #setValuesToForm()}. Calling this method again binds only
+	 * the attributes that were not bound yet.
+	 * @return the number of live bound attributes
+	 */
+	@SuppressWarnings("unchecked")
+	public int enableLiveBinding()
+	{
+		ConversionService conversion = getConversionService();
+		for (Binding binding : getBindingPlan().getBindings()) {
+			if(!binding.isPropertyBacked() || liveBindings.containsKey(binding)) continue;
+			Property<Object> modelProperty = binding.getModelProperty(this);
+			Node fieldNode = binding.getNode(context);
+			ControlAdapter<Node, Object> adapter = (fieldNode != null) ? ControlAdapterRegistry.getAdapter(fieldNode) : null;
+			ObservableValue<?> valueProperty = (adapter != null) ? adapter.getValueProperty(fieldNode) : null;
+			if(modelProperty != null && valueProperty instanceof Property) {
+				Runnable unbind = LiveBinding.bind((Property<Object>) valueProperty, modelProperty,
+						ResolvableType.forField(binding.getModelField()), conversion);
+				if(unbind != null) {
+					liveBindings.put(binding, unbind);
+					getChangeTracker().clearEdits(binding);
+				} else {
+					LOGGER.warn("Can not convert the values of " + binding.getModelField() + " for live binding");
+				}
+			}
+		}
+		if(!liveBindings.isEmpty() && liveBindingRelease == null) {
+			liveBindingRelease = this::disableLiveBinding;
+			context.getTaskScope().onEvict(liveBindingRelease);
+		}
+		return liveBindings.size();
+	}
+	
+	/**
+	 * Release the bindings created by {@link #enableLiveBinding()}. The model and the form elements keep their
+	 * current values.
+	 */
+	public void disableLiveBinding()
+	{
+		for (Runnable unbind : liveBindings.values()) {
+			unbind.run();
+		}
+		liveBindings.clear();
+		if(liveBindingRelease != null) {
+			context.getTaskScope().removeEvictionListener(liveBindingRelease);
+			liveBindingRelease = null;
+		}
+	}
+	
+	/**
+	 * Check if any model attribute is live bound to its form element
+	 * @return {@literal true} if {@link #enableLiveBinding()} bound at least one attribute
+	 */
+	public boolean isLiveBindingEnabled()
+	{
+		return !liveBindings.isEmpty();
+	}
+	
+	/**
+	 * Get the {@link ConversionService} used by {@link #enableLiveBinding()} to convert values between form elements
+	 * and model properties of different value types, like a {@link TextField} text and a numeric property.
+	 * <p>
+	 * The implementation of this method provided by {@link FormModel} returns the shared {@link DefaultConversionService}.
+	 * </p>
+	 * @return the {@link ConversionService} of the live bindings
+	 */
+	protected ConversionService getConversionService()
+	{
+		return DefaultConversionService.getSharedInstance();
+	}
+	
+	/**
+	 * Get the resolved bindings between the {@link ViewContext} form elements and the attributes of this model,
+	 * shared by all the instances of the same classes.
+	 * @return the {@link FormBindingPlan}
+	 */
+	FormBindingPlan getBindingPlan()
+	{
+		FormBindingPlan plan = bindingPlan;
+		if(plan == null) {
+			plan = FormBindingPlan.of(context.getClass(), getClass());
+			bindingPlan = plan;
+		}
+		return plan;
+	}
+	
+	//Through the protected accessors, which may be overridden to bind differently
+	@SuppressWarnings("unchecked")
+	private Field setValueFromFormByAccessors(Field contextField)
+	{
+		Binding binding = getBindingPlan().getBinding(contextField);
+		if(binding != null && liveBindings.containsKey(binding)) return null;
+		Field modelField = getModelField(contextField);
+		Node fieldNode = (modelField != null) ? getContextFieldNode(contextField) : null;
+		ControlAdapter<Node, Object> adapter = (fieldNode != null) ? ControlAdapterRegistry.getAdapter(fieldNode) : null;
+		if(adapter == null) return null;
+		Object value = adapter.getValue(fieldNode);
+		Object property = Property.class.isAssignableFrom(modelField.getType()) ? getValueFromModelField(contextField) : null;
+		if(property != null) {
+			((Property<Object>) property).setValue(value);
+		} else {
+			setValueToModelField(modelField, value);
+		}
+		if(binding != null) getChangeTracker().setSynced(binding, binding.getModelValue(this));
+		return modelField;
+	}
+
+	private Field setValueFromForm(Binding binding)
+	{
+		Node fieldNode = binding.getNode(context);
+		if(fieldNode != null) {
+			ControlAdapter<Node, Object> adapter = ControlAdapterRegistry.getAdapter(fieldNode);
+			if(adapter != null) {
+				binding.setModelValue(this, adapter.getValue(fieldNode));
+				getChangeTracker().setSynced(binding, binding.getModelValue(this));
+				return binding.getModelField();
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * This method get the property holding the value of a {@link ViewContext} form element, the one
+	 * {@link #setValueFromForm(Field)} reads. Use it to observe the changes of a form element.
+	 * @param contextField the {@link Field} of the form element from {@link ViewContext}
+	 * @param fieldNode the form element {@link Node}
+	 * @return the value {@link ObservableValue} of the form element. Can be {@literal null} if the form
+	 * element isn't a supported control
+	 */
+	protected ObservableValue<?> getContextFieldValueProperty(Field contextField, Node fieldNode)
+	{
+		ControlAdapter<Node, Object> adapter = ControlAdapterRegistry.getAdapter(fieldNode);
+		return (adapter != null) ? adapter.getValueProperty(fieldNode) : null;
+	}
+	
 	/**
 	 * This method set values from the model attributes to the the {@link ViewContext} form elements containing
 	 * {@link ValidationBind} annotation. The value present on the {@link ValidationBind} is used to find a 
 	 * corresponding attribute with that name. If the annotation has a empty value the name of the form element 
-	 * attribute will be used instead.
+	 * attribute will be used instead. Only the model attributes changed since the last synchronization and the
+	 * form elements edited since then are written.
 	 */
-	@SuppressWarnings("unchecked")
 	public void setValuesToForm()
 	{
 		preUpdateValues();
-		Field[] fields = context.getClass().getDeclaredFields();
-		for (Field field : fields) {
-			Object modelFieldValue = getValueFromModelField(field);
-			if(modelFieldValue != null) {
-				Node fieldNode = getContextFieldNode(field);
-				if(fieldNode != null) {
-					Class<?> fieldType = field.getType();
-					try {
-						if(TextField.class.isAssignableFrom(fieldType)) {
-							((TextField) fieldNode).setText((String) modelFieldValue);
-							
-						} else if(CheckBox.class.isAssignableFrom(fieldType)) {
-							((CheckBox) fieldNode).setSelected((Boolean) modelFieldValue);
-						
-						} else if(ChoiceBox.class.isAssignableFrom(fieldType)) {
-							((ChoiceBox<Object>) fieldNode).setValue(modelFieldValue);
-						
-						} else if(ColorPicker.class.isAssignableFrom(fieldType)) {
-							((ColorPicker) fieldNode).setValue((Color) modelFieldValue);
-						
-						} else if(ComboBox.class.isAssignableFrom(fieldType)) {
-							((ComboBox<Object>) fieldNode).setValue(modelFieldValue);
-						
-						} else if(DatePicker.class.isAssignableFrom(fieldType)) {
-							((DatePicker) fieldNode).setValue((LocalDate) modelFieldValue);
-							
-						} else if(ToggleButton.class.isAssignableFrom(fieldType)) {
-							((ToggleButton) fieldNode).setSelected((Boolean) modelFieldValue);
-						
-						} else if(TextArea.class.isAssignableFrom(fieldType)) {
-							((TextArea) fieldNode).setText((String) modelFieldValue);
-						
-						} else if(Slider.class.isAssignableFrom(fieldType)) {
-							((Slider) fieldNode).setValue((Double) modelFieldValue);
-						}
-					} catch(Exception e) {
-						LOGGER.error(e.getMessage(), e);
-					}
-				}
+		if(CUSTOM_ACCESSORS.get(getClass())) {
+			for (Field contextField : context.getClass().getDeclaredFields()) {
+				setValueToFormByAccessors(contextField);
 			}
+			return;
+		}
+		FormBindingPlan plan = getBindingPlan();
+		FormChangeTracker tracker = getChangeTracker();
+		List<Binding> changed = getModelChanged(plan.getBinderBindings());
+		if(!changed.isEmpty() && changed.size() == plan.getBinderBindings().size()) {
+			tracker.write(() -> plan.getBinder().setValuesToForm(this, context));
+			for (Binding binding : changed) {
+				tracker.setSynced(binding, binding.getModelValue(this));
+			}
+		} else {
+			for (Binding binding : changed) {
+				setValueToForm(binding, binding.getModelValue(this));
+			}
+		}
+		for (Binding binding : getModelChanged(plan.getAdapterBindings())) {
+			setValueToForm(binding, binding.getModelValue(this));
+		}
+	}
+
+	private void setValueToForm(Binding binding, Object modelFieldValue)
+	{
+		Node fieldNode = binding.getNode(context);
+		ControlAdapter<Node, Object> adapter = (fieldNode != null) ? ControlAdapterRegistry.getAdapter(fieldNode) : null;
+		if(adapter != null) {
+			FormChangeTracker tracker = getChangeTracker();
+			try {
+				tracker.write(() -> adapter.setValue(fieldNode, modelFieldValue));
+				tracker.setSynced(binding, modelFieldValue);
+			} catch(Exception e) {
+				LOGGER.error(e.getMessage(), e);
+			}
+		}
+	}
+	
+	//Through the protected accessors, which may be overridden to bind differently
+	private void setValueToFormByAccessors(Field contextField)
+	{
+		Binding binding = getBindingPlan().getBinding(contextField);
+		if(binding != null && liveBindings.containsKey(binding)) return;
+		Object value = getValueFromModelField(contextField);
+		if(value instanceof Property) value = ((Property<?>) value).getValue();
+		if(value == null) return;
+		Node fieldNode = getContextFieldNode(contextField);
+		ControlAdapter<Node, Object> adapter = (fieldNode != null) ? ControlAdapterRegistry.getAdapter(fieldNode) : null;
+		if(adapter != null) {
+			Object modelFieldValue = value;
+			try {
+				getChangeTracker().write(() -> adapter.setValue(fieldNode, modelFieldValue));
+				if(binding != null) getChangeTracker().setSynced(binding, modelFieldValue);
+			} catch(Exception e) {
+				LOGGER.error(e.getMessage(), e);
+			}
+		}
+	}
+
+	/**
+	 * Check if any model attribute or form element changed since the last {@link #markClean()}. Use it to detect
+	 * unsaved changes.
+	 * @return {@literal true} if there is any dirty field
+	 * @see #getDirtyFields()
+	 */
+	public boolean isDirty()
+	{
+		return !getDirtyFields().isEmpty();
+	}
+	
+	/**
+	 * Get the model attributes changed since the last {@link #markClean()}, either on the model or by editing their
+	 * form elements, even if the edits were not copied to the model yet. Values are compared with
+	 * {@link Object#equals(Object)}, so an attribute changed back to its clean value is not dirty. The changes
+	 * are tracked from the first synchronization, call to this method or to {@link #markClean()}.
+	 * @return the dirty model {@link Field}s
+	 */
+	public Set<Field> getDirtyFields()
+	{
+		return getChangeTracker().getDirtyFields(this, liveBindings::containsKey);
+	}
+	
+	/**
+	 * Take the current model values as the clean state, usually after they were saved. Form elements edited and
+	 * not copied to the model yet keep their fields dirty.
+	 */
+	public void markClean()
+	{
+		getChangeTracker().markClean(this);
+	}
+	
+	/**
+	 * Get the change tracking of this model, started on the first call
+	 * @return the {@link FormChangeTracker}
+	 */
+	FormChangeTracker getChangeTracker()
+	{
+		FormChangeTracker tracker = changeTracker;
+		if(tracker == null) {
+			tracker = new FormChangeTracker(this, context, getBindingPlan());
+			context.getTaskScope().onEvict(tracker::release);
+			changeTracker = tracker;
+		}
+		return tracker;
+	}
+	
+	//The bindings whose form element has to be copied to the model, the edited ones and the ones whose model value
+	//differs from the form element, like a model attribute changed by the program
+	private List<Binding> getFormChanged(List<Binding> bindings)
+	{
+		FormChangeTracker tracker = getChangeTracker();
+		List<Binding> changed = new ArrayList<Binding>();
+		for (Binding binding : bindings) {
+			if(!liveBindings.containsKey(binding) && (tracker.isFormChanged(binding) || isOutOfSync(binding))) changed.add(binding);
+		}
+		return changed;
+	}
+
+	private boolean isOutOfSync(Binding binding)
+	{
+		Node fieldNode = binding.getNode(context);
+		ControlAdapter<Node, Object> adapter = (fieldNode != null) ? ControlAdapterRegistry.getAdapter(fieldNode) : null;
+		return adapter != null && !Objects.equals(adapter.getValue(fieldNode), binding.getModelValue(this));
+	}
+	
+	private static boolean isOverridden(Class<?> modelClass, String name, Class<?>... parameterTypes)
+	{
+		Method method = ReflectionUtils.findMethod(modelClass, name, parameterTypes);
+		return method != null && method.getDeclaringClass() != FormModel.class;
+	}
+
+	//The bindings whose model value has to be written to the form element, null values are never written
+	private List<Binding> getModelChanged(List<Binding> bindings)
+	{
+		FormChangeTracker tracker = getChangeTracker();
+		List<Binding> changed = new ArrayList<Binding>();
+		for (Binding binding : bindings) {
+			if(liveBindings.containsKey(binding)) continue;
+			Object modelFieldValue = binding.getModelValue(this);
+			if(modelFieldValue != null && tracker.isModelChanged(binding, modelFieldValue)) changed.add(binding);
 		}
+		return changed;
 	}
 	
 	/**
@@ -243,6 +545,8 @@ public abstract class FormModel implements ValidationModel
 	 */
 	protected Field getModelField(Field contextField)
 	{
+		Binding binding = getBindingPlan().getBinding(contextField);
+		if(binding != null) return binding.getModelField();
 		if(contextField.isAnnotationPresent(ValidationBind.class)) {
 			String fieldName = contextField.getAnnotation(ValidationBind.class).value();
 			if(!fieldName.isEmpty()) {
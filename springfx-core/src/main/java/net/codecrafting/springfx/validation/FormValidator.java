@@ -18,18 +18,39 @@ package net.codecrafting.springfx.validation;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import javax.validation.ConstraintViolation;
+import javax.validation.GroupSequence;
 import javax.validation.Validation;
+import javax.validation.ValidationException;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
 
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
+import org.hibernate.validator.HibernateValidatorFactory;
+import org.hibernate.validator.group.GroupSequenceProvider;
 
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+import net.codecrafting.springfx.annotation.PureConstraint;
 import net.codecrafting.springfx.annotation.ValidationBind;
+import net.codecrafting.springfx.util.AsyncUtils;
+import net.codecrafting.springfx.validation.FormBindingPlan.Binding;
 
 /**
  * This class is used to help validate JavaFX UI elements. The implementation uses Hibernate Validator to validate
@@ -38,11 +59,41 @@ import net.codecrafting.springfx.annotation.ValidationBind;
  * {@link FormValidator} has to be a type of implementation of {@link ValidationModel}. The form validator can register a
  * {@link ValidationListener} which act as listener helper for calling {@link ValidationListener#onValidationFailed(List)}
  * passing the errors if failed or {@link ValidationListener#onValidationSucceeded()} if succeeded.
+ * <p>
+ * Building a {@link Validator} bootstraps Hibernate Validator, which is far more expensive than a validation, so
+ * all form validators share the default {@link Validator}, which is thread safe. Within a SpringFX application the
+ * default is the Spring managed validator of the {@code SpringFXConfiguration}. Both interpolate the messages with a
+ * {@link CachingMessageInterpolator}, without expression language unless it's enabled.
+ * <p>
+ * For real time feedback on large forms, {@link #enableFieldValidation()} validates only the edited property of a
+ * {@link FormModel}, when its form element changes or loses the focus, and informs the listener of the changed field
+ * with {@link ValidationListener#onFieldValidationChanged(String, List)}.
+ * <p>
+ * Constraints that hit slow resources, like a database, can be validated in background with {@link #validateAsync(long, TimeUnit)}
+ * and {@link #enableFieldValidation(long, TimeUnit)}. The values are snapshot on the JavaFX Application Thread, the validation
+ * runs debounced on the SpringFX executor and the results are delivered back on the JavaFX Application Thread.
+ * <p>
+ * Multi step forms can validate only the constraints of the current step with Bean Validation groups, set with
+ * {@link #setGroups(Class...)} or per field with {@link ValidationBind#groups()}, and stop at the first violation
+ * with {@link #setFailFast(boolean)}.
+ * <p>
+ * The violations of the {@link PureConstraint} model attributes are memoized by value in a {@link ValidationResultCache},
+ * by the value they hold for JavaFX property attributes, so submitting again or toggling a field back to a previous value does not run expensive constraints again.
  *
  * @author Lucas Marotta
+ * @see #getDefaultValidator()
+ * @see #setDefaultValidator(Validator)
  * @see #getModel()
  * @see #setValidationListener(ValidationListener)
  * @see #validate()
+ * @see #validateAsync(long, TimeUnit)
+ * @see #validateField(String)
+ * @see #validateFieldAsync(String, long, TimeUnit)
+ * @see #enableFieldValidation()
+ * @see #setGroups(Class...)
+ * @see #setFailFast(boolean)
+ * @see #setValidationCache(ValidationResultCache)
+ * @see #getErrors()
  *
  * @param <T> The model implementation of {@link ValidationModel}
  */
@@ -62,10 +113,27 @@ public class FormValidator<T>
 	 * The implementation of validation model containing the actual data and constraints that will be validated
 	 */
 	private ValidationModel model;
-	private static final Log LOGGER = LogFactory.getLog(FormValidator.class);
 
 	/**
-	 * Create a new instance of {@link FormValidator}. The validation is done by the default validator {@link Validation#buildDefaultValidatorFactory()}.
+	 * The current errors by model property, updated by full and per field validations
+	 */
+	private final Map<String, List<ValidationError>> fieldErrors = new LinkedHashMap<String, List<ValidationError>>();
+
+	/**
+	 * The removal of the form element listeners of the field validation
+	 */
+	private final List<Runnable> fieldBindings = new ArrayList<Runnable>();
+	private final Set<String> asyncProperties = new HashSet<String>();
+	private Class<?>[] groups = new Class<?>[0];
+	private boolean failFast;
+	private Validator failFastValidator;
+	private ValidationResultCache validationCache = DEFAULT_VALIDATION_CACHE;
+	private static final AtomicReference<Validator> DEFAULT_VALIDATOR = new AtomicReference<Validator>();
+	private static final AtomicReference<Validator> DEFAULT_FAIL_FAST_VALIDATOR = new AtomicReference<Validator>();
+	private static final ValidationResultCache DEFAULT_VALIDATION_CACHE = new ValidationResultCache();
+
+	/**
+	 * Create a new instance of {@link FormValidator}. The validation is done by the {@link #getDefaultValidator()}.
 	 * By default this constructor execute a preload validation @see #FormValidator(ValidationModel, boolean).
 	 * @param model the implementation of {@link ValidationModel} containing the actual data and constraints that will be validated
 	 * @throws IllegalArgumentException if model is null
@@ -76,7 +144,7 @@ public class FormValidator<T>
 	}
 	
 	/**
-	 * Create a new instance of {@link FormValidator}. The validation is done by the default validator {@link Validation#buildDefaultValidatorFactory()}.
+	 * Create a new instance of {@link FormValidator}. The validation is done by the {@link #getDefaultValidator()}.
 	 * This constructor offers a optional preloadValidation which will indicate to perform a early validation of the model. This
 	 * is useful to significant diminish the time for the next validations which helps to not slow down the JavaFX Thread. 
 	 * @param model the implementation of {@link ValidationModel} containing the actual data and constraints that will be validated
@@ -85,16 +153,157 @@ public class FormValidator<T>
 	 */
 	public FormValidator(ValidationModel model, boolean preloadValidation)
 	{
-		if(model != null) {
-			ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
-			validator = factory.getValidator();
-			this.model = model;
-			if(preloadValidation) validator.validate(model);
-		} else {
+		this(model, getDefaultValidator(), preloadValidation);
+	}
+
+	/**
+	 * Create a new instance of {@link FormValidator} with a custom {@link Validator}.
+	 * @param model the implementation of {@link ValidationModel} containing the actual data and constraints that will be validated
+	 * @param validator the {@link Validator} of the model
+	 * @param preloadValidation the flag that indicates to perform a early validation or not
+	 * @throws IllegalArgumentException if model or validator are null
+	 */
+	public FormValidator(ValidationModel model, Validator validator, boolean preloadValidation)
+	{
+		if(model == null)
 			throw new IllegalArgumentException("model must not be null");
+		if(validator == null)
+			throw new IllegalArgumentException("validator must not be null");
+		this.validator = validator;
+		this.model = model;
+		if(preloadValidation) validator.validate(model);
+	}
+
+	/**
+	 * Get the {@link Validator} shared by the form validators. If none was set, a validator is built once by
+	 * the default validation provider, interpolating the messages with a {@link CachingMessageInterpolator}.
+	 * @return the default {@link Validator}
+	 */
+	public static Validator getDefaultValidator()
+	{
+		Validator validator = DEFAULT_VALIDATOR.get();
+		return (validator != null) ? validator : DefaultValidatorHolder.VALIDATOR;
+	}
+
+	/**
+	 * Set the {@link Validator} shared by the form validators created afterwards.
+	 * @param validator the default {@link Validator} or {@literal null} to use the one built by
+	 * the default validation provider
+	 */
+	public static void setDefaultValidator(Validator validator)
+	{
+		DEFAULT_VALIDATOR.set(validator);
+	}
+
+	/**
+	 * Unset the default {@link Validator} if it's the given one, like when its factory is closed.
+	 * @param validator the {@link Validator} to be unset
+	 */
+	public static void resetDefaultValidator(Validator validator)
+	{
+		DEFAULT_VALIDATOR.compareAndSet(validator, null);
+	}
+
+	/**
+	 * Get the fail fast {@link Validator} shared by the form validators in fail fast mode, which stops at the first
+	 * constraint violation. If none was set, a validator is built once by the default validation provider.
+	 * @return the default fail fast {@link Validator}
+	 * @see #setFailFast(boolean)
+	 */
+	public static Validator getDefaultFailFastValidator()
+	{
+		Validator validator = DEFAULT_FAIL_FAST_VALIDATOR.get();
+		return (validator != null) ? validator : FailFastValidatorHolder.VALIDATOR;
+	}
+
+	/**
+	 * Set the fail fast {@link Validator} shared by the form validators in fail fast mode.
+	 * @param validator the default fail fast {@link Validator} or {@literal null} to use the one built by
+	 * the default validation provider
+	 */
+	public static void setDefaultFailFastValidator(Validator validator)
+	{
+		DEFAULT_FAIL_FAST_VALIDATOR.set(validator);
+	}
+
+	/**
+	 * Unset the default fail fast {@link Validator} if it's the given one, like when its factory is closed.
+	 * @param validator the {@link Validator} to be unset
+	 */
+	public static void resetDefaultFailFastValidator(Validator validator)
+	{
+		DEFAULT_FAIL_FAST_VALIDATOR.compareAndSet(validator, null);
+	}
+
+	/**
+	 * Get the Bean Validation groups of the validations
+	 * @return a copy of the groups, empty for the {@link javax.validation.groups.Default} group
+	 */
+	public Class<?>[] getGroups()
+	{
+		return groups.clone();
+	}
+
+	/**
+	 * Set the Bean Validation groups of the validations, like the group of the visible tab or wizard step, so
+	 * only the constraints of these groups are evaluated. Single field validations use the {@link ValidationBind#groups()}
+	 * of the field instead, when it has any.
+	 * @param groups the validation groups, none for the {@link javax.validation.groups.Default} group
+	 * @throws IllegalArgumentException if groups is null
+	 */
+	public void setGroups(Class<?>... groups)
+	{
+		if(groups != null) {
+			this.groups = groups.clone();
+		} else {
+			throw new IllegalArgumentException("groups must not be null");
 		}
 	}
 
+	public boolean isFailFast()
+	{
+		return failFast;
+	}
+
+	/**
+	 * Set the fail fast mode, in which the validation stops at the first constraint violation, so at most one
+	 * error is reported per validation. In this mode a fail fast counterpart of the {@link Validator} of this form
+	 * validator is used, the {@link #getDefaultFailFastValidator()} for the default validator or else one built
+	 * from the Hibernate Validator factory the validator unwraps to, like a Spring {@code LocalValidatorFactoryBean}.
+	 * @param failFast {@literal true} to stop at the first violation
+	 * @throws IllegalStateException if failFast is {@literal true} and the {@link Validator} of this form validator
+	 * is not the default one and does not unwrap to a {@link HibernateValidatorFactory}
+	 */
+	public void setFailFast(boolean failFast)
+	{
+		if(failFast && failFastValidator == null) failFastValidator = toFailFast(validator);
+		this.failFast = failFast;
+	}
+
+	/**
+	 * Get the {@link ValidationResultCache} shared by the form validators by default
+	 * @return the default {@link ValidationResultCache}
+	 */
+	public static ValidationResultCache getDefaultValidationCache()
+	{
+		return DEFAULT_VALIDATION_CACHE;
+	}
+
+	public ValidationResultCache getValidationCache()
+	{
+		return validationCache;
+	}
+
+	/**
+	 * Set the {@link ValidationResultCache} of the {@link PureConstraint} model attributes, whose violations are
+	 * reused while their values do not change. By default the {@link #getDefaultValidationCache()} is used.
+	 * @param validationCache the {@link ValidationResultCache} or {@literal null} to always run the constraints
+	 */
+	public void setValidationCache(ValidationResultCache validationCache)
+	{
+		this.validationCache = validationCache;
+	}
+
 	/**
 	 * Set a implementation of {@link ValidationListener} to call for a fail or success validation.
 	 * This configuration is optional.
@@ -134,24 +343,218 @@ public class FormValidator<T>
 	 */
 	public List<ValidationError> validate()
 	{
-		Set<ConstraintViolation<ValidationModel>> violations = validator.validate(model);
+		Validator current = getValidator();
+		BeanDescriptor descriptor = current.getConstraintsForClass(model.getClass());
+		if(!isMemoizable(descriptor)) return applyErrors(toErrors(current.validate(model, groups)));
+		Set<ConstraintViolation<ValidationModel>> violations = new LinkedHashSet<ConstraintViolation<ValidationModel>>();
+		for (PropertyDescriptor property : descriptor.getConstrainedProperties()) {
+			String name = property.getPropertyName();
+			if(FormBindingPlan.isPureField(model.getClass(), name)) {
+				violations.addAll(validateValue(current, name, readProperty(name), groups));
+			} else {
+				violations.addAll(current.validateProperty(model, name, groups));
+			}
+			if(failFast && !violations.isEmpty()) break;
+		}
+		return applyErrors(toErrors(violations));
+	}
+
+	/**
+	 * Perform the validation of the {@link ValidationModel} like {@link #validate()}, but on a background thread, so slow
+	 * constraints, like a uniqueness check on a database, do not stall the JavaFX Application Thread. Must be called on the
+	 * JavaFX Application Thread. The form elements of a {@link FormModel} are copied to the model and the values of the
+	 * constrained properties are snapshot right away, copying the value of the JavaFX properties. After the delay the snapshot is validated in background with
+	 * {@link Validator#validateValue(Class, String, Object, Class...)}, and the errors are delivered to the model and the
+	 * listener on the JavaFX Application Thread.
+	 * <p>
+	 * A new call within the delay or while a validation is running supersedes the previous one, which is cancelled and
+	 * never delivered, so the validation of a fast typing user runs once.
+	 *
+	 * <br><b>NOTE:</b> Only property constraints are validated, class level and cascaded constraints require {@link #validate()}.
+	 * @param delay the debounce delay
+	 * @param unit the {@link TimeUnit} of the delay
+	 * @return the {@link Future} of the {@link ValidationError} list, completed after the delivery
+	 * @see AsyncUtils#debounce(Object, long, TimeUnit, java.util.concurrent.Callable, java.util.function.Consumer)
+	 */
+	public Future<List<ValidationError>> validateAsync(long delay, TimeUnit unit)
+	{
+		if(model instanceof FormModel) ((FormModel) model).setValuesFromForm();
+		Map<String, Object> snapshot = new LinkedHashMap<String, Object>();
+		Validator current = getValidator();
+		Class<?>[] currentGroups = groups;
+		for (PropertyDescriptor property : current.getConstraintsForClass(model.getClass()).getConstrainedProperties()) {
+			snapshot.put(property.getPropertyName(), readProperty(property.getPropertyName()));
+		}
+		return AsyncUtils.debounce(this, delay, unit, () -> {
+			List<ValidationError> errors = new ArrayList<ValidationError>();
+			for (Map.Entry<String, Object> value : snapshot.entrySet()) {
+				errors.addAll(toErrors(validateValue(current, value.getKey(), value.getValue(), currentGroups)));
+				if(failFast && !errors.isEmpty()) break;
+			}
+			return errors;
+		}, this::applyErrors);
+	}
+
+	/**
+	 * Perform the validation of a single property of the {@link ValidationModel} with {@link Validator#validateProperty(Object, String, Class...)}.
+	 * Only the errors of this property are replaced. If they changed, this method calls {@link ValidationModel#setValidation(List)}
+	 * with all the current errors and {@link ValidationListener#onFieldValidationChanged(String, List)} if a listener is present.
+	 * @param property the name of the model property
+	 * @return a non {@literal null} {@link ValidationError} list of the property
+	 * @throws IllegalArgumentException if property is null or not a property of the model
+	 */
+	public List<ValidationError> validateField(String property)
+	{
+		if(property == null)
+			throw new IllegalArgumentException("property must not be null");
+		Validator current = getValidator();
+		Class<?>[] fieldGroups = getFieldGroups(property);
+		Set<ConstraintViolation<ValidationModel>> violations = FormBindingPlan.isPureField(model.getClass(), property)
+				? validateValue(current, property, readProperty(property), fieldGroups)
+				: current.validateProperty(model, property, fieldGroups);
+		return applyFieldErrors(property, toErrors(violations));
+	}
+
+	/**
+	 * Perform the validation of a single property like {@link #validateField(String)}, but on a background thread. Must be
+	 * called on the JavaFX Application Thread, the property value is snapshot right away and validated after the delay with
+	 * {@link Validator#validateValue(Class, String, Object, Class...)}. A new call for the same property supersedes the previous one.
+	 * @param property the name of the model property
+	 * @param delay the debounce delay
+	 * @param unit the {@link TimeUnit} of the delay
+	 * @return the {@link Future} of the {@link ValidationError} list of the property, completed after the delivery
+	 * @throws IllegalArgumentException if property is null
+	 */
+	public Future<List<ValidationError>> validateFieldAsync(String property, long delay, TimeUnit unit)
+	{
+		if(property == null)
+			throw new IllegalArgumentException("property must not be null");
+		Object value = readProperty(property);
+		Validator current = getValidator();
+		Class<?>[] fieldGroups = getFieldGroups(property);
+		asyncProperties.add(property);
+		return AsyncUtils.debounce(Arrays.asList(this, property), delay, unit,
+				() -> toErrors(validateValue(current, property, value, fieldGroups)),
+				errors -> applyFieldErrors(property, errors));
+	}
+
+	/**
+	 * Cancel the pending and running asynchronous validations, none of them will be delivered
+	 */
+	public void cancelAsyncValidation()
+	{
+		AsyncUtils.cancel(this);
+		for (String property : asyncProperties) {
+			AsyncUtils.cancel(Arrays.asList(this, property));
+		}
+		asyncProperties.clear();
+	}
+
+	/**
+	 * Get the current errors, as left by the last {@link #validate()} and the following {@link #validateField(String)} calls
+	 * @return the unmodifiable {@link ValidationError} list
+	 */
+	public List<ValidationError> getErrors()
+	{
+		List<ValidationError> errors = new ArrayList<ValidationError>();
+		for (List<ValidationError> propertyErrors : fieldErrors.values()) {
+			errors.addAll(propertyErrors);
+		}
+		return Collections.unmodifiableList(errors);
+	}
+
+	/**
+	 * Start validating each form element bound by {@link ValidationBind} when its value changes or it loses the focus.
+	 * The edited value is copied to the model with {@link FormModel#setValueFromForm(Field)} and only its property is
+	 * validated with {@link #validateField(String)}. Must be called on the JavaFX Application Thread after the form
+	 * elements were loaded.
+	 * @throws IllegalStateException if the model is not a {@link FormModel}
+	 */
+	public void enableFieldValidation()
+	{
+		bindFields(this::validateField);
+	}
+
+	/**
+	 * Start validating each form element bound by {@link ValidationBind} like {@link #enableFieldValidation()}, but with
+	 * {@link #validateFieldAsync(String, long, TimeUnit)}, so slow constraints run in background once the user pauses.
+	 * @param delay the debounce delay
+	 * @param unit the {@link TimeUnit} of the delay
+	 * @throws IllegalStateException if the model is not a {@link FormModel}
+	 */
+	public void enableFieldValidation(long delay, TimeUnit unit)
+	{
+		bindFields(property -> validateFieldAsync(property, delay, unit));
+	}
+
+	/**
+	 * Stop the field validation started by {@link #enableFieldValidation()}
+	 */
+	public void disableFieldValidation()
+	{
+		for (Runnable binding : fieldBindings) {
+			binding.run();
+		}
+		fieldBindings.clear();
+	}
+
+	public boolean isFieldValidationEnabled()
+	{
+		return !fieldBindings.isEmpty();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void bindFields(Consumer<String> validation)
+	{
+		if(!(model instanceof FormModel))
+			throw new IllegalStateException("Field validation requires a FormModel");
+		disableFieldValidation();
+		FormModel formModel = (FormModel) model;
+		for (Binding binding : formModel.getBindingPlan().getBindings()) {
+			Field contextField = binding.getContextField();
+			Node fieldNode = binding.getNode(formModel.getContext());
+			ObservableValue<Object> value = (fieldNode != null)
+					? (ObservableValue<Object>) formModel.getContextFieldValueProperty(contextField, fieldNode) : null;
+			if(value == null) continue;
+			String property = binding.getModelField().getName();
+			ChangeListener<Object> valueListener = (observable, oldValue, newValue) -> {
+				formModel.setValueFromForm(contextField);
+				validation.accept(property);
+			};
+			ChangeListener<Boolean> focusListener = (observable, oldValue, focused) -> {
+				if(!focused) validation.accept(property);
+			};
+			value.addListener(valueListener);
+			fieldNode.focusedProperty().addListener(focusListener);
+			fieldBindings.add(() -> {
+				value.removeListener(valueListener);
+				fieldNode.focusedProperty().removeListener(focusListener);
+			});
+		}
+	}
+
+	//Shared with the BulkValidator, the error field is resolved from the class of the validated model
+	static List<ValidationError> toErrors(Set<? extends ConstraintViolation<?>> violations)
+	{
 		List<ValidationError> errors = new ArrayList<ValidationError>();
-		for (ConstraintViolation<ValidationModel> violation : violations)
+		for (ConstraintViolation<?> violation : violations)
 		{
-			String field = violation.getPropertyPath().toString();
-			try {
-				Field clsField = model.getClass().getDeclaredField(field);
-				if(clsField.isAnnotationPresent(ValidationBind.class)) {
-					field = clsField.getAnnotation(ValidationBind.class).value();
-				}
-			} catch (Exception e) {
-				LOGGER.error(e.getMessage(), e);
-			}
+			String field = FormBindingPlan.getErrorField(violation.getRootBeanClass(), violation.getPropertyPath().toString());
 			errors.add(new ValidationError(field, violation.getMessage(), violation.getInvalidValue()));
 		}
+		return errors;
+	}
+
+	//Replace all the current errors and notify the model and the listener
+	private List<ValidationError> applyErrors(List<ValidationError> errors)
+	{
+		fieldErrors.clear();
+		for (ValidationError error : errors) {
+			fieldErrors.computeIfAbsent(error.getField(), key -> new ArrayList<ValidationError>()).add(error);
+		}
 		model.setValidation(errors);
 		if(validationListener != null) {
-			if(violations.isEmpty()) {
+			if(errors.isEmpty()) {
 				validationListener.onValidationSucceeded();
 			} else {
 				validationListener.onValidationFailed(errors);
@@ -159,4 +562,130 @@ public class FormValidator<T>
 		}
 		return errors;
 	}
+
+	//Replace the errors of a single property, the model and the listener are only notified of a change
+	private List<ValidationError> applyFieldErrors(String property, List<ValidationError> errors)
+	{
+		String field = getErrorField(property);
+		List<ValidationError> previous = (errors.isEmpty()) ? fieldErrors.remove(field) : fieldErrors.put(field, errors);
+		if(!getMessages(previous).equals(getMessages(errors))) {
+			model.setValidation(getErrors());
+			if(validationListener != null) validationListener.onFieldValidationChanged(field, errors);
+		}
+		return errors;
+	}
+
+	//Validate a value of a property, served by the validation cache when the property constraints are pure
+	private Set<ConstraintViolation<ValidationModel>> validateValue(Validator current, String property, Object value,
+			Class<?>[] validationGroups)
+	{
+		ValidationResultCache cache = validationCache;
+		if(cache == null || !FormBindingPlan.isPureField(model.getClass(), property))
+			return current.validateValue(getModelType(), property, value, validationGroups);
+		//An ObservableValue has identity equality, so the key is the value it holds
+		Object keyValue = (value instanceof ObservableValue) ? ((ObservableValue<?>) value).getValue() : value;
+		List<Object> key = Arrays.asList(current, model.getClass(), property, Arrays.asList(validationGroups), keyValue);
+		return cache.get(key, () -> current.validateValue(getModelType(), property, value, validationGroups));
+	}
+
+	//The properties can be validated one by one only without class level or cascaded constraints, and without group
+	//sequences, which stop at the first group with a violation on the whole bean instead of on each property
+	private boolean isMemoizable(BeanDescriptor descriptor)
+	{
+		if(validationCache == null || !descriptor.getConstraintDescriptors().isEmpty()) return false;
+		if(hasGroupSequence(model.getClass())) return false;
+		for (Class<?> group : groups) {
+			if(group.isAnnotationPresent(GroupSequence.class)) return false;
+		}
+		boolean pure = false;
+		for (PropertyDescriptor property : descriptor.getConstrainedProperties()) {
+			if(property.isCascaded()) return false;
+			pure |= FormBindingPlan.isPureField(model.getClass(), property.getPropertyName());
+		}
+		return pure;
+	}
+
+	private Validator getValidator()
+	{
+		return (failFast) ? failFastValidator : validator;
+	}
+
+	//The default validator has a shared fail fast counterpart, a custom one has to be built by its own factory
+	private static Validator toFailFast(Validator validator)
+	{
+		if(validator == getDefaultValidator()) return getDefaultFailFastValidator();
+		try {
+			return validator.unwrap(HibernateValidatorFactory.class).usingContext().failFast(true).getValidator();
+		} catch (ValidationException e) {
+			throw new IllegalStateException("The validator does not unwrap to a HibernateValidatorFactory, "
+					+ "fail fast is not supported", e);
+		}
+	}
+
+	//A model redefining its default group sequence
+	private static boolean hasGroupSequence(Class<?> modelType)
+	{
+		for (Class<?> type = modelType; type != null && type != Object.class; type = type.getSuperclass()) {
+			if(type.isAnnotationPresent(GroupSequence.class) || type.isAnnotationPresent(GroupSequenceProvider.class)) return true;
+		}
+		return false;
+	}
+
+	//The ValidationBind groups of the field or else the groups of this form validator
+	private Class<?>[] getFieldGroups(String property)
+	{
+		Class<?>[] fieldGroups = (model instanceof FormModel) ? ((FormModel) model).getBindingPlan().getGroups(property)
+				: FormBindingPlan.getFieldGroups(model.getClass(), property);
+		return (fieldGroups.length > 0) ? fieldGroups : groups;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Class<ValidationModel> getModelType()
+	{
+		return (Class<ValidationModel>) model.getClass();
+	}
+
+	//Read a property of the model, the value of a JavaFX property is copied so it can be validated later off the JavaFX thread
+	private Object readProperty(String property)
+	{
+		Object value = FormBindingPlan.readProperty(model, property);
+		if(value instanceof ObservableValue) {
+			//Still an ObservableValue, so the validation provider unwraps it like the attribute itself
+			return new ReadOnlyObjectWrapper<Object>(((ObservableValue<?>) value).getValue());
+		}
+		return value;
+	}
+
+	//The error field is the ValidationBind value of the model property, if present
+	private String getErrorField(String property)
+	{
+		return FormBindingPlan.getErrorField(model.getClass(), property);
+	}
+
+	private static Set<String> getMessages(List<ValidationError> errors)
+	{
+		Set<String> messages = new HashSet<String>();
+		if(errors != null) {
+			for (ValidationError error : errors) {
+				messages.add(error.getMessage());
+			}
+		}
+		return messages;
+	}
+
+	//Built on first use only, a Spring managed validator usually makes it unnecessary
+	private static class DefaultValidatorHolder
+	{
+		private static final ValidatorFactory FACTORY = Validation.byDefaultProvider().configure()
+				.messageInterpolator(CachingMessageInterpolator.create(Boolean.getBoolean(
+						CachingMessageInterpolator.EXPRESSION_LANGUAGE_PROPERTY)))
+				.buildValidatorFactory();
+		private static final Validator VALIDATOR = FACTORY.getValidator();
+	}
+
+	private static class FailFastValidatorHolder
+	{
+		private static final Validator VALIDATOR = DefaultValidatorHolder.FACTORY.unwrap(HibernateValidatorFactory.class)
+				.usingContext().failFast(true).getValidator();
+	}
 }
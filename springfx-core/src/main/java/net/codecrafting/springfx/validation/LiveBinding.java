@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.validation;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+
+import javafx.beans.property.Property;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.WritableBooleanValue;
+import javafx.beans.value.WritableDoubleValue;
+import javafx.beans.value.WritableFloatValue;
+import javafx.beans.value.WritableIntegerValue;
+import javafx.beans.value.WritableLongValue;
+import javafx.beans.value.WritableNumberValue;
+import javafx.beans.value.WritableStringValue;
+
+/**
+ * The two-way binding between the value property of a form element and a {@link Property} attribute of a
+ * {@link FormModel}, behind {@link FormModel#enableLiveBinding()}. Properties holding the same value type are
+ * bound with {@link Property#bindBidirectional(Property)}. The value type of the generic form elements, like a
+ * {@code DatePicker} or a {@code ComboBox}, can't be resolved from their property, so it's taken from their
+ * current value, and they are bound directly while they're empty. Otherwise a pair of listeners converts the values
+ * with a {@link ConversionService}, leaving the other side unchanged when a value can not be converted, like
+ * a half typed number.
+ *
+ * @author Lucas Marotta
+ * @see FormModel#enableLiveBinding()
+ * @see FormModel#getConversionService()
+ */
+final class LiveBinding
+{
+	private static final Log LOGGER = LogFactory.getLog(LiveBinding.class);
+
+	private LiveBinding() {}
+
+	/**
+	 * Bind the form element property to the model property. The model value is copied to the form element,
+	 * unless it's {@literal null}, in which case the form element value is copied to the model.
+	 * @param control the value {@link Property} of the form element
+	 * @param model the {@link Property} attribute of the model
+	 * @param modelType the declared type of the model attribute
+	 * @param conversion the {@link ConversionService} used when the value types differ
+	 * @return the {@link Runnable} that unbinds both properties or {@literal null} if the value types
+	 * can not be converted
+	 */
+	static Runnable bind(Property<Object> control, Property<Object> model, ResolvableType modelType,
+			ConversionService conversion)
+	{
+		Class<?> modelValueType = getValueType(modelType);
+		Class<?> controlValueType = getControlValueType(control, modelValueType);
+		if(controlValueType == modelValueType) {
+			if(model.getValue() == null) model.setValue(control.getValue());
+			control.bindBidirectional(model);
+			return () -> control.unbindBidirectional(model);
+		}
+		if(!conversion.canConvert(controlValueType, modelValueType) || !conversion.canConvert(modelValueType, controlValueType))
+			return null;
+
+		boolean[] updating = new boolean[1];
+		ChangeListener<Object> toModel = (observable, oldValue, newValue) ->
+				copy(newValue, model, modelValueType, conversion, updating);
+		ChangeListener<Object> toControl = (observable, oldValue, newValue) ->
+				copy(newValue, control, controlValueType, conversion, updating);
+		if(model.getValue() == null) {
+			copy(control.getValue(), model, modelValueType, conversion, updating);
+		} else {
+			copy(model.getValue(), control, controlValueType, conversion, updating);
+		}
+		control.addListener(toModel);
+		model.addListener(toControl);
+		return () -> {
+			control.removeListener(toModel);
+			model.removeListener(toControl);
+		};
+	}
+
+	/**
+	 * Get the type of the values held by a {@link Property}. The primitive JavaFX properties are mapped to
+	 * their wrapper types, the others are resolved from the {@link Property} type argument.
+	 * @param type the {@link ResolvableType} of the property
+	 * @return the value type or {@link Object} if it can not be resolved
+	 */
+	static Class<?> getValueType(ResolvableType type)
+	{
+		Class<?> propertyClass = type.resolve(Object.class);
+		if(WritableIntegerValue.class.isAssignableFrom(propertyClass)) return Integer.class;
+		if(WritableLongValue.class.isAssignableFrom(propertyClass)) return Long.class;
+		if(WritableFloatValue.class.isAssignableFrom(propertyClass)) return Float.class;
+		if(WritableDoubleValue.class.isAssignableFrom(propertyClass)) return Double.class;
+		if(WritableBooleanValue.class.isAssignableFrom(propertyClass)) return Boolean.class;
+		if(WritableStringValue.class.isAssignableFrom(propertyClass)) return String.class;
+		return type.as(Property.class).getGeneric(0).resolve(Object.class);
+	}
+
+	//Generic controls, like a DatePicker or a ComboBox, hold an ObjectProperty whose type argument is erased at runtime.
+	//Their value type is taken from the current value, the model type is assumed while they're empty
+	private static Class<?> getControlValueType(Property<Object> control, Class<?> modelValueType)
+	{
+		Class<?> controlValueType = getValueType(ResolvableType.forClass(control.getClass()));
+		if(controlValueType != Object.class) return controlValueType;
+		Object value = control.getValue();
+		return (value == null || modelValueType.isInstance(value)) ? modelValueType : value.getClass();
+	}
+
+	//The guard stops the copy from bouncing back through the listener of the other side
+	private static void copy(Object value, Property<Object> target, Class<?> targetType, ConversionService conversion,
+			boolean[] updating)
+	{
+		if(updating[0]) return;
+		updating[0] = true;
+		try {
+			Object converted = conversion.convert(value, targetType);
+			//Primitive properties can not hold null, like a cleared numeric field
+			if(converted != null || !isPrimitive(target))
+				target.setValue(converted);
+		} catch (ConversionException e) {
+			LOGGER.debug(e.getMessage());
+		} finally {
+			updating[0] = false;
+		}
+	}
+
+	private static boolean isPrimitive(Object property)
+	{
+		return property instanceof WritableNumberValue || property instanceof WritableBooleanValue;
+	}
+}
@@ -71,6 +71,7 @@ import net.codecrafting.springfx.context.ViewContext;
  * @author Lucas Marotta
  * @see #onValidationSucceeded()
  * @see #onValidationFailed(List)
+ * @see #onFieldValidationChanged(String, List)
  */
 public interface ValidationListener 
 {
@@ -84,4 +85,14 @@ public interface ValidationListener
 	 * @param errors a non {@literal null} {@link ValidationError} list
 	 */
 	void onValidationFailed(List<ValidationError> errors);
+	
+	/**
+	 * Call for a change of the errors of a single field in {@link FormValidator#validateField(String)}, like
+	 * when the field validation is enabled and the user edits a form element. Only the changed field is informed.
+	 * <p>
+	 * The default implementation does nothing.
+	 * @param field the field name, which is the {@link ValidationError#getField()} of its errors
+	 * @param errors the current errors of the field, empty if the field became valid
+	 */
+	default void onFieldValidationChanged(String field, List<ValidationError> errors) {}
 }
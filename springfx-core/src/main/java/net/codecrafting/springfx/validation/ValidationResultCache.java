@@ -0,0 +1,152 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.validation;
+
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.validation.ConstraintViolation;
+
+import org.springframework.cache.Cache.ValueWrapper;
+
+import net.codecrafting.springfx.annotation.PureConstraint;
+import net.codecrafting.springfx.cache.LruCache;
+
+/**
+ * A size bounded cache of the constraint violations of the {@link PureConstraint} model attributes, keyed by the
+ * validator, the model class, the attribute, the validation groups and the validated value. A form submitted
+ * again, or a field toggled back to a previous value, is then validated without running its constraints.
+ * The least recently used results are evicted once the cache is full.
+ *
+ * @author Lucas Marotta
+ * @see FormValidator#setValidationCache(ValidationResultCache)
+ * @see FormValidator#getDefaultValidationCache()
+ */
+public class ValidationResultCache
+{
+	/**
+	 * The default maximum number of cached results
+	 */
+	public static final int DEFAULT_MAX_SIZE = 512;
+
+	private final LruCache store;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Create a new instance of {@link ValidationResultCache} with the {@link #DEFAULT_MAX_SIZE}.
+	 */
+	public ValidationResultCache()
+	{
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Create a new instance of {@link ValidationResultCache}.
+	 * @param maxSize the maximum number of cached results
+	 * @throws IllegalArgumentException if maxSize is lower than {@literal 1}
+	 */
+	public ValidationResultCache(int maxSize)
+	{
+		if(maxSize < 1)
+			throw new IllegalArgumentException("maxSize must be greater than 0");
+		store = new LruCache(ValidationResultCache.class.getSimpleName(), maxSize);
+	}
+
+	/**
+	 * Get the cached violations of a value or validate it and cache them
+	 * @param key the key of the validated value
+	 * @param validation the validation of the value
+	 * @return the violations of the value
+	 */
+	@SuppressWarnings("unchecked")
+	<T> Set<ConstraintViolation<T>> get(Object key, Supplier<Set<ConstraintViolation<T>>> validation)
+	{
+		ValueWrapper cached = store.get(key);
+		if(cached != null) {
+			hits.increment();
+			return (Set<ConstraintViolation<T>>) cached.get();
+		}
+		misses.increment();
+		Set<ConstraintViolation<T>> violations = validation.get();
+		store.put(key, violations);
+		return violations;
+	}
+
+	public int getMaxSize()
+	{
+		return store.getMaxSize();
+	}
+
+	public int size()
+	{
+		return store.size();
+	}
+
+	/**
+	 * Get the number of validations served from the cache
+	 * @return the number of hits
+	 */
+	public long getHitCount()
+	{
+		return hits.sum();
+	}
+
+	/**
+	 * Get the number of validations that ran the constraints
+	 * @return the number of misses
+	 */
+	public long getMissCount()
+	{
+		return misses.sum();
+	}
+
+	/**
+	 * Get the number of results evicted to keep the cache within its size
+	 * @return the number of evictions
+	 */
+	public long getEvictionCount()
+	{
+		return store.getEvictionCount();
+	}
+
+	/**
+	 * Get the ratio of validations served from the cache
+	 * @return the hit ratio between {@literal 0} and {@literal 1}
+	 */
+	public double getHitRatio()
+	{
+		long total = getHitCount() + getMissCount();
+		return (total == 0) ? 0 : (double) getHitCount() / total;
+	}
+
+	/**
+	 * Remove all the cached results. The counters are kept.
+	 */
+	public void clear()
+	{
+		store.clear();
+	}
+
+	@Override
+	public String toString()
+	{
+		return "ValidationResultCache [size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount()
+				+ ", evictions=" + getEvictionCount() + "]";
+	}
+}
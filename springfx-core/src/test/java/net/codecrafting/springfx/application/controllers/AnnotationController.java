@@ -20,7 +20,7 @@ import javafx.scene.Node;
 import net.codecrafting.springfx.annotation.ViewController;
 import net.codecrafting.springfx.context.ViewContext;
 
-@ViewController(name="ann", title="test")
+@ViewController(name="ann", title="test", maxConcurrentTasks=2, maxQueuedTasks=8)
 public class AnnotationController extends ViewContext
 {
 	@Override
@@ -228,4 +228,14 @@ public class ValidationController extends ViewContext
 	{
 		this.comboStringField = comboStringField;
 	}
+
+	public ProgressBar getBarField() 
+	{
+		return barField;
+	}
+
+	public void setBarField(ProgressBar barField) 
+	{
+		this.barField = barField;
+	}
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.application.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+
+import net.codecrafting.springfx.context.ViewContext;
+import net.codecrafting.springfx.validation.FormModel;
+import net.codecrafting.springfx.validation.ValidationError;
+
+public class FieldValidationFormModel extends FormModel
+{
+	public static final String TEXT_FIELD_MSG = "The field text must not be empty";
+	public static final String PASS_FIELD_MSG = "The field pass must have at least 4 characters";
+	
+	@NotEmpty(message=TEXT_FIELD_MSG)
+	private String textField;
+	
+	@Size(min=4, message=PASS_FIELD_MSG)
+	private String passField;
+	
+	private List<ValidationError> errors = new ArrayList<ValidationError>();
+	
+	public FieldValidationFormModel(ViewContext context) 
+	{
+		super(context);
+	}
+
+	@Override
+	public void setValidation(List<ValidationError> errors) 
+	{
+		this.errors = errors;
+	}
+	
+	public List<ValidationError> getErrors()
+	{
+		return errors;
+	}
+
+	public String getTextField() 
+	{
+		return textField;
+	}
+
+	public String getPassField() 
+	{
+		return passField;
+	}
+}
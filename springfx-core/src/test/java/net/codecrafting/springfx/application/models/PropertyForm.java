@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.application.models;
+
+import java.util.List;
+
+import javax.validation.constraints.NotEmpty;
+
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import net.codecrafting.springfx.annotation.PureConstraint;
+import net.codecrafting.springfx.validation.ValidationError;
+import net.codecrafting.springfx.validation.ValidationModel;
+
+public class PropertyForm implements ValidationModel
+{
+	public static final String NAME_FIELD_MSG = "The field name must not be empty";
+
+	@PureConstraint
+	@NotEmpty(message=NAME_FIELD_MSG)
+	private final StringProperty name = new SimpleStringProperty("");
+
+	public StringProperty nameProperty()
+	{
+		return name;
+	}
+
+	@Override
+	public void setValidation(List<ValidationError> errors)
+	{
+
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.application.models;
+
+import java.util.List;
+
+import javax.validation.constraints.NotEmpty;
+
+import net.codecrafting.springfx.annotation.ValidationBind;
+import net.codecrafting.springfx.validation.ValidationError;
+import net.codecrafting.springfx.validation.ValidationModel;
+
+public class WizardForm implements ValidationModel
+{
+	public interface AccountStep {}
+	public interface AddressStep {}
+
+	@NotEmpty(groups=AccountStep.class)
+	private String user;
+
+	@NotEmpty(groups=AddressStep.class)
+	@ValidationBind(groups=AddressStep.class)
+	private String street;
+
+	@NotEmpty(groups=AddressStep.class)
+	private String city;
+
+	public String getUser()
+	{
+		return user;
+	}
+
+	public void setUser(String user)
+	{
+		this.user = user;
+	}
+
+	public String getStreet()
+	{
+		return street;
+	}
+
+	public void setStreet(String street)
+	{
+		this.street = street;
+	}
+
+	public String getCity()
+	{
+		return city;
+	}
+
+	public void setCity(String city)
+	{
+		this.city = city;
+	}
+
+	@Override
+	public void setValidation(List<ValidationError> errors)
+	{
+
+	}
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.Timeout;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.framework.autoproxy.DefaultAdvisorAutoProxyCreator;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.NameMatchMethodPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.context.support.GenericApplicationContext;
+import org.testfx.api.FxToolkit;
+import org.testfx.util.WaitForAsyncUtils;
+
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ObservableValue;
+import net.codecrafting.springfx.annotation.FxCacheable;
+
+public class FxCacheInterceptorTest
+{
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Rule
+	public Timeout timeout = Timeout.seconds(10);
+
+	private FxCacheInterceptor interceptor;
+	private TestClock clock;
+
+	@BeforeClass
+	public static void setup() throws Exception
+	{
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@Test
+	public void nullCacheManager()
+	{
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("cacheManager must not be null");
+		new FxCacheInterceptor(null);
+	}
+
+	@Test
+	public void freshResultIsServedFromCache()
+	{
+		CustomerService service = proxy(new CustomerService());
+		assertEquals("customer 1 #1", service.find(1));
+		assertEquals("customer 1 #1", service.find(1));
+		assertEquals("customer 2 #2", service.find(2));
+		FxCacheMetrics metrics = interceptor.getMetrics("CustomerService.find");
+		assertEquals(1, metrics.getHitCount());
+		assertEquals(2, metrics.getMissCount());
+	}
+
+	@Test
+	public void staleResultIsRefreshedInBackground() throws Exception
+	{
+		//The gate is read by the target, the class proxy has fields of its own
+		CustomerService target = new CustomerService();
+		CustomerService service = proxy(target);
+		assertEquals("all #1", service.findAll());
+		clock.advance(80);
+		target.refreshGate = new CountDownLatch(1);
+		assertEquals("all #1", service.findAll());
+		assertEquals("all #1", service.findAll());
+		FxCacheMetrics metrics = interceptor.getMetrics("customers");
+		target.refreshGate.countDown();
+		WaitForAsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> metrics.getRefreshCount() == 1);
+		assertEquals("all #2", service.findAll());
+		assertEquals(2, service.getCalls());
+		assertEquals(2, metrics.getStaleHitCount());
+	}
+
+	@Test
+	public void expiredResultIsLoadedAgain() throws Exception
+	{
+		CustomerService service = proxy(new CustomerService());
+		assertEquals("recent #1", service.findRecent());
+		clock.advance(80);
+		assertEquals("recent #2", service.findRecent());
+		assertEquals(2, interceptor.getMetrics("CustomerService.findRecent").getMissCount());
+	}
+
+	@Test
+	public void observableResultIsUpdatedOnRefresh() throws Exception
+	{
+		CustomerService service = proxy(new CustomerService());
+		ObservableValue<String> first = service.watchAll();
+		assertEquals("watch #1", first.getValue());
+		clock.advance(80);
+		assertSame(first, service.watchAll());
+		WaitForAsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> "watch #2".equals(first.getValue()));
+		assertTrue(interceptor.getMetrics("CustomerService.watchAll").getRefreshCount() >= 1);
+	}
+
+	@Test
+	public void lruCacheEvictsLeastRecentlyUsed()
+	{
+		LruCache cache = new LruCache("test", 2);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		cache.get("a");
+		cache.put("c", 3);
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.get("a").get());
+		assertEquals(null, cache.get("b"));
+		assertEquals(1, cache.getEvictionCount());
+	}
+
+	@Test
+	public void postProcessorOnlyProxiesCacheableBeansByClass()
+	{
+		try (GenericApplicationContext context = new GenericApplicationContext()) {
+			context.registerBean(FxCacheInterceptor.class, () -> new FxCacheInterceptor(new LruCacheManager()));
+			context.registerBean(FxCacheablePostProcessor.class,
+					() -> new FxCacheablePostProcessor(context.getBeanProvider(FxCacheInterceptor.class)));
+			context.registerBean(DefaultAdvisorAutoProxyCreator.class);
+			context.registerBean(Advisor.class, () -> {
+				NameMatchMethodPointcutAdvisor advisor = new NameMatchMethodPointcutAdvisor(
+						(MethodInterceptor) invocation -> "advised " + invocation.proceed());
+				advisor.setMappedName("greet");
+				return advisor;
+			});
+			context.registerBean(CustomerService.class);
+			context.registerBean(Greeter.class, () -> name -> "hello " + name);
+			context.refresh();
+			CustomerService service = context.getBean(CustomerService.class);
+			assertTrue(AopUtils.isCglibProxy(service));
+			assertEquals("customer 1 #1", service.find(1));
+			assertEquals("customer 1 #1", service.find(1));
+			Greeter greeter = context.getBean(Greeter.class);
+			assertTrue(AopUtils.isJdkDynamicProxy(greeter));
+			assertEquals("advised hello foo", greeter.greet("foo"));
+		}
+	}
+
+	private CustomerService proxy(CustomerService target)
+	{
+		clock = new TestClock();
+		interceptor = new FxCacheInterceptor(new LruCacheManager(), clock);
+		ProxyFactory factory = new ProxyFactory(target);
+		factory.setProxyTargetClass(true);
+		factory.addAdvisor(new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forMethodAnnotation(FxCacheable.class), interceptor));
+		return (CustomerService) factory.getProxy();
+	}
+
+	public static class CustomerService
+	{
+		private final AtomicInteger calls = new AtomicInteger();
+		private volatile CountDownLatch refreshGate;
+
+		public int getCalls()
+		{
+			return calls.get();
+		}
+
+		@FxCacheable
+		public String find(int id)
+		{
+			return "customer " + id + " #" + calls.incrementAndGet();
+		}
+
+		@FxCacheable(value = "customers", staleAfter = 50)
+		public String findAll() throws InterruptedException
+		{
+			CountDownLatch gate = refreshGate;
+			if(gate != null) gate.await();
+			return "all #" + calls.incrementAndGet();
+		}
+
+		@FxCacheable(staleAfter = 0, ttl = 50)
+		public String findRecent()
+		{
+			return "recent #" + calls.incrementAndGet();
+		}
+
+		@FxCacheable(staleAfter = 50)
+		public ObservableValue<String> watchAll()
+		{
+			return new SimpleObjectProperty<String>("watch #" + calls.incrementAndGet());
+		}
+	}
+
+	public interface Greeter
+	{
+		String greet(String name);
+	}
+
+	//A clock that only moves when told, so the cache ages do not depend on the wall clock
+	private static class TestClock extends Clock
+	{
+		private final AtomicLong millis = new AtomicLong(System.currentTimeMillis());
+
+		private void advance(long delta)
+		{
+			millis.addAndGet(delta);
+		}
+
+		@Override
+		public long millis()
+		{
+			return millis.get();
+		}
+
+		@Override
+		public Instant instant()
+		{
+			return Instant.ofEpochMilli(millis());
+		}
+
+		@Override
+		public ZoneId getZone()
+		{
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone)
+		{
+			throw new UnsupportedOperationException();
+		}
+	}
+}
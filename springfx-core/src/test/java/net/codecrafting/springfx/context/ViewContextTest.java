@@ -34,6 +34,7 @@ import javafx.scene.layout.AnchorPane;
 import net.codecrafting.springfx.application.controllers.AnnotationController;
 import net.codecrafting.springfx.application.controllers.TestController;
 import net.codecrafting.springfx.application.controllers.TestWithoutAnnotationController;
+import net.codecrafting.springfx.util.Bulkhead;
 
 public class ViewContextTest 
 {
@@ -125,6 +126,16 @@ public class ViewContextTest
 		assertEquals("test", context.getViewTitle());
 	}
 	
+	@Test
+	public void contextWithViewControllerAnnotationBulkhead()
+	{
+		assertNull(new TestController().getTaskScope().getBulkhead());
+		Bulkhead bulkhead = new AnnotationController().getTaskScope().getBulkhead();
+		assertEquals("ann", bulkhead.getName());
+		assertEquals(2, bulkhead.getMaxConcurrent());
+		assertEquals(8, bulkhead.getMaxQueued());
+	}
+	
 	@Test
 	public void initialize() throws Exception
 	{
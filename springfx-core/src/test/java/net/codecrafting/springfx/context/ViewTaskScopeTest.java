@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.testfx.api.FxToolkit;
+
+import net.codecrafting.springfx.application.controllers.TestController;
+import net.codecrafting.springfx.util.PollingTask;
+
+public class ViewTaskScopeTest
+{
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private ViewTaskScope scope;
+
+	@BeforeClass
+	public static void setup() throws Exception
+	{
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@Before
+	public void init()
+	{
+		scope = new TestController().getTaskScope();
+	}
+
+	@Test
+	public void contextMustNotBeNull()
+	{
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("context must not be null");
+		new ViewTaskScope(null);
+	}
+
+	@Test
+	public void activeByDefault()
+	{
+		assertNotNull(scope.getContext());
+		assertTrue(scope.isActive());
+	}
+
+	@Test
+	public void trackedTaskIsCancelledOnDeactivate() throws Exception
+	{
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		Future<Void> future = scope.async(() -> {
+			started.countDown();
+			try {
+				Thread.sleep(10000);
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		assertEquals(1, scope.getPendingTaskCount());
+		scope.deactivate();
+		assertFalse(scope.isActive());
+		assertTrue(future.isCancelled());
+		assertTrue("running task was not interrupted", interrupted.await(5, TimeUnit.SECONDS));
+		assertEquals(0, scope.getPendingTaskCount());
+	}
+
+	@Test
+	public void inactiveScopeRejectsTasks()
+	{
+		scope.deactivate();
+		assertTrue(scope.async(() -> "foo").isCancelled());
+		assertTrue(scope.asyncFx(() -> {}).isCancelled());
+		CompletableFuture<Void> external = new CompletableFuture<Void>();
+		scope.track(external);
+		assertTrue(external.isCancelled());
+		scope.activate();
+		assertTrue(scope.isActive());
+	}
+
+	@Test
+	public void finishedTasksAreNotRetained() throws Exception
+	{
+		Future<String> future = scope.async(() -> "foo");
+		assertEquals("foo", future.get(5, TimeUnit.SECONDS));
+		assertEquals(0, scope.getPendingTaskCount());
+	}
+
+	@Test
+	public void pollIsPausedOnDeactivateAndResumedOnActivate() throws Exception
+	{
+		Semaphore polled = new Semaphore(0);
+		PollingTask<Integer> task = scope.poll(() -> {
+			polled.release();
+			return 1;
+		}, value -> {}, 10, TimeUnit.MILLISECONDS);
+		assertTrue(polled.tryAcquire(5, TimeUnit.SECONDS));
+		assertEquals(1, scope.getPendingTaskCount());
+		scope.deactivate();
+		assertTrue(task.isPaused());
+		assertFalse(task.isCancelled());
+		Thread.sleep(100);
+		polled.drainPermits();
+		Thread.sleep(100);
+		assertEquals(0, polled.availablePermits());
+		scope.activate();
+		assertFalse(task.isPaused());
+		assertTrue(polled.tryAcquire(5, TimeUnit.SECONDS));
+		scope.evict();
+		assertTrue(task.isCancelled());
+		assertEquals(0, scope.getPendingTaskCount());
+		assertTrue(scope.poll(() -> 1, value -> {}, 10, TimeUnit.MILLISECONDS).isCancelled());
+	}
+
+	@Test
+	public void evictionListenersRunOnlyOnEvict()
+	{
+		int[] runs = new int[1];
+		scope.onEvict(() -> runs[0]++);
+		scope.deactivate();
+		assertEquals(0, runs[0]);
+		scope.activate();
+		scope.evict();
+		assertFalse(scope.isActive());
+		assertEquals(1, runs[0]);
+		scope.evict();
+		assertEquals(1, runs[0]);
+
+		Runnable removed = () -> runs[0]++;
+		scope.onEvict(removed);
+		assertTrue(scope.removeEvictionListener(removed));
+		scope.evict();
+		assertEquals(1, runs[0]);
+	}
+}
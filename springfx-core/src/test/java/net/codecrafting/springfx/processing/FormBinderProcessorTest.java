@@ -0,0 +1,235 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.processing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeNotNull;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.testfx.api.FxToolkit;
+
+import javafx.beans.property.StringProperty;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Slider;
+import javafx.scene.control.TextArea;
+import javafx.scene.control.TextField;
+import net.codecrafting.springfx.context.ViewContext;
+import net.codecrafting.springfx.validation.FormBinder;
+import net.codecrafting.springfx.validation.FormModel;
+
+public class FormBinderProcessorTest
+{
+	private static final String CONTEXT = "package binder;\n"
+			+ "import javafx.scene.Node;\n"
+			+ "import javafx.scene.control.*;\n"
+			+ "import net.codecrafting.springfx.annotation.ValidationBind;\n"
+			+ "import net.codecrafting.springfx.context.ViewContext;\n"
+			+ "public class BinderController extends ViewContext {\n"
+			+ "  @ValidationBind(\"name\") TextField nameField = new TextField();\n"
+			+ "  @ValidationBind CheckBox active = new CheckBox();\n"
+			+ "  @ValidationBind ComboBox<?> kind = new ComboBox<String>();\n"
+			+ "  @ValidationBind private Slider amount = new Slider();\n"
+			+ "  @ValidationBind private Slider count = new Slider();\n"
+			+ "  @ValidationBind ProgressBar progress = new ProgressBar();\n"
+			+ "  @ValidationBind TextArea missing = new TextArea();\n"
+			+ "  @ValidationBind TextArea notes = new TextArea();\n"
+			+ "  @ValidationBind NameField alias = new NameField();\n"
+			+ "  public Slider getAmount() { return amount; }\n"
+			+ "  public Slider getCount() { return count; }\n"
+			+ "  public Node getMainNode() { return null; }\n"
+			+ "  protected void onCreate() {}\n"
+			+ "  protected void onStart() {}\n"
+			+ "  public static class NameField extends TextField {}\n"
+			+ "}\n";
+
+	private static final String MODEL = "package binder;\n"
+			+ "import java.util.List;\n"
+			+ "import net.codecrafting.springfx.annotation.FormBinding;\n"
+			+ "import net.codecrafting.springfx.context.ViewContext;\n"
+			+ "import net.codecrafting.springfx.validation.*;\n"
+			+ "@FormBinding(BinderController.class)\n"
+			+ "public class BinderModel extends FormModel {\n"
+			+ "  private String name;\n"
+			+ "  boolean active;\n"
+			+ "  String kind;\n"
+			+ "  private double amount;\n"
+			+ "  double count;\n"
+			+ "  Double progress;\n"
+			+ "  String alias;\n"
+			+ "  private final javafx.beans.property.StringProperty notes = new javafx.beans.property.SimpleStringProperty();\n"
+			+ "  public BinderModel(ViewContext context) { super(context); }\n"
+			+ "  public String getName() { return name; }\n"
+			+ "  public void setName(String name) { this.name = (name != null) ? name.trim() : null; }\n"
+			+ "  public double getAmount() { return amount; }\n"
+			+ "  public void setAmount(double amount) { this.amount = amount; }\n"
+			+ "  public javafx.beans.property.StringProperty notesProperty() { return notes; }\n"
+			+ "  public void setValidation(List<ValidationError> errors) {}\n"
+			+ "}\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@BeforeClass
+	public static void setup() throws Exception
+	{
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@Test
+	public void generatedBinderIsUsedByFormModel() throws Exception
+	{
+		DiagnosticCollector<JavaFileObject> diagnostics = compile(CONTEXT, MODEL);
+		assertTrue(diagnostics.getDiagnostics().toString(), errors(diagnostics).isEmpty());
+		try (URLClassLoader loader = new URLClassLoader(new URL[] {folder.getRoot().toURI().toURL()}, getClass().getClassLoader())) {
+			Class<?> binderClass = loader.loadClass("binder.BinderModel" + FormBinder.CLASS_SUFFIX);
+			assertTrue(FormBinder.class.isAssignableFrom(binderClass));
+			//Controls without a built in adapter, subclasses of the built in controls and private attributes are left to the FormModel
+			FormBinder<?, ?> binder = (FormBinder<?, ?>) binderClass.getDeclaredConstructor().newInstance();
+			assertEquals(new HashSet<String>(Arrays.asList("active", "kind", "count", "notes")), binder.getBoundFields());
+
+			ViewContext context = (ViewContext) loader.loadClass("binder.BinderController").getDeclaredConstructor().newInstance();
+			FormModel model = (FormModel) loader.loadClass("binder.BinderModel").getDeclaredConstructor(ViewContext.class)
+					.newInstance(context);
+			TextField nameField = (TextField) field(context, "nameField");
+			nameField.setText("  binder ");
+			((CheckBox) field(context, "active")).setSelected(true);
+			@SuppressWarnings("unchecked")
+			ComboBox<String> kind = (ComboBox<String>) field(context, "kind");
+			kind.setValue("generated");
+			((Slider) field(context, "amount")).setValue(42);
+			((Slider) field(context, "count")).setValue(7);
+			TextArea notes = (TextArea) field(context, "notes");
+			notes.setText("property");
+			((TextField) field(context, "alias")).setText("subclass");
+			model.setValuesFromForm();
+
+			//The fields are set directly by both the binder and the reflective bindings, the setters are not called
+			assertEquals("  binder ", field(model, "name"));
+			assertEquals(true, field(model, "active"));
+			assertEquals("generated", field(model, "kind"));
+			assertEquals(42.0, field(model, "amount"));
+			assertEquals(7.0, field(model, "count"));
+			assertEquals("property", ((StringProperty) field(model, "notes")).get());
+			assertEquals("subclass", field(model, "alias"));
+
+			nameField.setText(null);
+			kind.setValue(null);
+			((StringProperty) field(model, "notes")).set("to form");
+			model.setValuesToForm();
+			assertEquals("  binder ", nameField.getText());
+			assertEquals("generated", kind.getValue());
+			assertEquals("to form", notes.getText());
+
+			//The unedited form elements holding a value different from the model are copied too
+			setField(model, "active", false);
+			kind.setValue("edited");
+			model.setValuesFromForm();
+			assertEquals("edited", field(model, "kind"));
+			assertEquals(true, field(model, "active"));
+		}
+	}
+
+	@Test
+	public void incompatibleTypesFailCompilation() throws Exception
+	{
+		DiagnosticCollector<JavaFileObject> diagnostics = compile(CONTEXT, MODEL.replace("boolean active;", "java.time.LocalDate active;"));
+		List<String> errors = errors(diagnostics);
+		assertEquals(1, errors.size());
+		assertTrue(errors.get(0), errors.get(0).contains("active"));
+		assertFalse(new File(folder.getRoot(), "binder/BinderModel_FormBinder.class").exists());
+	}
+
+	@Test
+	public void inaccessibleFormElementFailsCompilation() throws Exception
+	{
+		DiagnosticCollector<JavaFileObject> diagnostics = compile(CONTEXT.replace("public Slider getCount()", "Slider count()"), MODEL);
+		List<String> errors = errors(diagnostics);
+		assertEquals(1, errors.size());
+		assertTrue(errors.get(0), errors.get(0).contains("count must be accessible"));
+	}
+
+	private DiagnosticCollector<JavaFileObject> compile(String context, String model) throws Exception
+	{
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		assumeNotNull(compiler);
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+		List<String> options = Arrays.asList("-d", folder.getRoot().getPath(), "-classpath", System.getProperty("java.class.path"));
+		JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null,
+				Arrays.asList(source("binder/BinderController", context), source("binder/BinderModel", model)));
+		task.setProcessors(Collections.singletonList(new FormBinderProcessor()));
+		task.call();
+		return diagnostics;
+	}
+
+	private static List<String> errors(DiagnosticCollector<JavaFileObject> diagnostics)
+	{
+		List<String> errors = new ArrayList<String>();
+		for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+			if(diagnostic.getKind() == Diagnostic.Kind.ERROR) errors.add(diagnostic.getMessage(null));
+		}
+		return errors;
+	}
+
+	private static JavaFileObject source(String name, String code)
+	{
+		return new SimpleJavaFileObject(URI.create("string:///" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors)
+			{
+				return code;
+			}
+		};
+	}
+
+	private static Object field(Object target, String name) throws Exception
+	{
+		Field field = target.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		return field.get(target);
+	}
+
+	private static void setField(Object target, String name, Object value) throws Exception
+	{
+		Field field = target.getClass().getDeclaredField(name);
+		field.setAccessible(true);
+		field.set(target, value);
+	}
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.testfx.api.FxToolkit;
+
+import javafx.application.Platform;
+import net.codecrafting.springfx.util.SpringFXExecutor.RejectionPolicy;
+
+public class AsyncOperatorsTest
+{
+	@Rule
+	public Timeout timeout = Timeout.seconds(10);
+
+	@BeforeClass
+	public static void setUpClass() throws TimeoutException
+	{
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@Test
+	public void debounceDeliversOnlyTheLastCall() throws Exception
+	{
+		Object key = new Object();
+		AtomicInteger calls = new AtomicInteger();
+		List<Boolean> fxThread = new ArrayList<Boolean>();
+		List<Future<String>> futures = new ArrayList<Future<String>>();
+		for (int i = 0; i < 5; i++) {
+			String value = "value" + i;
+			futures.add(AsyncUtils.debounce(key, 100, TimeUnit.MILLISECONDS, () -> {
+				calls.incrementAndGet();
+				return value;
+			}, result -> fxThread.add(Platform.isFxApplicationThread())));
+		}
+		assertEquals("value4", futures.get(4).get(5, TimeUnit.SECONDS));
+		for (int i = 0; i < 4; i++) {
+			assertTrue(futures.get(i).isCancelled());
+		}
+		assertEquals(1, calls.get());
+		assertEquals(1, fxThread.size());
+		assertTrue(fxThread.get(0));
+		AsyncUtils.waitForFxEvents();
+		assertFalse(AsyncOperators.isActive(key));
+	}
+
+	@Test
+	public void latestCancelsTheRunningCall() throws Exception
+	{
+		Object key = new Object();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		List<String> delivered = new ArrayList<String>();
+		Future<String> first = AsyncUtils.latest(key, () -> {
+			started.countDown();
+			try {
+				Thread.sleep(10000);
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+			return "first";
+		}, delivered::add);
+		started.await();
+		Future<String> second = AsyncUtils.latest(key, () -> "second", delivered::add);
+		assertEquals("second", second.get(5, TimeUnit.SECONDS));
+		assertTrue(first.isCancelled());
+		assertTrue("superseded call was not interrupted", interrupted.await(5, TimeUnit.SECONDS));
+		AsyncUtils.waitForFxEvents();
+		assertEquals(1, delivered.size());
+		assertEquals("second", delivered.get(0));
+	}
+
+	@Test
+	public void throttleKeepsOnlyTheTrailingCall() throws Exception
+	{
+		Object key = new Object();
+		AtomicInteger calls = new AtomicInteger();
+		Future<Integer> leading = AsyncUtils.throttle(key, 300, TimeUnit.MILLISECONDS, calls::incrementAndGet, value -> {});
+		Future<Integer> dropped = AsyncUtils.throttle(key, 300, TimeUnit.MILLISECONDS, calls::incrementAndGet, value -> {});
+		Future<Integer> trailing = AsyncUtils.throttle(key, 300, TimeUnit.MILLISECONDS, calls::incrementAndGet, value -> {});
+		assertEquals(Integer.valueOf(1), leading.get(5, TimeUnit.SECONDS));
+		assertTrue(dropped.isCancelled());
+		assertFalse(trailing.isDone());
+		assertEquals(Integer.valueOf(2), trailing.get(5, TimeUnit.SECONDS));
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	public void throttleLetsTheRunningCallDeliver() throws Exception
+	{
+		Object key = new Object();
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		List<String> delivered = new ArrayList<String>();
+		Future<String> slow = AsyncUtils.throttle(key, 1, TimeUnit.MILLISECONDS, () -> {
+			calls.incrementAndGet();
+			started.countDown();
+			release.await();
+			return "slow";
+		}, delivered::add);
+		started.await();
+		Thread.sleep(10);
+		Future<String> dropped = AsyncUtils.throttle(key, 1, TimeUnit.MILLISECONDS, () -> {
+			calls.incrementAndGet();
+			return "dropped";
+		}, delivered::add);
+		Future<String> trailing = AsyncUtils.throttle(key, 1, TimeUnit.MILLISECONDS, () -> {
+			calls.incrementAndGet();
+			return "trailing";
+		}, delivered::add);
+		assertTrue(dropped.isCancelled());
+		assertFalse(slow.isDone());
+		assertFalse(trailing.isDone());
+		release.countDown();
+		assertEquals("slow", slow.get(5, TimeUnit.SECONDS));
+		assertEquals("trailing", trailing.get(5, TimeUnit.SECONDS));
+		AsyncUtils.waitForFxEvents();
+		assertEquals(2, calls.get());
+		assertEquals(2, delivered.size());
+		assertEquals("slow", delivered.get(0));
+		assertEquals("trailing", delivered.get(1));
+	}
+
+	@Test
+	public void cancelKey() throws Exception
+	{
+		Object key = new Object();
+		Future<String> future = AsyncUtils.debounce(key, 1, TimeUnit.SECONDS, () -> "foo", value -> {});
+		AsyncUtils.cancel(key);
+		assertTrue(future.isCancelled());
+		assertFalse(AsyncOperators.isActive(key));
+	}
+
+	@Test
+	public void latestRunsOnCallerWhenTheLaneIsFull() throws Exception
+	{
+		SpringFXExecutor previous = AsyncUtils.getExecutor();
+		SpringFXExecutor executor = new SpringFXExecutor(1, 1, RejectionPolicy.CALLER_RUNS);
+		AsyncUtils.setExecutor(executor);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			executor.execute(() -> {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}, TaskPriority.INTERACTIVE);
+			started.await();
+			executor.execute(() -> {}, TaskPriority.INTERACTIVE);
+			Object key = new Object();
+			Thread caller = Thread.currentThread();
+			AtomicInteger onCaller = new AtomicInteger();
+			Future<String> future = AsyncUtils.latest(key, () -> {
+				if(Thread.currentThread() == caller) onCaller.incrementAndGet();
+				throw new IllegalStateException("foo");
+			}, value -> {});
+			try {
+				future.get(5, TimeUnit.SECONDS);
+				fail("The call must fail");
+			} catch (ExecutionException e) {
+				assertEquals("foo", e.getCause().getMessage());
+			}
+			assertEquals(1, onCaller.get());
+			assertFalse(AsyncOperators.isActive(key));
+		} finally {
+			release.countDown();
+			AsyncUtils.setExecutor(previous);
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.Timeout;
+
+import net.codecrafting.springfx.util.SpringFXExecutor.RejectionPolicy;
+
+public class BulkheadTest
+{
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Rule
+	public Timeout timeout = Timeout.seconds(10);
+
+	@Test
+	public void invalidArguments()
+	{
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("maxConcurrent must be greater than 0 and maxQueued must not be negative");
+		new Bulkhead("test", 0, 1);
+	}
+
+	@Test
+	public void concurrencyIsLimited() throws Exception
+	{
+		Bulkhead bulkhead = new Bulkhead("test", 2, 16);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(2);
+		CountDownLatch release = new CountDownLatch(1);
+		Future<?>[] futures = new Future<?>[6];
+		for (int i = 0; i < futures.length; i++) {
+			futures[i] = AsyncUtils.async(() -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				started.countDown();
+				await(release);
+				running.decrementAndGet();
+			}, bulkhead);
+		}
+		started.await();
+		assertEquals(2, bulkhead.getActiveCount());
+		assertEquals(4, bulkhead.getQueueSize());
+		assertEquals(6 / 18.0, bulkhead.getSaturation(), 0.0001);
+		release.countDown();
+		for (Future<?> future : futures) {
+			future.get(5, TimeUnit.SECONDS);
+		}
+		assertEquals(2, maxRunning.get());
+		assertEquals(6, bulkhead.getWaitTimeHistogram().getCount());
+	}
+
+	@Test
+	public void rejectWhenSaturated() throws Exception
+	{
+		this.thrown.expect(RejectedExecutionException.class);
+		this.thrown.expectMessage("Bulkhead \"test\" is saturated");
+		Bulkhead bulkhead = new Bulkhead("test", 1, 1);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		bulkhead.execute(() -> {
+			started.countDown();
+			await(release);
+		});
+		started.await();
+		bulkhead.execute(() -> {});
+		try {
+			bulkhead.execute(() -> {});
+		} finally {
+			assertEquals(1, bulkhead.getRejectedCount());
+			assertEquals(1.0, bulkhead.getSaturation(), 0.0001);
+			release.countDown();
+		}
+	}
+
+	@Test
+	public void cancelledQueuedTasksGiveTheirSlotBack() throws Exception
+	{
+		Bulkhead bulkhead = new Bulkhead("test", 1, 1);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		bulkhead.execute(() -> {
+			started.countDown();
+			await(release);
+		});
+		started.await();
+		Future<Void> queued = AsyncUtils.async(() -> {}, bulkhead);
+		assertEquals(1, bulkhead.getQueueSize());
+		queued.cancel(false);
+		assertEquals(0, bulkhead.getQueueSize());
+		Future<Void> next = AsyncUtils.async(() -> {}, bulkhead);
+		release.countDown();
+		next.get(5, TimeUnit.SECONDS);
+		assertEquals(0, bulkhead.getRejectedCount());
+	}
+
+	@Test
+	public void queueIsDrainedWhenTheExecutorRejects() throws Exception
+	{
+		SpringFXExecutor previous = AsyncUtils.getExecutor();
+		SpringFXExecutor executor = new SpringFXExecutor(1, 1, RejectionPolicy.ABORT);
+		AsyncUtils.setExecutor(executor);
+		try {
+			Bulkhead bulkhead = new Bulkhead("test", 1, 50000);
+			CountDownLatch started = new CountDownLatch(1);
+			CountDownLatch release = new CountDownLatch(1);
+			bulkhead.execute(() -> {
+				started.countDown();
+				await(release);
+			});
+			started.await();
+			Future<?>[] futures = new Future<?>[50000];
+			for (int i = 0; i < futures.length; i++) {
+				futures[i] = AsyncUtils.async(() -> {}, bulkhead);
+			}
+			executor.execute(() -> {});
+			release.countDown();
+			while(bulkhead.getActiveCount() > 0) {
+				Thread.sleep(1);
+			}
+			for (Future<?> future : futures) {
+				assertTrue(future.isCancelled());
+			}
+			assertEquals(0, bulkhead.getQueueSize());
+			assertEquals(0, bulkhead.getActiveCount());
+		} finally {
+			AsyncUtils.setExecutor(previous);
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void callerRunsHandOffDoesNotRecurse() throws Exception
+	{
+		SpringFXExecutor previous = AsyncUtils.getExecutor();
+		SpringFXExecutor executor = new SpringFXExecutor(1, 1, RejectionPolicy.CALLER_RUNS);
+		AsyncUtils.setExecutor(executor);
+		try {
+			Bulkhead bulkhead = new Bulkhead("test", 1, 5000);
+			CountDownLatch started = new CountDownLatch(1);
+			CountDownLatch release = new CountDownLatch(1);
+			bulkhead.execute(() -> {
+				started.countDown();
+				await(release);
+			});
+			started.await();
+			executor.execute(() -> {});
+			CountDownLatch done = new CountDownLatch(5000);
+			AtomicInteger minDepth = new AtomicInteger(Integer.MAX_VALUE);
+			AtomicInteger maxDepth = new AtomicInteger();
+			for (int i = 0; i < 5000; i++) {
+				bulkhead.execute(() -> {
+					int depth = Thread.currentThread().getStackTrace().length;
+					minDepth.accumulateAndGet(depth, Math::min);
+					maxDepth.accumulateAndGet(depth, Math::max);
+					done.countDown();
+				});
+			}
+			release.countDown();
+			assertTrue(done.await(5, TimeUnit.SECONDS));
+			assertTrue(maxDepth.get() - minDepth.get() < 32);
+		} finally {
+			AsyncUtils.setExecutor(previous);
+			executor.shutdownNow();
+		}
+	}
+
+	private static void await(CountDownLatch latch)
+	{
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
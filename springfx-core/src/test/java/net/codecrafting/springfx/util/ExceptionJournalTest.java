@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ExceptionJournalTest
+{
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void capacityIsRoundedToPowerOfTwo()
+	{
+		assertEquals(8, new ExceptionJournal(5).getCapacity());
+		assertEquals(ExceptionJournal.DEFAULT_CAPACITY, new ExceptionJournal().getCapacity());
+	}
+
+	@Test
+	public void throwableMustNotBeNull()
+	{
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("throwable must not be null");
+		new ExceptionJournal().record(null);
+	}
+
+	@Test
+	public void pollInRecordOrder()
+	{
+		ExceptionJournal journal = new ExceptionJournal(4);
+		Throwable first = new IllegalStateException();
+		Throwable second = new IllegalArgumentException();
+		journal.record(first);
+		journal.record(second);
+		assertSame(first, journal.poll().getThrowable());
+		assertSame(second, journal.poll().getThrowable());
+		assertNull(journal.poll());
+	}
+
+	@Test
+	public void oldestEntriesAreDropped()
+	{
+		ExceptionJournal journal = new ExceptionJournal(2);
+		Throwable[] throwables = {new IllegalStateException(), new IllegalArgumentException(), new UnsupportedOperationException()};
+		for (Throwable throwable : throwables) {
+			journal.record(throwable);
+		}
+		assertEquals(3, journal.getRecordedCount());
+		assertEquals(1, journal.getDroppedCount());
+		List<ExceptionJournal.Entry> entries = journal.snapshot();
+		assertEquals(2, entries.size());
+		assertSame(throwables[1], entries.get(0).getThrowable());
+		assertSame(throwables[1], journal.poll().getThrowable());
+		assertSame(throwables[2], journal.poll().getThrowable());
+		assertNull(journal.poll());
+	}
+
+	@Test
+	public void identicalSignaturesAreDeduplicated()
+	{
+		ExceptionJournal journal = new ExceptionJournal(4);
+		ExceptionJournal.Entry first = null;
+		for (int i = 0; i < 3; i++) {
+			ExceptionJournal.Entry entry = journal.record(fail("attempt " + i));
+			if(first == null) first = entry;
+			assertSame(first, entry);
+		}
+		journal.record(new IllegalStateException());
+		assertEquals(2, journal.snapshot().size());
+		assertEquals(3, first.getOccurrences());
+		assertEquals(4, journal.getRecordedCount());
+	}
+
+	@Test
+	public void removeByHandle()
+	{
+		ExceptionJournal journal = new ExceptionJournal(4);
+		ExceptionJournal.Entry handle = null;
+		for (int i = 0; i < 2; i++) {
+			handle = journal.record(fail("attempt " + i));
+		}
+		Throwable other = new IllegalArgumentException();
+		journal.record(other);
+		journal.remove(handle);
+		assertEquals(1, handle.getOccurrences());
+		journal.remove(handle);
+		assertEquals(0, handle.getOccurrences());
+		journal.remove(handle);
+		assertEquals(1, journal.snapshot().size());
+		assertSame(other, journal.poll().getThrowable());
+		assertNull(journal.poll());
+		assertEquals(0, journal.getDroppedCount());
+	}
+
+	private static Throwable fail(String message)
+	{
+		return new UnsupportedOperationException(message);
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.testfx.api.FxToolkit;
+
+import javafx.application.Platform;
+
+public class FxIdleQueueTest
+{
+	@Rule
+	public Timeout timeout = Timeout.seconds(10);
+
+	@BeforeClass
+	public static void setUpClass() throws TimeoutException
+	{
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@Test
+	public void callbackRunsAfterIdlePeriod() throws Exception
+	{
+		List<IdleDeadline> deadlines = new ArrayList<IdleDeadline>();
+		List<Long> remaining = new ArrayList<Long>();
+		long requested = System.nanoTime();
+		Future<Void> future = AsyncUtils.requestIdleCallback(deadline -> {
+			assertTrue(Platform.isFxApplicationThread());
+			deadlines.add(deadline);
+			remaining.add(deadline.timeRemaining());
+		});
+		future.get(5, TimeUnit.SECONDS);
+		assertTrue(System.nanoTime() - requested >= FxIdleQueue.IDLE_THRESHOLD_NANOS);
+		assertFalse(deadlines.get(0).didTimeout());
+		assertTrue(remaining.get(0) > 0);
+		assertTrue(remaining.get(0) <= FxIdleQueue.FRAME_BUDGET_NANOS);
+	}
+
+	@Test
+	public void callbackRunsOnTimeoutWhenBusy() throws Exception
+	{
+		//The scene never goes idle within the test, once the idle period of the previous requests is over
+		FxIdleQueue.setIdleThreshold(TimeUnit.HOURS.toNanos(1));
+		List<IdleDeadline> deadlines = new ArrayList<IdleDeadline>();
+		try {
+			AsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> !FxIdleQueue.isListening());
+			AsyncUtils.requestIdleCallback(deadlines::add, 200, TimeUnit.MILLISECONDS).get(5, TimeUnit.SECONDS);
+		} finally {
+			FxIdleQueue.setIdleThreshold(FxIdleQueue.IDLE_THRESHOLD_NANOS);
+		}
+		assertTrue(deadlines.get(0).didTimeout());
+	}
+
+	@Test
+	public void busySceneIsNotPulsedWhileWaiting() throws Exception
+	{
+		//Every pulse after the first one is late
+		FxIdleQueue.setLatePulse(0);
+		Future<Void> future;
+		try {
+			AsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> !FxIdleQueue.isListening());
+			future = AsyncUtils.requestIdleCallback(deadline -> {});
+			AsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> !FxIdleQueue.isListening());
+			assertFalse(future.isDone());
+		} finally {
+			FxIdleQueue.setLatePulse(FxIdleQueue.LATE_PULSE_NANOS);
+		}
+		future.get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void cancelledCallbackDoesNotRun() throws Exception
+	{
+		AtomicBoolean ran = new AtomicBoolean();
+		Future<Void> cancelled = AsyncUtils.requestIdleCallback(deadline -> ran.set(true));
+		cancelled.cancel(false);
+		AsyncUtils.requestIdleCallback(deadline -> {}).get(5, TimeUnit.SECONDS);
+		assertFalse(ran.get());
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.Timeout;
+import org.testfx.api.FxToolkit;
+
+import javafx.application.Platform;
+
+public class FxSlicedTaskTest
+{
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Rule
+	public Timeout timeout = Timeout.seconds(10);
+
+	@BeforeClass
+	public static void setUpClass() throws TimeoutException
+	{
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@Test
+	public void invalidBudget()
+	{
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("budget must be greater than 0");
+		AsyncUtils.asyncFxSliced(Collections.<Runnable>emptyIterator(), 0, TimeUnit.MILLISECONDS);
+	}
+
+	@Test
+	public void unitsRunOnFxThreadAcrossPulses() throws Exception
+	{
+		List<Integer> items = IntStream.range(0, 200).boxed().collect(Collectors.toList());
+		List<Integer> applied = new ArrayList<Integer>();
+		AtomicInteger offThread = new AtomicInteger();
+		List<Long> pulses = new ArrayList<Long>();
+		FxPulse.addListener(now -> {
+			pulses.add(now);
+			return applied.size() < items.size();
+		});
+		Future<Void> future = AsyncUtils.asyncFxSliced(items, item -> {
+			if(!Platform.isFxApplicationThread()) offThread.incrementAndGet();
+			AsyncUtils.sleep(1, TimeUnit.MILLISECONDS);
+			applied.add(item);
+		}, 5, TimeUnit.MILLISECONDS);
+		future.get(5, TimeUnit.SECONDS);
+		assertEquals(items, applied);
+		assertEquals(0, offThread.get());
+		assertTrue("work was not sliced", pulses.size() > 10);
+	}
+
+	@Test
+	public void failingUnitStopsTheTask() throws Exception
+	{
+		this.thrown.expect(ExecutionException.class);
+		this.thrown.expectMessage("bad unit");
+		AtomicInteger executed = new AtomicInteger();
+		List<Runnable> units = new ArrayList<Runnable>();
+		units.add(executed::incrementAndGet);
+		units.add(() -> {
+			throw new IllegalStateException("bad unit");
+		});
+		units.add(executed::incrementAndGet);
+		try {
+			AsyncUtils.asyncFxSliced(units.iterator()).get(5, TimeUnit.SECONDS);
+		} finally {
+			assertEquals(1, executed.get());
+		}
+	}
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.Timeout;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.testfx.api.FxToolkit;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+public class ObservableListSubscriberTest
+{
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Rule
+	public Timeout timeout = Timeout.seconds(10);
+
+	@BeforeClass
+	public static void setUpClass() throws TimeoutException
+	{
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@Test
+	public void targetMustNotBeNull()
+	{
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("target must not be null");
+		new ObservableListSubscriber<Integer>(null);
+	}
+
+	@Test
+	public void itemsAreAddedInBatches() throws Exception
+	{
+		ObservableList<Integer> list = FXCollections.observableArrayList();
+		AtomicLong changes = new AtomicLong();
+		list.addListener((ListChangeListener<Integer>) change -> changes.incrementAndGet());
+		RangePublisher publisher = new RangePublisher(5000);
+		ObservableListSubscriber<Integer> subscriber = ObservableListSubscriber.subscribe(publisher, list);
+		subscriber.getCompletion().get(5, TimeUnit.SECONDS);
+		assertEquals(5000, list.size());
+		for (int i = 0; i < list.size(); i++) {
+			assertEquals(i, list.get(i).intValue());
+		}
+		assertEquals(5000, subscriber.getDeliveredCount());
+		assertEquals(changes.get(), subscriber.getBatchCount());
+		assertTrue("items were not batched", subscriber.getBatchCount() < 5000 / ObservableListSubscriber.MIN_BATCH_SIZE + 1);
+		assertTrue("publisher was flooded", publisher.maxRequest <= 2L * ObservableListSubscriber.MAX_BATCH_SIZE);
+	}
+
+	@Test
+	public void cancelStopsTheSubscription() throws Exception
+	{
+		ObservableList<Integer> list = FXCollections.observableArrayList();
+		RangePublisher publisher = new RangePublisher(Integer.MAX_VALUE);
+		ObservableListSubscriber<Integer> subscriber = ObservableListSubscriber.subscribe(publisher, list);
+		subscriber.cancel();
+		assertTrue(publisher.cancelled.await(5, TimeUnit.SECONDS));
+		assertTrue(subscriber.getCompletion().isCancelled());
+	}
+
+	@Test
+	public void errorIsReportedAfterTheItems() throws Exception
+	{
+		this.thrown.expect(ExecutionException.class);
+		this.thrown.expectMessage("boom");
+		ObservableList<Integer> list = FXCollections.observableArrayList();
+		ObservableListSubscriber<Integer> subscriber = new ObservableListSubscriber<Integer>(list);
+		subscriber.onSubscribe(new Subscription() {
+			@Override
+			public void request(long n) {}
+
+			@Override
+			public void cancel() {}
+		});
+		subscriber.onNext(1);
+		subscriber.onError(new IllegalStateException("boom"));
+		try {
+			subscriber.getCompletion().get(5, TimeUnit.SECONDS);
+		} finally {
+			AsyncUtils.waitForFxEvents();
+			assertEquals(1, list.size());
+		}
+	}
+
+	@Test
+	public void targetErrorFailsAndCancelsTheStream() throws Exception
+	{
+		ObservableList<Integer> list = FXCollections.unmodifiableObservableList(FXCollections.observableArrayList());
+		RangePublisher publisher = new RangePublisher(Integer.MAX_VALUE);
+		ObservableListSubscriber<Integer> subscriber = ObservableListSubscriber.subscribe(publisher, list);
+		try {
+			subscriber.getCompletion().get(5, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof UnsupportedOperationException);
+		}
+		assertTrue(subscriber.getCompletion().isCompletedExceptionally());
+		assertTrue(publisher.cancelled.await(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void pulsesOnlyWhileItemsArePending() throws Exception
+	{
+		ObservableList<Integer> list = FXCollections.observableArrayList();
+		ObservableListSubscriber<Integer> subscriber = new ObservableListSubscriber<Integer>(list);
+		CountDownLatch requested = new CountDownLatch(1);
+		subscriber.onSubscribe(new Subscription() {
+			@Override
+			public void request(long n)
+			{
+				requested.countDown();
+			}
+
+			@Override
+			public void cancel() {}
+		});
+		assertTrue(requested.await(5, TimeUnit.SECONDS));
+		AsyncUtils.waitForFxEvents();
+		assertFalse(subscriber.isListening());
+		subscriber.onNext(1);
+		AsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> !subscriber.isListening());
+		assertEquals(1, list.size());
+		subscriber.onComplete();
+		subscriber.getCompletion().get(5, TimeUnit.SECONDS);
+	}
+
+	//Emits the sequence from 0 to count on its own thread, honoring the requested demand
+	private static class RangePublisher implements Publisher<Integer>
+	{
+		private final int count;
+		private final CountDownLatch cancelled = new CountDownLatch(1);
+		private volatile long maxRequest;
+
+		public RangePublisher(int count)
+		{
+			this.count = count;
+		}
+
+		@Override
+		public void subscribe(Subscriber<? super Integer> subscriber)
+		{
+			subscriber.onSubscribe(new RangeSubscription(subscriber));
+		}
+
+		private class RangeSubscription implements Subscription
+		{
+			private final Subscriber<? super Integer> subscriber;
+			private int next;
+
+			public RangeSubscription(Subscriber<? super Integer> subscriber)
+			{
+				this.subscriber = subscriber;
+			}
+
+			@Override
+			public synchronized void request(long n)
+			{
+				maxRequest = Math.max(maxRequest, n);
+				AsyncUtils.getExecutor().execute(() -> emit(n));
+			}
+
+			private synchronized void emit(long n)
+			{
+				for (long i = 0; i < n && next < count && cancelled.getCount() > 0; i++) {
+					subscriber.onNext(next++);
+				}
+				if(next == count && cancelled.getCount() > 0) {
+					next++;
+					subscriber.onComplete();
+				}
+			}
+
+			@Override
+			public void cancel()
+			{
+				cancelled.countDown();
+			}
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.Timeout;
+import org.testfx.api.FxToolkit;
+
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+
+public class ParallelProcessorTest
+{
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Rule
+	public Timeout timeout = Timeout.seconds(10);
+
+	private static final List<Integer> ITEMS = IntStream.range(0, 20000).boxed().collect(Collectors.toList());
+
+	@BeforeClass
+	public static void setUpClass() throws TimeoutException
+	{
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@Test
+	public void invalidChunkSize()
+	{
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("chunkSize must be greater than 0");
+		AsyncUtils.parallel(ITEMS, 0, item -> item, null);
+	}
+
+	@Test
+	public void parallelKeepsTheItemsOrder() throws Exception
+	{
+		DoubleProperty progress = new SimpleDoubleProperty();
+		List<Double> updates = new ArrayList<Double>();
+		progress.addListener((observable, oldValue, newValue) -> updates.add(newValue.doubleValue()));
+		List<Integer> results = AsyncUtils.parallel(ITEMS, 500, item -> item * 2, progress).get(5, TimeUnit.SECONDS);
+		assertEquals(ITEMS.size(), results.size());
+		for (int i = 0; i < results.size(); i++) {
+			assertEquals(i * 2, results.get(i).intValue());
+		}
+		AsyncUtils.waitForFxEvents(5);
+		assertEquals(1.0, progress.get(), 0);
+		assertTrue("progress was not throttled", updates.size() <= ITEMS.size() / 500);
+	}
+
+	@Test
+	public void parallelReduceAggregates() throws Exception
+	{
+		Future<Long> sum = AsyncUtils.parallelReduce(ITEMS, 128, Integer::longValue, 0L, Long::sum, null);
+		assertEquals(ITEMS.size() * (ITEMS.size() - 1L) / 2, sum.get(5, TimeUnit.SECONDS).longValue());
+	}
+
+	@Test
+	public void mapperExceptionIsReported() throws Exception
+	{
+		this.thrown.expect(ExecutionException.class);
+		this.thrown.expectMessage("bad item");
+		AsyncUtils.parallel(ITEMS, 100, item -> {
+			if(item == 1234) throw new IllegalStateException("bad item");
+			return item;
+		}, null).get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void cancelStopsTheProcessing() throws Exception
+	{
+		AtomicInteger processed = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		Future<List<Integer>> future = AsyncUtils.parallel(ITEMS, 10, item -> {
+			started.countDown();
+			processed.incrementAndGet();
+			AsyncUtils.sleep(1, TimeUnit.MILLISECONDS);
+			return item;
+		}, new SimpleDoubleProperty());
+		started.await();
+		assertTrue(future.cancel(true));
+		int afterCancel = processed.get();
+		AsyncUtils.sleep(100, TimeUnit.MILLISECONDS);
+		assertTrue("processing did not stop", processed.get() < ITEMS.size());
+		assertTrue(processed.get() - afterCancel < 100);
+	}
+}
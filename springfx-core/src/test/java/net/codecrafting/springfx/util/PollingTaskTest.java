@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.Timeout;
+import org.testfx.api.FxToolkit;
+import org.testfx.util.WaitForAsyncUtils;
+
+import javafx.application.Platform;
+import javafx.beans.property.SimpleBooleanProperty;
+
+public class PollingTaskTest
+{
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Rule
+	public Timeout timeout = Timeout.seconds(10);
+
+	@BeforeClass
+	public static void setup() throws Exception
+	{
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@Test
+	public void invalidInterval()
+	{
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("interval must be greater than 0");
+		new PollingTask<Integer>(() -> 1, value -> {}, 0, TimeUnit.MILLISECONDS);
+	}
+
+	@Test
+	public void resultsAreDeliveredOnFxThread() throws Exception
+	{
+		AtomicInteger delivered = new AtomicInteger();
+		AtomicBoolean offFxThread = new AtomicBoolean();
+		AtomicBoolean callbackOnFxThread = new AtomicBoolean(true);
+		PollingTask<Integer> task = AsyncUtils.poll(() -> {
+			if(!Platform.isFxApplicationThread()) offFxThread.set(true);
+			return 1;
+		}, value -> {
+			if(!Platform.isFxApplicationThread()) callbackOnFxThread.set(false);
+			delivered.addAndGet(value);
+		}, 10, TimeUnit.MILLISECONDS);
+		WaitForAsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> delivered.get() >= 3);
+		task.cancel();
+		assertTrue(offFxThread.get());
+		assertTrue(callbackOnFxThread.get());
+		assertTrue(task.isCancelled());
+	}
+
+	@Test
+	public void hiddenPollBacksOffAndCatchesUpWhenVisible() throws Exception
+	{
+		SimpleBooleanProperty visible = new SimpleBooleanProperty(false);
+		PollingTask<Integer> task = new PollingTask<Integer>(() -> 1, value -> {}, 10, TimeUnit.MILLISECONDS);
+		task.setVisibility(visible);
+		task.setHiddenInterval(40, TimeUnit.MILLISECONDS);
+		task.start();
+		WaitForAsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> task.getCurrentInterval(TimeUnit.MILLISECONDS) == 40);
+		assertFalse(task.isVisible());
+		long polls = task.getPollCount();
+		Platform.runLater(() -> visible.set(true));
+		WaitForAsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> task.getPollCount() > polls + 3);
+		assertEquals(10, task.getCurrentInterval(TimeUnit.MILLISECONDS));
+		task.cancel();
+	}
+
+	@Test
+	public void hiddenPollIsPausedWithoutHiddenInterval() throws Exception
+	{
+		SimpleBooleanProperty visible = new SimpleBooleanProperty(false);
+		AtomicInteger delivered = new AtomicInteger();
+		PollingTask<Integer> task = new PollingTask<Integer>(() -> 1, value -> delivered.incrementAndGet(), 10, TimeUnit.MILLISECONDS);
+		task.setVisibility(visible);
+		task.setHiddenInterval(0, TimeUnit.MILLISECONDS);
+		task.start();
+		WaitForAsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> delivered.get() == 1);
+		Thread.sleep(100);
+		assertEquals(1, task.getPollCount());
+		Platform.runLater(() -> visible.set(true));
+		WaitForAsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> delivered.get() >= 3);
+		task.cancel();
+	}
+
+	@Test
+	public void failuresDoNotStopThePoll() throws Exception
+	{
+		AtomicInteger delivered = new AtomicInteger();
+		AtomicInteger calls = new AtomicInteger();
+		PollingTask<Integer> task = AsyncUtils.poll(() -> {
+			if(calls.incrementAndGet() % 2 == 0) throw new IllegalStateException("Poll failure");
+			return 1;
+		}, value -> delivered.incrementAndGet(), 10, TimeUnit.MILLISECONDS);
+		WaitForAsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> delivered.get() >= 2);
+		task.cancel();
+		assertTrue(task.getFailureCount() >= 1);
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.Timeout;
+
+public class SingleFlightTest
+{
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Rule
+	public Timeout timeout = Timeout.seconds(10);
+
+	@Test
+	public void invalidRetention()
+	{
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("retention must not be negative and unit must not be null");
+		new SingleFlight(-1, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void concurrentCallsShareTheComputation() throws Exception
+	{
+		SingleFlight singleFlight = new SingleFlight();
+		AtomicInteger computations = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		List<CompletableFuture<Integer>> futures = new ArrayList<CompletableFuture<Integer>>();
+		for (int i = 0; i < 5; i++) {
+			futures.add(singleFlight.execute("key", () -> {
+				await(release);
+				return computations.incrementAndGet();
+			}));
+		}
+		futures.get(0).cancel(false);
+		release.countDown();
+		for (int i = 1; i < futures.size(); i++) {
+			assertEquals(1, futures.get(i).get(5, TimeUnit.SECONDS).intValue());
+		}
+		assertEquals(1, computations.get());
+		assertEquals(1, singleFlight.getMetrics("key").getExecutionCount());
+		assertEquals(4, singleFlight.getMetrics("key").getCoalescedCount());
+		assertEquals(2, singleFlight.execute("key", computations::incrementAndGet).get(5, TimeUnit.SECONDS).intValue());
+		assertNull(singleFlight.getMetrics("other"));
+	}
+
+	@Test
+	public void successfulResultIsRetained() throws Exception
+	{
+		SingleFlight singleFlight = new SingleFlight(1, TimeUnit.MINUTES);
+		AtomicInteger computations = new AtomicInteger();
+		assertEquals(1, singleFlight.execute("key", computations::incrementAndGet).get(5, TimeUnit.SECONDS).intValue());
+		assertEquals(1, singleFlight.execute("key", computations::incrementAndGet).get(5, TimeUnit.SECONDS).intValue());
+		assertEquals(1, singleFlight.getMetrics("key").getRetainedHitCount());
+		singleFlight.forget("key");
+		assertEquals(2, singleFlight.execute("key", computations::incrementAndGet).get(5, TimeUnit.SECONDS).intValue());
+	}
+
+	@Test
+	public void failureIsNotRetained() throws Exception
+	{
+		SingleFlight singleFlight = new SingleFlight(1, TimeUnit.MINUTES);
+		try {
+			singleFlight.execute("key", () -> {
+				throw new IllegalStateException("load failed");
+			}).get(5, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+		assertEquals("loaded", singleFlight.execute("key", () -> "loaded").get(5, TimeUnit.SECONDS));
+		assertEquals(1, singleFlight.getMetrics("key").getFailureCount());
+		assertEquals(2, singleFlight.getMetrics("key").getExecutionCount());
+	}
+
+	@Test
+	public void metricsAreBoundedByKey() throws Exception
+	{
+		SingleFlight singleFlight = new SingleFlight();
+		int keys = SingleFlight.MAX_METRICS_KEYS + 10;
+		for (int i = 0; i < keys; i++) {
+			singleFlight.execute(i, () -> "value").get(5, TimeUnit.SECONDS);
+		}
+		assertEquals(SingleFlight.MAX_METRICS_KEYS, singleFlight.getMetrics().size());
+		assertNull(singleFlight.getMetrics(0));
+		assertEquals(1, singleFlight.getMetrics(keys - 1).getExecutionCount());
+		assertEquals(keys, singleFlight.getTotalMetrics().getExecutionCount());
+		singleFlight.resetMetrics();
+		assertEquals(0, singleFlight.getTotalMetrics().getExecutionCount());
+		assertTrue(singleFlight.getMetrics().isEmpty());
+	}
+
+	private static void await(CountDownLatch latch)
+	{
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.Timeout;
+import org.testfx.api.FxToolkit;
+import org.testfx.util.WaitForAsyncUtils;
+
+import net.codecrafting.springfx.util.SpringFXExecutor.RejectionPolicy;
+
+public class SpringFXExecutorTest
+{
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Rule
+	public Timeout timeout = Timeout.seconds(10);
+
+	private SpringFXExecutor executor;
+
+	@BeforeClass
+	public static void setup() throws Exception
+	{
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@After
+	public void shutdown() throws Exception
+	{
+		if(executor != null) {
+			executor.shutdownNow();
+			executor.awaitTermination(5, TimeUnit.SECONDS);
+		}
+	}
+
+	@Test
+	public void invalidArguments()
+	{
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("maxThreads and queueCapacity must be greater than 0");
+		new SpringFXExecutor(0, 1, RejectionPolicy.ABORT);
+	}
+
+	@Test
+	public void higherLanesStartFirst() throws Exception
+	{
+		executor = new SpringFXExecutor(1, 16, RejectionPolicy.ABORT);
+		CountDownLatch release = new CountDownLatch(1);
+		block(release);
+		List<TaskPriority> order = new CopyOnWriteArrayList<TaskPriority>();
+		executor.execute(() -> order.add(TaskPriority.BACKGROUND), TaskPriority.BACKGROUND);
+		executor.execute(() -> order.add(TaskPriority.NORMAL), TaskPriority.NORMAL);
+		Future<?> last = executor.submit(() -> order.add(TaskPriority.INTERACTIVE), TaskPriority.INTERACTIVE);
+		assertEquals(1, executor.getQueueSize(TaskPriority.BACKGROUND));
+		assertEquals(1, executor.getQueueSize(TaskPriority.INTERACTIVE));
+		release.countDown();
+		last.get();
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+		assertEquals(TaskPriority.INTERACTIVE, order.get(0));
+		assertEquals(TaskPriority.NORMAL, order.get(1));
+		assertEquals(TaskPriority.BACKGROUND, order.get(2));
+		assertEquals(4, executor.getCompletedTaskCount());
+		assertEquals(1, executor.getWaitTimeHistogram(TaskPriority.BACKGROUND).getCount());
+		assertEquals(4, executor.getRunTimeHistogram().getCount());
+	}
+
+	@Test
+	public void starvedLanesAreServedInTurn() throws Exception
+	{
+		executor = new SpringFXExecutor(1, 64, RejectionPolicy.ABORT);
+		CountDownLatch release = new CountDownLatch(1);
+		block(release);
+		List<TaskPriority> order = new CopyOnWriteArrayList<TaskPriority>();
+		for (TaskPriority priority : new TaskPriority[] {TaskPriority.NORMAL, TaskPriority.BACKGROUND}) {
+			for (int i = 0; i < 2; i++) {
+				executor.execute(() -> order.add(priority), priority);
+			}
+		}
+		for (int i = 0; i < 40; i++) {
+			executor.execute(() -> order.add(TaskPriority.INTERACTIVE), TaskPriority.INTERACTIVE);
+		}
+		release.countDown();
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+		assertEquals(TaskPriority.NORMAL, order.get(SpringFXExecutor.STARVATION_INTERVAL));
+		assertEquals(TaskPriority.BACKGROUND, order.get(SpringFXExecutor.STARVATION_INTERVAL * 2 + 1));
+	}
+
+	@Test
+	public void abortWhenLaneIsFull() throws Exception
+	{
+		this.thrown.expect(RejectedExecutionException.class);
+		executor = new SpringFXExecutor(1, 1, RejectionPolicy.ABORT);
+		CountDownLatch release = new CountDownLatch(1);
+		block(release);
+		executor.execute(() -> {});
+		try {
+			executor.execute(() -> {});
+		} finally {
+			assertEquals(1, executor.getRejectedTaskCount());
+			release.countDown();
+		}
+	}
+
+	@Test
+	public void discardOldestCancelsDroppedFuture() throws Exception
+	{
+		executor = new SpringFXExecutor(1, 1, RejectionPolicy.DISCARD_OLDEST);
+		CountDownLatch release = new CountDownLatch(1);
+		block(release);
+		Future<?> oldest = executor.submit(() -> {});
+		executor.submit(() -> {});
+		assertTrue(oldest.isCancelled());
+		assertEquals(1, executor.getQueueSize(TaskPriority.NORMAL));
+		release.countDown();
+	}
+
+	@Test
+	public void callerRunsWhenLaneIsFull() throws Exception
+	{
+		executor = new SpringFXExecutor(1, 1, RejectionPolicy.CALLER_RUNS);
+		CountDownLatch release = new CountDownLatch(1);
+		block(release);
+		executor.execute(() -> {});
+		Thread caller = Thread.currentThread();
+		List<Thread> runner = new CopyOnWriteArrayList<Thread>();
+		executor.execute(() -> runner.add(Thread.currentThread()));
+		assertEquals(caller, runner.get(0));
+		release.countDown();
+	}
+
+	@Test
+	public void callerRunsIsRejectedOnFxThread() throws Exception
+	{
+		executor = new SpringFXExecutor(1, 1, RejectionPolicy.CALLER_RUNS);
+		CountDownLatch release = new CountDownLatch(1);
+		block(release);
+		executor.execute(() -> {});
+		List<Thread> runner = new CopyOnWriteArrayList<Thread>();
+		Future<Boolean> rejected = WaitForAsyncUtils.asyncFx(() -> {
+			try {
+				executor.execute(() -> runner.add(Thread.currentThread()));
+				return false;
+			} catch (RejectedExecutionException e) {
+				return true;
+			}
+		});
+		assertTrue(rejected.get(5, TimeUnit.SECONDS));
+		assertTrue(runner.isEmpty());
+		assertEquals(1, executor.getRejectedTaskCount());
+		release.countDown();
+	}
+
+	@Test
+	public void poolIsBounded() throws Exception
+	{
+		executor = new SpringFXExecutor(2, 64, RejectionPolicy.ABORT);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch started = new CountDownLatch(2);
+		for (int i = 0; i < 10; i++) {
+			executor.execute(() -> {
+				started.countDown();
+				await(release);
+			});
+		}
+		started.await();
+		assertEquals(2, executor.getPoolSize());
+		assertEquals(8, executor.getQueueSize(TaskPriority.NORMAL));
+		release.countDown();
+	}
+
+	//Occupy one executor thread until release, waiting for it to start
+	private void block(CountDownLatch release) throws InterruptedException
+	{
+		CountDownLatch started = new CountDownLatch(1);
+		executor.execute(() -> {
+			started.countDown();
+			await(release);
+		});
+		started.await();
+	}
+
+	private static void await(CountDownLatch latch)
+	{
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
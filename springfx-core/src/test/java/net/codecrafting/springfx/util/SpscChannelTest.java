@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.Timeout;
+import org.testfx.api.FxToolkit;
+
+import javafx.application.Platform;
+import net.codecrafting.springfx.util.SpscChannel.OverflowPolicy;
+
+public class SpscChannelTest
+{
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Rule
+	public Timeout timeout = Timeout.seconds(10);
+
+	@BeforeClass
+	public static void setup() throws Exception
+	{
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@Test
+	public void invalidCapacity()
+	{
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("capacity must be between 1 and 2^30");
+		new SpscChannel<Integer>(0, OverflowPolicy.BLOCK);
+	}
+
+	@Test
+	public void dropNewestKeepsTheBufferedItems()
+	{
+		SpscChannel<Integer> channel = new SpscChannel<Integer>(4, OverflowPolicy.DROP_NEWEST);
+		for (int i = 0; i < 6; i++) {
+			assertEquals(i < 4, channel.offer(i));
+		}
+		assertEquals(Arrays.asList(0, 1, 2, 3), channel.drain(10));
+		assertEquals(2, channel.getDroppedCount());
+		assertEquals(4, channel.getDeliveredCount());
+	}
+
+	@Test
+	public void dropOldestKeepsTheLatestItems()
+	{
+		SpscChannel<Integer> channel = new SpscChannel<Integer>(3, OverflowPolicy.DROP_OLDEST);
+		assertEquals(4, channel.getCapacity());
+		for (int i = 0; i < 7; i++) {
+			assertTrue(channel.offer(i));
+		}
+		assertEquals(Arrays.asList(3, 4, 5, 6), channel.drain(10));
+		assertEquals(3, channel.getDroppedCount());
+	}
+
+	@Test
+	public void dropOldestNeverDeliversNullForARepeatedItem() throws Exception
+	{
+		SpscChannel<String> channel = new SpscChannel<String>(2, OverflowPolicy.DROP_OLDEST);
+		String item = "same";
+		Thread producer = new Thread(() -> {
+			for (int i = 0; i < 100000; i++) {
+				channel.offer(item);
+			}
+			channel.close();
+		});
+		producer.start();
+		long received = 0;
+		while(producer.isAlive() || channel.size() > 0) {
+			for (String value : channel.drain(2)) {
+				assertEquals(item, value);
+				received++;
+			}
+		}
+		producer.join();
+		assertEquals(100000, received + channel.getDroppedCount());
+	}
+
+	@Test
+	public void pulsesOnlyWhileItemsArePending() throws Exception
+	{
+		List<Integer> received = new ArrayList<Integer>();
+		SpscChannel<Integer> channel = AsyncUtils.channel(4, OverflowPolicy.DROP_NEWEST, received::addAll);
+		AsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> !channel.isListening());
+		channel.offer(1);
+		AsyncUtils.waitFor(5, TimeUnit.SECONDS, () -> !channel.isListening());
+		AsyncUtils.waitForFxEvents();
+		assertEquals(Arrays.asList(1), received);
+		channel.close();
+		channel.getCompletion().get(5, TimeUnit.SECONDS);
+	}
+
+	@Test
+	public void blockedProducerDeliversEveryItemOnFxThread() throws Exception
+	{
+		List<Integer> received = new ArrayList<Integer>();
+		List<Boolean> onFxThread = new ArrayList<Boolean>();
+		SpscChannel<Integer> channel = AsyncUtils.channel(16, OverflowPolicy.BLOCK, batch -> {
+			onFxThread.add(Platform.isFxApplicationThread());
+			received.addAll(batch);
+		});
+		Thread producer = new Thread(() -> {
+			for (int i = 0; i < 500; i++) {
+				channel.offer(i);
+			}
+			channel.close();
+		});
+		producer.start();
+		channel.getCompletion().get(5, TimeUnit.SECONDS);
+		assertEquals(500, received.size());
+		for (int i = 0; i < received.size(); i++) {
+			assertEquals(i, (int) received.get(i));
+		}
+		assertEquals(0, channel.getDroppedCount());
+		assertFalse(onFxThread.contains(false));
+		assertFalse(channel.offer(1));
+	}
+}
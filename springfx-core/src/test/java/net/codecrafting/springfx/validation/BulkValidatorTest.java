@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import net.codecrafting.springfx.annotation.ValidationBind;
+
+public class BulkValidatorTest
+{
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void modelsMustNotBeNull()
+	{
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("models must not be null");
+		new BulkValidator().validate(null);
+	}
+
+	@Test
+	public void maxFailuresMustNotBeNegative()
+	{
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("maxFailures must not be negative");
+		new BulkValidator().setMaxFailures(-1);
+	}
+
+	@Test
+	public void errorsAreIndexedLikeTheModels() throws Exception
+	{
+		List<Row> rows = rows(1000);
+		BulkValidator validator = new BulkValidator();
+		validator.setChunkSize(16);
+		BulkValidationResult result = validator.validate(rows).get(10, TimeUnit.SECONDS);
+
+		assertEquals(1000, result.size());
+		assertEquals(1000, result.getValidatedCount());
+		assertEquals(100, result.getFailureCount());
+		assertFalse(result.isValid());
+		assertFalse(result.isStopped());
+		for (int i = 0; i < rows.size(); i++) {
+			assertEquals(i % 10 == 0, !result.isValid(i));
+		}
+		assertEquals(Arrays.asList(0, 10, 20), result.getFailedIndexes().subList(0, 3));
+		assertEquals(1, result.getErrors(10).size());
+		assertEquals("code", result.getErrors(10).get(0).getField());
+		assertTrue(result.getErrors(11).isEmpty());
+	}
+
+	@Test
+	public void validationStopsAfterMaxFailures() throws Exception
+	{
+		BulkValidator validator = new BulkValidator();
+		validator.setChunkSize(4);
+		validator.setMaxFailures(5);
+		BulkValidationResult result = validator.validate(rows(1000)).get(10, TimeUnit.SECONDS);
+
+		assertTrue(result.isStopped());
+		assertEquals(5, result.getFailureCount());
+		assertTrue(result.getValidatedCount() < 1000);
+		for (int index : result.getFailedIndexes()) {
+			assertTrue(result.isValidated(index));
+		}
+	}
+
+	private static List<Row> rows(int size)
+	{
+		List<Row> rows = new ArrayList<Row>();
+		for (int i = 0; i < size; i++) {
+			rows.add(new Row((i % 10 == 0) ? "x" : "row" + i));
+		}
+		return rows;
+	}
+
+	public static class Row implements ValidationModel
+	{
+		@NotNull
+		@Size(min = 2)
+		@ValidationBind("code")
+		private String name;
+
+		public Row(String name)
+		{
+			this.name = name;
+		}
+
+		@Override
+		public void setValidation(List<ValidationError> errors)
+		{
+			throw new IllegalStateException("Bulk validation must not notify the models");
+		}
+	}
+}
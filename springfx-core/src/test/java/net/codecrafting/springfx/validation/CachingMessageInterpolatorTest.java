@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Locale;
+import java.util.Set;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Size;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class CachingMessageInterpolatorTest
+{
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Test
+	public void delegateMustNotBeNull()
+	{
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("delegate must not be null");
+		new CachingMessageInterpolator(null);
+	}
+
+	@Test
+	public void messagesAreCachedByTemplateLocaleAndParameters()
+	{
+		CachingMessageInterpolator interpolator = new CachingMessageInterpolator();
+		Validator validator = buildValidator(interpolator);
+		Locale locale = Locale.getDefault();
+		try {
+			Locale.setDefault(Locale.ENGLISH);
+			assertEquals("size must be between 2 and 5", getMessage(validator, new Nickname("a")));
+			assertEquals("size must be between 2 and 5", getMessage(validator, new Nickname("abcdef")));
+			assertEquals(1, interpolator.getMissCount());
+			assertEquals(1, interpolator.getHitCount());
+
+			Locale.setDefault(Locale.GERMAN);
+			assertEquals("muss zwischen 2 und 5 liegen", getMessage(validator, new Nickname("a")));
+			assertEquals(2, interpolator.getMissCount());
+			assertEquals(2, interpolator.size());
+		} finally {
+			Locale.setDefault(locale);
+		}
+	}
+
+	@Test
+	public void expressionsAreOptIn()
+	{
+		CachingMessageInterpolator interpolator = new CachingMessageInterpolator();
+		assertEquals("${validatedValue} is too many", getMessage(buildValidator(interpolator), new Counter(12)));
+		assertEquals(0, interpolator.size());
+
+		interpolator = CachingMessageInterpolator.create(true);
+		Validator validator = buildValidator(interpolator);
+		assertEquals("12 is too many", getMessage(validator, new Counter(12)));
+		assertEquals("15 is too many", getMessage(validator, new Counter(15)));
+		assertEquals(0, interpolator.size());
+	}
+
+	@Test
+	public void bundleExpressionsAreNotCached()
+	{
+		CachingMessageInterpolator interpolator = CachingMessageInterpolator.create(true);
+		Validator validator = buildValidator(interpolator);
+		assertTrue(interpolator.isExpressionLanguage());
+		assertEquals("12 is too many", getMessage(validator, new BundleCounter(12)));
+		assertEquals("15 is too many", getMessage(validator, new BundleCounter(15)));
+		assertEquals(0, interpolator.size());
+	}
+
+	private static Validator buildValidator(CachingMessageInterpolator interpolator)
+	{
+		return Validation.byDefaultProvider().configure().messageInterpolator(interpolator)
+				.buildValidatorFactory().getValidator();
+	}
+
+	private static <T> String getMessage(Validator validator, T model)
+	{
+		Set<ConstraintViolation<T>> violations = validator.validate(model);
+		assertEquals(1, violations.size());
+		return violations.iterator().next().getMessage();
+	}
+
+	private static class Nickname
+	{
+		@Size(min = 2, max = 5)
+		private String value;
+
+		public Nickname(String value)
+		{
+			this.value = value;
+		}
+	}
+
+	private static class BundleCounter
+	{
+		@Max(value = 10, message = "{springfx.test.Counter.message}")
+		private int value;
+
+		public BundleCounter(int value)
+		{
+			this.value = value;
+		}
+	}
+
+	private static class Counter
+	{
+		@Max(value = 10, message = "${validatedValue} is too many")
+		private int value;
+
+		public Counter(int value)
+		{
+			this.value = value;
+		}
+	}
+}
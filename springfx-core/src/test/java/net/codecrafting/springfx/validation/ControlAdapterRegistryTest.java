@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.testfx.api.FxToolkit;
+
+import javafx.scene.control.PasswordField;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.RadioButton;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.control.ToggleButton;
+import net.codecrafting.springfx.application.controllers.ValidationController;
+import net.codecrafting.springfx.application.models.ValidationFormModel;
+
+public class ControlAdapterRegistryTest
+{
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@BeforeClass
+	public static void setup() throws Exception
+	{
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@Test
+	public void adapterMustNotBeNull()
+	{
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("adapter must not be null");
+		ControlAdapterRegistry.register(null);
+	}
+
+	@Test
+	public void builtInAdapters()
+	{
+		assertEquals(TextField.class, ControlAdapterRegistry.getAdapter(PasswordField.class).getControlType());
+		assertEquals(ToggleButton.class, ControlAdapterRegistry.getAdapter(RadioButton.class).getControlType());
+		assertSame(ControlAdapterRegistry.getAdapter(RadioButton.class), ControlAdapterRegistry.getAdapter(RadioButton.class));
+		assertNull(ControlAdapterRegistry.getAdapter(TableView.class));
+	}
+
+	@Test
+	public void mostSpecificAdapterWins()
+	{
+		ControlAdapter<?, ?> textField = ControlAdapterRegistry.getAdapter(TextField.class);
+		ControlAdapter<PasswordField, String> adapter = ControlAdapter.of(PasswordField.class, field -> "secret",
+				PasswordField::setText, PasswordField::textProperty);
+		ControlAdapterRegistry.register(adapter);
+		try {
+			assertSame(adapter, ControlAdapterRegistry.getAdapter(PasswordField.class));
+			assertSame(textField, ControlAdapterRegistry.getAdapter(TextField.class));
+		} finally {
+			assertTrue(ControlAdapterRegistry.unregister(adapter));
+		}
+		assertSame(textField, ControlAdapterRegistry.getAdapter(PasswordField.class));
+		assertFalse(ControlAdapterRegistry.unregister(adapter));
+	}
+
+	@Test
+	public void formModelUsesRegisteredAdapter()
+	{
+		ValidationController context = new ValidationController();
+		ValidationFormModel model = new ValidationFormModel(context);
+		ControlAdapter<ProgressBar, Double> adapter = ControlAdapter.of(ProgressBar.class, ProgressBar::getProgress,
+				ProgressBar::setProgress, ProgressBar::progressProperty);
+		ControlAdapterRegistry.register(adapter);
+		try {
+			context.getBarField().setProgress(0.25);
+			model.setValuesFromForm();
+			assertEquals(Double.valueOf(0.25), model.getBarField());
+
+			model.setBarField(0.75);
+			model.setValuesToForm();
+			assertEquals(0.75, context.getBarField().getProgress(), 0);
+		} finally {
+			ControlAdapterRegistry.unregister(adapter);
+		}
+		model.setBarField(null);
+		model.setValuesFromForm();
+		assertNull(model.getBarField());
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.springframework.util.ReflectionUtils;
+
+import net.codecrafting.springfx.application.controllers.ValidationController;
+import net.codecrafting.springfx.application.models.FieldValidationFormModel;
+import net.codecrafting.springfx.application.models.LoginForm;
+import net.codecrafting.springfx.application.models.ValidationFormModel;
+import net.codecrafting.springfx.validation.FormBindingPlan.Binding;
+
+public class FormBindingPlanTest
+{
+	@Test
+	public void planIsSharedByClassPair()
+	{
+		FormBindingPlan plan = FormBindingPlan.of(ValidationController.class, ValidationFormModel.class);
+		assertSame(plan, FormBindingPlan.of(ValidationController.class, ValidationFormModel.class));
+		assertNotSame(plan, FormBindingPlan.of(ValidationController.class, FieldValidationFormModel.class));
+		ValidationController context = new ValidationController();
+		FormModel model = new ValidationFormModel(context);
+		assertSame(plan, model.getBindingPlan());
+		assertSame(plan, ((FormModel) new ValidationFormModel(context)).getBindingPlan());
+	}
+
+	@Test
+	public void onlyBoundFieldsWithModelAttribute()
+	{
+		FormBindingPlan plan = FormBindingPlan.of(ValidationController.class, ValidationFormModel.class);
+		Set<String> fields = new HashSet<String>();
+		for (Binding binding : plan.getBindings()) {
+			assertSame(binding, plan.getBinding(binding.getContextField()));
+			fields.add(binding.getContextField().getName());
+		}
+		assertEquals(new HashSet<String>(Arrays.asList("textField", "passField", "checkField", "choiceField",
+				"colorField", "wrongField", "dateField", "radioField", "customField", "tableField", "barField",
+				"sliderField", "comboStringField")), fields);
+		assertNull(plan.getBinding(ReflectionUtils.findField(ValidationController.class, "textAreaField")));
+		assertNull(plan.getBinding(ReflectionUtils.findField(ValidationController.class, "nonNode")));
+	}
+
+	@Test
+	public void bindingAccessors()
+	{
+		ValidationController context = new ValidationController();
+		ValidationFormModel model = new ValidationFormModel(context);
+		Field contextField = ReflectionUtils.findField(ValidationController.class, "textField");
+		Binding binding = ((FormModel) model).getBindingPlan().getBinding(contextField);
+		assertSame(context.getTextField(), binding.getNode(context));
+		binding.setModelValue(model, "plan text");
+		assertEquals("plan text", binding.getModelValue(model));
+		assertEquals("plan text", model.getTextField());
+	}
+
+	@Test
+	public void errorFieldByValidationBind()
+	{
+		assertEquals(LoginForm.PASS_FIELD_NAME, FormBindingPlan.getErrorField(LoginForm.class, "pass"));
+		assertEquals("user", FormBindingPlan.getErrorField(LoginForm.class, "user"));
+		assertEquals("address.street", FormBindingPlan.getErrorField(LoginForm.class, "address.street"));
+	}
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+
+import javafx.scene.Node;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.TextField;
+import net.codecrafting.springfx.annotation.ValidationBind;
+import net.codecrafting.springfx.context.ViewContext;
+
+public class FormChangeTrackerTest
+{
+	private DirtyController context;
+	private DirtyModel model;
+	private int cityWrites;
+
+	@BeforeClass
+	public static void setup() throws Exception
+	{
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@Before
+	public void init()
+	{
+		context = new DirtyController();
+		model = new DirtyModel(context);
+		model.name = "foo";
+		model.city = "bar";
+		model.active = true;
+		model.setValuesToForm();
+		model.markClean();
+		context.city.textProperty().addListener((observable, oldValue, newValue) -> cityWrites++);
+	}
+
+	@Test
+	public void onlyChangedModelFieldsAreWritten()
+	{
+		assertEquals("bar", context.city.getText());
+		model.name = "baz";
+		model.setValuesToForm();
+		assertEquals("baz", context.name.getText());
+		assertEquals(0, cityWrites);
+
+		//Edited form elements are reverted to the model value
+		context.city.setText("edited");
+		model.setValuesToForm();
+		assertEquals("bar", context.city.getText());
+	}
+
+	@Test
+	public void editedAndOutOfSyncFormElementsAreCopied()
+	{
+		//The model matches the form afterwards, even for the model attributes changed by the program
+		model.city = "model";
+		context.name.setText("edited");
+		model.setValuesFromForm();
+		assertEquals("edited", model.name);
+		assertEquals("bar", model.city);
+		assertEquals(Boolean.TRUE, model.active);
+	}
+
+	@Test
+	public void dirtyFields() throws Exception
+	{
+		assertFalse(model.isDirty());
+		context.name.setText("edited");
+		assertEquals(Collections.singleton(DirtyModel.class.getDeclaredField("name")), model.getDirtyFields());
+
+		model.setValuesFromForm();
+		assertTrue(model.isDirty());
+		model.markClean();
+		assertFalse(model.isDirty());
+
+		model.city = "changed";
+		assertEquals(Collections.singleton(DirtyModel.class.getDeclaredField("city")), model.getDirtyFields());
+		model.city = "bar";
+		assertFalse(model.isDirty());
+	}
+
+	@Test
+	public void releasedTrackerCopiesAllFormElements()
+	{
+		model.getChangeTracker().release();
+		context.city.setText("edited");
+		model.active = false;
+		assertEquals(Collections.singleton("active"), names(model.getDirtyFields()));
+		model.setValuesFromForm();
+		assertEquals("edited", model.city);
+		assertEquals(Boolean.TRUE, model.active);
+	}
+
+	private static Set<String> names(Set<Field> fields)
+	{
+		Set<String> names = new HashSet<String>();
+		for (Field field : fields) {
+			names.add(field.getName());
+		}
+		return names;
+	}
+
+	public static class DirtyController extends ViewContext
+	{
+		@ValidationBind
+		private TextField name = new TextField();
+
+		@ValidationBind
+		private TextField city = new TextField();
+
+		@ValidationBind
+		private CheckBox active = new CheckBox();
+
+		@Override
+		public Node getMainNode()
+		{
+			return name;
+		}
+
+		@Override
+		protected void onCreate() {}
+
+		@Override
+		protected void onStart() {}
+	}
+
+	public static class DirtyModel extends FormModel
+	{
+		private String name;
+		private String city;
+		private Boolean active;
+
+		public DirtyModel(ViewContext context)
+		{
+			super(context);
+		}
+
+		@Override
+		public void setValidation(List<ValidationError> errors) {}
+	}
+}
@@ -20,6 +20,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 
+import java.lang.reflect.Field;
 import java.time.LocalDate;
 
 import org.junit.Before;
@@ -120,6 +121,32 @@ public class FormModelTest
 		assertEquals(formModel.getSliderField(), context.getSliderField().getValue(), 0);
 	}
 	
+	@Test
+	public void overriddenAccessorsAreUsedBySync()
+	{
+		ValidationFormModel custom = new ValidationFormModel(context) {
+			@Override
+			protected void setValueToModelField(Field field, Object value)
+			{
+				super.setValueToModelField(field, (value instanceof String) ? ((String) value).toUpperCase() : value);
+			}
+
+			@Override
+			protected Object getValueFromModelField(Field contextField)
+			{
+				Object value = super.getValueFromModelField(contextField);
+				return (value instanceof String) ? "<" + value + ">" : value;
+			}
+		};
+		context.getTextField().setText("text field");
+		custom.setValuesFromForm();
+		assertEquals("TEXT FIELD", custom.getTextField());
+		custom.setValueFromForm(ReflectionUtils.findField(context.getClass(), "textField"));
+		assertEquals("TEXT FIELD", custom.getTextField());
+		custom.setValuesToForm();
+		assertEquals("<TEXT FIELD>", context.getTextField().getText());
+	}
+
 	@Test
 	public void getContextFieldNonNode()
 	{
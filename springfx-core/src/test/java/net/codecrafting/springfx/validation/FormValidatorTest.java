@@ -18,24 +18,49 @@ package net.codecrafting.springfx.validation;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import javax.validation.MessageInterpolator;
+import javax.validation.Validation;
+import javax.validation.Validator;
+
+import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 import org.mockito.stubbing.Answer;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.testfx.api.FxToolkit;
+import org.testfx.util.WaitForAsyncUtils;
 
+import javafx.application.Platform;
+import net.codecrafting.springfx.application.controllers.ValidationController;
+import net.codecrafting.springfx.application.models.FieldValidationFormModel;
 import net.codecrafting.springfx.application.models.LoginForm;
+import net.codecrafting.springfx.application.models.PropertyForm;
+import net.codecrafting.springfx.application.models.WizardForm;
 
 public class FormValidatorTest 
 {
 	@Rule
 	public ExpectedException thrown = ExpectedException.none();
 	
+	@BeforeClass
+	public static void setup() throws Exception
+	{
+		FxToolkit.registerPrimaryStage();
+	}
+	
 	@Test
 	public void validationModelMustNotBeNull()
 	{
@@ -163,4 +188,226 @@ public class FormValidatorTest
 		validator.validate();
 		Mockito.verify(mockModel, Mockito.times(1)).setValidation(ArgumentMatchers.any());
 	}
+	
+	@Test
+	public void validatorMustNotBeNull()
+	{
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("validator must not be null");
+		new FormValidator<LoginForm>(new LoginForm(), null, false);
+	}
+	
+	@Test
+	public void defaultValidatorIsShared()
+	{
+		Validator shared = FormValidator.getDefaultValidator();
+		assertSame(shared, FormValidator.getDefaultValidator());
+		Validator custom = Validation.buildDefaultValidatorFactory().getValidator();
+		FormValidator.setDefaultValidator(custom);
+		try {
+			assertSame(custom, FormValidator.getDefaultValidator());
+			FormValidator.resetDefaultValidator(shared);
+			assertSame(custom, FormValidator.getDefaultValidator());
+		} finally {
+			FormValidator.resetDefaultValidator(custom);
+		}
+		assertSame(shared, FormValidator.getDefaultValidator());
+	}
+	
+	@Test
+	public void groupsSelectTheConstraints()
+	{
+		FormValidator<WizardForm> validator = new FormValidator<WizardForm>(new WizardForm(), false);
+		assertEquals(0, validator.validate().size());
+		validator.setGroups(WizardForm.AccountStep.class);
+		assertEquals(Arrays.asList("user"), fields(validator.validate()));
+		validator.setGroups(WizardForm.AddressStep.class);
+		assertEquals(2, validator.validate().size());
+		assertEquals(1, validator.getGroups().length);
+	}
+
+	@Test
+	public void fieldGroupsOfValidationBind()
+	{
+		FormValidator<WizardForm> validator = new FormValidator<WizardForm>(new WizardForm(), false);
+		validator.setGroups(WizardForm.AccountStep.class);
+		assertEquals(Arrays.asList("street"), fields(validator.validateField("street")));
+		assertEquals(0, validator.validateField("city").size());
+		assertEquals(1, validator.validateField("user").size());
+	}
+
+	@Test
+	public void failFastStopsAtTheFirstViolation()
+	{
+		FormValidator<WizardForm> validator = new FormValidator<WizardForm>(new WizardForm(), false);
+		validator.setGroups(WizardForm.AccountStep.class, WizardForm.AddressStep.class);
+		assertEquals(3, validator.validate().size());
+		validator.setFailFast(true);
+		assertTrue(validator.isFailFast());
+		assertEquals(1, validator.validate().size());
+	}
+
+	@Test
+	public void failFastKeepsTheCustomValidator()
+	{
+		LocalValidatorFactoryBean factory = new LocalValidatorFactoryBean();
+		factory.setMessageInterpolator(new MessageInterpolator() {
+			@Override
+			public String interpolate(String messageTemplate, Context context)
+			{
+				return "custom";
+			}
+
+			@Override
+			public String interpolate(String messageTemplate, Context context, Locale locale)
+			{
+				return "custom";
+			}
+		});
+		factory.afterPropertiesSet();
+		try {
+			FormValidator<WizardForm> validator = new FormValidator<WizardForm>(new WizardForm(), factory, false);
+			validator.setGroups(WizardForm.AccountStep.class, WizardForm.AddressStep.class);
+			validator.setFailFast(true);
+			List<ValidationError> errors = validator.validate();
+			assertEquals(1, errors.size());
+			assertEquals("custom", errors.get(0).getMessage());
+		} finally {
+			factory.destroy();
+		}
+	}
+
+	@Test
+	public void failFastRequiresAConvertibleValidator()
+	{
+		FormValidator<WizardForm> validator = new FormValidator<WizardForm>(new WizardForm(),
+				Validation.buildDefaultValidatorFactory().getValidator(), false);
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("fail fast is not supported");
+		validator.setFailFast(true);
+	}
+
+	@Test
+	public void groupsMustNotBeNull()
+	{
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("groups must not be null");
+		new FormValidator<WizardForm>(new WizardForm(), false).setGroups((Class<?>[]) null);
+	}
+
+	@Test
+	public void fieldValidationOnChange()
+	{
+		ValidationController context = new ValidationController();
+		FieldValidationFormModel model = new FieldValidationFormModel(context);
+		FormValidator<FieldValidationFormModel> validator = new FormValidator<FieldValidationFormModel>(model, false);
+		List<String> changes = new ArrayList<String>();
+		validator.setValidationListener(new ValidationListener() {
+			@Override
+			public void onValidationSucceeded() {}
+
+			@Override
+			public void onValidationFailed(List<ValidationError> errors) {}
+
+			@Override
+			public void onFieldValidationChanged(String field, List<ValidationError> errors)
+			{
+				changes.add(field + ":" + errors.size());
+			}
+		});
+		context.getTextField().setText("text");
+		model.setValuesFromForm();
+		validator.validate();
+		assertEquals(1, validator.getErrors().size());
+		validator.enableFieldValidation();
+		assertTrue(validator.isFieldValidationEnabled());
+		
+		context.getPassField().setText("pa");
+		assertEquals("pa", model.getPassField());
+		context.getPassField().setText("pass");
+		assertEquals(Arrays.asList("passField:0"), changes);
+		assertTrue(model.getErrors().isEmpty());
+		
+		context.getTextField().setText("");
+		assertEquals(Arrays.asList("passField:0", "textField:1"), changes);
+		assertEquals(FieldValidationFormModel.TEXT_FIELD_MSG, model.getErrors().get(0).getMessage());
+		
+		validator.disableFieldValidation();
+		context.getTextField().setText("text");
+		assertEquals(2, changes.size());
+		assertEquals("", model.getTextField());
+	}
+	
+	@Test
+	public void asyncValidationIsDebouncedAndUsesSnapshot() throws Exception
+	{
+		LoginForm model = new LoginForm();
+		model.setPass("pass");
+		FormValidator<LoginForm> validator = new FormValidator<LoginForm>(model, false);
+		List<Boolean> deliveries = new ArrayList<Boolean>();
+		validator.setValidationListener(new ValidationListener() {
+			@Override
+			public void onValidationSucceeded() {}
+
+			@Override
+			public void onValidationFailed(List<ValidationError> errors)
+			{
+				deliveries.add(Platform.isFxApplicationThread());
+			}
+		});
+		List<Future<List<ValidationError>>> futures = WaitForAsyncUtils.asyncFx(() -> {
+			Future<List<ValidationError>> first = validator.validateAsync(50, TimeUnit.MILLISECONDS);
+			Future<List<ValidationError>> second = validator.validateAsync(50, TimeUnit.MILLISECONDS);
+			model.setUser("user");
+			return Arrays.asList(first, second);
+		}).get(5, TimeUnit.SECONDS);
+		List<ValidationError> errors = futures.get(1).get(5, TimeUnit.SECONDS);
+		assertTrue(futures.get(0).isCancelled());
+		assertEquals(1, errors.size());
+		assertEquals(LoginForm.USER_FIELD_MSG, errors.get(0).getMessage());
+		assertEquals(Arrays.asList(true), deliveries);
+		assertEquals(errors, validator.getErrors());
+	}
+
+	@Test
+	public void asyncValidationSnapshotsPropertyValues() throws Exception
+	{
+		PropertyForm model = new PropertyForm();
+		FormValidator<PropertyForm> validator = new FormValidator<PropertyForm>(model, false);
+		validator.setValidationCache(null);
+		Future<List<ValidationError>> future = WaitForAsyncUtils.asyncFx(() -> {
+			Future<List<ValidationError>> validation = validator.validateAsync(50, TimeUnit.MILLISECONDS);
+			model.nameProperty().set("name");
+			return validation;
+		}).get(5, TimeUnit.SECONDS);
+		List<ValidationError> errors = future.get(5, TimeUnit.SECONDS);
+		assertEquals(1, errors.size());
+		assertEquals(PropertyForm.NAME_FIELD_MSG, errors.get(0).getMessage());
+	}
+
+	@Test
+	public void memoizedPropertyIsValidatedByItsValue()
+	{
+		PropertyForm model = new PropertyForm();
+		FormValidator<PropertyForm> validator = new FormValidator<PropertyForm>(model, false);
+		ValidationResultCache cache = new ValidationResultCache();
+		validator.setValidationCache(cache);
+		assertEquals(1, validator.validate().size());
+		model.nameProperty().set("name");
+		assertEquals(0, validator.validate().size());
+		model.nameProperty().set("");
+		assertEquals(1, validator.validate().size());
+		assertEquals(1, validator.validateField("name").size());
+		assertEquals(2, cache.size());
+		assertEquals(2, cache.getHitCount());
+	}
+
+	private static List<String> fields(List<ValidationError> errors)
+	{
+		List<String> fields = new ArrayList<String>();
+		for (ValidationError error : errors) {
+			fields.add(error.getField());
+		}
+		return fields;
+	}
 }
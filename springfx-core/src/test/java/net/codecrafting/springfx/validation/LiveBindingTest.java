@@ -0,0 +1,175 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.scene.Node;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.TextField;
+import net.codecrafting.springfx.annotation.ValidationBind;
+import net.codecrafting.springfx.context.ViewContext;
+
+public class LiveBindingTest
+{
+	private LiveController context;
+	private LiveModel model;
+
+	@BeforeClass
+	public static void setup() throws Exception
+	{
+		FxToolkit.registerPrimaryStage();
+	}
+
+	@Before
+	public void init()
+	{
+		context = new LiveController();
+		context.nameField.setText("foo");
+		context.ageField.setText("20");
+		model = new LiveModel(context);
+	}
+
+	@Test
+	public void propertiesAreBoundBothWays()
+	{
+		assertEquals(5, model.enableLiveBinding());
+		assertTrue(model.isLiveBindingEnabled());
+		assertEquals("foo", model.name.get());
+		assertEquals("42", context.ageField.getText());
+		assertTrue(context.active.isSelected());
+
+		context.nameField.setText("bar");
+		assertEquals("bar", model.name.get());
+		model.name.set("baz");
+		assertEquals("baz", context.nameField.getText());
+		context.active.setSelected(false);
+		assertFalse(model.active.get());
+	}
+
+	@Test
+	public void valuesAreConverted()
+	{
+		model.enableLiveBinding();
+		context.ageField.setText("7");
+		assertEquals(7, model.ageField.get());
+		context.ageField.setText("7a");
+		assertEquals(7, model.ageField.get());
+		context.ageField.setText("");
+		assertEquals(7, model.ageField.get());
+		model.ageField.set(12);
+		assertEquals("12", context.ageField.getText());
+	}
+
+	@Test
+	public void genericControlsAreBound()
+	{
+		LocalDate date = LocalDate.of(2019, 1, 15);
+		model.birth.set(date);
+		context.kind.setValue("person");
+		model.enableLiveBinding();
+		assertEquals(date, context.birth.getValue());
+		assertEquals("person", model.kind.get());
+
+		context.birth.setValue(date.plusDays(1));
+		assertEquals(date.plusDays(1), model.birth.get());
+		model.kind.set("company");
+		assertEquals("company", context.kind.getValue());
+	}
+
+	@Test
+	public void disableReleasesTheBindings()
+	{
+		model.enableLiveBinding();
+		model.disableLiveBinding();
+		assertFalse(model.isLiveBindingEnabled());
+		context.nameField.setText("bar");
+		model.ageField.set(1);
+		assertEquals("foo", model.name.get());
+		assertEquals("42", context.ageField.getText());
+
+		model.setValuesFromForm();
+		assertEquals("bar", model.name.get());
+	}
+
+	public static class LiveController extends ViewContext
+	{
+		@ValidationBind("name")
+		private TextField nameField = new TextField();
+
+		@ValidationBind
+		private TextField ageField = new TextField();
+
+		@ValidationBind
+		private CheckBox active = new CheckBox();
+
+		@ValidationBind
+		private DatePicker birth = new DatePicker();
+
+		@ValidationBind
+		private ComboBox<String> kind = new ComboBox<String>();
+
+		@Override
+		public Node getMainNode()
+		{
+			return nameField;
+		}
+
+		@Override
+		protected void onCreate() {}
+
+		@Override
+		protected void onStart() {}
+	}
+
+	public static class LiveModel extends FormModel
+	{
+		private StringProperty name = new SimpleStringProperty();
+		private IntegerProperty ageField = new SimpleIntegerProperty(42);
+		private BooleanProperty active = new SimpleBooleanProperty(true);
+		private ObjectProperty<LocalDate> birth = new SimpleObjectProperty<LocalDate>();
+		private StringProperty kind = new SimpleStringProperty();
+
+		public LiveModel(ViewContext context)
+		{
+			super(context);
+		}
+
+		@Override
+		public void setValidation(List<ValidationError> errors) {}
+	}
+}
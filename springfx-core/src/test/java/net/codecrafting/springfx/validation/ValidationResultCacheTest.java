@@ -0,0 +1,202 @@
+/*
+ * Copyright 2018 Lucas Lara Marotta
+ * Copyright 2018-2019 The SpringFX Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package net.codecrafting.springfx.validation;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.validation.Constraint;
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import javax.validation.GroupSequence;
+import javax.validation.Payload;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.groups.Default;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import net.codecrafting.springfx.annotation.PureConstraint;
+
+public class ValidationResultCacheTest
+{
+	private static final AtomicInteger CHECKS = new AtomicInteger();
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private ValidationResultCache cache;
+
+	@Before
+	public void init()
+	{
+		CHECKS.set(0);
+		cache = new ValidationResultCache(2);
+	}
+
+	@Test
+	public void maxSizeMustBePositive()
+	{
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("maxSize must be greater than 0");
+		new ValidationResultCache(0);
+	}
+
+	@Test
+	public void pureConstraintsRunOncePerValue()
+	{
+		ReservedForm model = new ReservedForm();
+		FormValidator<ReservedForm> validator = new FormValidator<ReservedForm>(model, false);
+		validator.setValidationCache(cache);
+		model.code = "admin";
+		model.name = "";
+
+		assertEquals(2, validator.validate().size());
+		assertEquals(2, validator.validate().size());
+		assertEquals(1, CHECKS.get());
+
+		model.code = "user";
+		assertEquals(1, validator.validate().size());
+		model.code = "admin";
+		assertEquals(2, validator.validate().size());
+		assertEquals(1, validator.validateField("code").size());
+		assertEquals(2, CHECKS.get());
+
+		assertEquals(3, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+		assertEquals(0.6, cache.getHitRatio(), 0.0001);
+	}
+
+	@Test
+	public void leastRecentlyUsedResultsAreEvicted()
+	{
+		ReservedForm model = new ReservedForm();
+		FormValidator<ReservedForm> validator = new FormValidator<ReservedForm>(model, false);
+		validator.setValidationCache(cache);
+		for (String code : new String[] {"a", "b", "c", "a"}) {
+			model.code = code;
+			validator.validateField("code");
+		}
+		assertEquals(4, CHECKS.get());
+		assertEquals(2, cache.size());
+		assertEquals(2, cache.getEvictionCount());
+	}
+
+	@Test
+	public void cacheCanBeDisabled()
+	{
+		ReservedForm model = new ReservedForm();
+		FormValidator<ReservedForm> validator = new FormValidator<ReservedForm>(model, false);
+		validator.setValidationCache(null);
+		model.code = "admin";
+		validator.validate();
+		validator.validate();
+		assertEquals(2, CHECKS.get());
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void groupSequencesValidateTheWholeModel()
+	{
+		//The sequence stops at the basic group, where name fails, before checking the reserved codes
+		SequencedForm sequenced = new SequencedForm();
+		FormValidator<SequencedForm> sequencedValidator = new FormValidator<SequencedForm>(sequenced, false);
+		sequencedValidator.setValidationCache(cache);
+		assertEquals(1, sequencedValidator.validate().size());
+
+		StepForm step = new StepForm();
+		FormValidator<StepForm> stepValidator = new FormValidator<StepForm>(step, false);
+		stepValidator.setValidationCache(cache);
+		stepValidator.setGroups(Steps.class);
+		assertEquals(1, stepValidator.validate().size());
+		assertEquals(0, CHECKS.get());
+	}
+
+	public interface Basic {}
+
+	@GroupSequence({Basic.class, Default.class})
+	public interface Steps {}
+
+	@GroupSequence({Basic.class, SequencedForm.class})
+	public static class SequencedForm implements ValidationModel
+	{
+		@NotEmpty(groups = Basic.class)
+		@Reserved
+		private String code = "admin";
+
+		@NotEmpty(groups = Basic.class)
+		private String name = "";
+
+		@Override
+		public void setValidation(List<ValidationError> errors) {}
+	}
+
+	public static class StepForm implements ValidationModel
+	{
+		@NotEmpty(groups = Basic.class)
+		@Reserved
+		private String code = "admin";
+
+		@NotEmpty(groups = Basic.class)
+		private String name = "";
+
+		@Override
+		public void setValidation(List<ValidationError> errors) {}
+	}
+
+	public static class ReservedForm implements ValidationModel
+	{
+		@NotEmpty
+		@Reserved
+		private String code;
+
+		@NotEmpty
+		private String name = "name";
+
+		@Override
+		public void setValidation(List<ValidationError> errors) {}
+	}
+
+	@PureConstraint
+	@Constraint(validatedBy = ReservedValidator.class)
+	@Target(ElementType.FIELD)
+	@Retention(RetentionPolicy.RUNTIME)
+	public @interface Reserved
+	{
+		String message() default "reserved";
+		Class<?>[] groups() default {};
+		Class<? extends Payload>[] payload() default {};
+	}
+
+	public static class ReservedValidator implements ConstraintValidator<Reserved, String>
+	{
+		@Override
+		public boolean isValid(String value, ConstraintValidatorContext context)
+		{
+			CHECKS.incrementAndGet();
+			return !"admin".equals(value);
+		}
+	}
+}
@@ -1,14 +1,9 @@
 package net.codecrafting.springfx.demo.form;
 
 import java.lang.reflect.Field;
-import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.apache.commons.logging.Log;
-import org.apache.commons.logging.LogFactory;
-
-import com.jfoenix.controls.JFXTimePicker;
 import com.jfoenix.controls.base.IFXValidatableControl;
 
 import javafx.scene.Node;
@@ -19,53 +14,11 @@ import net.codecrafting.springfx.validation.ValidationError;
 
 public class JFXFormModel extends FormModel
 {
-	private static final Log LOGGER = LogFactory.getLog(JFXFormModel.class);
-	
 	public JFXFormModel(ViewContext context) 
 	{
 		super(context);
 	}
 	
-	@Override
-	public void setValuesFromForm()
-	{
-		Field[] fields = context.getClass().getDeclaredFields();
-		for (Field field : fields) {
-			Field modelField = getModelField(field);
-			if(modelField != null) {
-				Node fieldNode = getContextFieldNode(field);
-				if(fieldNode != null) {
-					Class<?> fieldType = field.getType();
-					if(fieldType.isAssignableFrom(JFXTimePicker.class))
-						setValueToModelField(modelField, ((JFXTimePicker) fieldNode).getValue());
-				}
-			}
-		}
-		super.setValuesFromForm();
-	}
-
-	@Override
-	public void setValuesToForm()
-	{
-		Field[] fields = context.getClass().getDeclaredFields();
-		for (Field field : fields) {
-			Object modelFieldValue = getValueFromModelField(field);
-			if(modelFieldValue != null) {
-				Node fieldNode = getContextFieldNode(field);
-				if(fieldNode != null) {
-					Class<?> fieldType = field.getType();
-					try {
-						if(fieldType.isAssignableFrom(JFXTimePicker.class)) 
-							((JFXTimePicker) fieldNode).setValue((LocalTime) modelFieldValue);
-					} catch(Exception e) {
-						LOGGER.error(e.getMessage(), e);
-					}
-				}
-			}
-		}
-		super.setValuesToForm();
-	}
-	
 	public void resetValidation()
 	{
 		Field[] fields = context.getClass().getDeclaredFields();
@@ -0,0 +1,38 @@
+package net.codecrafting.springfx.demo.form;
+
+import java.time.LocalTime;
+
+import org.springframework.stereotype.Component;
+
+import com.jfoenix.controls.JFXTimePicker;
+
+import javafx.beans.value.ObservableValue;
+import net.codecrafting.springfx.validation.ControlAdapter;
+
+@Component
+public class JFXTimePickerAdapter implements ControlAdapter<JFXTimePicker, LocalTime>
+{
+	@Override
+	public Class<JFXTimePicker> getControlType() 
+	{
+		return JFXTimePicker.class;
+	}
+
+	@Override
+	public LocalTime getValue(JFXTimePicker control) 
+	{
+		return control.getValue();
+	}
+
+	@Override
+	public void setValue(JFXTimePicker control, LocalTime value) 
+	{
+		control.setValue(value);
+	}
+
+	@Override
+	public ObservableValue<?> getValueProperty(JFXTimePicker control) 
+	{
+		return control.valueProperty();
+	}
+}